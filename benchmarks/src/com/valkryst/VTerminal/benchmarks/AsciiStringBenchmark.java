@@ -0,0 +1,56 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.AsciiString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+/** Measures the gradient operations of AsciiString. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class AsciiStringBenchmark {
+    /** The length of the string. */
+    @Param({"80", "400"})
+    private int length;
+
+    private AsciiString string;
+
+    @Setup
+    public void setup() {
+        string = new AsciiString(length);
+    }
+
+    @Benchmark
+    public AsciiString applyColorGradient() {
+        string.applyColorGradient(Color.RED, Color.BLUE, true);
+        string.applyColorGradient(Color.YELLOW, Color.GREEN, false);
+        return string;
+    }
+
+    @Benchmark
+    public AsciiString applyShadeGradient() {
+        string.applyShadeGradient(Color.MAGENTA, true);
+        return string;
+    }
+
+    @Benchmark
+    public AsciiString applyTintGradient() {
+        string.applyTintGradient(Color.CYAN, false);
+        return string;
+    }
+}
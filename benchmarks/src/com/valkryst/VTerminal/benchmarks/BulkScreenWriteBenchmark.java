@@ -0,0 +1,101 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.component.Screen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures redrawing a whole map onto a screen, cell by cell, against the
+ * bulk operations of Screen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BulkScreenWriteBenchmark {
+    /** The dimensions of the screen, in cells. */
+    @Param({"80x24", "200x60"})
+    private String size;
+
+    private Screen screen;
+
+    private int width;
+    private int height;
+
+    private char[] characters;
+    private int[] backgroundColors;
+    private int[] foregroundColors;
+
+    @Setup
+    public void setup() {
+        final String[] dimensions = size.split("x");
+        width = Integer.parseInt(dimensions[0]);
+        height = Integer.parseInt(dimensions[1]);
+
+        screen = new Screen(0, 0, width, height);
+
+        final Random random = new Random(42);
+        characters = new char[width * height];
+        backgroundColors = new int[width * height];
+        foregroundColors = new int[width * height];
+
+        for (int i = 0 ; i < characters.length ; i++) {
+            characters[i] = (char) ('!' + random.nextInt(90));
+            backgroundColors[i] = random.nextInt(0xFFFFFF);
+            foregroundColors[i] = random.nextInt(0xFFFFFF);
+        }
+    }
+
+    @Benchmark
+    public Screen writePerCell() {
+        for (int row = 0 ; row < height ; row++) {
+            for (int column = 0 ; column < width ; column++) {
+                final int index = row * width + column;
+                screen.write(characters[index], column, row);
+                screen.getString(row).getCharacter(column).setBackgroundColor(new Color(backgroundColors[index]));
+                screen.getString(row).getCharacter(column).setForegroundColor(new Color(foregroundColors[index]));
+            }
+        }
+
+        return screen;
+    }
+
+    @Benchmark
+    public Screen writeBlock() {
+        screen.write(characters, backgroundColors, foregroundColors, 0, 0, width, height);
+        return screen;
+    }
+
+    @Benchmark
+    public Screen clear() {
+        screen.clear(' ');
+        return screen;
+    }
+
+    @Benchmark
+    public Screen fill() {
+        screen.fill('.', Color.BLACK, Color.GRAY, 0, 0, width, height);
+        return screen;
+    }
+
+    @Benchmark
+    public Screen scroll() {
+        screen.scroll(0, 0, width, height, -1);
+        return screen;
+    }
+}
@@ -0,0 +1,82 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VRadio.Radio;
+import com.valkryst.VTerminal.AsciiString;
+import com.valkryst.VTerminal.builder.component.ButtonBuilder;
+import com.valkryst.VTerminal.component.Button;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of hovering over, and then off of, every button of a
+ * screen, when each button applies its precomputed state colors against
+ * when the colors are set string by string, as each button did before.
+ *
+ * The buttons aren't placed on a panel, so only the state transitions are
+ * measured and not the drawing of the panel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ButtonStateBenchmark {
+    /** The number of buttons. */
+    @Param({"100", "500"})
+    private int buttonCount;
+
+    private Button[] buttons;
+
+    @Setup
+    public void setup() {
+        buttons = new Button[buttonCount];
+
+        // A radio without receivers, so the draw events transmitted on each transition go nowhere.
+        final Radio<String> radio = new Radio<>();
+
+        for (int i = 0 ; i < buttonCount ; i++) {
+            buttons[i] = new Button(new ButtonBuilder().setText("Item " + i)
+                                                       .setOnClickFunction(() -> {})
+                                                       .setRadio(radio));
+        }
+    }
+
+    @Benchmark
+    public int hover_colorStates() {
+        for (final Button button : buttons) {
+            button.onMouseEntered();
+            button.onMouseExited();
+        }
+
+        return buttons.length;
+    }
+
+    @Benchmark
+    public int hover_perString() {
+        for (final Button button : buttons) {
+            for (final AsciiString string : button.getStrings()) {
+                string.setBackgroundColor(button.getBackgroundColor_hover());
+                string.setForegroundColor(button.getForegroundColor_hover());
+            }
+
+            for (final AsciiString string : button.getStrings()) {
+                string.setBackgroundColor(button.getBackgroundColor_normal());
+                string.setForegroundColor(button.getForegroundColor_normal());
+            }
+        }
+
+        return buttons.length;
+    }
+}
@@ -0,0 +1,93 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/** Measures the throughput of ColoredImageCache lookups which hit, and miss, the cache. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ColoredImageCacheBenchmark {
+    /** The number of distinct images that are looked up. */
+    private static final int TOTAL_IMAGES = 256;
+
+    private final char[] characters = new char[TOTAL_IMAGES];
+    private final int[] backgroundColors = new int[TOTAL_IMAGES];
+    private final int[] foregroundColors = new int[TOTAL_IMAGES];
+
+    private ColoredImageCache cache;
+
+    /** A cache using the previous key, a 32-bit hash of the character and colors. */
+    private Cache<Integer, BufferedImage> hashKeyedCache;
+
+    private int index = 0;
+
+    /** The foreground color of the next lookup that misses the cache. */
+    private int missForegroundRGB = 0;
+
+    @Setup
+    public void setup() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+        cache = new ColoredImageCache(font);
+        hashKeyedCache = Caffeine.newBuilder()
+                                 .initialCapacity(100)
+                                 .maximumSize(10_000)
+                                 .expireAfterAccess(5, TimeUnit.MINUTES)
+                                 .build();
+
+        for (int i = 0 ; i < TOTAL_IMAGES ; i++) {
+            characters[i] = (char) ('!' + (i % 90));
+            backgroundColors[i] = Color.getHSBColor(i / (float) TOTAL_IMAGES, 1f, 0.5f).getRGB();
+            foregroundColors[i] = Color.getHSBColor(i / (float) TOTAL_IMAGES, 0.5f, 1f).getRGB();
+
+            final BufferedImage image = cache.retrieveFromCache(characters[i], backgroundColors[i], foregroundColors[i], false);
+            final Color background = new Color(backgroundColors[i], true);
+            final Color foreground = new Color(foregroundColors[i], true);
+            hashKeyedCache.put(Objects.hash(characters[i], background, foreground), image);
+        }
+    }
+
+    @Benchmark
+    public BufferedImage packedKey() {
+        index = (index + 1) % TOTAL_IMAGES;
+        return cache.retrieveFromCache(characters[index], backgroundColors[index], foregroundColors[index], false);
+    }
+
+    @Benchmark
+    public BufferedImage hashKey() {
+        index = (index + 1) % TOTAL_IMAGES;
+
+        // Mirrors the previous lookup, which read the colors from an AsciiCharacter.
+        final Color background = new Color(backgroundColors[index], true);
+        final Color foreground = new Color(foregroundColors[index], true);
+        return hashKeyedCache.getIfPresent(Objects.hash(characters[index], background, foreground));
+    }
+
+    @Benchmark
+    public BufferedImage miss() {
+        // Every lookup uses a foreground color that has never been used before.
+        missForegroundRGB = (missForegroundRGB + 1) & 0xFFFFFF;
+        return cache.retrieveFromCache('A', 0xFF000000, 0xFF000000 | missForegroundRGB, false);
+    }
+}
@@ -0,0 +1,79 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.RenderLoop;
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many cells can be written to a double-buffered screen each
+ * second, while the screen is drawn at 60 FPS on another thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class DoubleBufferedWriteBenchmark {
+    /** The number of cells written between each publish. */
+    @Param({"1", "80", "1920"})
+    private int writesPerPublish;
+
+    private Screen screen;
+    private RenderLoop renderLoop;
+
+    private int cell = 0;
+
+    @Setup
+    public void setup() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+        final ColoredImageCache imageCache = new ColoredImageCache(font);
+
+        screen = new Screen(0, 0, 80, 24);
+        screen.setDoubleBuffered(true);
+
+        final Framebuffer framebuffer = new Framebuffer(80 * font.getWidth(), 24 * font.getHeight());
+
+        renderLoop = new RenderLoop(() -> {
+            screen.draw(framebuffer, imageCache);
+            renderLoop.requestFrame();
+        }, 60);
+
+        renderLoop.requestFrame();
+        renderLoop.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderLoop.stop();
+    }
+
+    @Benchmark
+    public Screen write() {
+        screen.write((char) ('A' + cell % 26), cell % 80, (cell / 80) % 24);
+        cell++;
+
+        if (cell % writesPerPublish == 0) {
+            screen.publish();
+        }
+
+        return screen;
+    }
+}
@@ -0,0 +1,121 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontCompiler;
+import com.valkryst.VTerminal.font.FontFamily;
+import com.valkryst.VTerminal.font.FontLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/** Measures the time to load a font from its sprite sheet and character data, and from its compiled form. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class FontLoaderBenchmark {
+    /** The point size of the font. */
+    @Param({"18pt"})
+    private String pointSize;
+
+    /** The scale to load the font at. */
+    @Param({"1", "2"})
+    private int scale;
+
+    private byte[] spriteSheet;
+    private byte[] characterData;
+
+    /** The font, compiled by FontCompiler. */
+    private File compiledFont;
+
+    /** A pool which slices and scales the character images on one thread. */
+    private ForkJoinPool sequentialPool;
+
+    @Setup
+    public void setup() throws IOException {
+        // The files are read into memory, so that only decoding is measured.
+        spriteSheet = readResource("Fonts/DejaVu Sans Mono/" + pointSize + "/bitmap.png");
+        characterData = readResource("Fonts/DejaVu Sans Mono/" + pointSize + "/data.fnt");
+
+        // The compiled font is read from a file, which will be in the page cache after the first load.
+        compiledFont = File.createTempFile("VTerminal", ".vtf");
+        sequentialPool = new ForkJoinPool(1);
+
+        try (final OutputStream outputStream = new FileOutputStream(compiledFont)) {
+            FontCompiler.compile(loadFont(), outputStream);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        compiledFont.delete();
+        sequentialPool.shutdown();
+    }
+
+    @Benchmark
+    public Font loadFont() throws IOException {
+        return FontLoader.loadFont(new ByteArrayInputStream(spriteSheet), new ByteArrayInputStream(characterData), scale);
+    }
+
+    @Benchmark
+    public Font loadFont_sequential() throws IOException {
+        return FontLoader.loadFont(new ByteArrayInputStream(spriteSheet), new ByteArrayInputStream(characterData), scale, sequentialPool);
+    }
+
+    @Benchmark
+    public Font loadFontFamily() throws IOException {
+        final FontFamily family = FontLoader.loadFontFamily(new ByteArrayInputStream(spriteSheet), new ByteArrayInputStream(characterData));
+        final Font font = family.getFont(scale);
+
+        // Only the printable ASCII characters are scaled, as would be drawn by a typical UI.
+        for (char character = ' ' ; character <= '~' ; character++) {
+            font.getCharacterImage(character);
+        }
+
+        return font;
+    }
+
+    @Benchmark
+    public Font loadCompiledFont() throws IOException {
+        return FontLoader.loadCompiledFont(compiledFont.getPath());
+    }
+
+    static byte[] readResource(final String path) throws IOException {
+        try (final InputStream inputStream = FontLoaderBenchmark.class.getClassLoader().getResourceAsStream(path)) {
+            if (inputStream == null) {
+                throw new IOException("The resource \"" + path + "\" does not exist.");
+            }
+
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int count;
+
+            while ((count = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, count);
+            }
+
+            return outputStream.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.Panel;
+import com.valkryst.VTerminal.builder.PanelBuilder;
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.render.RenderTargetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the whole render path of a panel, which draws onto an off-screen
+ * target, from a change of the screen to the drawn pixels.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class HeadlessPanelBenchmark {
+    /** The type of target that the panel draws onto. */
+    @Param({"IMAGE", "PIXELS"})
+    private RenderTargetType target;
+
+    /** The number of rows which change between each draw. */
+    @Param({"1", "24"})
+    private int changedRows;
+
+    private Panel panel;
+    private Screen screen;
+
+    private int frame = 0;
+
+    @Setup
+    public void setup() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+
+        panel = new PanelBuilder().setFont(font)
+                                  .setTargetFPS(0)
+                                  .setRenderTargetType(target)
+                                  .build();
+
+        screen = panel.getScreen();
+        screen.clear('#');
+        screen.setBackgroundColor(Color.DARK_GRAY);
+        panel.draw();
+    }
+
+    @Benchmark
+    public Panel changeAndDraw() {
+        frame++;
+
+        for (int row = 0 ; row < changedRows ; row++) {
+            screen.write(String.format("Frame %08d", frame), 0, row);
+        }
+
+        panel.draw();
+        return panel;
+    }
+}
@@ -0,0 +1,125 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the first frame drawn with a new image cache,
+ * when the cache starts empty against when it's been loaded from a cache
+ * file, along with the time to load the file.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ImageCacheColdStartBenchmark {
+    private static final int WIDTH = 80;
+    private static final int HEIGHT = 24;
+
+    private Font font;
+    private Screen screen;
+    private Framebuffer framebuffer;
+
+    /** The cache file, saved with its images. */
+    private File fileWithImages;
+    /** The cache file, saved without its images. */
+    private File fileWithoutImages;
+
+    /** A new, empty, cache. */
+    private ColoredImageCache coldCache;
+    /** A new cache, loaded from the cache file with images. */
+    private ColoredImageCache warmCache;
+
+    @Setup
+    public void setup() throws Exception {
+        font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+        framebuffer = new Framebuffer(WIDTH * font.getWidth(), HEIGHT * font.getHeight());
+
+        // A UI with a 16 color palette, where each cell uses two of the colors.
+        final Color[] palette = new Color[16];
+        final Random random = new Random(42);
+
+        for (int i = 0 ; i < palette.length ; i++) {
+            palette[i] = new Color(random.nextInt(0xFFFFFF));
+        }
+
+        screen = new Screen(0, 0, WIDTH, HEIGHT);
+
+        for (int row = 0 ; row < HEIGHT ; row++) {
+            for (int column = 0 ; column < WIDTH ; column++) {
+                screen.write((char) ('!' + random.nextInt(90)), column, row);
+                screen.getString(row).getCharacter(column).setBackgroundColor(palette[random.nextInt(palette.length)]);
+                screen.getString(row).getCharacter(column).setForegroundColor(palette[random.nextInt(palette.length)]);
+            }
+        }
+
+        // The cache files hold the images of the first frame, as if saved by the previous run.
+        final ColoredImageCache cache = new ColoredImageCache(font);
+        screen.draw(framebuffer, cache);
+
+        fileWithImages = File.createTempFile("VTerminal", ".cache");
+        fileWithoutImages = File.createTempFile("VTerminal", ".cache");
+        cache.save(fileWithImages, true);
+        cache.save(fileWithoutImages, false);
+    }
+
+    @Setup(Level.Invocation)
+    public void createCaches() throws IOException {
+        coldCache = new ColoredImageCache(font);
+        warmCache = new ColoredImageCache(font);
+        warmCache.load(fileWithImages);
+
+        screen.setAllCharactersToBeRedrawn();
+    }
+
+    @TearDown
+    public void deleteFiles() {
+        fileWithImages.delete();
+        fileWithoutImages.delete();
+    }
+
+    @Benchmark
+    public Framebuffer firstFrame_cold() {
+        screen.draw(framebuffer, coldCache);
+        return framebuffer;
+    }
+
+    @Benchmark
+    public Framebuffer firstFrame_prewarmed() {
+        screen.draw(framebuffer, warmCache);
+        return framebuffer;
+    }
+
+    @Benchmark
+    public int load_withImages() throws IOException {
+        return coldCache.load(fileWithImages);
+    }
+
+    @Benchmark
+    public int load_withoutImages() throws IOException {
+        return coldCache.load(fileWithoutImages);
+    }
+}
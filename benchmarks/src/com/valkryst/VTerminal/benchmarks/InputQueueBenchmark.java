@@ -0,0 +1,114 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.InputQueue;
+import com.valkryst.VTerminal.MouseDispatcher;
+import com.valkryst.VTerminal.Panel;
+import com.valkryst.VTerminal.builder.PanelBuilder;
+import com.valkryst.VTerminal.builder.component.ButtonBuilder;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.render.RenderTargetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.event.MouseEvent;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to handle the mouse moves of a fast sweep across a row
+ * of buttons, which arrive within a single frame, when each move is
+ * dispatched as it arrives against when the moves are queued and
+ * dispatched once.
+ *
+ * The panel has no render loop, so each hover transition draws the panel,
+ * as it did when every move was handled on arrival.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class InputQueueBenchmark {
+    private static final int WIDTH = 80;
+    private static final int HEIGHT = 24;
+
+    /** The number of mouse moves in the sweep. */
+    @Param({"8", "32", "128"})
+    private int moves;
+
+    private MouseDispatcher dispatcher;
+    private InputQueue queue;
+
+    /** The moves of the sweep, forwards and then back, so every sweep crosses the buttons. */
+    private MouseEvent[][] sweeps;
+    private int sweepIndex;
+
+    @Setup
+    public void setup() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+
+        final Panel panel = new PanelBuilder().setFont(font)
+                                              .setWidthInCharacters(WIDTH)
+                                              .setHeightInCharacters(HEIGHT)
+                                              .setRenderTargetType(RenderTargetType.IMAGE)
+                                              .setTargetFPS(0)
+                                              .build();
+
+        for (int column = 0 ; column < WIDTH ; column += 8) {
+            new ButtonBuilder().setText("Item")
+                               .setColumnAndRowIndices(column, 0)
+                               .setPanel(panel)
+                               .setOnClickFunction(() -> {})
+                               .build();
+        }
+
+        dispatcher = panel.getMouseDispatcher();
+        queue = new InputQueue(dispatcher, panel.getFocusManager(), () -> {});
+
+        final int pixelWidth = WIDTH * font.getWidth();
+        final int y = font.getHeight() / 2;
+
+        sweeps = new MouseEvent[2][moves];
+
+        for (int i = 0 ; i < moves ; i++) {
+            final int x = (int) ((long) i * (pixelWidth - 1) / (moves - 1));
+            sweeps[0][i] = new MouseEvent(panel, MouseEvent.MOUSE_MOVED, 0, 0, x, y, 0, false, MouseEvent.NOBUTTON);
+            sweeps[1][moves - 1 - i] = sweeps[0][i];
+        }
+    }
+
+    @Benchmark
+    public int sweep_dispatchedOnArrival() {
+        final MouseEvent[] sweep = nextSweep();
+
+        for (final MouseEvent move : sweep) {
+            dispatcher.mouseMoved(move);
+        }
+
+        return sweep.length;
+    }
+
+    @Benchmark
+    public int sweep_queued() {
+        for (final MouseEvent move : nextSweep()) {
+            queue.mouseMoved(move);
+        }
+
+        return queue.dispatch();
+    }
+
+    private MouseEvent[] nextSweep() {
+        sweepIndex ^= 1;
+        return sweeps[sweepIndex];
+    }
+}
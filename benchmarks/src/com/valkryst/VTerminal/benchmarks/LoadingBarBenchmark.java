@@ -0,0 +1,87 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VRadio.Radio;
+import com.valkryst.VTerminal.AsciiString;
+import com.valkryst.VTerminal.builder.component.LoadingBarBuilder;
+import com.valkryst.VTerminal.component.LoadingBar;
+import com.valkryst.VTerminal.misc.IntRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of stepping fifty loading bars, each 40 cells wide,
+ * through every percent from 0 to 100, when only the cells between the old
+ * and new ends of the filled area are rewritten against when every cell is
+ * rewritten twice, as each bar did before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class LoadingBarBenchmark {
+    private static final int BAR_COUNT = 50;
+    private static final int WIDTH = 40;
+
+    private LoadingBar[] bars;
+
+    @Setup
+    public void setup() {
+        // A radio without receivers, so the draw events transmitted on each update go nowhere.
+        final Radio<String> radio = new Radio<>();
+
+        bars = new LoadingBar[BAR_COUNT];
+
+        for (int i = 0 ; i < BAR_COUNT ; i++) {
+            bars[i] = new LoadingBar(new LoadingBarBuilder().setWidth(WIDTH)
+                                                            .setPartialCellsEnabled(true)
+                                                            .setRadio(radio));
+        }
+    }
+
+    @Benchmark
+    public int setPercentComplete_incremental() {
+        for (int percent = 0 ; percent <= 100 ; percent++) {
+            for (final LoadingBar bar : bars) {
+                bar.setPercentComplete(percent);
+            }
+        }
+
+        return bars.length;
+    }
+
+    @Benchmark
+    public int setPercentComplete_rewriteAll() {
+        for (int percent = 0 ; percent <= 100 ; percent++) {
+            for (final LoadingBar bar : bars) {
+                final int numberOfCompleteChars = (int) (WIDTH * (percent / 100f));
+                final IntRange range = new IntRange(0, numberOfCompleteChars);
+
+                for (final AsciiString string : bar.getStrings()) {
+                    string.setBackgroundColor(bar.getBackgroundColor_incomplete());
+                    string.setForegroundColor(bar.getForegroundColor_incomplete());
+                    string.setAllCharacters(bar.getIncompleteCharacter());
+
+                    string.setBackgroundColor(bar.getBackgroundColor_complete(), range);
+                    string.setForegroundColor(bar.getForegroundColor_complete(), range);
+                    string.setCharacters(bar.getCompleteCharacter(), range);
+                }
+
+                bar.transmitDraw();
+            }
+        }
+
+        return bars.length;
+    }
+}
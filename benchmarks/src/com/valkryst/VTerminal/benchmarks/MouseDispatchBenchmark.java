@@ -0,0 +1,120 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.MouseDispatcher;
+import com.valkryst.VTerminal.Panel;
+import com.valkryst.VTerminal.builder.PanelBuilder;
+import com.valkryst.VTerminal.component.Component;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.render.RenderTargetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of routing a mouse move over a screen filled with
+ * button-sized components, when routed by the panel's dispatcher against when
+ * every component hit-tests the move itself, as each did with its own
+ * listener.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class MouseDispatchBenchmark {
+    private static final int WIDTH = 160;
+    private static final int HEIGHT = 60;
+
+    /** The number of components on the screen. */
+    @Param({"10", "100", "500"})
+    private int componentCount;
+
+    private Font font;
+    private MouseDispatcher dispatcher;
+    private List<Component> components;
+
+    /** The moves to replay, which mostly stay within a cell as real mouse moves do. */
+    private MouseEvent[] moves;
+    private int moveIndex;
+
+    @Setup
+    public void setup() throws Exception {
+        font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+
+        final Panel panel = new PanelBuilder().setFont(font)
+                                              .setWidthInCharacters(WIDTH)
+                                              .setHeightInCharacters(HEIGHT)
+                                              .setRenderTargetType(RenderTargetType.IMAGE)
+                                              .setTargetFPS(0)
+                                              .build();
+
+        dispatcher = panel.getMouseDispatcher();
+        components = new ArrayList<>();
+
+        final Random random = new Random(42);
+
+        for (int i = 0 ; i < componentCount ; i++) {
+            final int column = random.nextInt(WIDTH - 8);
+            final int row = random.nextInt(HEIGHT);
+
+            // Plain components, so that only the routing is measured and not the redrawing of hovered buttons.
+            final Component component = new Component(column, row, 6, 1);
+            panel.addComponent(component);
+            components.add(component);
+        }
+
+        moves = new MouseEvent[4096];
+        int x = 0;
+        int y = 0;
+
+        for (int i = 0 ; i < moves.length ; i++) {
+            x = Math.floorMod(x + random.nextInt(9) - 4, WIDTH * font.getWidth());
+            y = Math.floorMod(y + random.nextInt(9) - 4, HEIGHT * font.getHeight());
+            moves[i] = new MouseEvent(panel, MouseEvent.MOUSE_MOVED, 0, 0, x, y, 0, false, MouseEvent.NOBUTTON);
+        }
+    }
+
+    @Benchmark
+    public Component mouseMoved_dispatcher() {
+        dispatcher.mouseMoved(nextMove());
+        return dispatcher.getHoveredComponent();
+    }
+
+    @Benchmark
+    public int mouseMoved_everyComponent() {
+        final MouseEvent move = nextMove();
+        final int fontWidth = font.getWidth();
+        final int fontHeight = font.getHeight();
+
+        int hits = 0;
+
+        for (final Component component : components) {
+            if (component.intersects(move, fontWidth, fontHeight)) {
+                hits++;
+            }
+        }
+
+        return hits;
+    }
+
+    private MouseEvent nextMove() {
+        moveIndex = (moveIndex + 1) & (moves.length - 1);
+        return moves[moveIndex];
+    }
+}
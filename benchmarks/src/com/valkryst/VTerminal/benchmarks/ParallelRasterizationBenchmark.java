@@ -0,0 +1,97 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the time to redraw every cell of a screen, into a framebuffer,
+ * scales with the number of render threads.
+ *
+ * Run with "-p threads=1,2,4,8" to measure other thread counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ParallelRasterizationBenchmark {
+    /** The size of the screen, in cells. */
+    @Param({"80x24", "200x60", "400x120"})
+    private String size;
+
+    /** The number of render threads. */
+    @Param({"1", "2", "4"})
+    private int threads;
+
+    /** The minimum number of rows drawn by each render thread. */
+    @Param({"4"})
+    private int minimumBandHeight;
+
+    private Screen screen;
+    private ColoredImageCache imageCache;
+    private Framebuffer framebuffer;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+        imageCache = new ColoredImageCache(font);
+
+        final String[] dimensions = size.split("x");
+        final int width = Integer.parseInt(dimensions[0]);
+        final int height = Integer.parseInt(dimensions[1]);
+
+        screen = new Screen(0, 0, width, height);
+        screen.clear('#');
+
+        for (int row = 0 ; row < height ; row++) {
+            final float hue = row / (float) height;
+            screen.getString(row).applyColorGradient(Color.getHSBColor(hue, 1f, 1f), Color.getHSBColor(hue + 0.5f, 1f, 1f), true);
+        }
+
+        framebuffer = new Framebuffer(width * font.getWidth(), height * font.getHeight());
+        pool = new ForkJoinPool(threads);
+
+        // Fill the image cache.
+        screen.draw(framebuffer, imageCache);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+        framebuffer.dispose();
+    }
+
+    @Benchmark
+    public Framebuffer drawAllCells() {
+        screen.setAllCharactersToBeRedrawn();
+
+        if (threads == 1) {
+            screen.draw(framebuffer, imageCache);
+        } else {
+            screen.draw(framebuffer, imageCache, pool, minimumBandHeight);
+        }
+
+        return framebuffer;
+    }
+}
@@ -0,0 +1,145 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.AsciiGrid;
+import com.valkryst.VTerminal.component.Layer;
+import com.valkryst.VTerminal.misc.REXPaintLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Rectangle;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/** Measures the time to load a REXPaint file into new layers, into existing grids, and into a viewport. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class REXPaintLoaderBenchmark {
+    /** The size of each layer, in cells. */
+    @Param({"80x24", "200x200", "1000x1000"})
+    private String size;
+
+    /** The number of layers in the file. */
+    @Param({"1", "4"})
+    private int layers;
+
+    private File file;
+
+    /** The grids that every layer is loaded into, as a map editor would reuse them. */
+    private AsciiGrid[] grids;
+    /** The grid that an 80x24 viewport of the first layer is loaded into. */
+    private AsciiGrid viewport;
+
+    @Setup
+    public void setup() throws IOException {
+        final String[] dimensions = size.split("x");
+        final int width = Integer.parseInt(dimensions[0]);
+        final int height = Integer.parseInt(dimensions[1]);
+
+        file = File.createTempFile("VTerminal-benchmark", ".xp");
+        writeFile(file, width, height, layers);
+
+        grids = new AsciiGrid[layers];
+
+        for (int i = 0 ; i < layers ; i++) {
+            grids[i] = new AsciiGrid(width, height);
+        }
+
+        viewport = new AsciiGrid(80, 24);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public List<Layer> load() throws IOException {
+        return REXPaintLoader.load(file);
+    }
+
+    @Benchmark
+    public AsciiGrid[] loadIntoGrids() throws IOException {
+        REXPaintLoader.load(file, (layer, width, height) -> grids[layer]);
+        return grids;
+    }
+
+    @Benchmark
+    public AsciiGrid loadViewport() throws IOException {
+        REXPaintLoader.load(file, new REXPaintLoader.LayerHandler() {
+            @Override
+            public AsciiGrid getGrid(final int layer, final int width, final int height) {
+                return (layer == 0 ? viewport : null);
+            }
+
+            @Override
+            public Rectangle getRegion(final int layer, final int width, final int height) {
+                return new Rectangle(width / 2, height / 2, 80, 24);
+            }
+        });
+
+        return viewport;
+    }
+
+    /**
+     * Writes a REXPaint file, where every cell has a different character and
+     * colors.
+     *
+     * @param file
+     *         The file.
+     *
+     * @param width
+     *         The width of each layer.
+     *
+     * @param height
+     *         The height of each layer.
+     *
+     * @param totalLayers
+     *         The number of layers.
+     *
+     * @throws IOException
+     *         If an I/O error occurs.
+     */
+    static void writeFile(final File file, final int width, final int height, final int totalLayers) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(8 + totalLayers * (8 + width * height * 10));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(-1);
+        buffer.putInt(totalLayers);
+
+        for (int layer = 0 ; layer < totalLayers ; layer++) {
+            buffer.putInt(width);
+            buffer.putInt(height);
+
+            // REXPaint stores cells in column-major order.
+            for (int cell = 0 ; cell < width * height ; cell++) {
+                buffer.putInt(33 + (cell % 94));
+                buffer.put((byte) cell).put((byte) (cell >> 8)).put((byte) layer);
+                buffer.put((byte) layer).put((byte) (cell >> 8)).put((byte) cell);
+            }
+        }
+
+        try (final DataOutputStream outputStream = new DataOutputStream(new GZIPOutputStream(new FileOutputStream(file)))) {
+            outputStream.write(buffer.array());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.printer.RectanglePrinter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to print a grid of overlapping rectangles, whose edges
+ * must be connected to one another.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RectanglePrinterBenchmark {
+    /** Whether or not to connect the rectangles. */
+    @Param({"true", "false"})
+    private boolean performConnections;
+
+    private Screen screen;
+    private RectanglePrinter printer;
+
+    @Setup
+    public void setup() {
+        screen = new Screen(0, 0, 80, 24);
+
+        printer = new RectanglePrinter();
+        printer.setWidth(11);
+        printer.setHeight(7);
+    }
+
+    @Benchmark
+    public Screen printGrid() {
+        // Neighbouring rectangles share their edges.
+        for (int row = 0 ; row + 7 <= 24 ; row += 6) {
+            for (int column = 0 ; column + 11 <= 80 ; column += 10) {
+                printer.print(screen, column, row, performConnections);
+            }
+        }
+
+        return screen;
+    }
+}
@@ -0,0 +1,138 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to draw a screen onto an off-screen image, when some
+ * fraction of its cells have changed since the last draw.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ScreenDrawBenchmark {
+    /** The size of the screen, in cells. */
+    @Param({"80x24", "160x48"})
+    private String size;
+
+    /** The fraction of cells which change between each draw. */
+    @Param({"0.0", "0.01", "0.1", "1.0"})
+    private double dirtyRatio;
+
+    /** Whether the screen is drawn onto a Graphics2D, or into a framebuffer. */
+    @Param({"graphics", "framebuffer"})
+    private String target;
+
+    private Screen screen;
+    private ColoredImageCache imageCache;
+
+    private BufferedImage image;
+    private Graphics2D gc;
+    private Framebuffer framebuffer;
+
+    /** The column of each cell which changes between each draw. */
+    private int[] dirtyColumns;
+    /** The row of each cell which changes between each draw. */
+    private int[] dirtyRows;
+
+    private char character = 'A';
+
+    @Setup
+    public void setup() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+        imageCache = new ColoredImageCache(font);
+
+        final String[] dimensions = size.split("x");
+        final int width = Integer.parseInt(dimensions[0]);
+        final int height = Integer.parseInt(dimensions[1]);
+
+        screen = new Screen(0, 0, width, height);
+        screen.clear('#');
+        screen.setBackgroundColor(Color.DARK_GRAY);
+
+        // The same cells change on every draw, so that the results are reproducible.
+        final int totalDirtyCells = (int) Math.round(width * height * dirtyRatio);
+        final Random random = new Random(42);
+
+        dirtyColumns = new int[totalDirtyCells];
+        dirtyRows = new int[totalDirtyCells];
+
+        for (int i = 0 ; i < totalDirtyCells ; i++) {
+            final int cell = (int) ((long) i * width * height / totalDirtyCells);
+            dirtyColumns[i] = cell % width;
+            dirtyRows[i] = cell / width;
+        }
+
+        for (int i = totalDirtyCells - 1 ; i > 0 ; i--) {
+            final int j = random.nextInt(i + 1);
+            final int column = dirtyColumns[i];
+            final int row = dirtyRows[i];
+            dirtyColumns[i] = dirtyColumns[j];
+            dirtyRows[i] = dirtyRows[j];
+            dirtyColumns[j] = column;
+            dirtyRows[j] = row;
+        }
+
+        image = new BufferedImage(width * font.getWidth(), height * font.getHeight(), BufferedImage.TYPE_INT_RGB);
+        gc = image.createGraphics();
+        framebuffer = new Framebuffer(image.getWidth(), image.getHeight());
+
+        // Fill the image cache, and clear the changes.
+        for (char c = 'A' ; c <= 'Z' ; c++) {
+            screen.write(c, 0, 0);
+            draw();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        gc.dispose();
+        framebuffer.dispose();
+    }
+
+    @Benchmark
+    public Object changeAndDraw() {
+        character = (character == 'Z' ? 'A' : (char) (character + 1));
+
+        for (int i = 0 ; i < dirtyColumns.length ; i++) {
+            screen.write(character, dirtyColumns[i], dirtyRows[i]);
+        }
+
+        return draw();
+    }
+
+    private Object draw() {
+        if (target.equals("framebuffer")) {
+            screen.draw(framebuffer, imageCache);
+            gc.drawImage(framebuffer.getImage(), 0, 0, null);
+        } else {
+            screen.draw(gc, imageCache);
+        }
+
+        return image;
+    }
+}
@@ -0,0 +1,97 @@
+package com.valkryst.VTerminal.benchmarks;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to append lines to a tail -f style log view, then draw
+ * one frame, by scrolling the screen against rewriting every visible line.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class TailScrollBenchmark {
+    /** The number of lines appended between each frame. */
+    @Param({"1", "16"})
+    private int linesPerFrame;
+
+    private static final int WIDTH = 120;
+    private static final int HEIGHT = 40;
+
+    private Screen screen;
+    private ColoredImageCache imageCache;
+    private Framebuffer framebuffer;
+
+    /** The lines of the log, as they would be held by a log view which rewrites them. */
+    private final String[] lines = new String[HEIGHT];
+
+    private long lineNumber;
+
+    @Setup
+    public void setup() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+        imageCache = new ColoredImageCache(font);
+
+        screen = new Screen(0, 0, WIDTH, HEIGHT);
+        framebuffer = new Framebuffer(WIDTH * font.getWidth(), HEIGHT * font.getHeight());
+
+        for (int row = 0 ; row < HEIGHT ; row++) {
+            lines[row] = nextLine();
+            screen.write(lines[row], 0, row);
+        }
+
+        screen.draw(framebuffer, imageCache);
+    }
+
+    @Benchmark
+    public Framebuffer scroll() {
+        for (int i = 0 ; i < linesPerFrame ; i++) {
+            screen.scroll(0, 0, WIDTH, HEIGHT, -1);
+            screen.write(nextLine(), 0, HEIGHT - 1);
+        }
+
+        screen.draw(framebuffer, imageCache);
+        return framebuffer;
+    }
+
+    @Benchmark
+    public Framebuffer rewrite() {
+        for (int i = 0 ; i < linesPerFrame ; i++) {
+            System.arraycopy(lines, 1, lines, 0, HEIGHT - 1);
+            lines[HEIGHT - 1] = nextLine();
+        }
+
+        for (int row = 0 ; row < HEIGHT ; row++) {
+            screen.clear(' ', 0, row, WIDTH, 1);
+            screen.write(lines[row], 0, row);
+        }
+
+        screen.draw(framebuffer, imageCache);
+        return framebuffer;
+    }
+
+    /** @return The next line of the log. */
+    private String nextLine() {
+        lineNumber++;
+        return "[" + lineNumber + "] GET /index.html 200 " + (lineNumber * 31 % 9973) + "ms";
+    }
+}
@@ -4,42 +4,30 @@ import com.valkryst.VRadio.Radio;
 import com.valkryst.VTerminal.misc.ColorFunctions;
 import com.valkryst.VTerminal.misc.ColoredImageCache;
 import lombok.Getter;
-import lombok.Setter;
 
-import javax.swing.Timer;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
-import java.awt.geom.AffineTransform;
-import java.awt.image.AffineTransformOp;
-import java.awt.image.BufferedImage;
-import java.awt.image.BufferedImageOp;
 import java.util.Objects;
 
 
 public class AsciiCharacter {
-    /** The character. */
-	@Getter @Setter private char character;
-	/** Whether or not the foreground should be drawn using the background color. */
-	@Getter @Setter private boolean isHidden = false;
-    /** The background color. Defaults to black. */
-    @Getter private Color backgroundColor = Color.BLACK;
-	/** The foreground color. Defaults to white. */
-	@Getter private Color foregroundColor = Color.WHITE;
-	/** The bounding box of the character's area. */
-	@Getter private final Rectangle boundingBox;
-
-	/** Whether or not to draw the character as underlined. */
-	@Getter @Setter private boolean isUnderlined = false;
-    /** The thickness of the underline to draw beneath the character. */
-	@Getter private int underlineThickness = 2;
+    /** The grid containing the character's data. */
+    AsciiGrid grid;
+    /** The x-axis (column) coordinate of the character's cell within the grid. */
+    int gridColumn;
+    /** The y-axis (row) coordinate of the character's cell within the grid. */
+    int gridRow;
+    /** Whether or not the grid belongs to this character alone. */
+    private boolean ownsGrid;
 
-	/** Whether or not the character should be flipped horizontally when drawn. */
-	@Getter @Setter private boolean isFlippedHorizontally = false;
-	/** Whether or not the character should be flipped vertically when drawn. */
-	@Getter @Setter private boolean isFlippedVertically = false;
+	/** The bounding box of the character's area. */
+	@Getter private final Rectangle boundingBox = new Rectangle();
 
-	private Timer blinkTimer;
+	/** The blink group that the character belongs to, or null if the blink effect is disabled. */
+	private BlinkScheduler.Group blinkGroup;
+	/** The Radio to transmit a DRAW event to whenever a blink occurs. */
+	private Radio<String> blinkRadio;
 	/** The amount of time, in milliseconds, before the blink effect can occur. */
 	@Getter private short millsBetweenBlinks = 1000;
 
@@ -50,49 +38,63 @@ public class AsciiCharacter {
      *         The character.
      */
 	public AsciiCharacter(final char character) {
-	    this.character = character;
-        boundingBox = new Rectangle();
+	    grid = new AsciiGrid(1, 1);
+	    ownsGrid = true;
+
+	    grid.getCharacters()[0] = character;
     }
 
     /**
      * Constructs a new AsciiCharacter by copying the data
      * of an AsciiTile.
      *
-     * Does not copy the blinkTimer.
+     * Does not copy the blink effect.
      *
      * @param tile
      *         The AsciiTile.
      */
     public AsciiCharacter(final AsciiTile tile) {
-        character = tile.getCharacter();
+        grid = new AsciiGrid(1, 1);
+        ownsGrid = true;
 
-        isHidden = tile.isHidden();
+        grid.copyCell(tile.grid, tile.gridColumn, tile.gridRow, 0, 0);
+        grid.setAttribute(0, 0, AsciiGrid.ATTRIBUTE_TILE, false);
 
-        backgroundColor = tile.getBackgroundColor();
-        foregroundColor = tile.getForegroundColor();
-
-        boundingBox = tile.getBoundingBox();
-
-        isUnderlined = tile.isUnderlined();
-        underlineThickness = tile.getUnderlineThickness();
+        boundingBox.setBounds(tile.getBoundingBox());
+    }
 
-        isFlippedHorizontally = tile.isFlippedHorizontally();
-        isFlippedVertically = tile.isFlippedVertically();
+    /**
+     * Constructs a new AsciiCharacter as a view of a cell within a grid.
+     *
+     * @param grid
+     *         The grid.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     */
+    AsciiCharacter(final AsciiGrid grid, final int column, final int row) {
+        this.grid = grid;
+        gridColumn = column;
+        gridRow = row;
+        ownsGrid = false;
     }
 
     @Override
     public String toString() {
         return "Character:" +
-                "\n\tCharacter:\t'" + character + "'" +
-                "\n\tBackground Color:\t" + backgroundColor +
-                "\n\tForeground Color:\t" + foregroundColor +
-                "\n\tIs Hidden:\t" + isHidden +
+                "\n\tCharacter:\t'" + getCharacter() + "'" +
+                "\n\tBackground Color:\t" + getBackgroundColor() +
+                "\n\tForeground Color:\t" + getForegroundColor() +
+                "\n\tIs Hidden:\t" + isHidden() +
                 "\n\tBounding Box:\t" + boundingBox +
-                "\n\tIs Underlined:\t" + isUnderlined +
-                "\n\tUnderline Thickness:\t" + underlineThickness +
-                "\n\tIs Flipped Horizontally:\t" + isFlippedHorizontally +
-                "\n\tIs Flipped Vertically:\t" + isFlippedVertically +
-                "\n\tBlink Timer:\t" + blinkTimer +
+                "\n\tIs Underlined:\t" + isUnderlined() +
+                "\n\tUnderline Thickness:\t" + getUnderlineThickness() +
+                "\n\tIs Flipped Horizontally:\t" + isFlippedHorizontally() +
+                "\n\tIs Flipped Vertically:\t" + isFlippedVertically() +
+                "\n\tBlink Group:\t" + blinkGroup +
                 "\n\tMilliseconds Between Blinks:\t" + millsBetweenBlinks;
     }
 
@@ -108,18 +110,53 @@ public class AsciiCharacter {
 
         final AsciiCharacter otherCharacter = (AsciiCharacter) object;
 
-	    boolean isEqual = Objects.equals(character, otherCharacter.getCharacter());
-	    isEqual &= Objects.equals(backgroundColor, otherCharacter.getBackgroundColor());
-	    isEqual &= Objects.equals(foregroundColor, otherCharacter.getForegroundColor());
+	    boolean isEqual = Objects.equals(getCharacter(), otherCharacter.getCharacter());
+	    isEqual &= Objects.equals(getBackgroundColor(), otherCharacter.getBackgroundColor());
+	    isEqual &= Objects.equals(getForegroundColor(), otherCharacter.getForegroundColor());
 
         return isEqual;
     }
 
     @Override
     public int hashCode() {
-	    return Objects.hash(character, isHidden, backgroundColor, foregroundColor, boundingBox, isUnderlined,
-                            underlineThickness, isFlippedHorizontally, isFlippedVertically, blinkTimer,
-                            millsBetweenBlinks);
+	    return Objects.hash(getCharacter(), isHidden(), getBackgroundColor(), getForegroundColor(), boundingBox,
+                            isUnderlined(), getUnderlineThickness(), isFlippedHorizontally(), isFlippedVertically(),
+                            blinkGroup, millsBetweenBlinks);
+    }
+
+    /**
+     * Moves the character into a cell of a grid, so that the character
+     * becomes a view of that cell.
+     *
+     * The character's current data is copied into the cell.
+     *
+     * @param grid
+     *         The grid.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     */
+    void bind(final AsciiGrid grid, final int column, final int row) {
+        grid.copyCell(this.grid, gridColumn, gridRow, column, row);
+
+        this.grid = grid;
+        gridColumn = column;
+        gridRow = row;
+        ownsGrid = false;
+    }
+
+    /**
+     * Determines whether or not the character is a view of a cell within
+     * a grid that is shared with other characters.
+     *
+     * @return
+     *         Whether or not the character is bound to a shared grid.
+     */
+    boolean isBound() {
+        return ownsGrid == false;
     }
 
     /**
@@ -144,55 +181,21 @@ public class AsciiCharacter {
         Objects.requireNonNull(gc);
         Objects.requireNonNull(imageCache);
 
+        grid.draw(gc, imageCache, gridColumn, gridRow, columnIndex, rowIndex);
+
         final int fontWidth = imageCache.getFont().getWidth();
         final int fontHeight = imageCache.getFont().getHeight();
 
-        columnIndex *= fontWidth;
-        rowIndex *= fontHeight;
-
-        BufferedImage image;
-
-        // Handle hidden state:
-        if (isHidden) {
-            final Color color = foregroundColor;
-            foregroundColor = backgroundColor;
-
-            image = imageCache.retrieveFromCache(this);
-
-            foregroundColor = color;
-        } else {
-            image = imageCache.retrieveFromCache(this);
-        }
-
-        // Handle Horizontal/Vertical Flipping:
-        if (isFlippedHorizontally || isFlippedVertically) {
-            AffineTransform tx;
-
-            tx = AffineTransform.getScaleInstance((isFlippedHorizontally ? -1 : 1), (isFlippedVertically ? -1 : 1));
-            tx.translate((isFlippedHorizontally ? -fontWidth : 0), (isFlippedVertically ? -fontHeight : 0));
-
-            final BufferedImageOp op = new AffineTransformOp(tx, AffineTransformOp.TYPE_BICUBIC);
-            image = op.filter(image, null);
-        }
-
-        // Draw character:
-        gc.drawImage(image, columnIndex, rowIndex,null);
-
-        boundingBox.setLocation(columnIndex, rowIndex);
+        boundingBox.setLocation(columnIndex * fontWidth, rowIndex * fontHeight);
         boundingBox.setSize(fontWidth, fontHeight);
-
-        // Draw underline:
-        if (isUnderlined) {
-            gc.setColor(foregroundColor);
-
-            final int y = rowIndex + fontHeight - underlineThickness;
-            gc.fillRect(columnIndex, y, fontWidth, underlineThickness);
-        }
     }
 
     /**
      * Enables the blink effect.
      *
+     * The character joins the shared blink group for the specified period, so
+     * it blinks in unison with every other character of the same period.
+     *
      * @param millsBetweenBlinks
      *         The amount of time, in milliseconds, before the blink effect can occur.
      *
@@ -210,43 +213,107 @@ public class AsciiCharacter {
             this.millsBetweenBlinks = millsBetweenBlinks;
         }
 
-        blinkTimer = new Timer(this.millsBetweenBlinks, e -> {
-            isHidden = !isHidden;
-            radio.transmit("DRAW");
-        });
-        blinkTimer.setInitialDelay(this.millsBetweenBlinks);
-        blinkTimer.setRepeats(true);
-        blinkTimer.start();
+        enableBlinkEffect(BlinkScheduler.getInstance().getGroup(this.millsBetweenBlinks), radio);
+    }
+
+    /**
+     * Enables the blink effect, with the character joining the specified
+     * blink group.
+     *
+     * @param group
+     *         The group.
+     *
+     * @param radio
+     *         The Radio to transmit a DRAW event to whenever a blink occurs.
+     *
+     * @throws NullPointerException
+     *         If the group or radio is null.
+     */
+    public void enableBlinkEffect(final BlinkScheduler.Group group, final Radio<String> radio) {
+        Objects.requireNonNull(group);
+        Objects.requireNonNull(radio);
+
+        disableBlinkEffect();
+
+        millsBetweenBlinks = group.getMillsBetweenBlinks();
+        blinkGroup = group;
+        blinkRadio = radio;
+        blinkGroup.register(this, radio);
     }
 
     /** Resumes the blink effect. */
     public void resumeBlinkEffect() {
-        if (blinkTimer != null && blinkTimer.isRunning() == false) {
-            blinkTimer.start();
+        if (blinkGroup != null && blinkGroup.isRegistered(this) == false) {
+            blinkGroup.register(this, blinkRadio);
         }
     }
 
     /** Pauses the blink effect. */
     public void pauseBlinkEffect() {
-        if (blinkTimer != null && blinkTimer.isRunning()) {
-            isHidden = false;
-            blinkTimer.stop();
+        if (blinkGroup != null && blinkGroup.unregister(this)) {
+            setHidden(false);
         }
     }
 
     /** Disables the blink effect. */
     public void disableBlinkEffect() {
-        if (blinkTimer != null) {
-            blinkTimer.stop();
-            blinkTimer = null;
+        if (blinkGroup != null) {
+            blinkGroup.unregister(this);
+            blinkGroup = null;
+            blinkRadio = null;
+        }
+    }
+
+    /**
+     * Moves the blink effect, if any, to another character, so that it
+     * blinks in the same group, and is paused if this character's blink
+     * effect is paused.
+     *
+     * Used when the view of a cell is replaced, as the blink effect belongs
+     * to the cell rather than to its view.
+     *
+     * @param character
+     *         The character.
+     */
+    void moveBlinkEffectTo(final AsciiCharacter character) {
+        if (blinkGroup == null) {
+            return;
+        }
+
+        final BlinkScheduler.Group group = blinkGroup;
+        final Radio<String> radio = blinkRadio;
+        final boolean isPaused = group.isRegistered(this) == false;
+
+        disableBlinkEffect();
+        character.enableBlinkEffect(group, radio);
+
+        if (isPaused) {
+            character.pauseBlinkEffect();
         }
     }
 
+    /**
+     * Determines whether or not the blink effect is enabled.
+     *
+     * @return
+     *         Whether or not the blink effect is enabled, regardless of
+     *         whether or not it's paused.
+     */
+    boolean isBlinkEffectEnabled() {
+        return blinkGroup != null;
+    }
+
     /** Swaps the background and foreground colors. */
     public void invertColors() {
-        final Color temp = backgroundColor;
-        setBackgroundColor(foregroundColor);
-        setForegroundColor(temp);
+        final int index = grid.indexOf(gridColumn, gridRow);
+        final int[] backgroundColors = grid.getBackgroundColors();
+        final int[] foregroundColors = grid.getForegroundColors();
+
+        final int temp = backgroundColors[index];
+        backgroundColors[index] = foregroundColors[index];
+        foregroundColors[index] = temp;
+
+        grid.getDirtyRegions().markDirty(gridColumn, gridRow);
     }
 
     /**
@@ -259,7 +326,7 @@ public class AsciiCharacter {
      *        Values should range from 0.0 to 1.0.
      */
     public void tintBackgroundColor(final double tintFactor) {
-        backgroundColor = ColorFunctions.tint(backgroundColor, tintFactor);
+        setBackgroundColor(ColorFunctions.tint(getBackgroundColor(), tintFactor));
     }
 
 
@@ -273,7 +340,7 @@ public class AsciiCharacter {
      *        Values should range from 0.0 to 1.0.
      */
     public void tintForegroundColor(final double tintFactor) {
-        foregroundColor = ColorFunctions.tint(foregroundColor, tintFactor);
+        setForegroundColor(ColorFunctions.tint(getForegroundColor(), tintFactor));
     }
 
     /**
@@ -300,7 +367,7 @@ public class AsciiCharacter {
      *        Values should range from 0.0 to 1.0.
      */
     public void shadeBackgroundColor(final double shadeFactor) {
-        backgroundColor = ColorFunctions.shade(backgroundColor, shadeFactor);
+        setBackgroundColor(ColorFunctions.shade(getBackgroundColor(), shadeFactor));
     }
 
     /**
@@ -313,7 +380,7 @@ public class AsciiCharacter {
      *        Values should range from 0.0 to 1.0.
      */
     public void shadeForegroundColor(final double shadeFactor) {
-        foregroundColor = ColorFunctions.shade(foregroundColor, shadeFactor);
+        setForegroundColor(ColorFunctions.shade(getForegroundColor(), shadeFactor));
     }
 
     /**
@@ -330,6 +397,33 @@ public class AsciiCharacter {
         shadeForegroundColor(shadeFactor);
     }
 
+    /** @return The character. */
+    public char getCharacter() {
+        return grid.getCharacters()[grid.indexOf(gridColumn, gridRow)];
+    }
+
+    /**
+     * Sets the new character.
+     *
+     * @param character
+     *         The new character.
+     */
+    public void setCharacter(final char character) {
+        grid.getCharacters()[grid.indexOf(gridColumn, gridRow)] = character;
+
+        grid.getDirtyRegions().markDirty(gridColumn, gridRow);
+    }
+
+    /** @return The background color. Defaults to black. */
+    public Color getBackgroundColor() {
+        return new Color(grid.getBackgroundColors()[grid.indexOf(gridColumn, gridRow)], true);
+    }
+
+    /** @return The foreground color. Defaults to white. */
+    public Color getForegroundColor() {
+        return new Color(grid.getForegroundColors()[grid.indexOf(gridColumn, gridRow)], true);
+    }
+
     /**
      * Sets the new background color.
      *
@@ -344,9 +438,9 @@ public class AsciiCharacter {
     public void setBackgroundColor(Color color) {
         Objects.requireNonNull(color);
 
-	    if (backgroundColor.equals(color) == false) {
-            this.backgroundColor = color;
-        }
+        grid.getBackgroundColors()[grid.indexOf(gridColumn, gridRow)] = color.getRGB();
+
+        grid.getDirtyRegions().markDirty(gridColumn, gridRow);
     }
 
     /**
@@ -363,9 +457,44 @@ public class AsciiCharacter {
     public void setForegroundColor(Color color) {
         Objects.requireNonNull(color);
 
-	    if (foregroundColor.equals(color) == false) {
-	        this.foregroundColor = color;
-        }
+        grid.getForegroundColors()[grid.indexOf(gridColumn, gridRow)] = color.getRGB();
+
+        grid.getDirtyRegions().markDirty(gridColumn, gridRow);
+    }
+
+    /** @return Whether or not the foreground should be drawn using the background color. */
+    public boolean isHidden() {
+        return grid.isAttributeSet(gridColumn, gridRow, AsciiGrid.ATTRIBUTE_HIDDEN);
+    }
+
+    /**
+     * Sets whether or not the foreground should be drawn using the background color.
+     *
+     * @param isHidden
+     *         Whether or not the character is hidden.
+     */
+    public void setHidden(final boolean isHidden) {
+        grid.setAttribute(gridColumn, gridRow, AsciiGrid.ATTRIBUTE_HIDDEN, isHidden);
+    }
+
+    /** @return Whether or not to draw the character as underlined. */
+    public boolean isUnderlined() {
+        return grid.isAttributeSet(gridColumn, gridRow, AsciiGrid.ATTRIBUTE_UNDERLINED);
+    }
+
+    /**
+     * Sets whether or not to draw the character as underlined.
+     *
+     * @param isUnderlined
+     *         Whether or not the character is underlined.
+     */
+    public void setUnderlined(final boolean isUnderlined) {
+        grid.setAttribute(gridColumn, gridRow, AsciiGrid.ATTRIBUTE_UNDERLINED, isUnderlined);
+    }
+
+    /** @return The thickness of the underline to draw beneath the character. */
+    public int getUnderlineThickness() {
+        return grid.getUnderlineThickness(gridColumn, gridRow);
     }
 
     /**
@@ -380,11 +509,41 @@ public class AsciiCharacter {
      */
     public void setUnderlineThickness(final int underlineThickness) {
         if (underlineThickness > boundingBox.getHeight()) {
-            this.underlineThickness = (int) boundingBox.getHeight();
+            grid.setUnderlineThickness(gridColumn, gridRow, (int) boundingBox.getHeight());
         } else if (underlineThickness <= 0) {
-            this.underlineThickness = 1;
+            grid.setUnderlineThickness(gridColumn, gridRow, 1);
         } else {
-            this.underlineThickness = underlineThickness;
+            grid.setUnderlineThickness(gridColumn, gridRow, underlineThickness);
         }
     }
-}
\ No newline at end of file
+
+    /** @return Whether or not the character should be flipped horizontally when drawn. */
+    public boolean isFlippedHorizontally() {
+        return grid.isAttributeSet(gridColumn, gridRow, AsciiGrid.ATTRIBUTE_FLIPPED_HORIZONTALLY);
+    }
+
+    /**
+     * Sets whether or not the character should be flipped horizontally when drawn.
+     *
+     * @param isFlippedHorizontally
+     *         Whether or not the character is flipped horizontally.
+     */
+    public void setFlippedHorizontally(final boolean isFlippedHorizontally) {
+        grid.setAttribute(gridColumn, gridRow, AsciiGrid.ATTRIBUTE_FLIPPED_HORIZONTALLY, isFlippedHorizontally);
+    }
+
+    /** @return Whether or not the character should be flipped vertically when drawn. */
+    public boolean isFlippedVertically() {
+        return grid.isAttributeSet(gridColumn, gridRow, AsciiGrid.ATTRIBUTE_FLIPPED_VERTICALLY);
+    }
+
+    /**
+     * Sets whether or not the character should be flipped vertically when drawn.
+     *
+     * @param isFlippedVertically
+     *         Whether or not the character is flipped vertically.
+     */
+    public void setFlippedVertically(final boolean isFlippedVertically) {
+        grid.setAttribute(gridColumn, gridRow, AsciiGrid.ATTRIBUTE_FLIPPED_VERTICALLY, isFlippedVertically);
+    }
+}
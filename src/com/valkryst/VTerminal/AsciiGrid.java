@@ -0,0 +1,632 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.font.GlyphAtlas;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.DirtyRegionTracker;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import lombok.Getter;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Objects;
+
+public class AsciiGrid {
+    /** The attribute flag denoting that the foreground should be drawn using the background color. */
+    public static final short ATTRIBUTE_HIDDEN = 1;
+    /** The attribute flag denoting that the cell should be drawn as underlined. */
+    public static final short ATTRIBUTE_UNDERLINED = 1 << 1;
+    /** The attribute flag denoting that the cell should be flipped horizontally when drawn. */
+    public static final short ATTRIBUTE_FLIPPED_HORIZONTALLY = 1 << 2;
+    /** The attribute flag denoting that the cell should be flipped vertically when drawn. */
+    public static final short ATTRIBUTE_FLIPPED_VERTICALLY = 1 << 3;
+    /** The attribute flag denoting that the cell should be drawn as a tile, rather than as a character. */
+    public static final short ATTRIBUTE_TILE = 1 << 4;
+
+    /** The number of bits to shift an attribute bitfield by to reach the underline thickness. */
+    private static final int UNDERLINE_THICKNESS_SHIFT = 8;
+    /** The mask of the underline thickness, after it has been shifted out of an attribute bitfield. */
+    private static final int UNDERLINE_THICKNESS_MASK = 0xFF;
+
+    /** The default attribute bitfield. Nothing is set, and the underline thickness is 2. */
+    private static final short DEFAULT_ATTRIBUTES = (short) (2 << UNDERLINE_THICKNESS_SHIFT);
+
+    /** The width, in cells. */
+    @Getter private final int width;
+    /** The height, in cells. */
+    @Getter private final int height;
+
+    /** The character of every cell. */
+    @Getter private final char[] characters;
+    /** The background color, as packed ARGB, of every cell. */
+    @Getter private final int[] backgroundColors;
+    /** The foreground color, as packed ARGB, of every cell. */
+    @Getter private final int[] foregroundColors;
+    /** The attribute bitfield of every cell. */
+    @Getter private final short[] attributes;
+
+    /**
+     * The index, within the cell arrays, of the first cell of each row.
+     *
+     * Rows are scrolled by rotating these, rather than by moving their cells.
+     */
+    private final int[] rowOffsets;
+
+    /** The cells that have changed since they were last drawn. */
+    @Getter private final DirtyRegionTracker dirtyRegions;
+
+    /**
+     * Constructs a new AsciiGrid with every cell set to a ' ' with a black
+     * background and a white foreground.
+     *
+     * @param width
+     *         The width, in cells.
+     *
+     * @param height
+     *         The height, in cells.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is less than zero.
+     */
+    public AsciiGrid(final int width, final int height) {
+        if (width < 0) {
+            throw new IllegalArgumentException("You must specify a width of 0 or greater.");
+        }
+
+        if (height < 0) {
+            throw new IllegalArgumentException("You must specify a height of 0 or greater.");
+        }
+
+        this.width = width;
+        this.height = height;
+
+        final int totalCells = width * height;
+
+        characters = new char[totalCells];
+        backgroundColors = new int[totalCells];
+        foregroundColors = new int[totalCells];
+        attributes = new short[totalCells];
+
+        Arrays.fill(characters, ' ');
+        Arrays.fill(backgroundColors, Color.BLACK.getRGB());
+        Arrays.fill(foregroundColors, Color.WHITE.getRGB());
+        Arrays.fill(attributes, DEFAULT_ATTRIBUTES);
+
+        rowOffsets = new int[height];
+
+        for (int row = 0 ; row < height ; row++) {
+            rowOffsets[row] = row * width;
+        }
+
+        dirtyRegions = new DirtyRegionTracker(width, height);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Grid:");
+        sb.append("\n\tWidth:\t").append(width);
+        sb.append("\n\tHeight:\t").append(height);
+        sb.append("\n\tCharacters:\n\t\t");
+
+        for (int row = 0 ; row < height ; row++) {
+            sb.append(characters, indexOf(0, row), width);
+            sb.append("\n\t\t");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Determines the index, within the cell arrays, of a cell.
+     *
+     * The cells of a row are always contiguous, but the rows themselves may
+     * be stored in any order.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     *
+     * @return
+     *         The index.
+     */
+    public int indexOf(final int column, final int row) {
+        return rowOffsets[row] + column;
+    }
+
+    /**
+     * Copies a cell from another grid into a cell of this grid.
+     *
+     * @param source
+     *         The grid to copy from.
+     *
+     * @param sourceColumn
+     *         The x-axis (column) coordinate of the cell to copy.
+     *
+     * @param sourceRow
+     *         The y-axis (row) coordinate of the cell to copy.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell to copy into.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell to copy into.
+     *
+     * @throws NullPointerException
+     *         If the source is null.
+     */
+    public void copyCell(final AsciiGrid source, final int sourceColumn, final int sourceRow, final int column, final int row) {
+        copyCells(source, sourceColumn, sourceRow, column, row, 1);
+    }
+
+    /**
+     * Copies a run of cells, from a row of another grid, into a row of this grid.
+     *
+     * @param source
+     *         The grid to copy from.
+     *
+     * @param sourceColumn
+     *         The x-axis (column) coordinate of the first cell to copy.
+     *
+     * @param sourceRow
+     *         The y-axis (row) coordinate of the cells to copy.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the first cell to copy into.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cells to copy into.
+     *
+     * @param length
+     *         The number of cells to copy.
+     *
+     * @throws NullPointerException
+     *         If the source is null.
+     */
+    public void copyCells(final AsciiGrid source, final int sourceColumn, final int sourceRow, final int column, final int row, final int length) {
+        Objects.requireNonNull(source);
+
+        final int sourceIndex = source.indexOf(sourceColumn, sourceRow);
+        final int index = indexOf(column, row);
+
+        System.arraycopy(source.characters, sourceIndex, characters, index, length);
+        System.arraycopy(source.backgroundColors, sourceIndex, backgroundColors, index, length);
+        System.arraycopy(source.foregroundColors, sourceIndex, foregroundColors, index, length);
+        System.arraycopy(source.attributes, sourceIndex, attributes, index, length);
+
+        dirtyRegions.markDirty(row, column, column + length);
+    }
+
+    /**
+     * Copies a rectangle of cells to another position within this grid, along
+     * with whether or not each cell is dirty.
+     *
+     * Unlike {@link #copyCells(AsciiGrid, int, int, int, int, int)}, the
+     * copied cells are only dirty if their source cells were, as whatever was
+     * last drawn for the source cells can be copied along with them. The
+     * rectangles may overlap.
+     *
+     * @param sourceColumn
+     *         The x-axis (column) coordinate of the top-left cell to copy.
+     *
+     * @param sourceRow
+     *         The y-axis (row) coordinate of the top-left cell to copy.
+     *
+     * @param width
+     *         The width, in cells, of the rectangle.
+     *
+     * @param height
+     *         The height, in cells, of the rectangle.
+     *
+     * @param column
+     *         The x-axis (column) coordinate to copy the top-left cell to.
+     *
+     * @param row
+     *         The y-axis (row) coordinate to copy the top-left cell to.
+     */
+    public void copyRegion(final int sourceColumn, final int sourceRow, final int width, final int height,
+                           final int column, final int row) {
+        // When copying downwards, copy the bottom row first so that no row is overwritten before it's copied.
+        final boolean isBottomUp = row > sourceRow;
+
+        for (int i = 0 ; i < height ; i++) {
+            final int offset = (isBottomUp ? height - 1 - i : i);
+            final int sourceIndex = indexOf(sourceColumn, sourceRow + offset);
+            final int index = indexOf(column, row + offset);
+
+            System.arraycopy(characters, sourceIndex, characters, index, width);
+            System.arraycopy(backgroundColors, sourceIndex, backgroundColors, index, width);
+            System.arraycopy(foregroundColors, sourceIndex, foregroundColors, index, width);
+            System.arraycopy(attributes, sourceIndex, attributes, index, width);
+        }
+
+        dirtyRegions.copyRegion(sourceColumn, sourceRow, width, height, column, row);
+    }
+
+    /**
+     * Scrolls a rectangle of cells by a number of rows, along with whether or
+     * not each cell is dirty.
+     *
+     * If the rectangle spans the full width of the grid, then its rows are
+     * rotated without moving any cells. Otherwise, the cells are copied one
+     * row at a time.
+     *
+     * The rows exposed by the scroll are marked as dirty, and their contents
+     * are left unspecified.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the top-left cell of the rectangle.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the top-left cell of the rectangle.
+     *
+     * @param width
+     *         The width, in cells, of the rectangle.
+     *
+     * @param height
+     *         The height, in cells, of the rectangle.
+     *
+     * @param rows
+     *         The number of rows to scroll by.
+     *         Positive values move the cells down, and negative values move them up.
+     */
+    public void scroll(final int column, final int row, final int width, final int height, final int rows) {
+        final int distance = Math.min(Math.abs(rows), height);
+
+        if (distance == 0 || width == 0) {
+            return;
+        }
+
+        final int movedRows = height - distance;
+        final int exposedRow = (rows > 0 ? row : row + movedRows);
+
+        if (column == 0 && width == this.width) {
+            // Rotating the offsets right by the distance moves each row down, and left moves each row up.
+            rotate(rowOffsets, row, row + height, (rows > 0 ? distance : height - distance));
+            dirtyRegions.copyRegion(0, (rows > 0 ? row : row + distance), width, movedRows, 0, (rows > 0 ? row + distance : row));
+        } else if (rows > 0) {
+            copyRegion(column, row, width, movedRows, column, row + distance);
+        } else {
+            copyRegion(column, row + distance, width, movedRows, column, row);
+        }
+
+        dirtyRegions.markDirty(column, exposedRow, width, distance);
+    }
+
+    /**
+     * Rotates a range of an array to the right.
+     *
+     * @param array
+     *         The array.
+     *
+     * @param begin
+     *         The index of the first element of the range.
+     *
+     * @param end
+     *         The index after the last element of the range.
+     *
+     * @param distance
+     *         The number of positions to rotate by, between zero and the length of the range.
+     */
+    private static void rotate(final int[] array, final int begin, final int end, final int distance) {
+        reverse(array, begin, end);
+        reverse(array, begin, begin + distance);
+        reverse(array, begin + distance, end);
+    }
+
+    /**
+     * Reverses a range of an array.
+     *
+     * @param array
+     *         The array.
+     *
+     * @param begin
+     *         The index of the first element of the range.
+     *
+     * @param end
+     *         The index after the last element of the range.
+     */
+    private static void reverse(final int[] array, int begin, int end) {
+        while (begin < --end) {
+            final int temp = array[begin];
+            array[begin++] = array[end];
+            array[end] = temp;
+        }
+    }
+
+    /**
+     * Determines whether or not an attribute flag is set on a cell.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     *
+     * @param attribute
+     *         The attribute flag.
+     *
+     * @return
+     *         Whether or not the attribute flag is set.
+     */
+    public boolean isAttributeSet(final int column, final int row, final short attribute) {
+        return (attributes[indexOf(column, row)] & attribute) != 0;
+    }
+
+    /**
+     * Sets, or clears, an attribute flag on a cell.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     *
+     * @param attribute
+     *         The attribute flag.
+     *
+     * @param isSet
+     *         Whether to set or clear the attribute flag.
+     */
+    public void setAttribute(final int column, final int row, final short attribute, final boolean isSet) {
+        final int index = indexOf(column, row);
+
+        if (isSet) {
+            attributes[index] |= attribute;
+        } else {
+            attributes[index] &= ~attribute;
+        }
+
+        dirtyRegions.markDirty(column, row);
+    }
+
+    /**
+     * Sets, or clears, an attribute flag on a run of cells within a row.
+     *
+     * @param beginColumn
+     *         The x-axis (column) coordinate of the first cell.
+     *
+     * @param endColumn
+     *         The x-axis (column) coordinate after the last cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cells.
+     *
+     * @param attribute
+     *         The attribute flag.
+     *
+     * @param isSet
+     *         Whether to set or clear the attribute flag.
+     *
+     * @throws IndexOutOfBoundsException
+     *         If the begin column is less than zero, the end column is greater
+     *         than the width, or the begin column is greater than the end column.
+     */
+    public void setAttribute(final int beginColumn, final int endColumn, final int row, final short attribute, final boolean isSet) {
+        // Without this check, a run which extends past the width would spill into the next row.
+        if (beginColumn < 0 || endColumn > width || beginColumn > endColumn) {
+            throw new IndexOutOfBoundsException("The columns " + beginColumn + " to " + endColumn
+                                                + " must lie within 0 to " + width + ".");
+        }
+
+        final int beginIndex = indexOf(beginColumn, row);
+        final int endIndex = beginIndex + (endColumn - beginColumn);
+
+        for (int index = beginIndex ; index < endIndex ; index++) {
+            if (isSet) {
+                attributes[index] |= attribute;
+            } else {
+                attributes[index] &= ~attribute;
+            }
+        }
+
+        dirtyRegions.markDirty(row, beginColumn, endColumn);
+    }
+
+    /**
+     * Retrieves the underline thickness of a cell.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     *
+     * @return
+     *         The underline thickness.
+     */
+    public int getUnderlineThickness(final int column, final int row) {
+        return (attributes[indexOf(column, row)] >> UNDERLINE_THICKNESS_SHIFT) & UNDERLINE_THICKNESS_MASK;
+    }
+
+    /**
+     * Sets the underline thickness of a cell.
+     *
+     * If the specified thickness is greater than 255, then the thickness is set to 255.
+     * If the specified thickness is negative, then the thickness is set to 0.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     *
+     * @param underlineThickness
+     *         The new underline thickness.
+     */
+    public void setUnderlineThickness(final int column, final int row, int underlineThickness) {
+        if (underlineThickness > UNDERLINE_THICKNESS_MASK) {
+            underlineThickness = UNDERLINE_THICKNESS_MASK;
+        } else if (underlineThickness < 0) {
+            underlineThickness = 0;
+        }
+
+        final int index = indexOf(column, row);
+        final int flags = attributes[index] & ~(UNDERLINE_THICKNESS_MASK << UNDERLINE_THICKNESS_SHIFT);
+        attributes[index] = (short) (flags | (underlineThickness << UNDERLINE_THICKNESS_SHIFT));
+
+        dirtyRegions.markDirty(column, row);
+    }
+
+    /**
+     * Draws a cell onto the specified context.
+     *
+     * @param gc
+     *         The graphics context to draw with.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell to draw.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell to draw.
+     *
+     * @param destinationColumn
+     *         The x-axis (column) coordinate where the cell is to be drawn.
+     *
+     * @param destinationRow
+     *         The y-axis (row) coordinate where the cell is to be drawn.
+     *
+     * @throws NullPointerException
+     *         If the gc or image cache are null.
+     */
+    public void draw(final Graphics2D gc, final ColoredImageCache imageCache, final int column, final int row,
+                     final int destinationColumn, final int destinationRow) {
+        Objects.requireNonNull(gc);
+        Objects.requireNonNull(imageCache);
+
+        final int fontWidth = imageCache.getFont().getWidth();
+        final int fontHeight = imageCache.getFont().getHeight();
+
+        final int x = destinationColumn * fontWidth;
+        final int y = destinationRow * fontHeight;
+
+        final int index = indexOf(column, row);
+        final char character = characters[index];
+        final int backgroundRGB = backgroundColors[index];
+        final int foregroundRGB = foregroundColors[index];
+        final short attribute = attributes[index];
+
+        final boolean isHidden = (attribute & ATTRIBUTE_HIDDEN) != 0;
+        final boolean isFlippedHorizontally = (attribute & ATTRIBUTE_FLIPPED_HORIZONTALLY) != 0;
+        final boolean isFlippedVertically = (attribute & ATTRIBUTE_FLIPPED_VERTICALLY) != 0;
+
+        final GlyphAtlas glyphAtlas = imageCache.getGlyphAtlas();
+
+        BufferedImage image = null;
+
+        // The atlas can't preserve the colors of tiles, or blend a translucent background beneath the foreground:
+        final boolean canUseAtlas = glyphAtlas != null && (attribute & ATTRIBUTE_TILE) == 0 && (backgroundRGB >>> 24) == 0xFF;
+
+        // Handle hidden state:
+        if (canUseAtlas) {
+            glyphAtlas.draw(gc, character, x, y, backgroundRGB, (isHidden ? backgroundRGB : foregroundRGB),
+                            isFlippedHorizontally, isFlippedVertically);
+        } else if ((attribute & ATTRIBUTE_TILE) != 0) {
+            if (isHidden) {
+                gc.setColor(new Color(backgroundRGB, true));
+                gc.fillRect(x, y, fontWidth, fontHeight);
+            } else {
+                image = imageCache.retrieveFromCache(character, backgroundRGB, foregroundRGB, true,
+                                                     isFlippedHorizontally, isFlippedVertically);
+            }
+        } else {
+            image = imageCache.retrieveFromCache(character, backgroundRGB, (isHidden ? backgroundRGB : foregroundRGB), false,
+                                                 isFlippedHorizontally, isFlippedVertically);
+        }
+
+        if (image != null) {
+            gc.drawImage(image, x, y, null);
+        }
+
+        // Draw underline:
+        if ((attribute & ATTRIBUTE_UNDERLINED) != 0) {
+            final int underlineThickness = (attribute >> UNDERLINE_THICKNESS_SHIFT) & UNDERLINE_THICKNESS_MASK;
+
+            gc.setColor(new Color(foregroundRGB, true));
+            gc.fillRect(x, y + fontHeight - underlineThickness, fontWidth, underlineThickness);
+        }
+    }
+
+    /**
+     * Draws a cell into the specified framebuffer.
+     *
+     * Opaque cells are copied directly into the pixels of the framebuffer.
+     * Tiles and cells with translucent colors are drawn using the graphics
+     * context of the framebuffer, so that they're blended exactly as they
+     * would be by {@link #draw(Graphics2D, ColoredImageCache, int, int, int, int)}.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell to draw.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell to draw.
+     *
+     * @param destinationColumn
+     *         The x-axis (column) coordinate where the cell is to be drawn.
+     *
+     * @param destinationRow
+     *         The y-axis (row) coordinate where the cell is to be drawn.
+     *
+     * @throws NullPointerException
+     *         If the framebuffer or image cache are null.
+     */
+    public void draw(final Framebuffer framebuffer, final ColoredImageCache imageCache, final int column, final int row,
+                     final int destinationColumn, final int destinationRow) {
+        Objects.requireNonNull(framebuffer);
+        Objects.requireNonNull(imageCache);
+
+        final int index = indexOf(column, row);
+        final char character = characters[index];
+        final int backgroundRGB = backgroundColors[index];
+        final int foregroundRGB = foregroundColors[index];
+        final short attribute = attributes[index];
+
+        final boolean isHidden = (attribute & ATTRIBUTE_HIDDEN) != 0;
+        final boolean isUnderlined = (attribute & ATTRIBUTE_UNDERLINED) != 0;
+        final boolean isFlippedHorizontally = (attribute & ATTRIBUTE_FLIPPED_HORIZONTALLY) != 0;
+        final boolean isFlippedVertically = (attribute & ATTRIBUTE_FLIPPED_VERTICALLY) != 0;
+
+        boolean canCopy = (attribute & ATTRIBUTE_TILE) == 0;
+        canCopy &= (backgroundRGB >>> 24) == 0xFF;
+        canCopy &= (isHidden && isUnderlined == false) || (foregroundRGB >>> 24) == 0xFF;
+
+        if (canCopy == false) {
+            draw(framebuffer.getGraphics(), imageCache, column, row, destinationColumn, destinationRow);
+            return;
+        }
+
+        final int fontWidth = imageCache.getFont().getWidth();
+        final int fontHeight = imageCache.getFont().getHeight();
+
+        final int x = destinationColumn * fontWidth;
+        final int y = destinationRow * fontHeight;
+
+        final GlyphAtlas glyphAtlas = imageCache.getGlyphAtlas();
+        final int glyphRGB = (isHidden ? backgroundRGB : foregroundRGB);
+
+        if (glyphAtlas != null) {
+            glyphAtlas.draw(framebuffer, character, x, y, backgroundRGB, glyphRGB, isFlippedHorizontally, isFlippedVertically);
+        } else {
+            final BufferedImage image = imageCache.retrieveFromCache(character, backgroundRGB, glyphRGB, false,
+                                                                     isFlippedHorizontally, isFlippedVertically);
+            framebuffer.copyImage(image, x, y);
+        }
+
+        if (isUnderlined) {
+            final int underlineThickness = (attribute >> UNDERLINE_THICKNESS_SHIFT) & UNDERLINE_THICKNESS_MASK;
+            framebuffer.fillRect(x, y + fontHeight - underlineThickness, fontWidth, underlineThickness, foregroundRGB);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.valkryst.VTerminal;
 import com.valkryst.VRadio.Radio;
 import com.valkryst.VTerminal.misc.ColorFunctions;
 import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
 import com.valkryst.VTerminal.misc.IntRange;
 import lombok.Getter;
 
@@ -12,8 +13,13 @@ import java.util.Arrays;
 import java.util.Objects;
 
 public class AsciiString {
-    /** The characters of the string. */
-    @Getter private AsciiCharacter[] characters;
+    /** The grid containing the characters of the string. */
+    @Getter private final AsciiGrid grid;
+    /** The y-axis (row) coordinate, within the grid, of the string's characters. */
+    @Getter private final int gridRow;
+
+    /** The views of the characters of the string. Views are only created when requested. */
+    private AsciiCharacter[] characters;
 
     /** The characters that need to be redrawn. */
     @Getter private boolean[] charactersToBeRedrawn;
@@ -29,14 +35,11 @@ public class AsciiString {
             length = 0;
         }
 
-        characters = new AsciiCharacter[length];
+        grid = new AsciiGrid(length, 1);
+        gridRow = 0;
+
         charactersToBeRedrawn = new boolean[length];
         Arrays.fill(charactersToBeRedrawn, true);
-
-
-        for (int columnIndex = 0 ; columnIndex < length ; columnIndex++) {
-            characters[columnIndex] = new AsciiCharacter(' ');
-        }
     }
 
     /**
@@ -47,27 +50,51 @@ public class AsciiString {
      */
     public AsciiString(final String string) {
         if (string == null) {
-            characters = new AsciiCharacter[0];
+            grid = new AsciiGrid(0, 1);
+            gridRow = 0;
+
+            charactersToBeRedrawn = new boolean[0];
         } else {
-            characters = new AsciiCharacter[string.length()];
-            charactersToBeRedrawn = new boolean[string.length()];
+            grid = new AsciiGrid(string.length(), 1);
+            gridRow = 0;
 
-            for (int columnIndex = 0 ; columnIndex < string.length() ; columnIndex++) {
-                charactersToBeRedrawn[columnIndex] = false;
-                characters[columnIndex] = new AsciiCharacter(string.charAt(columnIndex));
-            }
+            string.getChars(0, string.length(), grid.getCharacters(), 0);
+            charactersToBeRedrawn = new boolean[string.length()];
         }
     }
 
-    @Override
-    public String toString() {
-        final StringBuilder builder = new StringBuilder();
+    /**
+     * Constructs a new AsciiString as a view of a row within a grid.
+     *
+     * @param grid
+     *         The grid.
+     *
+     * @param gridRow
+     *         The y-axis (row) coordinate of the row.
+     *
+     * @throws NullPointerException
+     *         If the grid is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the row is not within the grid.
+     */
+    public AsciiString(final AsciiGrid grid, final int gridRow) {
+        Objects.requireNonNull(grid);
 
-        for (final AsciiCharacter c : characters) {
-            builder.append(c.getCharacter());
+        if (gridRow < 0 || gridRow >= grid.getHeight()) {
+            throw new IllegalArgumentException("The row index " + gridRow + " is not within the grid.");
         }
 
-        return builder.toString();
+        this.grid = grid;
+        this.gridRow = gridRow;
+
+        charactersToBeRedrawn = new boolean[grid.getWidth()];
+        Arrays.fill(charactersToBeRedrawn, true);
+    }
+
+    @Override
+    public String toString() {
+        return new String(grid.getCharacters(), grid.indexOf(0, gridRow), length());
     }
 
     public String detailedToString() {
@@ -76,7 +103,7 @@ public class AsciiString {
         builder.append("\n\tCharacters:\t").append(toString());
         builder.append("\n\tCharacters to be Redrawn:\t").append(Arrays.toString(charactersToBeRedrawn)).append("\n");
 
-        for (final AsciiCharacter c : characters) {
+        for (final AsciiCharacter c : getCharacters()) {
             builder.append("\t").append(c.toString().replace("\n\t", "\n\t\t"));
         }
 
@@ -95,7 +122,21 @@ public class AsciiString {
 
         final AsciiString otherString = (AsciiString) object;
 
-        boolean isEqual = Arrays.equals(characters, otherString.getCharacters());
+        if (length() != otherString.length()) {
+            return false;
+        }
+
+        final int offset = grid.indexOf(0, gridRow);
+        final int otherOffset = otherString.grid.indexOf(0, otherString.gridRow);
+
+        boolean isEqual = true;
+
+        for (int column = 0 ; column < length() && isEqual ; column++) {
+            isEqual = grid.getCharacters()[offset + column] == otherString.grid.getCharacters()[otherOffset + column];
+            isEqual &= grid.getBackgroundColors()[offset + column] == otherString.grid.getBackgroundColors()[otherOffset + column];
+            isEqual &= grid.getForegroundColors()[offset + column] == otherString.grid.getForegroundColors()[otherOffset + column];
+        }
+
         isEqual &= Arrays.equals(charactersToBeRedrawn, otherString.getCharactersToBeRedrawn());
 
         return isEqual;
@@ -103,7 +144,7 @@ public class AsciiString {
 
     @Override
     public int hashCode() {
-        return Objects.hash(characters, charactersToBeRedrawn);
+        return Objects.hash(toString(), charactersToBeRedrawn);
     }
 
     /**
@@ -122,25 +163,228 @@ public class AsciiString {
      * @throws NullPointerException
      *         If the gc or image cache is null.
      */
-    public void draw(final Graphics2D gc, final ColoredImageCache imageCache, int rowIndex) {
+    public void draw(final Graphics2D gc, final ColoredImageCache imageCache, final int rowIndex) {
+        draw(gc, imageCache, 0, rowIndex);
+    }
+
+    /**
+     * Draws the characters of the string onto the specified context.
+     *
+     * @param gc
+     *         The graphics context to draw with.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @param columnIndex
+     *         The x-axis (column) coordinate where the first character is to be drawn.
+     *
+     * @param rowIndex
+     *         The y-axis (row) coordinate where the characters are to be drawn.
+     *
+     * @throws NullPointerException
+     *         If the gc or image cache is null.
+     */
+    public void draw(final Graphics2D gc, final ColoredImageCache imageCache, int columnIndex, int rowIndex) {
         Objects.requireNonNull(gc);
         Objects.requireNonNull(imageCache);
 
+        if (columnIndex < 0) {
+            columnIndex = 0;
+        }
+
         if (rowIndex < 0) {
             rowIndex = 0;
         }
 
-        for (int columnIndex = 0; columnIndex < charactersToBeRedrawn.length; columnIndex++) {
-            if (charactersToBeRedrawn[columnIndex]) {
-                charactersToBeRedrawn[columnIndex] = false;
-                characters[columnIndex].draw(gc, imageCache, columnIndex, rowIndex);
+        for (int column = 0; column < charactersToBeRedrawn.length; column++) {
+            if (charactersToBeRedrawn[column]) {
+                charactersToBeRedrawn[column] = false;
+                grid.draw(gc, imageCache, column, gridRow, columnIndex + column, rowIndex);
+            }
+        }
+    }
+
+    /**
+     * Draws the characters of the string into the specified framebuffer.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @param columnIndex
+     *         The x-axis (column) coordinate where the first character is to be drawn.
+     *
+     * @param rowIndex
+     *         The y-axis (row) coordinate where the characters are to be drawn.
+     *
+     * @throws NullPointerException
+     *         If the framebuffer or image cache is null.
+     */
+    public void draw(final Framebuffer framebuffer, final ColoredImageCache imageCache, int columnIndex, int rowIndex) {
+        Objects.requireNonNull(framebuffer);
+        Objects.requireNonNull(imageCache);
+
+        if (columnIndex < 0) {
+            columnIndex = 0;
+        }
+
+        if (rowIndex < 0) {
+            rowIndex = 0;
+        }
+
+        for (int column = 0; column < charactersToBeRedrawn.length; column++) {
+            if (charactersToBeRedrawn[column]) {
+                charactersToBeRedrawn[column] = false;
+                grid.draw(framebuffer, imageCache, column, gridRow, columnIndex + column, rowIndex);
             }
         }
     }
 
     /** @return The length of the string. */
     public int length() {
-        return characters.length;
+        return grid.getWidth();
+    }
+
+    /**
+     * Retrieves the characters of the string.
+     *
+     * Each character is a view of the string's data, so changes made to a
+     * character are reflected within the string.
+     *
+     * @return
+     *         The characters.
+     */
+    public AsciiCharacter[] getCharacters() {
+        if (characters == null) {
+            characters = new AsciiCharacter[length()];
+        }
+
+        for (int column = 0 ; column < characters.length ; column++) {
+            if (characters[column] == null) {
+                characters[column] = createView(column);
+            }
+        }
+
+        return characters;
+    }
+
+    /**
+     * Retrieves the character at the specified position.
+     *
+     * The character is a view of the string's data, so changes made to it
+     * are reflected within the string.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the character.
+     *
+     * @return
+     *         The character.
+     *
+     * @throws IllegalArgumentException
+     *         If the column is less than 0.
+     *         If the column is greater than the length of the string.
+     */
+    public AsciiCharacter getCharacter(final int column) {
+        checkColumnValidity(column);
+
+        if (characters == null) {
+            characters = new AsciiCharacter[length()];
+        }
+
+        if (characters[column] == null) {
+            characters[column] = createView(column);
+        }
+
+        return characters[column];
+    }
+
+    /**
+     * Creates a view of a character within the string.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the character.
+     *
+     * @return
+     *         The view.
+     */
+    private AsciiCharacter createView(final int column) {
+        if (grid.isAttributeSet(column, gridRow, AsciiGrid.ATTRIBUTE_TILE)) {
+            return new AsciiTile(grid, column, gridRow);
+        } else {
+            return new AsciiCharacter(grid, column, gridRow);
+        }
+    }
+
+    /**
+     * Discards any views whose type no longer matches the tile state of the
+     * character that they view.
+     *
+     * Must be called whenever the cells of the string are changed directly
+     * through its grid, such as when the grid's rows are scrolled.
+     */
+    public void discardMismatchedViews() {
+        discardMismatchedViews(0, length());
+    }
+
+    /**
+     * Discards any views, within the specified range, whose type no longer
+     * matches the tile state of the character that they view.
+     *
+     * The blink effect of a discarded view is moved to a new view of its
+     * cell. Otherwise, as blink groups only weakly reference their
+     * characters, the discarded view would silently stop blinking, and could
+     * leave its cell hidden.
+     *
+     * @param beginIndex
+     *         The x-axis (column) coordinate of the first character.
+     *
+     * @param endIndex
+     *         The x-axis (column) coordinate after the last character.
+     */
+    private void discardMismatchedViews(final int beginIndex, final int endIndex) {
+        if (characters == null) {
+            return;
+        }
+
+        for (int column = beginIndex ; column < endIndex ; column++) {
+            if (characters[column] != null) {
+                final boolean isTile = grid.isAttributeSet(column, gridRow, AsciiGrid.ATTRIBUTE_TILE);
+
+                if (isTile != characters[column] instanceof AsciiTile) {
+                    final AsciiCharacter discarded = characters[column];
+                    characters[column] = null;
+
+                    if (discarded.isBlinkEffectEnabled()) {
+                        discarded.moveBlinkEffectTo(getCharacter(column));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines whether or not the specified column is valid by throwing
+     * an exception if the column is invalid.
+     *
+     * @param column
+     *         The x-axis (column) coordinate.
+     *
+     * @throws IllegalArgumentException
+     *         If the column is less than 0.
+     *         If the column is greater than the length of the string.
+     */
+    private void checkColumnValidity(final int column) {
+        if (column < 0) {
+            throw new IllegalArgumentException("The column index " + column + " cannot be below 0.");
+        }
+
+        if (column >= length()) {
+            throw new IllegalArgumentException("The column index " + column + " cannot be greater than or equal to "
+                                               + length() + ".");
+        }
     }
 
     /**
@@ -164,31 +408,55 @@ public class AsciiString {
             throw new IllegalArgumentException("The start (" + range.getStart() + ") of the range is less than zero.");
         }
 
-        if (range.getEnd() > characters.length) {
+        if (range.getEnd() > length()) {
             throw new IllegalArgumentException("The end (" + range.getEnd() + ") of the range is greater than the "
-                                              + " length (" + characters.length + ")  of the string.");
+                                              + " length (" + length() + ")  of the string.");
         }
     }
 
     /** Sets all characters to be redrawn on the next draw call. */
     public void setAllCharactersToBeRedrawn() {
-        Arrays.fill(charactersToBeRedrawn, true);
+        setCharactersToBeRedrawn(0, length());
     }
 
     public void setCharacterRangeToBeRedrawn(final IntRange range) {
         checkRangeValidity(range);
 
-        final int beginIndex = range.getStart();
-        final int endIndex = range.getEnd();
+        setCharactersToBeRedrawn(range.getStart(), range.getEnd());
+    }
 
-        for (int col = beginIndex ; col < endIndex ; col++) {
-            charactersToBeRedrawn[col] = true;
-        }
+    /**
+     * Sets a character to be redrawn on the next draw call.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the character.
+     */
+    private void setCharacterToBeRedrawn(final int column) {
+        charactersToBeRedrawn[column] = true;
+        grid.getDirtyRegions().markDirty(column, gridRow);
+    }
+
+    /**
+     * Sets a range of characters to be redrawn on the next draw call.
+     *
+     * @param beginIndex
+     *         The x-axis (column) coordinate of the first character.
+     *
+     * @param endIndex
+     *         The x-axis (column) coordinate after the last character.
+     */
+    private void setCharactersToBeRedrawn(final int beginIndex, final int endIndex) {
+        Arrays.fill(charactersToBeRedrawn, beginIndex, endIndex, true);
+        grid.getDirtyRegions().markDirty(gridRow, beginIndex, endIndex);
     }
 
     /**
      * Sets a new character in the specified position.
      *
+     * If the character doesn't already belong to a string, then it becomes a
+     * view of the specified position. Otherwise, its data is copied into the
+     * specified position.
+     *
      * @param column
      *         The x-axis (column) coordinate to place the character at.
      *
@@ -204,18 +472,114 @@ public class AsciiString {
      */
     public void setCharacter(final int column, final AsciiCharacter character) {
         Objects.requireNonNull(character);
+        checkColumnValidity(column);
 
-        if (column < 0) {
-            throw new IllegalArgumentException("The column index " + column + " cannot be below 0.");
+        if (character.isBound()) {
+            copyCharacter(column, character);
+            return;
         }
 
-        if (column >= characters.length) {
-            throw new IllegalArgumentException("The column index " + column + " cannot be greater than or equal to "
-                                               + characters.length + ".");
+        character.bind(grid, column, gridRow);
+
+        if (characters == null) {
+            characters = new AsciiCharacter[length()];
         }
 
         characters[column] = character;
-        charactersToBeRedrawn[column] = true;
+        setCharacterToBeRedrawn(column);
+    }
+
+    /**
+     * Copies the data of a character into the specified position.
+     *
+     * @param column
+     *         The x-axis (column) coordinate to copy the character to.
+     *
+     * @param character
+     *         The character.
+     *
+     * @throws NullPointerException
+     *         If the character is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the column is less than 0.
+     *         If the column is greater than the length of the string.
+     */
+    public void copyCharacter(final int column, final AsciiCharacter character) {
+        Objects.requireNonNull(character);
+        checkColumnValidity(column);
+
+        grid.copyCell(character.grid, character.gridColumn, character.gridRow, column, gridRow);
+        discardMismatchedViews(column, column + 1);
+        setCharacterToBeRedrawn(column);
+    }
+
+    /**
+     * Copies the data of every character of a string into this string,
+     * beginning at the specified position.
+     *
+     * Characters that would be placed beyond the end of this string are
+     * not copied.
+     *
+     * @param column
+     *         The x-axis (column) coordinate to begin copying to.
+     *
+     * @param string
+     *         The string.
+     *
+     * @throws NullPointerException
+     *         If the string is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the column is less than 0.
+     *         If the column is greater than the length of the string.
+     */
+    public void copyCharacters(final int column, final AsciiString string) {
+        Objects.requireNonNull(string);
+
+        copyCharacters(column, string, new IntRange(0, string.length()));
+    }
+
+    /**
+     * Copies the data of a range of characters, of a string, into this string,
+     * beginning at the specified position.
+     *
+     * Characters that would be placed beyond the end of this string are
+     * not copied.
+     *
+     * @param column
+     *         The x-axis (column) coordinate to begin copying to.
+     *
+     * @param string
+     *         The string.
+     *
+     * @param range
+     *         The x-axis (column) coordinates, within the string, of the characters
+     *         to begin/end the copy between.
+     *         Includes the first index and excludes the last index.
+     *
+     * @throws NullPointerException
+     *         If the string is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the column is less than 0.
+     *         If the column is greater than the length of the string.
+     *         If the range is not valid for the source string.
+     */
+    public void copyCharacters(final int column, final AsciiString string, final IntRange range) {
+        Objects.requireNonNull(string);
+        string.checkRangeValidity(range);
+        checkColumnValidity(column);
+
+        final int totalCharacters = Math.min(range.getEnd() - range.getStart(), length() - column);
+
+        if (totalCharacters <= 0) {
+            return;
+        }
+
+        grid.copyCells(string.grid, range.getStart(), string.gridRow, column, gridRow, totalCharacters);
+        discardMismatchedViews(column, column + totalCharacters);
+        setCharactersToBeRedrawn(column, column + totalCharacters);
     }
 
     /**
@@ -232,17 +596,10 @@ public class AsciiString {
      *         If the column is greater than the length of the string.
      */
     public void setCharacter(final int column, final char character) {
-        if (column < 0) {
-            throw new IllegalArgumentException("The column index " + column + " cannot be below 0.");
-        }
-
-        if (column >= characters.length) {
-            throw new IllegalArgumentException("The column index " + column + " cannot be greater than or equal to "
-                                               + characters.length + ".");
-        }
+        checkColumnValidity(column);
 
-        characters[column].setCharacter(character);
-        charactersToBeRedrawn[column] = true;
+        grid.getCharacters()[grid.indexOf(column, gridRow)] = character;
+        setCharacterToBeRedrawn(column);
     }
 
     /**
@@ -260,11 +617,75 @@ public class AsciiString {
 
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
+        final int offset = grid.indexOf(0, gridRow);
 
-        for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            characters[columnIndex].setCharacter(character);
-            charactersToBeRedrawn[columnIndex] = true;
+        Arrays.fill(grid.getCharacters(), offset + beginIndex, offset + endIndex, character);
+        setCharactersToBeRedrawn(beginIndex, endIndex);
+    }
+
+    /**
+     * Sets a run of characters, and optionally their colors, from the
+     * specified arrays.
+     *
+     * @param column
+     *         The x-axis (column) coordinate to begin writing to.
+     *
+     * @param characters
+     *         The characters.
+     *
+     * @param backgroundColors
+     *         The RGB background colors, or null to leave the background colors unchanged.
+     *
+     * @param foregroundColors
+     *         The RGB foreground colors, or null to leave the foreground colors unchanged.
+     *
+     * @param offset
+     *         The index, within the arrays, of the first value to write.
+     *
+     * @param length
+     *         The number of values to write.
+     *
+     * @throws NullPointerException
+     *         If the characters are null.
+     *
+     * @throws IllegalArgumentException
+     *         If the column is less than 0.
+     *         If the column is greater than the length of the string.
+     *         If the length is negative, or if there isn't room in the string for every value.
+     *         If the offset is negative, or if any of the arrays are too short.
+     */
+    public void setCharacters(final int column, final char[] characters, final int[] backgroundColors,
+                              final int[] foregroundColors, final int offset, final int length) {
+        Objects.requireNonNull(characters);
+        checkColumnValidity(column);
+
+        if (length < 0 || length > length() - column) {
+            throw new IllegalArgumentException("The length (" + length + ") must be between 0 and "
+                                               + (length() - column) + ".");
+        }
+
+        boolean isValid = offset >= 0;
+        isValid &= offset + length <= characters.length;
+        isValid &= backgroundColors == null || offset + length <= backgroundColors.length;
+        isValid &= foregroundColors == null || offset + length <= foregroundColors.length;
+
+        if (isValid == false) {
+            throw new IllegalArgumentException("The offset (" + offset + ") and length (" + length + ") must lie "
+                                               + "within the arrays.");
         }
+
+        final int index = grid.indexOf(column, gridRow);
+        System.arraycopy(characters, offset, grid.getCharacters(), index, length);
+
+        if (backgroundColors != null) {
+            System.arraycopy(backgroundColors, offset, grid.getBackgroundColors(), index, length);
+        }
+
+        if (foregroundColors != null) {
+            System.arraycopy(foregroundColors, offset, grid.getForegroundColors(), index, length);
+        }
+
+        setCharactersToBeRedrawn(column, column + length);
     }
 
     /**
@@ -274,9 +695,8 @@ public class AsciiString {
      *         The character to change to.
      */
     public void setAllCharacters(final char character) {
-        for (final AsciiCharacter c : characters) {
-            c.setCharacter(character);
-        }
+        final int offset = grid.indexOf(0, gridRow);
+        Arrays.fill(grid.getCharacters(), offset, offset + length(), character);
 
         setAllCharactersToBeRedrawn();
     }
@@ -294,7 +714,7 @@ public class AsciiString {
      *         Whether or not to apply the gradient to the background or foreground of the characters.
      */
     public void applyColorGradient(final Color colorFrom, final Color colorTo, final boolean applyToBackground) {
-        applyColorGradient(new IntRange(0, characters.length), colorFrom, colorTo, applyToBackground);
+        applyColorGradient(new IntRange(0, length()), colorFrom, colorTo, applyToBackground);
     }
 
     /**
@@ -327,9 +747,9 @@ public class AsciiString {
         final float blueDifference = colorTo.getBlue() - colorFrom.getBlue();
 
         // Determine the amount to increment the RGB values by and convert the values to the 0-1 scale:
-        final float redChangePerColumn = (redDifference / characters.length) / 255f;
-        final float greenChangePerColumn = (greenDifference / characters.length) / 255f;
-        final float blueChangePerColumn = (blueDifference / characters.length) / 255f;
+        final float redChangePerColumn = (redDifference / length()) / 255f;
+        final float greenChangePerColumn = (greenDifference / length()) / 255f;
+        final float blueChangePerColumn = (blueDifference / length()) / 255f;
 
         // Set the starting RGB values and convert them to the 0-1 scale:
         float redCurrent = colorFrom.getRed() / 255f;
@@ -339,15 +759,12 @@ public class AsciiString {
         // Set the new color values:
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
+        final int offset = grid.indexOf(0, gridRow);
+        final int[] colors = (applyToBackground ? grid.getBackgroundColors() : grid.getForegroundColors());
 
         for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-
-            if (applyToBackground) {
-                characters[columnIndex].setBackgroundColor(new Color(redCurrent, greenCurrent, blueCurrent));
-            } else {
-                characters[columnIndex].setForegroundColor(new Color(redCurrent, greenCurrent, blueCurrent));
-            }
+            setCharacterToBeRedrawn(columnIndex);
+            colors[offset + columnIndex] = new Color(redCurrent, greenCurrent, blueCurrent).getRGB();
 
             redCurrent += redChangePerColumn;
             greenCurrent += greenChangePerColumn;
@@ -365,7 +782,7 @@ public class AsciiString {
      *         Whether or not to apply the gradient to the background or foreground of the characters.
      */
     public void applyShadeGradient(final Color color, final boolean applyToBackground) {
-        applyShadeGradient(new IntRange(0, characters.length), color, applyToBackground);
+        applyShadeGradient(new IntRange(0, length()), color, applyToBackground);
     }
 
     /**
@@ -392,15 +809,12 @@ public class AsciiString {
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
         final double shadeFactor = 1 / (double) endIndex;
+        final int offset = grid.indexOf(0, gridRow);
+        final int[] colors = (applyToBackground ? grid.getBackgroundColors() : grid.getForegroundColors());
 
         for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-
-            if (applyToBackground) {
-                characters[columnIndex].setBackgroundColor(color);
-            } else {
-                characters[columnIndex].setForegroundColor(color);
-            }
+            setCharacterToBeRedrawn(columnIndex);
+            colors[offset + columnIndex] = color.getRGB();
 
             color = ColorFunctions.shade(color, shadeFactor);
         }
@@ -416,7 +830,7 @@ public class AsciiString {
      *         Whether or not to apply the gradient to the background or foreground of the characters.
      */
     public void applyTintGradient(final Color color, final boolean applyToBackground) {
-        applyTintGradient(new IntRange(0, characters.length), color, applyToBackground);
+        applyTintGradient(new IntRange(0, length()), color, applyToBackground);
     }
 
     /**
@@ -443,15 +857,12 @@ public class AsciiString {
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
         final double tintFactor = 1 / (double) endIndex;
+        final int offset = grid.indexOf(0, gridRow);
+        final int[] colors = (applyToBackground ? grid.getBackgroundColors() : grid.getForegroundColors());
 
         for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-
-            if (applyToBackground) {
-                characters[columnIndex].setBackgroundColor(color);
-            } else {
-                characters[columnIndex].setForegroundColor(color);
-            }
+            setCharacterToBeRedrawn(columnIndex);
+            colors[offset + columnIndex] = color.getRGB();
 
             color = ColorFunctions.tint(color, tintFactor);
         }
@@ -472,29 +883,47 @@ public class AsciiString {
     public void enableBlinkEffect(final short millsBetweenBlinks, final Radio<String> radio) {
         Objects.requireNonNull(radio);
 
-        for (final AsciiCharacter c : characters) {
+        for (final AsciiCharacter c : getCharacters()) {
             c.enableBlinkEffect(millsBetweenBlinks, radio);
         }
     }
 
     /** Resumes the blink effect for every character. */
     public void resumeBlinkEffect() {
+        if (characters == null) {
+            return;
+        }
+
         for (final AsciiCharacter c : characters) {
-            c.resumeBlinkEffect();
+            if (c != null) {
+                c.resumeBlinkEffect();
+            }
         }
     }
 
     /** Pauses the blink effect for every character. */
     public void pauseBlinkEffect() {
+        if (characters == null) {
+            return;
+        }
+
         for (final AsciiCharacter c : characters) {
-            c.pauseBlinkEffect();
+            if (c != null) {
+                c.pauseBlinkEffect();
+            }
         }
     }
 
     /** Disables the blink effect for every character. */
     public void disableBlinkEffect() {
+        if (characters == null) {
+            return;
+        }
+
         for (final AsciiCharacter c : characters) {
-            c.disableBlinkEffect();
+            if (c != null) {
+                c.disableBlinkEffect();
+            }
         }
     }
 
@@ -522,8 +951,8 @@ public class AsciiString {
         final int endIndex = range.getEnd();
 
         for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-            characters[columnIndex].enableBlinkEffect(millsBetweenBlinks, radio);
+            setCharacterToBeRedrawn(columnIndex);
+            getCharacter(columnIndex).enableBlinkEffect(millsBetweenBlinks, radio);
         }
     }
 
@@ -538,11 +967,17 @@ public class AsciiString {
     public void resumeBlinkEffect(final IntRange range) {
         checkRangeValidity(range);
 
+        if (characters == null) {
+            return;
+        }
+
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
 
         for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            characters[columnIndex].resumeBlinkEffect();
+            if (characters[columnIndex] != null) {
+                characters[columnIndex].resumeBlinkEffect();
+            }
         }
     }
 
@@ -556,11 +991,17 @@ public class AsciiString {
     public void pauseBlinkEffect(final IntRange range) {
         checkRangeValidity(range);
 
+        if (characters == null) {
+            return;
+        }
+
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
 
         for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            characters[columnIndex].pauseBlinkEffect();
+            if (characters[columnIndex] != null) {
+                characters[columnIndex].pauseBlinkEffect();
+            }
         }
     }
 
@@ -578,14 +1019,17 @@ public class AsciiString {
         final int endIndex = range.getEnd();
 
         for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-            characters[columnIndex].disableBlinkEffect();
+            setCharacterToBeRedrawn(columnIndex);
+
+            if (characters != null && characters[columnIndex] != null) {
+                characters[columnIndex].disableBlinkEffect();
+            }
         }
     }
 
     /** Swaps the background and foreground colors of every character. */
     public void invertColors() {
-        invertColors(new IntRange(0, characters.length));
+        invertColors(new IntRange(0, length()));
     }
 
     /**
@@ -600,10 +1044,16 @@ public class AsciiString {
 
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
+        final int offset = grid.indexOf(0, gridRow);
+        final int[] backgroundColors = grid.getBackgroundColors();
+        final int[] foregroundColors = grid.getForegroundColors();
 
         for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-            characters[columnIndex].invertColors();
+            setCharacterToBeRedrawn(columnIndex);
+
+            final int temp = backgroundColors[offset + columnIndex];
+            backgroundColors[offset + columnIndex] = foregroundColors[offset + columnIndex];
+            foregroundColors[offset + columnIndex] = temp;
         }
     }
 
@@ -620,7 +1070,7 @@ public class AsciiString {
      *         Whether or not to apply the tint to the background or foreground of the characters.
      */
     public void tintColors(final double tintFactor, final boolean applyToBackground) {
-        tintColors(new IntRange(0, characters.length), tintFactor, applyToBackground);
+        tintColors(new IntRange(0, length()), tintFactor, applyToBackground);
     }
 
     /**
@@ -644,15 +1094,14 @@ public class AsciiString {
 
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
+        final int offset = grid.indexOf(0, gridRow);
+        final int[] colors = (applyToBackground ? grid.getBackgroundColors() : grid.getForegroundColors());
 
         for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
+            setCharacterToBeRedrawn(columnIndex);
 
-            if (applyToBackground) {
-                characters[columnIndex].tintBackgroundColor(tintFactor);
-            } else {
-                characters[columnIndex].tintForegroundColor(tintFactor);
-            }
+            final Color color = new Color(colors[offset + columnIndex], true);
+            colors[offset + columnIndex] = ColorFunctions.tint(color, tintFactor).getRGB();
         }
     }
 
@@ -669,7 +1118,7 @@ public class AsciiString {
      *         Whether or not to apply the shade to the background or foreground of the characters.
      */
     public void shadeColors(final double shadeFactor, final boolean applyToBackground) {
-        shadeColors(new IntRange(0, characters.length), shadeFactor, applyToBackground);
+        shadeColors(new IntRange(0, length()), shadeFactor, applyToBackground);
     }
 
     /**
@@ -693,15 +1142,14 @@ public class AsciiString {
 
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
+        final int offset = grid.indexOf(0, gridRow);
+        final int[] colors = (applyToBackground ? grid.getBackgroundColors() : grid.getForegroundColors());
 
         for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
+            setCharacterToBeRedrawn(columnIndex);
 
-            if (applyToBackground) {
-                characters[columnIndex].shadeBackgroundColor(shadeFactor);
-            } else {
-                characters[columnIndex].shadeForegroundColor(shadeFactor);
-            }
+            final Color color = new Color(colors[offset + columnIndex], true);
+            colors[offset + columnIndex] = ColorFunctions.shade(color, shadeFactor).getRGB();
         }
     }
 
@@ -712,7 +1160,7 @@ public class AsciiString {
      *         The new background color.
      */
     public void setBackgroundColor(final Color color) {
-        setBackgroundColor(color, new IntRange(0, characters.length));
+        setBackgroundColor(color, new IntRange(0, length()));
     }
 
     /**
@@ -722,7 +1170,7 @@ public class AsciiString {
      *         The new foreground color.
      */
     public void setForegroundColor(final Color color) {
-        setForegroundColor(color, new IntRange(0, characters.length));
+        setForegroundColor(color, new IntRange(0, length()));
     }
 
     /**
@@ -744,11 +1192,10 @@ public class AsciiString {
 
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
+        final int offset = grid.indexOf(0, gridRow);
 
-        for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-            characters[columnIndex].setBackgroundColor(color);
-        }
+        Arrays.fill(grid.getBackgroundColors(), offset + beginIndex, offset + endIndex, color.getRGB());
+        setCharactersToBeRedrawn(beginIndex, endIndex);
     }
 
     /**
@@ -770,11 +1217,10 @@ public class AsciiString {
 
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
+        final int offset = grid.indexOf(0, gridRow);
 
-        for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-            characters[columnIndex].setForegroundColor(color);
-        }
+        Arrays.fill(grid.getForegroundColors(), offset + beginIndex, offset + endIndex, color.getRGB());
+        setCharactersToBeRedrawn(beginIndex, endIndex);
     }
 
     /**
@@ -784,10 +1230,8 @@ public class AsciiString {
      *         Whether or not the characters are to be hidden.
      */
     public void setHidden(final boolean isHidden) {
-        for (int columnIndex = 0 ; columnIndex < characters.length ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-            characters[columnIndex].setHidden(isHidden);
-        }
+        grid.setAttribute(0, length(), gridRow, AsciiGrid.ATTRIBUTE_HIDDEN, isHidden);
+        setAllCharactersToBeRedrawn();
     }
 
     /**
@@ -798,7 +1242,7 @@ public class AsciiString {
      *        Whether or not the characters should be flipped horizontally.
      */
     public void setFlippedHorizontally(final boolean flipHorizontally) {
-        setFlippedHorizontally(new IntRange(0, characters.length), flipHorizontally);
+        setFlippedHorizontally(new IntRange(0, length()), flipHorizontally);
     }
 
     /**
@@ -809,7 +1253,7 @@ public class AsciiString {
      *        Whether or not the characters should be flipped vertically.
      */
     public void setFlippedVertically(final boolean flipVertically) {
-        setFlippedVertically(new IntRange(0, characters.length), flipVertically);
+        setFlippedVertically(new IntRange(0, length()), flipVertically);
     }
 
     /**
@@ -831,10 +1275,8 @@ public class AsciiString {
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
 
-        for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-            characters[columnIndex].setFlippedHorizontally(flipHorizontally);
-        }
+        grid.setAttribute(beginIndex, endIndex, gridRow, AsciiGrid.ATTRIBUTE_FLIPPED_HORIZONTALLY, flipHorizontally);
+        setCharactersToBeRedrawn(beginIndex, endIndex);
     }
 
     /**
@@ -853,10 +1295,8 @@ public class AsciiString {
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
 
-        for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = flipVertically;
-            characters[columnIndex].setFlippedVertically(true);
-        }
+        grid.setAttribute(beginIndex, endIndex, gridRow, AsciiGrid.ATTRIBUTE_FLIPPED_VERTICALLY, flipVertically);
+        setCharactersToBeRedrawn(beginIndex, endIndex);
     }
 
     /**
@@ -867,7 +1307,7 @@ public class AsciiString {
      *        Whether or not the characters should be underlined.
      */
     public void setUnderlined(final boolean underline) {
-        setUnderlined(new IntRange(0, characters.length), underline);
+        setUnderlined(new IntRange(0, length()), underline);
     }
 
     /**
@@ -886,9 +1326,7 @@ public class AsciiString {
         final int beginIndex = range.getStart();
         final int endIndex = range.getEnd();
 
-        for (int columnIndex = beginIndex ; columnIndex < endIndex ; columnIndex++) {
-            charactersToBeRedrawn[columnIndex] = true;
-            characters[columnIndex].setUnderlined(underline);
-        }
+        grid.setAttribute(beginIndex, endIndex, gridRow, AsciiGrid.ATTRIBUTE_UNDERLINED, underline);
+        setCharactersToBeRedrawn(beginIndex, endIndex);
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,6 @@
 package com.valkryst.VTerminal;
 
-import com.valkryst.VTerminal.misc.ColoredImageCache;
-
-import java.awt.Graphics2D;
 import java.awt.Rectangle;
-import java.awt.geom.AffineTransform;
-import java.awt.image.AffineTransformOp;
-import java.awt.image.BufferedImage;
-import java.awt.image.BufferedImageOp;
-import java.util.Objects;
 
 
 public class AsciiTile extends AsciiCharacter {
@@ -20,13 +12,15 @@ public class AsciiTile extends AsciiCharacter {
      */
 	public AsciiTile(final char character) {
 	    super(character);
+
+	    grid.setAttribute(gridColumn, gridRow, AsciiGrid.ATTRIBUTE_TILE, true);
     }
 
     /**
      * Constructs a new AsciiTile by copying the data
      * of an AsciiCharacter.
      *
-     * Does not copy the blinkTimer.
+     * Does not copy the blink effect.
      *
      * @param character
      *         The AsciiCharacter.
@@ -34,86 +28,27 @@ public class AsciiTile extends AsciiCharacter {
     public AsciiTile(final AsciiCharacter character) {
 	    super(character.getCharacter());
 
-	    super.setHidden(character.isHidden());
-
-	    super.setBackgroundColor(character.getBackgroundColor());
-	    super.setForegroundColor(character.getForegroundColor());
+	    grid.copyCell(character.grid, character.gridColumn, character.gridRow, gridColumn, gridRow);
+	    grid.setAttribute(gridColumn, gridRow, AsciiGrid.ATTRIBUTE_TILE, true);
 
 	    final Rectangle boundingBox = character.getBoundingBox();
 	    super.getBoundingBox().setSize(boundingBox.width, boundingBox.height);
 	    super.getBoundingBox().setLocation(boundingBox.x, boundingBox.y);
-
-        super.setUnderlined(character.isUnderlined());
-        super.setUnderlineThickness(character.getUnderlineThickness());
-
-        super.setFlippedHorizontally(character.isFlippedHorizontally());
-        super.setFlippedVertically(character.isFlippedVertically());
     }
 
     /**
-     * Draws the tile onto the specified context.
+     * Constructs a new AsciiTile as a view of a cell within a grid.
      *
-     * @param gc
-     *         The graphics context to draw with.
+     * @param grid
+     *         The grid.
      *
-     * @param imageCache
-     *         The image cache to retrieve character images from.
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
      *
-     * @param columnIndex
-     *         The x-axis (column) coordinate where the character is to be drawn.
-     *
-     * @param rowIndex
-     *         The y-axis (row) coordinate where the character is to be drawn.
-     *
-     * @throws NullPointerException
-     *         If the gc or image cache are null.
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
      */
-    @Override
-    public void draw(final Graphics2D gc, final ColoredImageCache imageCache, int columnIndex, int rowIndex) {
-        Objects.requireNonNull(gc);
-        Objects.requireNonNull(imageCache);
-
-        final int fontWidth = imageCache.getFont().getWidth();
-        final int fontHeight = imageCache.getFont().getHeight();
-
-        columnIndex *= fontWidth;
-        rowIndex *= fontHeight;
-
-        BufferedImage image = null;
-
-        // Handle hidden state:
-        if (super.isHidden()) {
-            gc.setColor(super.getBackgroundColor());
-            gc.fillRect(columnIndex, rowIndex, fontWidth, fontHeight);
-        } else {
-            image = imageCache.retrieveFromCache(this);
-        }
-
-        if (image != null) {
-            // Handle Horizontal/Vertical Flipping:
-            if (super.isFlippedHorizontally() || super.isFlippedVertically()) {
-                AffineTransform tx;
-
-                tx = AffineTransform.getScaleInstance((super.isFlippedHorizontally() ? -1 : 1), (super.isFlippedVertically() ? -1 : 1));
-                tx.translate((super.isFlippedHorizontally() ? -fontWidth : 0), (super.isFlippedVertically() ? -fontHeight : 0));
-
-                final BufferedImageOp op = new AffineTransformOp(tx, AffineTransformOp.TYPE_BICUBIC);
-                image = op.filter(image, null);
-            }
-
-            // Draw character:
-            gc.drawImage(image, columnIndex, rowIndex, null);
-        }
-
-        super.getBoundingBox().setLocation(columnIndex, rowIndex);
-        super.getBoundingBox().setSize(fontWidth, fontHeight);
-
-        // Draw underline:
-        if (super.isUnderlined()) {
-            gc.setColor(super.getForegroundColor());
-
-            final int y = rowIndex + fontHeight - super.getUnderlineThickness();
-            gc.fillRect(columnIndex, y, fontWidth, super.getUnderlineThickness());
-        }
+    AsciiTile(final AsciiGrid grid, final int column, final int row) {
+        super(grid, column, row);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,395 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VRadio.Radio;
+import lombok.Getter;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public final class BlinkScheduler {
+    /** The scheduler shared by every character. */
+    private static final BlinkScheduler INSTANCE = new BlinkScheduler();
+
+    /** The executor which runs the tick of every group. */
+    private final ScheduledExecutorService executor;
+
+    /** The groups, keyed by their blink period and phase. */
+    private final Map<Long, Group> groups = new HashMap<>();
+
+    /**
+     * The time, in nanoseconds, that every group's blinks are aligned to.
+     *
+     * A group blinks whenever a whole number of periods, plus its phase, has
+     * elapsed since this time. So groups keep their phase relative to each
+     * other, regardless of when they were registered to or resumed.
+     */
+    private final long epoch = System.nanoTime();
+
+    /** Constructs a new BlinkScheduler. */
+    private BlinkScheduler() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "VTerminal Blink Scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** @return The scheduler shared by every character. */
+    public static BlinkScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Retrieves the group of characters which blink with the specified period,
+     * and with no phase offset.
+     *
+     * @param millsBetweenBlinks
+     *         The amount of time, in milliseconds, between each blink.
+     *
+     * @return
+     *         The group.
+     *
+     * @throws IllegalArgumentException
+     *         If the amount of time between blinks is less than one.
+     */
+    public Group getGroup(final short millsBetweenBlinks) {
+        return getGroup(millsBetweenBlinks, (short) 0);
+    }
+
+    /**
+     * Retrieves the group of characters which blink with the specified period
+     * and phase offset.
+     *
+     * Groups with the same period, but different phases, blink at different
+     * times. For example, two groups with a period of 500ms and phases of 0ms
+     * and 250ms blink alternately.
+     *
+     * @param millsBetweenBlinks
+     *         The amount of time, in milliseconds, between each blink.
+     *
+     * @param phase
+     *         The amount of time, in milliseconds, that the group's blinks are
+     *         delayed by.
+     *
+     * @return
+     *         The group.
+     *
+     * @throws IllegalArgumentException
+     *         If the amount of time between blinks is less than one, or if the
+     *         phase is negative.
+     */
+    public synchronized Group getGroup(final short millsBetweenBlinks, final short phase) {
+        if (millsBetweenBlinks < 1) {
+            throw new IllegalArgumentException("The amount of time between blinks must be at least one millisecond.");
+        }
+
+        if (phase < 0) {
+            throw new IllegalArgumentException("The phase cannot be negative.");
+        }
+
+        final long key = ((long) millsBetweenBlinks << 32) | phase;
+        return groups.computeIfAbsent(key, k -> new Group(millsBetweenBlinks, phase));
+    }
+
+    public final class Group {
+        /** The amount of time, in milliseconds, between each blink. */
+        @Getter private final short millsBetweenBlinks;
+        /** The amount of time, in milliseconds, that the group's blinks are delayed by. */
+        @Getter private final short phase;
+
+        /**
+         * The characters of the group, and the Radio to transmit a DRAW event to whenever they blink.
+         *
+         * Both are weakly referenced, so that a character which is no longer used, along with the
+         * screen that it belongs to, can be collected without being unregistered first.
+         */
+        private final Map<CharacterReference, WeakReference<Radio<String>>> characters = new HashMap<>();
+        /** The references of the collected characters of the group. */
+        private final ReferenceQueue<AsciiCharacter> collectedCharacters = new ReferenceQueue<>();
+
+        /** Whether or not the characters of the group are currently hidden. */
+        @Getter private boolean hidden = false;
+        /** Whether or not the group is paused. */
+        @Getter private boolean paused = false;
+
+        /** The scheduled tick of the group, or null if the group isn't ticking. */
+        private ScheduledFuture<?> tick;
+
+        /**
+         * Constructs a new Group.
+         *
+         * @param millsBetweenBlinks
+         *         The amount of time, in milliseconds, between each blink.
+         *
+         * @param phase
+         *         The amount of time, in milliseconds, that the group's blinks
+         *         are delayed by.
+         */
+        private Group(final short millsBetweenBlinks, final short phase) {
+            this.millsBetweenBlinks = millsBetweenBlinks;
+            this.phase = phase;
+        }
+
+        /**
+         * Adds a character to the group.
+         *
+         * The character is immediately hidden, or shown, to match the other
+         * characters of the group.
+         *
+         * @param character
+         *         The character.
+         *
+         * @param radio
+         *         The Radio to transmit a DRAW event to whenever the character
+         *         blinks.
+         *
+         * @throws NullPointerException
+         *         If the character or radio is null.
+         */
+        public synchronized void register(final AsciiCharacter character, final Radio<String> radio) {
+            Objects.requireNonNull(character);
+            Objects.requireNonNull(radio);
+
+            removeCollectedCharacters();
+            characters.put(new CharacterReference(character, collectedCharacters), new WeakReference<>(radio));
+            character.setHidden(hidden);
+
+            if (paused == false && tick == null) {
+                scheduleTick();
+            }
+        }
+
+        /**
+         * Removes a character from the group.
+         *
+         * The character is left in its current hidden state.
+         *
+         * @param character
+         *         The character.
+         *
+         * @return
+         *         Whether or not the character was in the group.
+         */
+        public synchronized boolean unregister(final AsciiCharacter character) {
+            removeCollectedCharacters();
+            final boolean wasRegistered = characters.remove(new CharacterReference(character, null)) != null;
+
+            if (characters.isEmpty()) {
+                cancelTick();
+            }
+
+            return wasRegistered;
+        }
+
+        /**
+         * Determines whether or not a character is in the group.
+         *
+         * @param character
+         *         The character.
+         *
+         * @return
+         *         Whether or not the character is in the group.
+         */
+        public synchronized boolean isRegistered(final AsciiCharacter character) {
+            return characters.containsKey(new CharacterReference(character, null));
+        }
+
+        /** @return The number of characters in the group. */
+        public synchronized int size() {
+            removeCollectedCharacters();
+            return characters.size();
+        }
+
+        /**
+         * Pauses the blinking of every character in the group, and shows
+         * every character.
+         *
+         * Does nothing if the group is already paused.
+         */
+        public void pause() {
+            final Set<Radio<String>> radios;
+
+            synchronized (this) {
+                if (paused) {
+                    return;
+                }
+
+                paused = true;
+                cancelTick();
+                radios = setHidden(false);
+            }
+
+            radios.forEach(radio -> radio.transmit("DRAW"));
+        }
+
+        /**
+         * Resumes the blinking of every character in the group.
+         *
+         * Does nothing if the group isn't paused.
+         */
+        public synchronized void resume() {
+            if (paused == false) {
+                return;
+            }
+
+            paused = false;
+
+            if (characters.isEmpty() == false) {
+                scheduleTick();
+            }
+        }
+
+        /**
+         * Hides, or shows, every character of the group, then transmits one
+         * DRAW event to each of their radios.
+         */
+        void tick() {
+            final Set<Radio<String>> radios;
+
+            synchronized (this) {
+                if (paused) {
+                    return;
+                }
+
+                removeCollectedCharacters();
+
+                if (characters.isEmpty()) {
+                    cancelTick();
+                    return;
+                }
+
+                radios = setHidden(hidden == false);
+            }
+
+            radios.forEach(radio -> radio.transmit("DRAW"));
+        }
+
+        /**
+         * Sets whether or not every character of the group is hidden.
+         *
+         * @param hidden
+         *         Whether or not the characters are hidden.
+         *
+         * @return
+         *         The radios of the characters.
+         */
+        private Set<Radio<String>> setHidden(final boolean hidden) {
+            this.hidden = hidden;
+
+            final Set<Radio<String>> radios = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            characters.forEach((characterReference, radioReference) -> {
+                final AsciiCharacter character = characterReference.get();
+                final Radio<String> radio = radioReference.get();
+
+                if (character != null) {
+                    character.setHidden(hidden);
+                }
+
+                if (radio != null) {
+                    radios.add(radio);
+                }
+            });
+
+            return radios;
+        }
+
+        /** Removes every collected character from the group. */
+        private void removeCollectedCharacters() {
+            Reference<? extends AsciiCharacter> reference;
+
+            while ((reference = collectedCharacters.poll()) != null) {
+                characters.remove(reference);
+            }
+        }
+
+        /**
+         * Determines the amount of time until the group's next blink, so that
+         * the group blinks whenever a whole number of periods, plus its phase,
+         * has elapsed since the scheduler's epoch.
+         *
+         * @param now
+         *         The current time, in nanoseconds.
+         *
+         * @return
+         *         The amount of time, in nanoseconds, until the next blink.
+         *         This is always greater than zero, and no greater than the
+         *         period.
+         */
+        long getNanosUntilNextBlink(final long now) {
+            final long period = TimeUnit.MILLISECONDS.toNanos(millsBetweenBlinks);
+            final long elapsed = now - epoch - TimeUnit.MILLISECONDS.toNanos(phase);
+            return period - Math.floorMod(elapsed, period);
+        }
+
+        /** Starts the group ticking, with the first tick at the group's next blink. */
+        private void scheduleTick() {
+            final long initialDelay = getNanosUntilNextBlink(System.nanoTime());
+            final long period = TimeUnit.MILLISECONDS.toNanos(millsBetweenBlinks);
+            tick = executor.scheduleAtFixedRate(this::tick, initialDelay, period, TimeUnit.NANOSECONDS);
+        }
+
+        /** Stops the group from ticking. */
+        private void cancelTick() {
+            if (tick != null) {
+                tick.cancel(false);
+                tick = null;
+            }
+        }
+    }
+
+    /**
+     * A weak reference to a character, which is equal to another reference
+     * only if both refer to the same character, as AsciiCharacter#equals
+     * compares the contents of characters.
+     */
+    private static final class CharacterReference extends WeakReference<AsciiCharacter> {
+        /** The identity hash code of the character. */
+        private final int hashCode;
+
+        /**
+         * Constructs a new CharacterReference.
+         *
+         * @param character
+         *         The character.
+         *
+         * @param queue
+         *         The queue to enqueue the reference on once the character is
+         *         collected, or null if it isn't to be enqueued.
+         */
+        private CharacterReference(final AsciiCharacter character, final ReferenceQueue<AsciiCharacter> queue) {
+            super(character, queue);
+            hashCode = System.identityHashCode(character);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+
+            if (object instanceof CharacterReference == false) {
+                return false;
+            }
+
+            final AsciiCharacter character = get();
+            return character != null && character == ((CharacterReference) object).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
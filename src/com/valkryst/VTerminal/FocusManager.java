@@ -0,0 +1,318 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.component.Component;
+import com.valkryst.VTerminal.component.Screen;
+
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps track of which component, of those that accept key input, has the
+ * keyboard focus of a panel, and routes the panel's key events to it.
+ *
+ * Only the focus owner receives key events, so the cost of a keystroke
+ * doesn't depend on the number of components that accept key input.
+ *
+ * Tab moves the focus to the next registered component, and Shift-Tab to
+ * the previous one, in the order that the components were registered.
+ * Components that aren't displayed on the panel's current screen are
+ * skipped.
+ */
+public class FocusManager implements KeyListener {
+    /** The panel whose key events are routed. */
+    private final Panel panel;
+
+    /** The components that can receive the focus, in traversal order. */
+    private final List<Component> components = new ArrayList<>();
+
+    /** The component with the focus, or null if no component has the focus. */
+    private volatile Component focusOwner;
+
+    /**
+     * Constructs a new FocusManager.
+     *
+     * @param panel
+     *         The panel whose key events are routed.
+     *
+     * @throws NullPointerException
+     *         If the panel is null.
+     */
+    public FocusManager(final Panel panel) {
+        Objects.requireNonNull(panel);
+        this.panel = panel;
+    }
+
+    @Override
+    public void keyTyped(final KeyEvent e) {
+        // Tab is reserved for focus traversal.
+        if (e.getKeyChar() == '\t') {
+            e.consume();
+            return;
+        }
+
+        final Component owner = getFocusOwner();
+
+        if (owner != null) {
+            owner.onKeyTyped(e);
+        }
+    }
+
+    @Override
+    public void keyPressed(final KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_TAB) {
+            if (e.isShiftDown()) {
+                focusPrevious();
+            } else {
+                focusNext();
+            }
+
+            e.consume();
+            return;
+        }
+
+        final Component owner = getFocusOwner();
+
+        if (owner != null) {
+            owner.onKeyPressed(e);
+        }
+    }
+
+    @Override
+    public void keyReleased(final KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_TAB) {
+            e.consume();
+            return;
+        }
+
+        final Component owner = getFocusOwner();
+
+        if (owner != null) {
+            owner.onKeyReleased(e);
+        }
+    }
+
+    /**
+     * Registers a component, so that it can receive the focus.
+     *
+     * The component is placed after every registered component in the
+     * traversal order. Does nothing if the component is already registered.
+     *
+     * @param component
+     *         The component.
+     *
+     * @throws NullPointerException
+     *         If the component is null.
+     */
+    public synchronized void register(final Component component) {
+        Objects.requireNonNull(component);
+
+        if (components.contains(component) == false) {
+            components.add(component);
+        }
+    }
+
+    /**
+     * Unregisters a component, so that it can no longer receive the focus.
+     *
+     * If the component has the focus, then the focus is cleared. Does
+     * nothing if the component isn't registered.
+     *
+     * @param component
+     *         The component.
+     *
+     * @throws NullPointerException
+     *         If the component is null.
+     */
+    public synchronized void unregister(final Component component) {
+        Objects.requireNonNull(component);
+
+        components.remove(component);
+
+        if (focusOwner == component) {
+            setFocusOwner(null);
+        }
+    }
+
+    /**
+     * Determines whether or not a component is registered.
+     *
+     * @param component
+     *         The component.
+     *
+     * @return
+     *         Whether or not the component is registered.
+     */
+    public synchronized boolean isRegistered(final Component component) {
+        return components.contains(component);
+    }
+
+    /**
+     * Retrieves the registered components, in traversal order.
+     *
+     * @return
+     *         An unmodifiable copy of the registered components.
+     */
+    public synchronized List<Component> getTraversalOrder() {
+        return Collections.unmodifiableList(new ArrayList<>(components));
+    }
+
+    /**
+     * Retrieves the component with the focus.
+     *
+     * If the component is no longer displayed on the panel's current screen,
+     * then the focus is cleared.
+     *
+     * @return
+     *         The component, or null if no component has the focus.
+     */
+    public Component getFocusOwner() {
+        final Component owner = focusOwner;
+
+        if (owner != null && isDisplayed(owner) == false) {
+            synchronized (this) {
+                if (focusOwner == owner) {
+                    setFocusOwner(null);
+                }
+            }
+
+            return null;
+        }
+
+        return owner;
+    }
+
+    /**
+     * Gives the focus to a component.
+     *
+     * Does nothing if the component isn't registered, or if it isn't
+     * displayed on the panel's current screen.
+     *
+     * @param component
+     *         The component.
+     *
+     * @return
+     *         Whether or not the component has the focus.
+     *
+     * @throws NullPointerException
+     *         If the component is null.
+     */
+    public synchronized boolean requestFocus(final Component component) {
+        Objects.requireNonNull(component);
+
+        if (components.contains(component) == false || isDisplayed(component) == false) {
+            return false;
+        }
+
+        setFocusOwner(component);
+        return true;
+    }
+
+    /** Removes the focus from the component with the focus. */
+    public synchronized void clearFocus() {
+        setFocusOwner(null);
+    }
+
+    /**
+     * Moves the focus to the next displayed component in the traversal
+     * order, wrapping around to the first.
+     *
+     * If no component has the focus, then the focus is given to the first
+     * displayed component.
+     */
+    public synchronized void focusNext() {
+        traverse(1);
+    }
+
+    /**
+     * Moves the focus to the previous displayed component in the traversal
+     * order, wrapping around to the last.
+     *
+     * If no component has the focus, then the focus is given to the last
+     * displayed component.
+     */
+    public synchronized void focusPrevious() {
+        traverse(-1);
+    }
+
+    /**
+     * Moves the focus through the traversal order, skipping components that
+     * aren't displayed.
+     *
+     * Does nothing if no registered component is displayed.
+     *
+     * @param step
+     *         The direction to move in, 1 for forwards or -1 for backwards.
+     */
+    private void traverse(final int step) {
+        final int totalComponents = components.size();
+
+        if (totalComponents == 0) {
+            return;
+        }
+
+        final int ownerIndex = components.indexOf(focusOwner);
+        int index = (ownerIndex == -1 ? (step > 0 ? -1 : totalComponents) : ownerIndex);
+
+        for (int i = 0 ; i < totalComponents ; i++) {
+            index = Math.floorMod(index + step, totalComponents);
+
+            final Component component = components.get(index);
+
+            if (isDisplayed(component)) {
+                setFocusOwner(component);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sets the component with the focus, and updates the focus state of the
+     * previous and new components.
+     *
+     * @param component
+     *         The component, or null to clear the focus.
+     */
+    private void setFocusOwner(final Component component) {
+        final Component previousOwner = focusOwner;
+
+        if (previousOwner == component) {
+            return;
+        }
+
+        if (previousOwner != null) {
+            previousOwner.setFocused(false);
+        }
+
+        if (component != null) {
+            component.setFocused(true);
+        }
+
+        focusOwner = component;
+    }
+
+    /**
+     * Determines whether or not a component is displayed on the panel's
+     * current screen, either directly or through a sub-screen.
+     *
+     * @param component
+     *         The component.
+     *
+     * @return
+     *         Whether or not the component is displayed.
+     */
+    private boolean isDisplayed(final Component component) {
+        final Screen panelScreen = panel.getScreen();
+
+        for (Screen screen = component.getScreen() ; screen != null ; screen = screen.getScreen()) {
+            if (screen == panelScreen) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
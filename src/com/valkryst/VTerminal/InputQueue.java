@@ -0,0 +1,269 @@
+package com.valkryst.VTerminal;
+
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queues the mouse and key events of a panel, so that they can be dispatched
+ * in one batch per frame rather than one at a time as they arrive.
+ *
+ * Consecutive mouse moves, and consecutive mouse drags, are collapsed into
+ * the latest one, so a fast sweep of the mouse results in one hover
+ * transition per frame rather than one per event. Key events, including
+ * the repeats of a held key, are never collapsed, as each one may type a
+ * character, but they're dispatched in the same batch.
+ */
+public class InputQueue implements KeyListener, MouseListener, MouseMotionListener {
+    /** The dispatcher that mouse events are routed to. */
+    private final MouseDispatcher mouseDispatcher;
+    /** The manager that key events are routed to. */
+    private final FocusManager focusManager;
+
+    /** The action which requests that the queued events be dispatched. */
+    private final Runnable dispatchRequester;
+
+    /** The events waiting to be dispatched, in the order that they were received. */
+    private List<InputEvent> queuedEvents = new ArrayList<>();
+
+    /** The number of events that have been received. */
+    private final AtomicLong eventsReceived = new AtomicLong();
+    /** The number of events that were collapsed into a later event, and never dispatched. */
+    private final AtomicLong eventsCoalesced = new AtomicLong();
+    /** The number of events that have been dispatched. */
+    private final AtomicLong eventsDispatched = new AtomicLong();
+
+    /**
+     * Constructs a new InputQueue.
+     *
+     * @param mouseDispatcher
+     *         The dispatcher that mouse events are routed to.
+     *
+     * @param focusManager
+     *         The manager that key events are routed to.
+     *
+     * @param dispatchRequester
+     *         The action which requests that the queued events be
+     *         dispatched, such as by requesting a frame from the render loop
+     *         that dispatches them. It's run whenever an event is queued.
+     *
+     * @throws NullPointerException
+     *         If the mouse dispatcher, focus manager, or dispatch requester
+     *         is null.
+     */
+    public InputQueue(final MouseDispatcher mouseDispatcher, final FocusManager focusManager, final Runnable dispatchRequester) {
+        Objects.requireNonNull(mouseDispatcher);
+        Objects.requireNonNull(focusManager);
+        Objects.requireNonNull(dispatchRequester);
+
+        this.mouseDispatcher = mouseDispatcher;
+        this.focusManager = focusManager;
+        this.dispatchRequester = dispatchRequester;
+    }
+
+    @Override
+    public void keyTyped(final KeyEvent e) {
+        queue(e);
+    }
+
+    @Override
+    public void keyPressed(final KeyEvent e) {
+        queue(e);
+    }
+
+    @Override
+    public void keyReleased(final KeyEvent e) {
+        queue(e);
+    }
+
+    @Override
+    public void mouseClicked(final MouseEvent e) {
+        queue(e);
+    }
+
+    @Override
+    public void mousePressed(final MouseEvent e) {
+        queue(e);
+    }
+
+    @Override
+    public void mouseReleased(final MouseEvent e) {
+        queue(e);
+    }
+
+    @Override
+    public void mouseEntered(final MouseEvent e) {
+        queue(e);
+    }
+
+    @Override
+    public void mouseExited(final MouseEvent e) {
+        queue(e);
+    }
+
+    @Override
+    public void mouseDragged(final MouseEvent e) {
+        queue(e);
+    }
+
+    @Override
+    public void mouseMoved(final MouseEvent e) {
+        queue(e);
+    }
+
+    /**
+     * Dispatches every queued event, in the order that they were received.
+     *
+     * Events received while dispatching are left for the next call.
+     *
+     * @return
+     *         The number of events dispatched.
+     */
+    public int dispatch() {
+        final List<InputEvent> events;
+
+        synchronized (this) {
+            if (queuedEvents.isEmpty()) {
+                return 0;
+            }
+
+            events = queuedEvents;
+            queuedEvents = new ArrayList<>();
+        }
+
+        for (final InputEvent event : events) {
+            route(event);
+            eventsDispatched.incrementAndGet();
+        }
+
+        return events.size();
+    }
+
+    /** @return The number of events waiting to be dispatched. */
+    public synchronized int getQueuedEvents() {
+        return queuedEvents.size();
+    }
+
+    /** @return The number of events that have been received. */
+    public long getEventsReceived() {
+        return eventsReceived.get();
+    }
+
+    /** @return The number of events that were collapsed into a later event, and never dispatched. */
+    public long getEventsCoalesced() {
+        return eventsCoalesced.get();
+    }
+
+    /** @return The number of events that have been dispatched. */
+    public long getEventsDispatched() {
+        return eventsDispatched.get();
+    }
+
+    /**
+     * Queues an event, collapsing it into the last queued event if both are
+     * mouse moves or both are mouse drags, and requests a dispatch.
+     *
+     * @param event
+     *         The event.
+     */
+    private void queue(final InputEvent event) {
+        eventsReceived.incrementAndGet();
+
+        synchronized (this) {
+            final int lastIndex = queuedEvents.size() - 1;
+
+            if (lastIndex >= 0 && canCoalesce(queuedEvents.get(lastIndex), event)) {
+                queuedEvents.set(lastIndex, event);
+                eventsCoalesced.incrementAndGet();
+            } else {
+                queuedEvents.add(event);
+            }
+        }
+
+        dispatchRequester.run();
+    }
+
+    /**
+     * Determines whether or not an event can replace the event queued before
+     * it.
+     *
+     * Only moves and drags can be collapsed, as only the latest position
+     * matters, and only when the same buttons and modifiers are held.
+     *
+     * @param previous
+     *         The event queued before.
+     *
+     * @param next
+     *         The event.
+     *
+     * @return
+     *         Whether or not the event can replace the previous event.
+     */
+    private static boolean canCoalesce(final InputEvent previous, final InputEvent next) {
+        final int id = next.getID();
+
+        if (id != MouseEvent.MOUSE_MOVED && id != MouseEvent.MOUSE_DRAGGED) {
+            return false;
+        }
+
+        return previous.getID() == id && previous.getModifiersEx() == next.getModifiersEx();
+    }
+
+    /**
+     * Routes an event to the mouse dispatcher or the focus manager.
+     *
+     * @param event
+     *         The event.
+     */
+    private void route(final InputEvent event) {
+        switch (event.getID()) {
+            case KeyEvent.KEY_TYPED: {
+                focusManager.keyTyped((KeyEvent) event);
+                break;
+            }
+            case KeyEvent.KEY_PRESSED: {
+                focusManager.keyPressed((KeyEvent) event);
+                break;
+            }
+            case KeyEvent.KEY_RELEASED: {
+                focusManager.keyReleased((KeyEvent) event);
+                break;
+            }
+            case MouseEvent.MOUSE_CLICKED: {
+                mouseDispatcher.mouseClicked((MouseEvent) event);
+                break;
+            }
+            case MouseEvent.MOUSE_PRESSED: {
+                mouseDispatcher.mousePressed((MouseEvent) event);
+                break;
+            }
+            case MouseEvent.MOUSE_RELEASED: {
+                mouseDispatcher.mouseReleased((MouseEvent) event);
+                break;
+            }
+            case MouseEvent.MOUSE_ENTERED: {
+                mouseDispatcher.mouseEntered((MouseEvent) event);
+                break;
+            }
+            case MouseEvent.MOUSE_EXITED: {
+                mouseDispatcher.mouseExited((MouseEvent) event);
+                break;
+            }
+            case MouseEvent.MOUSE_DRAGGED: {
+                mouseDispatcher.mouseDragged((MouseEvent) event);
+                break;
+            }
+            case MouseEvent.MOUSE_MOVED: {
+                mouseDispatcher.mouseMoved((MouseEvent) event);
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.component.Component;
+import com.valkryst.VTerminal.component.Screen;
+import lombok.Getter;
+
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.util.Objects;
+
+/**
+ * Routes the mouse events of a panel to the topmost component under the
+ * mouse.
+ *
+ * The component is found by looking up the cell under the mouse in the
+ * component index of the panel's screen, so the cost of an event doesn't
+ * depend on the number of components. Hover transitions are only sent to
+ * the component that the mouse moved off of and the one that it moved
+ * onto.
+ *
+ * Clicking a component gives it the focus, if it's registered with the
+ * panel's focus manager.
+ */
+public class MouseDispatcher implements MouseListener, MouseMotionListener {
+    /** The panel whose events are routed. */
+    private final Panel panel;
+
+    /** The width, in pixels, of a cell. */
+    private final int cellWidth;
+    /** The height, in pixels, of a cell. */
+    private final int cellHeight;
+
+    /** The component that the mouse is over, or null if the mouse isn't over a component. */
+    @Getter private Component hoveredComponent;
+
+    /** The component that the last mouse button was pressed over, or null if no button is held. */
+    @Getter private Component pressedComponent;
+
+    /**
+     * Constructs a new MouseDispatcher.
+     *
+     * @param panel
+     *         The panel whose events are routed.
+     *
+     * @param cellWidth
+     *         The width, in pixels, of a cell.
+     *
+     * @param cellHeight
+     *         The height, in pixels, of a cell.
+     *
+     * @throws NullPointerException
+     *         If the panel is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the cell width or height is less than one.
+     */
+    public MouseDispatcher(final Panel panel, final int cellWidth, final int cellHeight) {
+        Objects.requireNonNull(panel);
+
+        if (cellWidth < 1) {
+            throw new IllegalArgumentException("You must specify a cellWidth of 1 or greater.");
+        }
+
+        if (cellHeight < 1) {
+            throw new IllegalArgumentException("You must specify a cellHeight of 1 or greater.");
+        }
+
+        this.panel = panel;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+    }
+
+    @Override
+    public void mouseClicked(final MouseEvent e) {
+        if (e.getButton() == MouseEvent.BUTTON1) {
+            final Component component = getComponentAt(e);
+            final FocusManager focusManager = panel.getFocusManager();
+
+            // Clicking anything that can't receive the focus clears the focus.
+            if (component == null || focusManager.requestFocus(component) == false) {
+                focusManager.clearFocus();
+            }
+        }
+    }
+
+    @Override
+    public void mousePressed(final MouseEvent e) {
+        pressedComponent = getComponentAt(e);
+
+        if (pressedComponent != null) {
+            pressedComponent.onMousePressed(e);
+        }
+    }
+
+    @Override
+    public void mouseReleased(final MouseEvent e) {
+        final Component component = getComponentAt(e);
+
+        if (pressedComponent != null) {
+            final Component releasedComponent = pressedComponent;
+            pressedComponent = null;
+
+            releasedComponent.onMouseReleased(e, releasedComponent == component);
+        }
+
+        // The mouse may have been dragged onto a different component.
+        setHoveredComponent(component);
+    }
+
+    @Override
+    public void mouseEntered(final MouseEvent e) {}
+
+    @Override
+    public void mouseExited(final MouseEvent e) {
+        setHoveredComponent(null);
+    }
+
+    @Override
+    public void mouseDragged(final MouseEvent e) {}
+
+    @Override
+    public void mouseMoved(final MouseEvent e) {
+        setHoveredComponent(getComponentAt(e));
+    }
+
+    /**
+     * Forgets a component, and any component of it if it's a screen, so that
+     * the dispatcher no longer considers it hovered or pressed.
+     *
+     * The component isn't notified, as it's no longer on the panel. Called
+     * when a component is removed from the panel.
+     *
+     * @param component
+     *         The component.
+     *
+     * @throws NullPointerException
+     *         If the component is null.
+     */
+    public void forgetComponent(final Component component) {
+        Objects.requireNonNull(component);
+
+        if (isWithin(hoveredComponent, component)) {
+            hoveredComponent = null;
+        }
+
+        if (isWithin(pressedComponent, component)) {
+            pressedComponent = null;
+        }
+    }
+
+    /**
+     * Forgets the hovered and pressed components, without notifying them.
+     *
+     * Called when the panel's screen is swapped out.
+     */
+    public void forgetAllComponents() {
+        hoveredComponent = null;
+        pressedComponent = null;
+    }
+
+    /**
+     * Retrieves the topmost component under the mouse.
+     *
+     * @param event
+     *         The event.
+     *
+     * @return
+     *         The component, or null if the mouse isn't over a component.
+     */
+    private Component getComponentAt(final MouseEvent event) {
+        // Floor division, so the pixels just above or left of the panel aren't treated as the first cell.
+        final int column = Math.floorDiv(event.getX(), cellWidth);
+        final int row = Math.floorDiv(event.getY(), cellHeight);
+
+        final Screen screen = panel.getScreen();
+        return screen.getComponentAt(column, row).orElse(null);
+    }
+
+    /**
+     * Sets the component that the mouse is over, and notifies the previous
+     * and new components if it has changed.
+     *
+     * @param component
+     *         The component, or null if the mouse isn't over a component.
+     */
+    private void setHoveredComponent(final Component component) {
+        if (hoveredComponent == component) {
+            return;
+        }
+
+        final Component previousComponent = hoveredComponent;
+        hoveredComponent = component;
+
+        if (previousComponent != null) {
+            previousComponent.onMouseExited();
+        }
+
+        if (component != null) {
+            component.onMouseEntered();
+        }
+    }
+
+    /**
+     * Determines whether or not a component is, or is within, another
+     * component.
+     *
+     * @param component
+     *         The component, or null.
+     *
+     * @param container
+     *         The other component.
+     *
+     * @return
+     *         Whether or not the component is the other component or, if the
+     *         other component is a screen, is one of its components.
+     */
+    private static boolean isWithin(final Component component, final Component container) {
+        if (component == null) {
+            return false;
+        }
+
+        if (component == container) {
+            return true;
+        }
+
+        return container instanceof Screen && ((Screen) container).recursiveContainsComponent(component);
+    }
+}
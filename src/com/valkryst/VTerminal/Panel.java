@@ -6,18 +6,25 @@ import com.valkryst.VTerminal.builder.PanelBuilder;
 import com.valkryst.VTerminal.component.Component;
 import com.valkryst.VTerminal.component.Screen;
 import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import com.valkryst.VTerminal.render.CanvasRenderTarget;
+import com.valkryst.VTerminal.render.ImageRenderTarget;
+import com.valkryst.VTerminal.render.PixelRenderTarget;
+import com.valkryst.VTerminal.render.RenderTarget;
+import com.valkryst.VTerminal.render.RenderTargetType;
 import lombok.Getter;
 
 import javax.imageio.ImageIO;
 import java.awt.Canvas;
 import java.awt.Dimension;
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
-import java.awt.image.BufferStrategy;
+import java.awt.EventQueue;
+import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Panel extends Canvas implements Receiver<String> {
     /** The width of the panel, in characters. */
@@ -34,6 +41,55 @@ public class Panel extends Canvas implements Receiver<String> {
     /** The image cache to retrieve character images from. */
     @Getter private final ColoredImageCache imageCache;
 
+    /** Whether or not each screen is double-buffered, and is only drawn once it's published by the thread which writes to it. */
+    @Getter private final boolean doubleBuffered;
+
+    /** The target that the screen is drawn onto. */
+    @Getter private final RenderTarget renderTarget;
+
+    /** The target that draws the screen into a framebuffer, or null if the panel doesn't use a framebuffer. */
+    private PixelRenderTarget pixelRenderTarget;
+
+    /**
+     * The pool of render threads that the panel created, or null if the
+     * panel draws on the calling thread or with a pool owned by the caller.
+     *
+     * The pool is shut down when the panel is disposed, and replaced when the
+     * panel is displayed again.
+     */
+    private ForkJoinPool ownedRenderPool;
+
+    /**
+     * The loop that draws the panel, or null if the panel is drawn on the
+     * thread of each draw event.
+     *
+     * The loop runs while the panel is displayable or, if the panel draws
+     * onto an off-screen target, from when the panel is built until it's
+     * disposed.
+     */
+    @Getter private final RenderLoop renderLoop;
+
+    /** The manager that routes key events to the component with the focus. */
+    @Getter private final FocusManager focusManager;
+
+    /** The dispatcher that routes mouse events to the topmost component under the mouse. */
+    @Getter private final MouseDispatcher mouseDispatcher;
+
+    /**
+     * The queue that the panel's mouse and key events are received by.
+     *
+     * The queued events are never dispatched on the render loop's thread, as
+     * their handlers write to the screen's components. If the panel is
+     * double-buffered, they're dispatched by publish(), on the thread which
+     * writes to the screen. Otherwise, they're dispatched on the event
+     * dispatch thread, as soon as they arrive if there is no render loop, or
+     * in one batch per burst of events if there is.
+     */
+    @Getter private final InputQueue inputQueue;
+
+    /** Whether or not a dispatch of the queued input events has been posted to the event dispatch thread. */
+    private final AtomicBoolean inputDispatchPosted = new AtomicBoolean();
+
     /**
      * Constructs a new VTerminal.
      *
@@ -55,52 +111,249 @@ public class Panel extends Canvas implements Receiver<String> {
         this.setPreferredSize(new Dimension(pixelWidth, pixelHeight));
 
         screen = builder.getScreen();
+        doubleBuffered = builder.isDoubleBuffered();
+
+        if (doubleBuffered) {
+            screen.setDoubleBuffered(true);
+        }
 
         radio.addReceiver("DRAW", this);
 
         imageCache = new ColoredImageCache(builder.getFont());
+        imageCache.setGlyphAtlasEnabled(builder.isGlyphAtlasEnabled());
+
+        // A missing or unreadable cache file only means that the first frames create their own images.
+        final File imageCacheFile = builder.getImageCacheFile();
+
+        if (imageCacheFile != null && imageCacheFile.isFile()) {
+            imageCache.prewarmAsync(imageCacheFile);
+        }
+
+        renderTarget = createRenderTarget(builder, pixelWidth, pixelHeight);
+
+        if (builder.getTargetFPS() > 0) {
+            renderLoop = new RenderLoop(this::drawFrame, builder.getTargetFPS());
+        } else {
+            renderLoop = null;
+        }
+
+        focusManager = new FocusManager(this);
+        mouseDispatcher = new MouseDispatcher(this, builder.getFont().getWidth(), builder.getFont().getHeight());
+        inputQueue = new InputQueue(mouseDispatcher, focusManager, this::requestInputDispatch);
+
+        // Tab and Shift-Tab move the focus between components, rather than away from the panel.
+        setFocusTraversalKeysEnabled(false);
+
+        addKeyListener(inputQueue);
+        addMouseListener(inputQueue);
+        addMouseMotionListener(inputQueue);
+    }
+
+    /**
+     * Creates the target that the screen is drawn onto.
+     *
+     * @param builder
+     *         The builder to use.
+     *
+     * @param pixelWidth
+     *         The width of the panel, in pixels.
+     *
+     * @param pixelHeight
+     *         The height of the panel, in pixels.
+     *
+     * @return
+     *         The target.
+     */
+    private RenderTarget createRenderTarget(final PanelBuilder builder, final int pixelWidth, final int pixelHeight) {
+        final RenderTargetType type = builder.getRenderTargetType();
+
+        if (type == RenderTargetType.IMAGE) {
+            return new ImageRenderTarget(new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_RGB));
+        }
+
+        ForkJoinPool pool = builder.getRenderPool();
+
+        if (pool == null && builder.getRenderThreads() > 1) {
+            ownedRenderPool = new ForkJoinPool(builder.getRenderThreads());
+            pool = ownedRenderPool;
+        }
+
+        if (type == RenderTargetType.CANVAS && builder.isFramebufferEnabled() == false && pool == null) {
+            return new CanvasRenderTarget(this, null);
+        }
+
+        final Framebuffer framebuffer = new Framebuffer(pixelWidth, pixelHeight);
+        pixelRenderTarget = new PixelRenderTarget(framebuffer, pool, builder.getMinimumBandHeight());
+
+        if (type == RenderTargetType.PIXELS) {
+            return pixelRenderTarget;
+        }
+
+        return new CanvasRenderTarget(this, pixelRenderTarget);
     }
 
     @Override
     public void receive(final String event, final String data) {
         if (event.equals("DRAW")) {
-            draw();
+            // Draw events are transmitted from many threads, such as the
+            // blink scheduler's and the render loop's, so they only request a
+            // frame. A double-buffered screen is only published by publish().
+            requestDraw();
         }
     }
 
-    /** Draws every character of every row onto the canvas. */
-    public void draw() {
-        final BufferStrategy bs = this.getBufferStrategy();
-        final Graphics2D gc;
-
-        try {
-            gc = (Graphics2D) bs.getDrawGraphics();
-        } catch (final NullPointerException | IllegalStateException e) {
-            // BufferStrategy may not have been created on the first call,
-            // so just do a recursive call until it works.
-            // This may be a bad idea.
-            draw();
+    /**
+     * Dispatches the queued input events, then publishes everything written
+     * to the screen since the last publish, including the changes made by
+     * the input handlers, and draws it on the next tick of the render loop
+     * or, if there is no render loop, immediately.
+     *
+     * This must only be called on the thread which writes to the screen, as
+     * the input handlers write to the screen, and the screen is read while
+     * it's published. Input events are only dispatched by this function, so
+     * the effects of input aren't shown until the next publish.
+     *
+     * @throws IllegalStateException
+     *         If the panel isn't double-buffered.
+     */
+    public void publish() {
+        if (doubleBuffered == false) {
+            throw new IllegalStateException("Only a double-buffered panel can be published.");
+        }
+
+        inputQueue.dispatch();
+        screen.publish();
+        requestDraw();
+    }
+
+    /**
+     * Stops the render loop, and shuts down the pool of render threads that
+     * the panel created, if any.
+     *
+     * A pool owned by the caller is left running. The panel can still be
+     * drawn afterwards, on the calling thread, and a displayed panel restarts
+     * both when it's displayed again.
+     *
+     * This is called when the panel stops being displayable, so it only has
+     * to be called for a panel that draws onto an off-screen target.
+     */
+    public void dispose() {
+        if (renderLoop != null) {
+            renderLoop.stop();
+        }
+
+        if (ownedRenderPool != null) {
+            ownedRenderPool.shutdown();
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+
+        if (ownedRenderPool != null && ownedRenderPool.isShutdown()) {
+            ownedRenderPool = new ForkJoinPool(ownedRenderPool.getParallelism());
+            pixelRenderTarget.setPool(ownedRenderPool);
+        }
+
+        if (renderLoop != null) {
+            renderLoop.start();
+            renderLoop.requestFrame();
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        dispose();
+        super.removeNotify();
+    }
+
+    /**
+     * Draws the panel on the next tick of the render loop or, if there is no
+     * render loop, draws the panel immediately.
+     */
+    private void requestDraw() {
+        if (renderLoop == null) {
+            drawFrame();
+        } else {
+            renderLoop.requestFrame();
+        }
+    }
+
+    /**
+     * Requests that the queued input events be dispatched.
+     *
+     * If the panel is double-buffered, the events are left for publish().
+     * Otherwise, if the render loop is running, one dispatch is posted to the
+     * event dispatch thread, so that every event received before it runs is
+     * dispatched, and collapsed, in one batch. If the render loop isn't
+     * running, the events are dispatched immediately.
+     */
+    private void requestInputDispatch() {
+        if (doubleBuffered) {
             return;
         }
 
-        gc.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
-        gc.setRenderingHint(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_ENABLE);
-        gc.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-        gc.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        if (renderLoop != null && renderLoop.isRunning()) {
+            if (inputDispatchPosted.compareAndSet(false, true)) {
+                EventQueue.invokeLater(() -> {
+                    inputDispatchPosted.set(false);
+                    inputQueue.dispatch();
+                });
+            }
+        } else {
+            inputQueue.dispatch();
+        }
+    }
 
-        // Font characters are pre-rendered images, so no need for AA.
-        gc.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+    @Override
+    public void paint(final Graphics g) {
+        // Only the render loop may draw while it's running.
+        if (renderLoop != null && renderLoop.isRunning()) {
+            screen.setAllCharactersToBeRedrawn();
+            renderLoop.requestFrame();
+            return;
+        }
 
-        // No-need for text rendering related options.
-        gc.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
-        gc.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        // The contents of the canvas may have been damaged.
+        renderTarget.redraw(screen, imageCache);
+    }
 
-        // If alpha is used in the character images, we want computations related to drawing them to be fast.
-        gc.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED);
+    /**
+     * Draws every character, that has changed since the last draw call, onto
+     * the render target.
+     *
+     * Does nothing if no character has changed.
+     *
+     * While the render loop is running, only the loop's thread may draw the
+     * panel, so this requests a frame from the loop instead.
+     */
+    public void draw() {
+        if (renderLoop != null && renderLoop.isRunning()) {
+            renderLoop.requestFrame();
+        } else {
+            drawFrame();
+        }
+    }
+
+    /**
+     * Draws every character, that has changed since the last draw call, onto
+     * the render target.
+     *
+     * Does nothing if no character has changed.
+     */
+    private void drawFrame() {
+        if (screen.hasDirtyRegions() == false) {
+            return;
+        }
 
-        screen.draw(gc, imageCache);
-        gc.dispose();
-        bs.show();
+        // If the target isn't ready, such as a canvas without a
+        // BufferStrategy, then the changes are kept and drawn later.
+        if (renderTarget.draw(screen, imageCache) == false) {
+            if (renderLoop != null && renderLoop.isRunning()) {
+                renderLoop.requestFrame();
+            }
+        }
     }
 
     /**
@@ -205,7 +458,17 @@ public class Panel extends Canvas implements Receiver<String> {
 
         final Screen oldScreen = screen;
         screen = newScreen;
-        draw();
+        screen.setAllCharactersToBeRedrawn();
+
+        // The hovered and pressed components belong to the old screen.
+        mouseDispatcher.forgetAllComponents();
+
+        if (doubleBuffered) {
+            screen.setDoubleBuffered(true);
+            screen.publish();
+        }
+
+        requestDraw();
         return oldScreen;
     }
 
@@ -231,24 +494,31 @@ public class Panel extends Canvas implements Receiver<String> {
     }
 
     /**
-     * Removes a component from the current screen.
+     * Removes a component from the current screen, unregisters it from the
+     * focus manager, and makes the mouse dispatcher forget it.
      *
      * @param component
      *          The component.
      */
     public void removeComponent(final Component component) {
         screen.removeComponent(component);
+        focusManager.unregister(component);
+        mouseDispatcher.forgetComponent(component);
     }
 
 
 
     /**
-     * Removes one or more components from the current screen.
+     * Removes one or more components from the current screen, unregisters
+     * them from the focus manager, and makes the mouse dispatcher forget
+     * them.
      *
      * @param components
      *        The components.
      */
     public void removeComponents(final Component ... components) {
-        screen.removeComponents(components);
+        for (final Component component : components) {
+            removeComponent(component);
+        }
     }
 }
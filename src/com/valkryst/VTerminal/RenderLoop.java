@@ -0,0 +1,217 @@
+package com.valkryst.VTerminal;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class RenderLoop {
+    /** The number of nanoseconds in a second. */
+    private static final long NANOSECONDS_PER_SECOND = 1_000_000_000L;
+
+    /** The action which renders a frame. */
+    private final Runnable renderer;
+
+    /** The number of frames to render, at most, each second. */
+    @Getter private final int targetFPS;
+    /** The number of nanoseconds between each tick of the loop. */
+    private final long tickDuration;
+
+    /** Whether or not a frame must be rendered on the next tick. */
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    /** The thread that frames are rendered on, or null if the loop isn't running. */
+    private volatile Thread renderThread;
+
+    /**
+     * The handler of any exception thrown while rendering a frame, or null to
+     * use the default handler of the render thread.
+     *
+     * The handler is given to each thread started after it's set.
+     */
+    @Getter @Setter private volatile Thread.UncaughtExceptionHandler uncaughtExceptionHandler;
+
+    /** The number of times that a frame has been requested. */
+    private final AtomicLong framesRequested = new AtomicLong();
+    /** The number of frames that have been rendered. */
+    private final AtomicLong framesRendered = new AtomicLong();
+    /** The number of ticks that were missed, because a frame took longer than a tick to render. */
+    private final AtomicLong framesDropped = new AtomicLong();
+
+    /** The number of nanoseconds that it took to render the last frame. */
+    private final AtomicLong lastFrameTime = new AtomicLong();
+    /** The number of nanoseconds that it took to render the slowest frame. */
+    private final AtomicLong maximumFrameTime = new AtomicLong();
+    /** The number of nanoseconds that it took to render every frame. */
+    private final AtomicLong totalFrameTime = new AtomicLong();
+
+    /**
+     * Constructs a new RenderLoop.
+     *
+     * @param renderer
+     *         The action which renders a frame.
+     *
+     * @param targetFPS
+     *         The number of frames to render, at most, each second.
+     *
+     * @throws NullPointerException
+     *         If the renderer is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the target FPS is less than one.
+     */
+    public RenderLoop(final Runnable renderer, final int targetFPS) {
+        Objects.requireNonNull(renderer);
+
+        if (targetFPS < 1) {
+            throw new IllegalArgumentException("The target FPS must be at least one.");
+        }
+
+        this.renderer = renderer;
+        this.targetFPS = targetFPS;
+        tickDuration = NANOSECONDS_PER_SECOND / targetFPS;
+    }
+
+    /**
+     * Starts rendering frames on a new daemon thread.
+     *
+     * If rendering a frame throws an exception, then the loop stops and the
+     * exception is passed to the thread's uncaught exception handler.
+     *
+     * Does nothing if the loop is already running.
+     */
+    public synchronized void start() {
+        if (renderThread != null) {
+            return;
+        }
+
+        renderThread = new Thread(this::run, "VTerminal Render Loop");
+        renderThread.setDaemon(true);
+
+        if (uncaughtExceptionHandler != null) {
+            renderThread.setUncaughtExceptionHandler(uncaughtExceptionHandler);
+        }
+
+        renderThread.start();
+    }
+
+    /**
+     * Stops rendering frames.
+     *
+     * The frame being rendered, if any, is allowed to finish.
+     */
+    public synchronized void stop() {
+        final Thread thread = renderThread;
+        renderThread = null;
+
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /** @return Whether or not the loop is running. */
+    public boolean isRunning() {
+        return renderThread != null;
+    }
+
+    /**
+     * Requests that a frame be rendered on the next tick.
+     *
+     * Any number of requests, made between two ticks, result in one frame.
+     */
+    public void requestFrame() {
+        framesRequested.incrementAndGet();
+        dirty.set(true);
+    }
+
+    /**
+     * Renders frames, on each tick where one was requested, until the loop is
+     * stopped or a frame throws an exception.
+     */
+    private void run() {
+        final Thread thread = Thread.currentThread();
+        long nextTick = System.nanoTime() + tickDuration;
+
+        try {
+            while (renderThread == thread) {
+                final long sleepTime = nextTick - System.nanoTime();
+
+                if (sleepTime > 0) {
+                    LockSupport.parkNanos(this, sleepTime);
+                    continue;
+                }
+
+                if (dirty.getAndSet(false)) {
+                    final long before = System.nanoTime();
+                    renderer.run();
+                    recordFrameTime(System.nanoTime() - before);
+                }
+
+                nextTick += tickDuration;
+
+                // If rendering overran one or more ticks, then skip them rather than rendering to catch up:
+                final long lateness = System.nanoTime() - nextTick;
+
+                if (lateness > 0) {
+                    final long missedTicks = lateness / tickDuration + 1;
+                    framesDropped.addAndGet(missedTicks);
+                    nextTick += missedTicks * tickDuration;
+                }
+            }
+        } finally {
+            // If a frame threw, then the loop is no longer running, and can be started again.
+            synchronized (this) {
+                if (renderThread == thread) {
+                    renderThread = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the time that it took to render a frame.
+     *
+     * @param frameTime
+     *         The number of nanoseconds that it took to render the frame.
+     */
+    private void recordFrameTime(final long frameTime) {
+        framesRendered.incrementAndGet();
+        lastFrameTime.set(frameTime);
+        totalFrameTime.addAndGet(frameTime);
+        maximumFrameTime.accumulateAndGet(frameTime, Math::max);
+    }
+
+    /** @return The number of times that a frame has been requested. */
+    public long getFramesRequested() {
+        return framesRequested.get();
+    }
+
+    /** @return The number of frames that have been rendered. */
+    public long getFramesRendered() {
+        return framesRendered.get();
+    }
+
+    /** @return The number of ticks that were missed, because a frame took longer than a tick to render. */
+    public long getFramesDropped() {
+        return framesDropped.get();
+    }
+
+    /** @return The number of nanoseconds that it took to render the last frame. */
+    public long getLastFrameTime() {
+        return lastFrameTime.get();
+    }
+
+    /** @return The number of nanoseconds that it took to render the slowest frame. */
+    public long getMaximumFrameTime() {
+        return maximumFrameTime.get();
+    }
+
+    /** @return The average number of nanoseconds that it took to render a frame, or zero if no frame has been rendered. */
+    public long getAverageFrameTime() {
+        final long frames = framesRendered.get();
+        return (frames == 0 ? 0 : totalFrameTime.get() / frames);
+    }
+}
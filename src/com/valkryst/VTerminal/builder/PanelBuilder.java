@@ -3,10 +3,14 @@ package com.valkryst.VTerminal.builder;
 import com.valkryst.VTerminal.Panel;
 import com.valkryst.VTerminal.component.Screen;
 import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.render.RenderTargetType;
 import lombok.Getter;
 
 import javax.swing.JFrame;
 import javax.swing.WindowConstants;
+import java.io.File;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 public class PanelBuilder {
     /** The width of the panel, in characters. */
@@ -19,14 +23,43 @@ public class PanelBuilder {
     /** The screen being displayed on the panel. */
     @Getter private Screen screen;
 
+    /** The type of target that the panel draws onto. */
+    @Getter private RenderTargetType renderTargetType = RenderTargetType.CANVAS;
+
     /** The frame in which the panel is to be placed. */
     @Getter private JFrame frame;
 
+    /** Whether or not characters are drawn using an alpha-mask atlas of the font. */
+    @Getter private boolean glyphAtlasEnabled = false;
+
+    /** The file that the panel's image cache is prewarmed from, or null if it starts empty. */
+    @Getter private File imageCacheFile;
+
+    /** Whether or not the panel draws into a framebuffer, which is then drawn onto the canvas. */
+    @Getter private boolean framebufferEnabled = false;
+
+    /** The number of threads that the screen is drawn with. */
+    @Getter private int renderThreads = 1;
+    /** The pool, owned by the caller, that the screen is drawn with, or null if the panel creates its own. */
+    @Getter private ForkJoinPool renderPool;
+
+    /** The minimum number of rows drawn by each render thread. */
+    @Getter private int minimumBandHeight = 8;
+
+    /** Whether or not the screen is double-buffered, so that it can be written to while it's drawn. */
+    @Getter private boolean doubleBuffered = false;
+
+    /** The number of frames drawn, at most, each second. Zero if a frame is drawn for every draw event. */
+    @Getter private int targetFPS = 0;
+
     /**
      * Uses the builder to construct a new VTerminal.
      *
      * If no frame is set, a default frame will be used.
      *
+     * If the panel draws onto an off-screen target, then no frame is used, and
+     * the panel's render loop is started immediately.
+     *
      * @return
      *         The new VTerminal.
      */
@@ -34,6 +67,16 @@ public class PanelBuilder {
         checkState();
 
         final Panel panel = new Panel(this);
+
+        if (renderTargetType != RenderTargetType.CANVAS) {
+            // The panel is never displayed, so its render loop must be started here.
+            if (panel.getRenderLoop() != null) {
+                panel.getRenderLoop().start();
+            }
+
+            return panel;
+        }
+
         frame.add(panel);
         frame.setResizable(false);
         frame.pack();
@@ -61,7 +104,7 @@ public class PanelBuilder {
             screen = new Screen(0, 0, widthInCharacters, heightInCharacters);
         }
 
-        if (frame == null) {
+        if (frame == null && renderTargetType == RenderTargetType.CANVAS) {
             frame = new JFrame();
             frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
         }
@@ -74,6 +117,15 @@ public class PanelBuilder {
         font = null;
         screen = null;
         frame = null;
+        renderTargetType = RenderTargetType.CANVAS;
+        glyphAtlasEnabled = false;
+        imageCacheFile = null;
+        framebufferEnabled = false;
+        renderThreads = 1;
+        renderPool = null;
+        minimumBandHeight = 8;
+        targetFPS = 0;
+        doubleBuffered = false;
     }
 
     /**
@@ -158,4 +210,218 @@ public class PanelBuilder {
         this.screen = screen;
         return this;
     }
+
+    /**
+     * Sets whether or not characters are drawn using an alpha-mask atlas of
+     * the font.
+     *
+     * The atlas uses a fixed amount of memory, regardless of how many colors
+     * are on the screen, so it's best suited to screens with many colors,
+     * such as those with gradients.
+     *
+     * @param glyphAtlasEnabled
+     *        Whether or not to draw using the atlas.
+     *
+     * @return
+     *        This.
+     */
+    public PanelBuilder setGlyphAtlasEnabled(final boolean glyphAtlasEnabled) {
+        this.glyphAtlasEnabled = glyphAtlasEnabled;
+        return this;
+    }
+
+    /**
+     * Sets the file that the panel's image cache is prewarmed from.
+     *
+     * If the file exists, then it's loaded on a background thread as soon as
+     * the panel is built, so that the first frames don't have to create every
+     * character image. The file can be saved using
+     * {@link com.valkryst.VTerminal.misc.ColoredImageCache#save(File, boolean)}.
+     *
+     * @param imageCacheFile
+     *        The file, or null if the image cache starts empty.
+     *
+     * @return
+     *        This.
+     */
+    public PanelBuilder setImageCacheFile(final File imageCacheFile) {
+        this.imageCacheFile = imageCacheFile;
+        return this;
+    }
+
+    /**
+     * Sets whether or not the panel draws into a framebuffer.
+     *
+     * When enabled, the panel keeps an image of the screen and copies opaque
+     * characters directly into its pixels. The finished image is then drawn
+     * onto the canvas once per frame, instead of drawing each character onto
+     * the canvas.
+     *
+     * @param framebufferEnabled
+     *        Whether or not to draw into a framebuffer.
+     *
+     * @return
+     *        This.
+     */
+    public PanelBuilder setFramebufferEnabled(final boolean framebufferEnabled) {
+        this.framebufferEnabled = framebufferEnabled;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads that the screen is drawn with.
+     *
+     * When more than one thread is used, the screen is drawn into a
+     * framebuffer, and its rows are split into horizontal bands which are
+     * drawn in parallel.
+     *
+     * @param renderThreads
+     *        The number of threads.
+     *
+     * @return
+     *        This.
+     *
+     * @throws IllegalArgumentException
+     *        If the number of threads is less than one.
+     */
+    public PanelBuilder setRenderThreads(final int renderThreads) {
+        if (renderThreads < 1) {
+            throw new IllegalArgumentException("The number of render threads must be at least one.");
+        }
+
+        this.renderThreads = renderThreads;
+        return this;
+    }
+
+    /**
+     * Sets the pool that the screen is drawn with, in place of a pool of
+     * render threads created by the panel.
+     *
+     * The pool is owned by the caller, so the panel never shuts it down, and
+     * it can be shared by many panels. A pool created by the panel is shut
+     * down when the panel is disposed.
+     *
+     * @param renderPool
+     *        The pool, or null if the panel creates its own pool.
+     *
+     * @return
+     *        This.
+     */
+    public PanelBuilder setRenderPool(final ForkJoinPool renderPool) {
+        this.renderPool = renderPool;
+        return this;
+    }
+
+    /**
+     * Sets the minimum number of rows drawn by each render thread.
+     *
+     * Small screens are drawn by fewer threads, so that no thread draws fewer
+     * than this number of rows.
+     *
+     * @param minimumBandHeight
+     *        The minimum number of rows.
+     *
+     * @return
+     *        This.
+     *
+     * @throws IllegalArgumentException
+     *        If the minimum number of rows is less than one.
+     */
+    public PanelBuilder setMinimumBandHeight(final int minimumBandHeight) {
+        if (minimumBandHeight < 1) {
+            throw new IllegalArgumentException("The minimum band height must be at least one.");
+        }
+
+        this.minimumBandHeight = minimumBandHeight;
+        return this;
+    }
+
+    /**
+     * Sets the number of frames drawn, at most, each second.
+     *
+     * Defaults to zero, so that no render loop is used. The screen and its
+     * components aren't thread-safe, so a render loop should only be used
+     * with a double-buffered screen, which is written to by one thread while
+     * the render loop draws the published copy.
+     *
+     * Draw events mark the panel to be redrawn, and the panel is then drawn
+     * on the next tick of its render loop. Any number of draw events, between
+     * two ticks, result in one frame.
+     *
+     * While the render loop is running, Panel#draw() also only requests a
+     * frame, so the panel is never drawn by two threads at once.
+     *
+     * Mouse and key events are never dispatched by the render loop. While it
+     * runs, the events of a panel which isn't double-buffered are dispatched
+     * on the Swing event dispatch thread, in one batch per burst of events.
+     *
+     * If set to zero, the panel is drawn on the thread of each draw event.
+     *
+     * @param targetFPS
+     *        The number of frames.
+     *
+     * @return
+     *        This.
+     *
+     * @throws IllegalArgumentException
+     *        If the number of frames is negative.
+     */
+    public PanelBuilder setTargetFPS(final int targetFPS) {
+        if (targetFPS < 0) {
+            throw new IllegalArgumentException("The target FPS cannot be negative.");
+        }
+
+        this.targetFPS = targetFPS;
+        return this;
+    }
+
+    /**
+     * Sets the type of target that the panel draws onto.
+     *
+     * The IMAGE and PIXELS targets are off-screen, so the panel can be used
+     * without a display, such as on a headless server. The drawn screen can
+     * be retrieved from the panel's render target.
+     *
+     * Off-screen panels are drawn by their render loop, so the target FPS
+     * should be set to zero if the target is to be read after each call to
+     * the panel's draw function.
+     *
+     * @param renderTargetType
+     *        The type of target.
+     *
+     * @return
+     *        This.
+     *
+     * @throws NullPointerException
+     *        If the type is null.
+     */
+    public PanelBuilder setRenderTargetType(final RenderTargetType renderTargetType) {
+        Objects.requireNonNull(renderTargetType);
+        this.renderTargetType = renderTargetType;
+        return this;
+    }
+
+    /**
+     * Sets whether or not the screen is double-buffered.
+     *
+     * When enabled, the screen can be written to on one thread while the
+     * panel is drawn on another. The writing thread publishes everything
+     * written since its last publish by calling Panel#publish(), and the
+     * panel only ever draws whole publishes. Draw events don't publish the
+     * screen, as they're transmitted from many threads.
+     *
+     * Mouse and key events are queued until Panel#publish() is called, and
+     * are dispatched by it before the screen is published, so that their
+     * handlers also write to the screen on the writing thread.
+     *
+     * @param doubleBuffered
+     *        Whether or not the screen is double-buffered.
+     *
+     * @return
+     *        This.
+     */
+    public PanelBuilder setDoubleBuffered(final boolean doubleBuffered) {
+        this.doubleBuffered = doubleBuffered;
+        return this;
+    }
 }
@@ -231,6 +231,9 @@ public class ButtonBuilder extends ComponentBuilder<Button, ButtonBuilder> {
     /**
      * Sets the on-click function.
      *
+     * The function runs on the Swing event dispatch thread or, if the panel
+     * is double-buffered, on the thread which calls Panel#publish().
+     *
      * @param onClickFunction
      *        The new on-click function.
      *
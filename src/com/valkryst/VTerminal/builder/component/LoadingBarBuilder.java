@@ -26,6 +26,9 @@ public class LoadingBarBuilder extends ComponentBuilder<LoadingBar, LoadingBarBu
     /** The foreground color for complete cells. */
     @Getter private Color foregroundColor_complete;
 
+    /** Whether or not partially complete cells are displayed with partial-block characters. */
+    @Getter private boolean partialCellsEnabled;
+
     @Override
     public LoadingBar build() {
         checkState();
@@ -67,6 +70,8 @@ public class LoadingBarBuilder extends ComponentBuilder<LoadingBar, LoadingBarBu
 
         backgroundColor_complete = new Color(0xFF366C9F, true);
         foregroundColor_complete = new Color(0, 255, 0, 255);
+
+        partialCellsEnabled = false;
     }
 
     /**
@@ -198,4 +203,20 @@ public class LoadingBarBuilder extends ComponentBuilder<LoadingBar, LoadingBarBu
 
         return this;
     }
+
+    /**
+     * Sets whether or not partially complete cells are displayed with
+     * partial-block characters, so that the loading bar fills in eighths of
+     * a cell rather than whole cells.
+     *
+     * @param partialCellsEnabled
+     *        Whether or not partially complete cells are displayed.
+     *
+     * @return
+     *        This.
+     */
+    public LoadingBarBuilder setPartialCellsEnabled(final boolean partialCellsEnabled) {
+        this.partialCellsEnabled = partialCellsEnabled;
+        return this;
+    }
 }
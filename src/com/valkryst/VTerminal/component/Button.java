@@ -1,10 +1,8 @@
 package com.valkryst.VTerminal.component;
 
 import com.valkryst.VTerminal.AsciiCharacter;
-import com.valkryst.VTerminal.AsciiString;
-import com.valkryst.VTerminal.Panel;
 import com.valkryst.VTerminal.builder.component.ButtonBuilder;
-import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.misc.ColorStates;
 import com.valkryst.VTerminal.misc.IntRange;
 import lombok.Getter;
 import lombok.NonNull;
@@ -12,12 +10,17 @@ import lombok.Setter;
 
 import java.awt.*;
 import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
-import java.awt.event.MouseMotionListener;
 import java.util.Objects;
 
 
 public class Button extends Component {
+    /** The index of the normal state's colors. */
+    private static final int STATE_NORMAL = 0;
+    /** The index of the hovered state's colors. */
+    private static final int STATE_HOVERED = 1;
+    /** The index of the pressed state's colors. */
+    private static final int STATE_PRESSED = 2;
+
     /** Whether or not the button is in the normal state. */
     private boolean isInNormalState = true;
     /** whether or not the button is in the hovered state. */
@@ -45,6 +48,9 @@ public class Button extends Component {
     /** The foreground color for when the button is in the pressed state. */
     @Getter private Color foregroundColor_pressed;
 
+    /** The colors of the button's cells, for each state. */
+    private final ColorStates colorStates;
+
     /** The function to run when the button is clicked. */
     @Getter @Setter @NonNull private Runnable onClickFunction;
 
@@ -90,8 +96,12 @@ public class Button extends Component {
             characters[column].setCharacter(text[column - 1]);
         }
 
-        // Set the button's colors (must be done after setting text):
-        setColors(backgroundColor_normal, foregroundColor_normal);
+        // Set the button's colors:
+        colorStates = new ColorStates(super.getGrid(), 3);
+        colorStates.setColors(STATE_NORMAL, backgroundColor_normal, foregroundColor_normal);
+        colorStates.setColors(STATE_HOVERED, backgroundColor_hover, foregroundColor_hover);
+        colorStates.setColors(STATE_PRESSED, backgroundColor_pressed, foregroundColor_pressed);
+        colorStates.apply(STATE_NORMAL);
     }
 
     @Override
@@ -127,69 +137,35 @@ public class Button extends Component {
     }
 
     @Override
-    public void registerEventHandlers(final Panel panel) {
-        Objects.requireNonNull(panel);
-
-        final Font font = panel.getImageCache().getFont();
-        final int fontWidth = font.getWidth();
-        final int fontHeight = font.getHeight();
-
-        panel.addMouseListener(new MouseListener() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-
-            }
-
-            @Override
-            public void mousePressed(MouseEvent e) {
-                if (e.getButton() == MouseEvent.BUTTON1) {
-                    if (intersects(e, fontWidth, fontHeight)) {
-                        setStatePressed();
-                    }
-                }
-            }
-
-            @Override
-            public void mouseReleased(MouseEvent e) {
-                if (e.getButton() == MouseEvent.BUTTON1) {
-                    if (isInPressedState) {
-                        onClickFunction.run();
-                    }
-
-                    if (intersects(e, fontWidth, fontHeight)) {
-                        setStateHovered();
-                    } else {
-                        setStateNormal();
-                    }
-                }
-            }
-
-            @Override
-            public void mouseEntered(MouseEvent e) {
-
-            }
-
-            @Override
-            public void mouseExited(MouseEvent e) {
+    public void onMouseEntered() {
+        setStateHovered();
+    }
 
-            }
-        });
+    @Override
+    public void onMouseExited() {
+        setStateNormal();
+    }
 
-        panel.addMouseMotionListener(new MouseMotionListener() {
-            @Override
-            public void mouseDragged(MouseEvent e) {
+    @Override
+    public void onMousePressed(final MouseEvent event) {
+        if (event.getButton() == MouseEvent.BUTTON1) {
+            setStatePressed();
+        }
+    }
 
+    @Override
+    public void onMouseReleased(final MouseEvent event, final boolean isOverComponent) {
+        if (event.getButton() == MouseEvent.BUTTON1) {
+            if (isInPressedState) {
+                onClickFunction.run();
             }
 
-            @Override
-            public void mouseMoved(MouseEvent e) {
-                if (intersects(e, fontWidth, fontHeight)) {
-                    setStateHovered();
-                } else {
-                    setStateNormal();
-                }
+            if (isOverComponent) {
+                setStateHovered();
+            } else {
+                setStateNormal();
             }
-        });
+        }
     }
 
     /** Sets the button state to normal if the current state allows for the normal state to be set. */
@@ -202,7 +178,7 @@ public class Button extends Component {
             isInHoveredState = false;
             isInPressedState = false;
 
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_NORMAL);
             transmitDraw();
         }
     }
@@ -217,7 +193,7 @@ public class Button extends Component {
             isInHoveredState = true;
             isInPressedState = false;
 
-            setColors(backgroundColor_hover, foregroundColor_hover);
+            colorStates.apply(STATE_HOVERED);
             transmitDraw();
         }
     }
@@ -232,33 +208,11 @@ public class Button extends Component {
             isInHoveredState = false;
             isInPressedState = true;
 
-            setColors(backgroundColor_pressed, foregroundColor_pressed);
+            colorStates.apply(STATE_PRESSED);
             transmitDraw();
         }
     }
 
-    /**
-     * Sets the back/foreground colors of all characters to the specified colors.
-     *
-     * @param backgroundColor
-     *         The new background color.
-     *
-     * @param foregroundColor
-     *         The new foreground color.
-     *
-     * @throws NullPointerException
-     *         If the background or foreground color is null.
-     */
-    private void setColors(final Color backgroundColor, final Color foregroundColor) {
-        Objects.requireNonNull(backgroundColor);
-        Objects.requireNonNull(foregroundColor);
-
-        for (final AsciiString s : getStrings()) {
-            s.setBackgroundColor(backgroundColor);
-            s.setForegroundColor(foregroundColor);
-        }
-    }
-
     /**
      * Enables the blink effect on the button's text, but not on the starting and ending characters.
      *
@@ -320,9 +274,10 @@ public class Button extends Component {
         Objects.requireNonNull(color);
 
         backgroundColor_normal = color;
+        colorStates.setColors(STATE_NORMAL, backgroundColor_normal, foregroundColor_normal);
 
         if (isInNormalState) {
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_NORMAL);
         }
     }
 
@@ -339,9 +294,10 @@ public class Button extends Component {
         Objects.requireNonNull(color);
 
         foregroundColor_normal = color;
+        colorStates.setColors(STATE_NORMAL, backgroundColor_normal, foregroundColor_normal);
 
         if (isInNormalState) {
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_NORMAL);
         }
     }
 
@@ -358,9 +314,10 @@ public class Button extends Component {
         Objects.requireNonNull(color);
 
         backgroundColor_hover = color;
+        colorStates.setColors(STATE_HOVERED, backgroundColor_hover, foregroundColor_hover);
 
         if (isInHoveredState) {
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_HOVERED);
         }
     }
 
@@ -377,9 +334,10 @@ public class Button extends Component {
         Objects.requireNonNull(color);
 
         foregroundColor_hover = color;
+        colorStates.setColors(STATE_HOVERED, backgroundColor_hover, foregroundColor_hover);
 
         if (isInHoveredState) {
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_HOVERED);
         }
     }
 
@@ -396,9 +354,10 @@ public class Button extends Component {
         Objects.requireNonNull(color);
 
         backgroundColor_pressed = color;
+        colorStates.setColors(STATE_PRESSED, backgroundColor_pressed, foregroundColor_pressed);
 
         if (isInPressedState) {
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_PRESSED);
         }
     }
 
@@ -415,9 +374,10 @@ public class Button extends Component {
         Objects.requireNonNull(color);
 
         foregroundColor_pressed = color;
+        colorStates.setColors(STATE_PRESSED, backgroundColor_pressed, foregroundColor_pressed);
 
         if (isInPressedState) {
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_PRESSED);
         }
     }
 }
\ No newline at end of file
@@ -3,19 +3,23 @@ package com.valkryst.VTerminal.component;
 
 import com.valkryst.VTerminal.AsciiCharacter;
 import com.valkryst.VTerminal.AsciiString;
-import com.valkryst.VTerminal.Panel;
 import com.valkryst.VTerminal.builder.component.CheckBoxBuilder;
-import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.misc.ColorStates;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.awt.Color;
 import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
-import java.awt.event.MouseMotionListener;
 import java.util.Objects;
 
 public class CheckBox extends Component {
+    /** The index of the normal state's colors. */
+    private static final int STATE_NORMAL = 0;
+    /** The index of the hovered state's colors. */
+    private static final int STATE_HOVERED = 1;
+    /** The index of the checked state's colors. */
+    private static final int STATE_CHECKED = 2;
+
     /** Whether or not the check box is in the normal state. */
     private boolean isInNormalState = true;
     /** whether or not the check box is in the hovered state. */
@@ -44,6 +48,9 @@ public class CheckBox extends Component {
     /** The foreground color for when the check box is in the checked state. */
     @Getter private Color foregroundColor_checked;
 
+    /** The colors of the check box's cells, for each state. */
+    private final ColorStates colorStates;
+
     /**
      * Constructs a new AsciiCheckBox.
      *
@@ -89,8 +96,11 @@ public class CheckBox extends Component {
         }
 
         // Set the back/foreground colors:
-        string.setBackgroundColor(backgroundColor_normal);
-        string.setForegroundColor(foregroundColor_normal);
+        colorStates = new ColorStates(super.getGrid(), 3);
+        colorStates.setColors(STATE_NORMAL, backgroundColor_normal, foregroundColor_normal);
+        colorStates.setColors(STATE_HOVERED, backgroundColor_hover, foregroundColor_hover);
+        colorStates.setColors(STATE_CHECKED, backgroundColor_checked, foregroundColor_checked);
+        colorStates.apply(STATE_NORMAL);
     }
 
     @Override
@@ -125,57 +135,28 @@ public class CheckBox extends Component {
     }
 
     @Override
-    public void registerEventHandlers(final Panel panel) {
-        Objects.requireNonNull(panel);
-
-        final Font font = panel.getImageCache().getFont();
-        final int fontWidth = font.getWidth();
-        final int fontHeight = font.getHeight();
-
-        panel.addMouseListener(new MouseListener() {
-            @Override
-            public void mouseClicked(final MouseEvent e) {}
-
-            @Override
-            public void mousePressed(final MouseEvent e) {
-                if (e.getButton() == MouseEvent.BUTTON1) {
-                    if (intersects(e, fontWidth, fontHeight)) {
-                        if (isChecked) {
-                            uncheck();
-                        } else {
-                            check();
-                        }
-                    }
-                }
-            }
+    public void onMouseEntered() {
+        setStateHovered();
+    }
+
+    @Override
+    public void onMouseExited() {
+        if (isChecked) {
+            setStateChecked();
+        } else {
+            setStateNormal();
+        }
+    }
 
-            @Override
-            public void mouseReleased(final MouseEvent e) {}
-
-            @Override
-            public void mouseEntered(final MouseEvent e) {}
-
-            @Override
-            public void mouseExited(final MouseEvent e) {}
-        });
-
-        panel.addMouseMotionListener(new MouseMotionListener() {
-            @Override
-            public void mouseDragged(final MouseEvent e) {}
-
-            @Override
-            public void mouseMoved(final MouseEvent e) {
-                if (intersects(e, fontWidth, fontHeight)) {
-                    setStateHovered();
-                } else {
-                    if (isChecked) {
-                        setStateChecked();
-                    } else {
-                        setStateNormal();
-                    }
-                }
+    @Override
+    public void onMousePressed(final MouseEvent event) {
+        if (event.getButton() == MouseEvent.BUTTON1) {
+            if (isChecked) {
+                uncheck();
+            } else {
+                check();
             }
-        });
+        }
     }
 
     /** Sets the check box state to normal if the current state allows for the normal state to be set. */
@@ -187,7 +168,7 @@ public class CheckBox extends Component {
             isInNormalState = true;
             isInHoveredState = false;
 
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_NORMAL);
             super.transmitDraw();
         }
     }
@@ -201,7 +182,7 @@ public class CheckBox extends Component {
             isInNormalState = false;
             isInHoveredState = true;
 
-            setColors(backgroundColor_hover, foregroundColor_hover);
+            colorStates.apply(STATE_HOVERED);
             super.transmitDraw();
         }
     }
@@ -215,33 +196,11 @@ public class CheckBox extends Component {
             isInNormalState = false;
             isInHoveredState = false;
 
-            setColors(backgroundColor_checked, foregroundColor_checked);
+            colorStates.apply(STATE_CHECKED);
             super.transmitDraw();
         }
     }
 
-    /**
-     * Sets the back/foreground colors of all characters to the specified colors.
-     *
-     * @param backgroundColor
-     *         The new background color.
-     *
-     * @param foregroundColor
-     *         The new foreground color.
-     *
-     * @throws NullPointerException
-     *         If the background or foreground color is null.
-     */
-    private void setColors(final Color backgroundColor, final Color foregroundColor) {
-        Objects.requireNonNull(backgroundColor);
-        Objects.requireNonNull(foregroundColor);
-
-        for (final AsciiString s : super.getStrings()) {
-            s.setBackgroundColor(backgroundColor);
-            s.setForegroundColor(foregroundColor);
-        }
-    }
-
     /**
      * Sets the starting character of the box's text.
      *
@@ -283,9 +242,10 @@ public class CheckBox extends Component {
         Objects.requireNonNull(color);
 
         backgroundColor_normal = color;
+        colorStates.setColors(STATE_NORMAL, backgroundColor_normal, foregroundColor_normal);
 
         if (isInNormalState) {
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_NORMAL);
         }
     }
 
@@ -302,9 +262,10 @@ public class CheckBox extends Component {
         Objects.requireNonNull(color);
 
         foregroundColor_normal = color;
+        colorStates.setColors(STATE_NORMAL, backgroundColor_normal, foregroundColor_normal);
 
         if (isInNormalState) {
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_NORMAL);
         }
     }
 
@@ -321,9 +282,10 @@ public class CheckBox extends Component {
         Objects.requireNonNull(color);
 
         backgroundColor_hover = color;
+        colorStates.setColors(STATE_HOVERED, backgroundColor_hover, foregroundColor_hover);
 
         if (isInHoveredState) {
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_HOVERED);
         }
     }
 
@@ -340,9 +302,10 @@ public class CheckBox extends Component {
         Objects.requireNonNull(color);
 
         foregroundColor_hover = color;
+        colorStates.setColors(STATE_HOVERED, backgroundColor_hover, foregroundColor_hover);
 
         if (isInHoveredState) {
-            setColors(backgroundColor_normal, foregroundColor_normal);
+            colorStates.apply(STATE_HOVERED);
         }
     }
 
@@ -2,17 +2,21 @@ package com.valkryst.VTerminal.component;
 
 import com.valkryst.VRadio.Radio;
 import com.valkryst.VTerminal.AsciiCharacter;
+import com.valkryst.VTerminal.AsciiGrid;
 import com.valkryst.VTerminal.AsciiString;
 import com.valkryst.VTerminal.AsciiTile;
 import com.valkryst.VTerminal.Panel;
-import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.DirtyRegionTracker;
+import com.valkryst.VTerminal.misc.Framebuffer;
 import com.valkryst.VTerminal.misc.IntRange;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
@@ -29,11 +33,14 @@ public class Component {
     @Getter private int height;
 
     /** Whether or not the component is currently the target of the user's input. */
-    @Getter private boolean isFocused = false;
+    @Getter @Setter private boolean isFocused = false;
 
     /** The bounding box. */
     @Getter private Rectangle boundingBox = new Rectangle();
 
+    /** The grid containing the characters of the component. */
+    @Getter private final AsciiGrid grid;
+
     /** The strings representing the character-rows of the component. */
     @Getter private AsciiString[] strings;
 
@@ -83,10 +90,11 @@ public class Component {
         boundingBox.setLocation(columnIndex, rowIndex);
         boundingBox.setSize(width, height);
 
+        grid = new AsciiGrid(width, height);
         strings = new AsciiString[height];
 
         for (int row = 0 ; row < height ; row++) {
-            strings[row] = new AsciiString(width);
+            strings[row] = new AsciiString(grid, row);
         }
     }
 
@@ -129,9 +137,7 @@ public class Component {
         sb.append("\n\tStrings:\n\t\t");
 
         for (final AsciiString string : strings) {
-            for (final AsciiCharacter character : string.getCharacters()) {
-                sb.append(character.getCharacter());
-            }
+            sb.append(string.toString());
             sb.append("\n\t\t");
         }
 
@@ -143,6 +149,17 @@ public class Component {
     /**
      * Registers events, required by the component, with the specified panel.
      *
+     * Mouse and key events aren't registered here. The panel routes mouse
+     * events to the topmost component under the mouse, through the onMouse
+     * functions, and key events to the component registered with its focus
+     * manager that has the focus, through the onKey functions.
+     *
+     * The onMouse and onKey functions are never called on the panel's render
+     * loop thread. If the panel is double-buffered, they're called by
+     * Panel#publish(), on the thread which writes to the screen, so that
+     * they never write to the screen while it's being published. Otherwise,
+     * they're called on the Swing event dispatch thread.
+     *
      * @param panel
      *         The panel to register events with.
      *
@@ -151,32 +168,82 @@ public class Component {
      */
     public void registerEventHandlers(final Panel panel) {
         Objects.requireNonNull(panel);
+    }
 
-        final Font font = panel.getImageCache().getFont();
-        final int fontWidth = font.getWidth();
-        final int fontHeight = font.getHeight();
+    /**
+     * Called when the mouse moves onto the component.
+     *
+     * See {@link #registerEventHandlers(Panel)} for the thread that this is
+     * called on.
+     */
+    public void onMouseEntered() {}
 
-        panel.addMouseListener(new MouseListener() {
-            @Override
-            public void mouseClicked(final MouseEvent e) {
-                if (e.getButton() == MouseEvent.BUTTON1) {
-                    isFocused = intersects(e, fontWidth, fontHeight);
-                }
-            }
+    /**
+     * Called when the mouse moves off of the component.
+     *
+     * See {@link #registerEventHandlers(Panel)} for the thread that this is
+     * called on.
+     */
+    public void onMouseExited() {}
 
-            @Override
-            public void mousePressed(final MouseEvent e) {}
+    /**
+     * Called when a mouse button is pressed over the component.
+     *
+     * See {@link #registerEventHandlers(Panel)} for the thread that this is
+     * called on.
+     *
+     * @param event
+     *         The event.
+     */
+    public void onMousePressed(final MouseEvent event) {}
+
+    /**
+     * Called when a mouse button, which was pressed over the component, is
+     * released.
+     *
+     * See {@link #registerEventHandlers(Panel)} for the thread that this is
+     * called on.
+     *
+     * @param event
+     *         The event.
+     *
+     * @param isOverComponent
+     *         Whether or not the mouse is over the component.
+     */
+    public void onMouseReleased(final MouseEvent event, final boolean isOverComponent) {}
 
-            @Override
-            public void mouseReleased(final MouseEvent e) {}
+    /**
+     * Called when a key is typed while the component has the focus.
+     *
+     * See {@link #registerEventHandlers(Panel)} for the thread that this is
+     * called on.
+     *
+     * @param event
+     *         The event.
+     */
+    public void onKeyTyped(final KeyEvent event) {}
 
-            @Override
-            public void mouseEntered(final MouseEvent e) {}
+    /**
+     * Called when a key is pressed while the component has the focus.
+     *
+     * See {@link #registerEventHandlers(Panel)} for the thread that this is
+     * called on.
+     *
+     * @param event
+     *         The event.
+     */
+    public void onKeyPressed(final KeyEvent event) {}
 
-            @Override
-            public void mouseExited(final MouseEvent e) {}
-        });
-    }
+    /**
+     * Called when a key is released while the component has the focus.
+     *
+     * See {@link #registerEventHandlers(Panel)} for the thread that this is
+     * called on.
+     *
+     * @param event
+     *         The event.
+     */
+    public void onKeyReleased(final KeyEvent event) {}
 
     /**
      * Draws the component on the specified screen.
@@ -190,11 +257,150 @@ public class Component {
     public void draw(final Screen screen) {
         Objects.requireNonNull(screen);
 
-        for (int row = 0 ; row < strings.length ; row++) {
-            screen.write(strings[row], columnIndex, rowIndex + row);
+        final DirtyRegionTracker dirtyRegions = grid.getDirtyRegions();
+
+        // Anything written to the screen, beneath the component, must be
+        // overwritten by the component again.
+        dirtyRegions.markDirtyFrom(screen.getGrid().getDirtyRegions(), columnIndex, rowIndex);
+
+        for (int row = dirtyRegions.nextDirtyRow(0) ; row != -1 ; row = dirtyRegions.nextDirtyRow(row + 1)) {
+            int beginColumn = dirtyRegions.nextDirtyColumn(row, 0);
+
+            while (beginColumn != -1) {
+                final int endColumn = dirtyRegions.nextCleanColumn(row, beginColumn);
+
+                if (screen.isPositionValid(columnIndex + beginColumn, rowIndex + row)) {
+                    final AsciiString screenString = screen.getString(rowIndex + row);
+                    screenString.copyCharacters(columnIndex + beginColumn, strings[row], new IntRange(beginColumn, endColumn));
+                }
+
+                beginColumn = dirtyRegions.nextDirtyColumn(row, endColumn);
+            }
+        }
+
+        dirtyRegions.clear();
+    }
+
+    /**
+     * Draws every character, that has changed since it was last drawn, onto
+     * the specified context.
+     *
+     * @param gc
+     *         The graphics context to draw with.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @param columnOffset
+     *         The x-axis (column) coordinate where the component's top-left
+     *         character is to be drawn.
+     *
+     * @param rowOffset
+     *         The y-axis (row) coordinate where the component's top-left
+     *         character is to be drawn.
+     */
+    protected void drawDirtyCharacters(final Graphics2D gc, final ColoredImageCache imageCache,
+                                       final int columnOffset, final int rowOffset) {
+        final DirtyRegionTracker dirtyRegions = grid.getDirtyRegions();
+
+        for (int row = dirtyRegions.nextDirtyRow(0) ; row != -1 ; row = dirtyRegions.nextDirtyRow(row + 1)) {
+            setDirtyCharactersToBeRedrawn(row);
+            strings[row].draw(gc, imageCache, columnOffset, rowOffset + row);
+        }
+
+        dirtyRegions.clear();
+    }
+
+    /**
+     * Draws every character, that has changed since it was last drawn, into
+     * the specified framebuffer.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @param columnOffset
+     *         The x-axis (column) coordinate where the component's top-left
+     *         character is to be drawn.
+     *
+     * @param rowOffset
+     *         The y-axis (row) coordinate where the component's top-left
+     *         character is to be drawn.
+     */
+    protected void drawDirtyCharacters(final Framebuffer framebuffer, final ColoredImageCache imageCache,
+                                       final int columnOffset, final int rowOffset) {
+        drawDirtyRows(framebuffer, imageCache, columnOffset, rowOffset, 0, strings.length);
+        grid.getDirtyRegions().clear();
+    }
+
+    /**
+     * Draws every character, within a range of rows, that has changed since
+     * it was last drawn, into the specified framebuffer.
+     *
+     * The changes aren't cleared, as other ranges of rows may still need to
+     * be drawn. Ranges which don't overlap can be drawn concurrently.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @param columnOffset
+     *         The x-axis (column) coordinate where the component's top-left
+     *         character is to be drawn.
+     *
+     * @param rowOffset
+     *         The y-axis (row) coordinate where the component's top-left
+     *         character is to be drawn.
+     *
+     * @param beginRow
+     *         The first row to draw.
+     *
+     * @param endRow
+     *         The row following the last row to draw.
+     */
+    protected void drawDirtyRows(final Framebuffer framebuffer, final ColoredImageCache imageCache,
+                                 final int columnOffset, final int rowOffset, final int beginRow, final int endRow) {
+        final DirtyRegionTracker dirtyRegions = grid.getDirtyRegions();
+
+        for (int row = dirtyRegions.nextDirtyRow(beginRow) ; row != -1 && row < endRow ; row = dirtyRegions.nextDirtyRow(row + 1)) {
+            setDirtyCharactersToBeRedrawn(row);
+            strings[row].draw(framebuffer, imageCache, columnOffset, rowOffset + row);
+        }
+    }
+
+    /**
+     * Flags every dirty character, of a row, to be redrawn.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the row.
+     */
+    private void setDirtyCharactersToBeRedrawn(final int row) {
+        final DirtyRegionTracker dirtyRegions = grid.getDirtyRegions();
+        final boolean[] charactersToBeRedrawn = strings[row].getCharactersToBeRedrawn();
+        int beginColumn = dirtyRegions.nextDirtyColumn(row, 0);
+
+        while (beginColumn != -1) {
+            final int endColumn = dirtyRegions.nextCleanColumn(row, beginColumn);
+            Arrays.fill(charactersToBeRedrawn, beginColumn, endColumn, true);
+            beginColumn = dirtyRegions.nextDirtyColumn(row, endColumn);
         }
     }
 
+    /**
+     * Determines whether or not any character has changed since it was last
+     * drawn.
+     *
+     * @return
+     *         Whether or not any character has changed.
+     */
+    public boolean hasDirtyRegions() {
+        return grid.getDirtyRegions().hasDirtyRegions();
+    }
+
     /** Attempts to transmit a "DRAW" event to the assigned Radio. */
     public void transmitDraw() {
         if (radio != null) {
@@ -394,6 +600,21 @@ public class Component {
         }
     }
 
+    /**
+     * Updates the cells that the component is found at, on the Screen that
+     * the component resides on, after the component has been moved or
+     * resized.
+     *
+     * @param previousBounds
+     *         The bounding box of the component before it was moved or
+     *         resized.
+     */
+    private void updateBoundsOnScreen(final Rectangle previousBounds) {
+        if (screen != null) {
+            screen.updateComponentBounds(this, previousBounds);
+        }
+    }
+
     /**
      * Retrieves the AsciiCharacter at a specific location.
      *
@@ -409,7 +630,7 @@ public class Component {
      */
     public Optional<AsciiCharacter> getCharacterAt(final int columnIndex, final int rowIndex) {
         if (isPositionValid(columnIndex, rowIndex)) {
-            return Optional.of(strings[rowIndex].getCharacters()[columnIndex]);
+            return Optional.of(strings[rowIndex].getCharacter(columnIndex));
         }
 
         return Optional.empty();
@@ -426,8 +647,10 @@ public class Component {
     public void setColumnIndex(final int columnIndex) {
         if (columnIndex >= 0) {
             setLocationOnScreenToBeRedrawn();
+            final Rectangle previousBounds = new Rectangle(boundingBox);
             this.columnIndex = columnIndex;
             boundingBox.setLocation(columnIndex, rowIndex);
+            updateBoundsOnScreen(previousBounds);
             setAllCharactersToBeRedrawn();
         }
     }
@@ -443,8 +666,10 @@ public class Component {
     public void setRowIndex(final int rowIndex) {
         if (rowIndex >= 0) {
             setLocationOnScreenToBeRedrawn();
+            final Rectangle previousBounds = new Rectangle(boundingBox);
             this.rowIndex = rowIndex;
             boundingBox.setLocation(columnIndex, rowIndex);
+            updateBoundsOnScreen(previousBounds);
             setAllCharactersToBeRedrawn();
         }
     }
@@ -463,8 +688,10 @@ public class Component {
         }
 
         setLocationOnScreenToBeRedrawn();
+        final Rectangle previousBounds = new Rectangle(boundingBox);
         this.width = width;
         boundingBox.setSize(width, height);
+        updateBoundsOnScreen(previousBounds);
         setAllCharactersToBeRedrawn();
     }
 
@@ -482,8 +709,10 @@ public class Component {
         }
 
         setLocationOnScreenToBeRedrawn();
+        final Rectangle previousBounds = new Rectangle(boundingBox);
         this.height = height;
         boundingBox.setSize(width, height);
+        updateBoundsOnScreen(previousBounds);
         setAllCharactersToBeRedrawn();
     }
 
@@ -1,10 +1,9 @@
 package com.valkryst.VTerminal.component;
 
-import com.valkryst.VTerminal.font.Font;
 import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
 
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.util.Objects;
 
 public class Layer extends Component {
@@ -35,6 +34,9 @@ public class Layer extends Component {
     /**
      * Draws the layer onto the specified canvas using the specified font.
      *
+     * Only the characters that have changed, or that have been marked to be
+     * redrawn, since the last draw call are drawn.
+     *
      * @param gc
      *         The graphics context to draw with.
      *
@@ -48,21 +50,28 @@ public class Layer extends Component {
         Objects.requireNonNull(gc);
         Objects.requireNonNull(imageCache);
 
-        final Font font = imageCache.getFont();
-
-        final int iWidth = getWidth() * font.getWidth();
-        final int iHeight = getHeight() * font.getHeight();
-        final BufferedImage image = new BufferedImage(iWidth, iHeight, BufferedImage.TYPE_INT_ARGB);
-
-        // Draw the layer onto the image:
-        for (int row = 0 ; row < getHeight() ; row++) {
-            super.getString(row).draw((Graphics2D) image.getGraphics(), imageCache, row);
-        }
+        drawDirtyCharacters(gc, imageCache, super.getColumnIndex(), super.getRowIndex());
+    }
 
-        // Draw the image onto the canvas:
-        final int xPos = super.getColumnIndex() * font.getWidth();
-        final int yPos = super.getRowIndex() * font.getHeight();
+    /**
+     * Draws the layer into the specified framebuffer.
+     *
+     * Only the characters that have changed, or that have been marked to be
+     * redrawn, since the last draw call are drawn.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @param imageCache
+     *         The image cache to retrieve the character image from.
+     *
+     * @throws NullPointerException
+     *         If the framebuffer or image cache is null.
+     */
+    public void draw(final Framebuffer framebuffer, final ColoredImageCache imageCache) {
+        Objects.requireNonNull(framebuffer);
+        Objects.requireNonNull(imageCache);
 
-        gc.drawImage(image, xPos, yPos, null);
+        drawDirtyCharacters(framebuffer, imageCache, super.getColumnIndex(), super.getRowIndex());
     }
 }
@@ -1,16 +1,35 @@
 package com.valkryst.VTerminal.component;
 
+import com.valkryst.VTerminal.AsciiGrid;
 import com.valkryst.VTerminal.AsciiString;
 import com.valkryst.VTerminal.builder.component.LoadingBarBuilder;
-import com.valkryst.VTerminal.misc.IntRange;
 import lombok.Getter;
 
 import java.awt.Color;
 import java.util.Objects;
 
+/**
+ * A bar which fills, from left to right, as the percent complete rises.
+ *
+ * The percent complete may be set from any thread. Only the cells between
+ * the previous and new ends of the filled area are rewritten, and setting a
+ * percent which doesn't move the end of the filled area does nothing.
+ */
 public class LoadingBar extends Component {
+    /** The partial-block characters, from one eighth to seven eighths of a cell, used for partially complete cells. */
+    private static final char[] PARTIAL_CHARACTERS = {'▏', '▎', '▍', '▌', '▋', '▊', '▉'};
+
     /** The percent complete. */
-    @Getter private int percentComplete = 0;
+    @Getter private volatile int percentComplete = 0;
+
+    /** Whether or not partially complete cells are displayed with partial-block characters. */
+    @Getter private final boolean partialCellsEnabled;
+
+    /** The number of steps that each cell is divided into. */
+    private final int stepsPerCell;
+
+    /** The number of complete steps, which marks the end of the filled area. */
+    private int completeSteps = 0;
 
     /** The character that represents an incomplete cell. */
     @Getter private char incompleteCharacter;
@@ -52,6 +71,9 @@ public class LoadingBar extends Component {
         backgroundColor_complete = builder.getBackgroundColor_complete();
         foregroundColor_complete = builder.getForegroundColor_complete();
 
+        partialCellsEnabled = builder.isPartialCellsEnabled();
+        stepsPerCell = (partialCellsEnabled ? PARTIAL_CHARACTERS.length + 1 : 1);
+
         // Set all chars to incomplete state:
         for (final AsciiString string : super.getStrings()) {
             string.setAllCharacters(incompleteCharacter);
@@ -79,6 +101,7 @@ public class LoadingBar extends Component {
         isEqual &= Objects.equals(foregroundColor_incomplete, otherBar.getForegroundColor_incomplete());
         isEqual &= Objects.equals(backgroundColor_complete, otherBar.getBackgroundColor_complete());
         isEqual &= Objects.equals(foregroundColor_complete, otherBar.getForegroundColor_complete());
+        isEqual &= Objects.equals(partialCellsEnabled, otherBar.isPartialCellsEnabled());
         return isEqual;
     }
 
@@ -86,13 +109,23 @@ public class LoadingBar extends Component {
     public int hashCode() {
         return Objects.hash(super.hashCode(), percentComplete, incompleteCharacter, completeCharacter,
                             backgroundColor_incomplete, foregroundColor_incomplete, backgroundColor_complete,
-                            foregroundColor_complete);
+                            foregroundColor_complete, partialCellsEnabled);
+    }
+
+    @Override
+    public synchronized void draw(final Screen screen) {
+        // The cells may be rewritten by another thread, so they're only copied onto the screen while holding the lock.
+        super.draw(screen);
     }
 
     /**
      * Sets the new percent complete and redraws the loading bar
      * to reflect the changes.
      *
+     * Only the cells between the previous and new ends of the filled area
+     * are rewritten. If the end of the filled area doesn't move, then the
+     * loading bar isn't redrawn.
+     *
      * @param percentComplete
      *        The new percent complete.
      */
@@ -105,20 +138,72 @@ public class LoadingBar extends Component {
             percentComplete = 100;
         }
 
-        final int numberOfCompleteChars = (int) (super.getWidth() * (percentComplete / 100f));
-        final IntRange range = new IntRange(0, numberOfCompleteChars);
+        synchronized (this) {
+            this.percentComplete = percentComplete;
 
-        for (final AsciiString string : super.getStrings()) {
-            string.setBackgroundColor(backgroundColor_incomplete);
-            string.setForegroundColor(foregroundColor_incomplete);
-            string.setAllCharacters(incompleteCharacter);
+            final int previousSteps = completeSteps;
+            completeSteps = (int) ((long) super.getGrid().getWidth() * stepsPerCell * percentComplete / 100);
+
+            if (completeSteps == previousSteps) {
+                return;
+            }
 
-            string.setBackgroundColor(backgroundColor_complete, range);
-            string.setForegroundColor(foregroundColor_complete, range);
-            string.setCharacters(completeCharacter, range);
+            // Rewrite every cell which contains either end, including a partially complete cell.
+            final int beginColumn = Math.min(previousSteps, completeSteps) / stepsPerCell;
+            final int endColumn = Math.min((Math.max(previousSteps, completeSteps) + stepsPerCell - 1) / stepsPerCell,
+                                           super.getGrid().getWidth());
+            setCells(beginColumn, endColumn);
         }
 
-        this.percentComplete = percentComplete;
         super.transmitDraw();
     }
+
+    /**
+     * Sets the characters and colors of every cell, in a range of columns,
+     * to match the number of complete steps.
+     *
+     * @param beginColumn
+     *         The first column, inclusive.
+     *
+     * @param endColumn
+     *         The last column, exclusive.
+     */
+    private void setCells(final int beginColumn, final int endColumn) {
+        final AsciiGrid grid = super.getGrid();
+        final char[] characters = grid.getCharacters();
+        final int[] backgroundColors = grid.getBackgroundColors();
+        final int[] foregroundColors = grid.getForegroundColors();
+
+        for (int column = beginColumn ; column < endColumn ; column++) {
+            final int steps = completeSteps - column * stepsPerCell;
+
+            final char character;
+            final int backgroundColor;
+            final int foregroundColor;
+
+            if (steps >= stepsPerCell) {
+                character = completeCharacter;
+                backgroundColor = backgroundColor_complete.getRGB();
+                foregroundColor = foregroundColor_complete.getRGB();
+            } else if (steps <= 0) {
+                character = incompleteCharacter;
+                backgroundColor = backgroundColor_incomplete.getRGB();
+                foregroundColor = foregroundColor_incomplete.getRGB();
+            } else {
+                // The filled part of the glyph shows the complete color, over the incomplete background.
+                character = PARTIAL_CHARACTERS[steps - 1];
+                backgroundColor = backgroundColor_incomplete.getRGB();
+                foregroundColor = foregroundColor_complete.getRGB();
+            }
+
+            for (int row = 0 ; row < grid.getHeight() ; row++) {
+                final int index = grid.indexOf(column, row);
+                characters[index] = character;
+                backgroundColors[index] = backgroundColor;
+                foregroundColors[index] = foregroundColor;
+            }
+        }
+
+        grid.getDirtyRegions().markDirty(beginColumn, 0, endColumn - beginColumn, grid.getHeight());
+    }
 }
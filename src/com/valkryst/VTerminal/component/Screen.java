@@ -4,16 +4,31 @@ import com.valkryst.VTerminal.AsciiCharacter;
 import com.valkryst.VTerminal.AsciiString;
 import com.valkryst.VTerminal.font.Font;
 import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.ComponentIndex;
+import com.valkryst.VTerminal.misc.DirtyRegionTracker;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import com.valkryst.VTerminal.misc.IntRange;
+import com.valkryst.VTerminal.render.RenderTarget;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 
 public class Screen extends Component {
+    /** The maximum number of pending copies, beyond which the copied regions are redrawn instead. */
+    private static final int MAX_PENDING_COPIES = 32;
+
     /** The non-layer components displayed on the screen. */
     private final Set<Component> components = new LinkedHashSet<>();
 
@@ -23,6 +38,18 @@ public class Screen extends Component {
     /** The screen components displayed on the screen. */
     private final Set<Screen> screenComponents = new LinkedHashSet<>();
 
+    /** The topmost non-layer component of each cell, used to find the component under the mouse. */
+    private final ComponentIndex componentIndex;
+
+    /** The snapshots that the screen is drawn from, or null if the screen is drawn directly. */
+    private volatile ScreenBuffer buffer;
+
+    /**
+     * The copies, of regions of the screen onto itself, whose pixels have yet
+     * to be copied on whatever the screen was last drawn onto.
+     */
+    private final List<PendingCopy> pendingCopies = new ArrayList<>();
+
     /**
      * Constructs a new AsciiScreen.
      *
@@ -40,6 +67,7 @@ public class Screen extends Component {
      */
     public Screen(final int columnIndex, final int rowIndex, final int width, final int height) {
         super(columnIndex, rowIndex, width, height);
+        componentIndex = new ComponentIndex(width, height);
     }
 
     @Override
@@ -55,6 +83,9 @@ public class Screen extends Component {
     /**
      * Draws the screen onto the specified canvas using the specified font.
      *
+     * Only the regions of the screen which have changed, or which have been
+     * marked to be redrawn, since the last draw call are drawn.
+     *
      * @param gc
      *         The graphics context to draw with.
      *
@@ -68,27 +99,359 @@ public class Screen extends Component {
         Objects.requireNonNull(gc);
         Objects.requireNonNull(imageCache);
 
-        // Draw non-layer components onto the screen:
-        components.forEach(component -> component.draw(this));
+        final ScreenBuffer buffer = this.buffer;
 
-        // Draw the screen onto the canvas:
-        for (int row = 0 ; row < getHeight() ; row++) {
-            super.getString(row).draw(gc, imageCache, row);
+        if (buffer == null) {
+            drawDirectly(gc, imageCache);
+        } else {
+            buffer.draw(gc, imageCache);
         }
+    }
+
+    /**
+     * Draws the screen, rather than its published snapshot, onto the specified
+     * canvas.
+     *
+     * @param gc
+     *         The graphics context to draw with.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     */
+    private void drawDirectly(final Graphics2D gc, final ColoredImageCache imageCache) {
+        final Font font = imageCache.getFont();
+
+        for (final PendingCopy copy : takePendingCopies()) {
+            final Rectangle destination = copy.getDestination();
+
+            gc.copyArea((destination.x - copy.dx) * font.getWidth(), (destination.y - copy.dy) * font.getHeight(),
+                        destination.width * font.getWidth(), destination.height * font.getHeight(),
+                        copy.dx * font.getWidth(), copy.dy * font.getHeight());
+        }
+
+        prepareToDraw();
+
+        // Draw the screen onto the canvas:
+        drawDirtyCharacters(gc, imageCache, 0, 0);
 
         // Draw layer components onto the screen:
+        layerComponents.forEach(layer -> layer.draw(gc, imageCache));
+
+        // Draw screen components onto the screen:
+        screenComponents.forEach(screen -> screen.draw(gc, imageCache));
+    }
+
+    /**
+     * Draws the screen into the specified framebuffer.
+     *
+     * Only the regions of the screen which have changed, or which have been
+     * marked to be redrawn, since the last draw call are drawn.
+     *
+     * The result is identical to drawing the screen onto the graphics context
+     * of the framebuffer's image, but opaque characters are copied directly
+     * into the framebuffer's pixels.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @throws NullPointerException
+     *         If the framebuffer or image cache is null.
+     */
+    public void draw(final Framebuffer framebuffer, final ColoredImageCache imageCache) {
+        Objects.requireNonNull(framebuffer);
+        Objects.requireNonNull(imageCache);
+
+        final ScreenBuffer buffer = this.buffer;
+
+        if (buffer != null) {
+            buffer.draw(framebuffer, imageCache);
+            return;
+        }
+
+        applyPendingCopies(framebuffer, imageCache.getFont());
+        prepareToDraw();
+
+        drawDirtyCharacters(framebuffer, imageCache, 0, 0);
+        layerComponents.forEach(layer -> layer.draw(framebuffer, imageCache));
+        screenComponents.forEach(screen -> screen.draw(framebuffer, imageCache));
+    }
+
+    /**
+     * Draws the screen into the specified framebuffer, splitting the rows of
+     * the screen into horizontal bands which are drawn in parallel.
+     *
+     * Each band is drawn into its own view of the framebuffer, so no band can
+     * draw over another. Once every band has been drawn, the layers and
+     * sub-screens are drawn over the result.
+     *
+     * The result is identical to {@link #draw(Framebuffer, ColoredImageCache)}.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @param pool
+     *         The pool to draw the bands on.
+     *
+     * @param minimumBandHeight
+     *         The minimum number of rows in a band.
+     *
+     * @throws NullPointerException
+     *         If the framebuffer, image cache, or pool is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the minimum band height is less than one.
+     */
+    public void draw(final Framebuffer framebuffer, final ColoredImageCache imageCache,
+                     final ForkJoinPool pool, final int minimumBandHeight) {
+        Objects.requireNonNull(framebuffer);
+        Objects.requireNonNull(imageCache);
+        Objects.requireNonNull(pool);
+
+        if (minimumBandHeight < 1) {
+            throw new IllegalArgumentException("The minimum band height must be at least one.");
+        }
+
+        final ScreenBuffer buffer = this.buffer;
+
+        if (buffer != null) {
+            buffer.draw(framebuffer, imageCache, pool, minimumBandHeight);
+            return;
+        }
+
+        final int totalBands = Math.min(pool.getParallelism(), super.getHeight() / minimumBandHeight);
+
+        if (totalBands < 2) {
+            draw(framebuffer, imageCache);
+            return;
+        }
+
+        applyPendingCopies(framebuffer, imageCache.getFont());
+        prepareToDraw();
+
+        final int fontHeight = imageCache.getFont().getHeight();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(totalBands);
+
+        for (int band = 0 ; band < totalBands ; band++) {
+            final int beginRow = band * super.getHeight() / totalBands;
+            final int endRow = (band + 1) * super.getHeight() / totalBands;
+
+            tasks.add(pool.submit(() -> {
+                final Framebuffer bandFramebuffer = framebuffer.createBand(beginRow * fontHeight, (endRow - beginRow) * fontHeight);
+
+                try {
+                    drawDirtyRows(bandFramebuffer, imageCache, 0, 0, beginRow, endRow);
+                } finally {
+                    bandFramebuffer.dispose();
+                }
+            }));
+        }
+
+        tasks.forEach(ForkJoinTask::join);
+        super.getGrid().getDirtyRegions().clear();
+
+        layerComponents.forEach(layer -> layer.draw(framebuffer, imageCache));
+        screenComponents.forEach(screen -> screen.draw(framebuffer, imageCache));
+    }
+
+    /**
+     * Draws the screen onto the specified render target.
+     *
+     * Only the regions of the screen which have changed, or which have been
+     * marked to be redrawn, since the last draw call are drawn. If the target
+     * isn't ready to be drawn onto, then those regions are kept to be drawn
+     * by the next call.
+     *
+     * @param target
+     *         The target to draw onto.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @return
+     *         Whether or not the screen was drawn.
+     *
+     * @throws NullPointerException
+     *         If the target or image cache is null.
+     */
+    public boolean draw(final RenderTarget target, final ColoredImageCache imageCache) {
+        Objects.requireNonNull(target);
+        return target.draw(this, imageCache);
+    }
+
+    /**
+     * Sets whether or not the screen is double-buffered.
+     *
+     * A double-buffered screen can be written to on one thread, while it's
+     * drawn on another. Writes are only visible to the draw functions once
+     * they've been published, and each publish is drawn as a whole, so a
+     * partially written frame is never drawn.
+     *
+     * @param doubleBuffered
+     *         Whether or not the screen is double-buffered.
+     */
+    public void setDoubleBuffered(final boolean doubleBuffered) {
+        if (doubleBuffered == isDoubleBuffered()) {
+            return;
+        }
+
+        if (doubleBuffered) {
+            discardPendingCopies();
+            buffer = new ScreenBuffer(this);
+        } else {
+            buffer = null;
+            super.setAllCharactersToBeRedrawn();
+        }
+    }
+
+    /** @return Whether or not the screen is double-buffered. */
+    public boolean isDoubleBuffered() {
+        return buffer != null;
+    }
+
+    /**
+     * Publishes everything written to the screen, and to its components,
+     * since the last publish, so that it's drawn by the next draw call.
+     *
+     * Only the rows which have changed are copied. This must be called on
+     * the thread which writes to the screen.
+     *
+     * @throws IllegalStateException
+     *         If the screen isn't double-buffered.
+     */
+    public void publish() {
+        final ScreenBuffer buffer = this.buffer;
+
+        if (buffer == null) {
+            throw new IllegalStateException("Only a double-buffered screen can be published.");
+        }
+
+        buffer.publish();
+    }
+
+    /**
+     * Prepares the screen, and every sub-screen, to be published, then lists
+     * the screen and every component that's drawn separately from it, in the
+     * order that they're drawn.
+     *
+     * @param drawOrder
+     *         The list to add the components to.
+     */
+    void prepareToPublish(final List<Component> drawOrder) {
+        prepareToDraw();
+
+        drawOrder.add(this);
+        drawOrder.addAll(layerComponents);
+        screenComponents.forEach(screen -> screen.prepareToPublish(drawOrder));
+    }
+
+    /**
+     * Collects the dirty regions of every component, then marks every layer
+     * and sub-screen to be redrawn wherever the screen, beneath them, is to
+     * be redrawn.
+     */
+    private void prepareToDraw() {
+        collectDirtyRegions();
+
+        final DirtyRegionTracker dirtyRegions = super.getGrid().getDirtyRegions();
+
+        // Layers and sub-screens must be redrawn wherever the screen, beneath them, is redrawn:
         layerComponents.forEach(layer -> {
-            layer.setAllCharactersToBeRedrawn();
-            layer.draw(gc, imageCache);
+            layer.getGrid().getDirtyRegions().markDirtyFrom(dirtyRegions, layer.getColumnIndex(), layer.getRowIndex());
         });
 
-        // Draw screen components onto the screen:
+        screenComponents.forEach(screen -> screen.getGrid().getDirtyRegions().markDirtyFrom(dirtyRegions, 0, 0));
+    }
+
+    /**
+     * Copies every changed non-layer component onto the screen, then marks
+     * every region of the screen, beneath a changed layer or sub-screen, as
+     * changed.
+     */
+    private void collectDirtyRegions() {
+        final DirtyRegionTracker dirtyRegions = super.getGrid().getDirtyRegions();
+
+        // Draw non-layer components onto the screen:
+        components.forEach(component -> component.draw(this));
+
+        layerComponents.forEach(layer -> {
+            dirtyRegions.markDirty(layer.getGrid().getDirtyRegions(), layer.getColumnIndex(), layer.getRowIndex());
+        });
+
+        // Sub-screens are drawn with their top-left character at the top-left of this screen.
+        // The pixels of a sub-screen are drawn over this screen's, so they can't be copied on their own.
         screenComponents.forEach(screen -> {
-            screen.setAllCharactersToBeRedrawn();
-            screen.draw(gc, imageCache);
+            screen.discardPendingCopies();
+            screen.collectDirtyRegions();
+            dirtyRegions.markDirty(screen.getGrid().getDirtyRegions(), 0, 0);
         });
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * If the screen is double-buffered, then the last published snapshot is
+     * redrawn instead. This can be called from any thread.
+     */
+    @Override
+    public void setAllCharactersToBeRedrawn() {
+        final ScreenBuffer buffer = this.buffer;
+
+        if (buffer == null) {
+            super.setAllCharactersToBeRedrawn();
+
+            synchronized (pendingCopies) {
+                pendingCopies.clear();
+            }
+        } else {
+            buffer.invalidate();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If the screen is double-buffered, then this determines whether a
+     * snapshot has been published since the last draw call.
+     */
+    @Override
+    public boolean hasDirtyRegions() {
+        final ScreenBuffer buffer = this.buffer;
+
+        if (buffer != null) {
+            return buffer.hasNewSnapshot();
+        }
+
+        if (super.hasDirtyRegions()) {
+            return true;
+        }
+
+        for (final Component component : components) {
+            if (component.hasDirtyRegions()) {
+                return true;
+            }
+        }
+
+        for (final Layer layer : layerComponents) {
+            if (layer.hasDirtyRegions()) {
+                return true;
+            }
+        }
+
+        for (final Screen screen : screenComponents) {
+            if (screen.hasDirtyRegions()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Clears the entire screen.
      *
@@ -125,15 +488,456 @@ public class Screen extends Component {
         canProceed &= height >= 0;
 
         if (canProceed) {
-            width += columnIndex;
-            height += rowIndex;
+            fill(character, null, null, columnIndex, rowIndex, width, height);
+        }
+    }
 
-            for (int column = columnIndex ; column < width ; column++) {
-                for (int row = rowIndex ; row < height ; row++) {
-                    write(character, column, row);
+    /**
+     * Fills the specified section of the screen with a character and,
+     * optionally, a pair of colors.
+     *
+     * The section is clipped to the bounds of the screen, and each row of it
+     * is filled in one pass.
+     *
+     * @param character
+     *         The character to fill the section with.
+     *
+     * @param backgroundColor
+     *         The background color to fill the section with, or null to leave the background colors unchanged.
+     *
+     * @param foregroundColor
+     *         The foreground color to fill the section with, or null to leave the foreground colors unchanged.
+     *
+     * @param columnIndex
+     *         The x-axis (column) coordinate of the top-left cell of the section.
+     *
+     * @param rowIndex
+     *         The y-axis (row) coordinate of the top-left cell of the section.
+     *
+     * @param width
+     *         The width of the section.
+     *
+     * @param height
+     *         The height of the section.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is negative.
+     */
+    public void fill(final char character, final Color backgroundColor, final Color foregroundColor,
+                     final int columnIndex, final int rowIndex, final int width, final int height) {
+        checkSectionDimensions(width, height);
+
+        final int beginColumn = Math.max(columnIndex, 0);
+        final int endColumn = clipEnd(columnIndex, width, super.getWidth());
+        final int beginRow = Math.max(rowIndex, 0);
+        final int endRow = clipEnd(rowIndex, height, super.getHeight());
+
+        if (beginColumn >= endColumn) {
+            return;
+        }
+
+        final IntRange range = new IntRange(beginColumn, endColumn);
+
+        for (int row = beginRow ; row < endRow ; row++) {
+            final AsciiString string = super.getString(row);
+            string.setCharacters(character, range);
+
+            if (backgroundColor != null) {
+                string.setBackgroundColor(backgroundColor, range);
+            }
+
+            if (foregroundColor != null) {
+                string.setForegroundColor(foregroundColor, range);
+            }
+        }
+    }
+
+    /**
+     * Writes a block of characters, and optionally their colors, to the
+     * specified section of the screen.
+     *
+     * The arrays hold the block in row-major order, so the value for the cell
+     * at (x, y) of the block is at index (y * width + x). The section is
+     * clipped to the bounds of the screen, and each row of it is copied in
+     * one pass.
+     *
+     * @param characters
+     *         The characters.
+     *
+     * @param backgroundColors
+     *         The RGB background colors, or null to leave the background colors unchanged.
+     *
+     * @param foregroundColors
+     *         The RGB foreground colors, or null to leave the foreground colors unchanged.
+     *
+     * @param columnIndex
+     *         The x-axis (column) coordinate of the top-left cell of the section.
+     *
+     * @param rowIndex
+     *         The y-axis (row) coordinate of the top-left cell of the section.
+     *
+     * @param width
+     *         The width of the block.
+     *
+     * @param height
+     *         The height of the block.
+     *
+     * @throws NullPointerException
+     *         If the characters are null.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is negative.
+     *         If any of the arrays are shorter than (width * height).
+     */
+    public void write(final char[] characters, final int[] backgroundColors, final int[] foregroundColors,
+                      final int columnIndex, final int rowIndex, final int width, final int height) {
+        Objects.requireNonNull(characters);
+        checkSectionDimensions(width, height);
+
+        final long totalCells = (long) width * height;
+
+        boolean isValid = characters.length >= totalCells;
+        isValid &= backgroundColors == null || backgroundColors.length >= totalCells;
+        isValid &= foregroundColors == null || foregroundColors.length >= totalCells;
+
+        if (isValid == false) {
+            throw new IllegalArgumentException("The arrays must each hold at least " + totalCells + " values.");
+        }
+
+        final int beginColumn = Math.max(columnIndex, 0);
+        final int endColumn = clipEnd(columnIndex, width, super.getWidth());
+        final int beginRow = Math.max(rowIndex, 0);
+        final int endRow = clipEnd(rowIndex, height, super.getHeight());
+
+        if (beginColumn >= endColumn) {
+            return;
+        }
+
+        final int length = endColumn - beginColumn;
+
+        for (int row = beginRow ; row < endRow ; row++) {
+            final int offset = (row - rowIndex) * width + (beginColumn - columnIndex);
+            super.getString(row).setCharacters(beginColumn, characters, backgroundColors, foregroundColors, offset, length);
+        }
+    }
+
+    /**
+     * Copies a section of a component onto the specified section of the
+     * screen.
+     *
+     * The section is clipped to the bounds of both the component and the
+     * screen, and each row of it is copied in one pass. The component may be
+     * the screen itself, in which case the source and destination sections
+     * may overlap.
+     *
+     * When the component is the screen itself, and the screen isn't
+     * double-buffered, the section isn't redrawn. Instead, whatever was last
+     * drawn for the source section is copied on the next draw call.
+     *
+     * @param source
+     *         The component to copy from.
+     *
+     * @param sourceColumnIndex
+     *         The x-axis (column) coordinate, within the component, of the top-left cell to copy.
+     *
+     * @param sourceRowIndex
+     *         The y-axis (row) coordinate, within the component, of the top-left cell to copy.
+     *
+     * @param columnIndex
+     *         The x-axis (column) coordinate to copy the top-left cell to.
+     *
+     * @param rowIndex
+     *         The y-axis (row) coordinate to copy the top-left cell to.
+     *
+     * @param width
+     *         The width of the section.
+     *
+     * @param height
+     *         The height of the section.
+     *
+     * @throws NullPointerException
+     *         If the source is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is negative.
+     */
+    public void copyRegion(final Component source, final int sourceColumnIndex, final int sourceRowIndex,
+                           final int columnIndex, final int rowIndex, final int width, final int height) {
+        Objects.requireNonNull(source);
+        checkSectionDimensions(width, height);
+
+        // Clip the section against both the source and destination bounds, shifting both origins equally:
+        final int clipLeft = Math.max(Math.max(-sourceColumnIndex, -columnIndex), 0);
+        final int clipTop = Math.max(Math.max(-sourceRowIndex, -rowIndex), 0);
+
+        final int sourceColumn = sourceColumnIndex + clipLeft;
+        final int sourceRow = sourceRowIndex + clipTop;
+        final int column = columnIndex + clipLeft;
+        final int row = rowIndex + clipTop;
+
+        final int totalColumns = Math.min(width - clipLeft, Math.min(source.getWidth() - sourceColumn, super.getWidth() - column));
+        final int totalRows = Math.min(height - clipTop, Math.min(source.getHeight() - sourceRow, super.getHeight() - row));
+
+        if (totalColumns <= 0 || totalRows <= 0) {
+            return;
+        }
+
+        // Within an unbuffered screen, whatever was last drawn for the source cells can be copied along with them:
+        if (source == this && buffer == null) {
+            super.getGrid().copyRegion(sourceColumn, sourceRow, totalColumns, totalRows, column, row);
+
+            for (int i = 0 ; i < totalRows ; i++) {
+                super.getString(row + i).discardMismatchedViews();
+            }
+
+            queueCopy(new PendingCopy(new Rectangle(column, row, totalColumns, totalRows), column - sourceColumn, row - sourceRow, false));
+            return;
+        }
+
+        final IntRange range = new IntRange(sourceColumn, sourceColumn + totalColumns);
+
+        // When copying downwards within the screen, copy the bottom row first so that no row is overwritten before it's copied.
+        final boolean isBottomUp = source == this && row > sourceRow;
+
+        for (int i = 0 ; i < totalRows ; i++) {
+            final int offset = (isBottomUp ? totalRows - 1 - i : i);
+            super.getString(row + offset).copyCharacters(column, source.getString(sourceRow + offset), range);
+        }
+    }
+
+    /**
+     * Scrolls the specified section of the screen by a number of rows.
+     *
+     * The section is clipped to the bounds of the screen. The rows exposed by
+     * the scroll are cleared with spaces, as by
+     * {@link #clear(char, int, int, int, int)}.
+     *
+     * If the section spans the full width of the screen, then its rows are
+     * rotated rather than copied. Unless the screen is double-buffered, only
+     * the exposed rows, and the components within the section, are redrawn,
+     * as whatever was last drawn for the rest of the section is scrolled on
+     * the next draw call.
+     *
+     * @param columnIndex
+     *         The x-axis (column) coordinate of the top-left cell of the section.
+     *
+     * @param rowIndex
+     *         The y-axis (row) coordinate of the top-left cell of the section.
+     *
+     * @param width
+     *         The width of the section.
+     *
+     * @param height
+     *         The height of the section.
+     *
+     * @param rows
+     *         The number of rows to scroll by.
+     *         Positive values move the contents down, and negative values move them up.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is negative.
+     */
+    public void scroll(final int columnIndex, final int rowIndex, final int width, final int height, final int rows) {
+        checkSectionDimensions(width, height);
+
+        final int beginColumn = Math.max(columnIndex, 0);
+        final int endColumn = clipEnd(columnIndex, width, super.getWidth());
+        final int beginRow = Math.max(rowIndex, 0);
+        final int endRow = clipEnd(rowIndex, height, super.getHeight());
+
+        final int totalColumns = endColumn - beginColumn;
+        final int totalRows = endRow - beginRow;
+
+        if (rows == 0 || totalColumns <= 0 || totalRows <= 0) {
+            return;
+        }
+
+        final int distance = Math.min(Math.abs(rows), totalRows);
+        final int exposedRow = (rows > 0 ? beginRow : endRow - distance);
+
+        super.getGrid().scroll(beginColumn, beginRow, totalColumns, totalRows, rows);
+
+        for (int row = beginRow ; row < endRow ; row++) {
+            super.getString(row).discardMismatchedViews();
+        }
+
+        fill(' ', null, null, beginColumn, exposedRow, totalColumns, distance);
+
+        final Rectangle region = new Rectangle(beginColumn, beginRow, totalColumns, totalRows);
+
+        if (buffer == null) {
+            queueCopy(new PendingCopy(region, 0, (rows > 0 ? distance : -distance), true));
+        } else {
+            // Each snapshot of a double-buffered screen only copies its changed rows.
+            super.getGrid().getDirtyRegions().markDirty(region.x, region.y, region.width, region.height);
+        }
+    }
+
+    /**
+     * Queues a copy, of a region of the screen onto itself, to be applied to
+     * whatever the screen was last drawn onto.
+     *
+     * Consecutive scrolls of the same region are merged into one.
+     *
+     * @param copy
+     *         The copy.
+     */
+    private void queueCopy(final PendingCopy copy) {
+        synchronized (pendingCopies) {
+            final int totalCopies = pendingCopies.size();
+
+            if (totalCopies > 0 && copy.isScroll) {
+                final PendingCopy last = pendingCopies.get(totalCopies - 1);
+
+                if (last.isScroll && last.region.equals(copy.region)) {
+                    last.dy += copy.dy;
+
+                    // Once the whole region has been scrolled out, or back into place, there's nothing left to copy.
+                    if (last.dy == 0 || Math.abs(last.dy) >= last.region.height) {
+                        pendingCopies.remove(totalCopies - 1);
+                    }
+
+                    return;
                 }
             }
+
+            // Redraw the copied regions, rather than letting an undrawn screen queue copies forever.
+            if (totalCopies == MAX_PENDING_COPIES) {
+                discardPendingCopies();
+                markDirty(copy.region);
+                return;
+            }
+
+            pendingCopies.add(copy);
+        }
+    }
+
+    /**
+     * Takes every pending copy, so that they can be applied to whatever the
+     * screen was last drawn onto.
+     *
+     * Wherever a copy moves, or moves beneath, a component, layer, or
+     * sub-screen, the screen is marked to be redrawn, so that the component,
+     * layer, or sub-screen is redrawn over it.
+     *
+     * @return
+     *         The copies, in the order that they must be applied.
+     */
+    private List<PendingCopy> takePendingCopies() {
+        final List<PendingCopy> copies;
+
+        synchronized (pendingCopies) {
+            if (pendingCopies.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            copies = new ArrayList<>(pendingCopies);
+            pendingCopies.clear();
+        }
+
+        // Components are stamped onto the screen, so the copy moves them along with the screen beneath them.
+        final List<Rectangle> overlays = new ArrayList<>();
+        components.forEach(component -> overlays.add(component.getBoundingBox()));
+        layerComponents.forEach(layer -> overlays.add(layer.getBoundingBox()));
+        screenComponents.forEach(screen -> overlays.add(new Rectangle(0, 0, screen.getWidth(), screen.getHeight())));
+
+        for (final PendingCopy copy : copies) {
+            final Rectangle destination = copy.getDestination();
+
+            for (final Rectangle overlay : overlays) {
+                markDirty(destination.intersection(overlay));
+
+                final Rectangle movedOverlay = new Rectangle(overlay);
+                movedOverlay.translate(copy.dx, copy.dy);
+                markDirty(destination.intersection(movedOverlay));
+            }
         }
+
+        return copies;
+    }
+
+    /**
+     * Applies every pending copy to a framebuffer.
+     *
+     * @param framebuffer
+     *         The framebuffer.
+     *
+     * @param font
+     *         The font that the screen is drawn with.
+     */
+    private void applyPendingCopies(final Framebuffer framebuffer, final Font font) {
+        for (final PendingCopy copy : takePendingCopies()) {
+            final Rectangle destination = copy.getDestination();
+
+            framebuffer.copyArea((destination.x - copy.dx) * font.getWidth(), (destination.y - copy.dy) * font.getHeight(),
+                                 destination.width * font.getWidth(), destination.height * font.getHeight(),
+                                 copy.dx * font.getWidth(), copy.dy * font.getHeight());
+        }
+    }
+
+    /**
+     * Discards every pending copy, and marks the regions that they copied to
+     * to be redrawn instead.
+     */
+    private void discardPendingCopies() {
+        synchronized (pendingCopies) {
+            pendingCopies.forEach(copy -> markDirty(copy.region));
+            pendingCopies.clear();
+        }
+    }
+
+    /**
+     * Marks a rectangle of the screen to be redrawn.
+     *
+     * @param rectangle
+     *         The rectangle.
+     */
+    private void markDirty(final Rectangle rectangle) {
+        if (rectangle.isEmpty() == false) {
+            super.getGrid().getDirtyRegions().markDirty(rectangle.x, rectangle.y, rectangle.width, rectangle.height);
+        }
+    }
+
+    /**
+     * Determines whether or not the dimensions of a section are valid by
+     * throwing an exception if they're invalid.
+     *
+     * @param width
+     *         The width of the section.
+     *
+     * @param height
+     *         The height of the section.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is negative.
+     */
+    private static void checkSectionDimensions(final int width, final int height) {
+        if (width < 0) {
+            throw new IllegalArgumentException("The width (" + width + ") cannot be negative.");
+        }
+
+        if (height < 0) {
+            throw new IllegalArgumentException("The height (" + height + ") cannot be negative.");
+        }
+    }
+
+    /**
+     * Computes the end, clipped to a limit, of a span.
+     *
+     * @param begin
+     *         The beginning of the span.
+     *
+     * @param length
+     *         The length of the span.
+     *
+     * @param limit
+     *         The limit.
+     *
+     * @return
+     *         The end of the span, excluded from the span, or the limit if the span extends past it.
+     */
+    private static int clipEnd(final int begin, final int length, final int limit) {
+        return (int) Math.min((long) begin + length, limit);
     }
 
     /**
@@ -155,7 +959,7 @@ public class Screen extends Component {
         Objects.requireNonNull(character);
 
         if (isPositionValid(columnIndex, rowIndex)) {
-            super.getString(rowIndex).setCharacter(columnIndex, character);
+            super.getString(rowIndex).copyCharacter(columnIndex, character);
         }
     }
 
@@ -198,11 +1002,7 @@ public class Screen extends Component {
         Objects.requireNonNull(string);
 
         if (isPositionValid(columnIndex, rowIndex)) {
-            final AsciiCharacter[] characters = string.getCharacters();
-
-            for (int i = 0; i < characters.length && i < super.getWidth(); i++) {
-                write(characters[i], columnIndex + i, rowIndex);
-            }
+            super.getString(rowIndex).copyCharacters(columnIndex, string);
         }
     }
 
@@ -236,6 +1036,11 @@ public class Screen extends Component {
      * little different if there are blink effects or new updates
      * to characters that haven't yet been drawn.
      *
+     * If the screen is double-buffered, then the screen is drawn
+     * as it currently is, rather than as it was last published,
+     * so this must be called on the thread which writes to the
+     * screen.
+     *
      * This is an expensive operation as it essentially creates
      * an in-memory screen and draws each AsciiCharacter onto
      * that screen.
@@ -263,9 +1068,13 @@ public class Screen extends Component {
             string.setAllCharactersToBeRedrawn();
         }
 
-        draw(gc, imageCache);
+        drawDirectly(gc, imageCache);
         gc.dispose();
 
+        // The screenshot consumed any pending changes, so everything must be
+        // redrawn, or published, on the next draw call.
+        super.setAllCharactersToBeRedrawn();
+
         return img;
     }
 
@@ -347,6 +1156,7 @@ public class Screen extends Component {
         if (component instanceof Layer) {
             component.setScreen(this);
             layerComponents.add((Layer) component);
+            component.setAllCharactersToBeRedrawn();
         } else if (component instanceof  Screen) {
             // Prevent an endless draw-loop by ensuring that
             // a screen cannot be added if it's contained
@@ -354,10 +1164,16 @@ public class Screen extends Component {
             if (recursiveContainsComponent(component) == false) {
                 component.setScreen(this);
                 screenComponents.add((Screen) component);
+                component.setAllCharactersToBeRedrawn();
             }
         } else {
             component.setScreen(this);
-            components.add(component);
+
+            if (components.add(component)) {
+                componentIndex.add(component);
+            }
+
+            component.setAllCharactersToBeRedrawn();
         }
     }
 
@@ -392,15 +1208,28 @@ public class Screen extends Component {
             throw new IllegalArgumentException("A screen cannot be removed from itself.");
         }
 
+        final DirtyRegionTracker dirtyRegions = super.getGrid().getDirtyRegions();
+
         if (component instanceof Layer) {
             component.setScreen(null);
-            layerComponents.remove(component);
+
+            if (layerComponents.remove(component)) {
+                // The screen, beneath the layer, must be redrawn to erase the layer.
+                dirtyRegions.markDirty(component.getColumnIndex(), component.getRowIndex(),
+                                       component.getWidth(), component.getHeight());
+            }
         } else if (component instanceof Screen) {
             component.setScreen(null);
-            screenComponents.remove(component);
+
+            if (screenComponents.remove(component)) {
+                dirtyRegions.markDirty(0, 0, component.getWidth(), component.getHeight());
+            }
         } else{
             component.setScreen(null);
-            components.remove(component);
+
+            if (components.remove(component)) {
+                componentIndex.remove(component);
+            }
         }
     }
 
@@ -416,6 +1245,58 @@ public class Screen extends Component {
         }
     }
 
+    /**
+     * Retrieves the topmost non-layer component at a position, including the
+     * components of the screen's sub-screens.
+     *
+     * The sub-screens are drawn over the screen's own components, so their
+     * components take precedence.
+     *
+     * @param columnIndex
+     *         The x-axis (column) coordinate.
+     *
+     * @param rowIndex
+     *         The y-axis (row) coordinate.
+     *
+     * @return
+     *         The component, or nothing if no component is at the position.
+     */
+    public Optional<Component> getComponentAt(final int columnIndex, final int rowIndex) {
+        Component topmost = null;
+
+        for (final Screen screen : screenComponents) {
+            final Optional<Component> component = screen.getComponentAt(columnIndex, rowIndex);
+
+            if (component.isPresent()) {
+                topmost = component.get();
+            }
+        }
+
+        if (topmost == null) {
+            topmost = componentIndex.getComponentAt(columnIndex, rowIndex);
+        }
+
+        return Optional.ofNullable(topmost);
+    }
+
+    /**
+     * Updates the cells that a component is found at, after the component has
+     * been moved or resized.
+     *
+     * Does nothing if the component isn't a non-layer component of the
+     * screen.
+     *
+     * @param component
+     *         The component.
+     *
+     * @param previousBounds
+     *         The bounding box of the component before it was moved or
+     *         resized.
+     */
+    void updateComponentBounds(final Component component, final Rectangle previousBounds) {
+        componentIndex.update(component, previousBounds);
+    }
+
     /**
      * Determines whether or not the screen contains a specific
      * component.
@@ -508,4 +1389,58 @@ public class Screen extends Component {
 
         return sum;
     }
-}
\ No newline at end of file
+
+    /** A copy, of a region of the screen onto itself, whose pixels have yet to be copied. */
+    private static final class PendingCopy {
+        /** The scrolled region, or the region that was copied to. */
+        private final Rectangle region;
+
+        /** The horizontal distance, in cells, that the region was copied by. */
+        private final int dx;
+        /** The vertical distance, in cells, that the region was copied by. */
+        private int dy;
+
+        /** Whether or not the copy is a scroll, which only moves cells within its region. */
+        private final boolean isScroll;
+
+        /**
+         * Constructs a new PendingCopy.
+         *
+         * @param region
+         *         The scrolled region, or the region that was copied to.
+         *
+         * @param dx
+         *         The horizontal distance, in cells, that the region was copied by.
+         *
+         * @param dy
+         *         The vertical distance, in cells, that the region was copied by.
+         *
+         * @param isScroll
+         *         Whether or not the copy is a scroll.
+         */
+        private PendingCopy(final Rectangle region, final int dx, final int dy, final boolean isScroll) {
+            this.region = region;
+            this.dx = dx;
+            this.dy = dy;
+            this.isScroll = isScroll;
+        }
+
+        /**
+         * Determines the cells that are copied to.
+         *
+         * The rows exposed by a scroll aren't copied to, as they're redrawn.
+         *
+         * @return
+         *         The cells.
+         */
+        private Rectangle getDestination() {
+            if (isScroll == false) {
+                return region;
+            }
+
+            final Rectangle moved = new Rectangle(region);
+            moved.translate(dx, dy);
+            return region.intersection(moved);
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package com.valkryst.VTerminal.component;
+
+import com.valkryst.VTerminal.AsciiGrid;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.DirtyRegionTracker;
+import com.valkryst.VTerminal.misc.Framebuffer;
+
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Snapshots the cells of a screen, so that the screen can be written to on
+ * one thread while it's drawn on another.
+ *
+ * The screen's own cells are the back buffer, and are only ever touched by
+ * the writing thread. Each call to {@link #publish()} copies every row, that
+ * has changed since the snapshot being filled was last published, into a
+ * spare snapshot. The spare is then exchanged with the published snapshot,
+ * using a single atomic operation.
+ *
+ * The drawing thread exchanges its front snapshot with the published one,
+ * when there's a new one, and redraws every row whose contents differ from
+ * those that it last drew.
+ *
+ * Three snapshots are kept, so neither thread ever waits on the other.
+ */
+public class ScreenBuffer {
+    /** The flag, within the published index, denoting that the drawing thread has yet to see the published snapshot. */
+    private static final int NEW_SNAPSHOT = 1 << 2;
+    /** The mask of the snapshot index, within the published index. */
+    private static final int INDEX_MASK = NEW_SNAPSHOT - 1;
+
+    /** The screen. */
+    private final Screen screen;
+
+    /** The snapshots. */
+    private final Snapshot[] snapshots = { new Snapshot(), new Snapshot(), new Snapshot() };
+
+    /** The index of the published snapshot, combined with the NEW_SNAPSHOT flag. */
+    private final AtomicInteger published = new AtomicInteger(1);
+
+    /** The index of the snapshot being filled by the writing thread. */
+    private int backIndex = 0;
+    /** The number of times that the screen has been published. */
+    private int publishCount = 0;
+    /** The components whose grids are snapshotted, in the order that they're drawn. */
+    private Component[] components = new Component[0];
+    /** The x-axis (column) coordinate, on the screen, of each component's top-left character. */
+    private int[] columnOffsets = new int[0];
+    /** The y-axis (row) coordinate, on the screen, of each component's top-left character. */
+    private int[] rowOffsets = new int[0];
+    /** The publish count at which each row, of each component, last changed. */
+    private int[][] rowVersions = new int[0][];
+    /** The number of times that the components, or their positions, have changed. */
+    private int structureVersion = 0;
+
+    /** The index of the snapshot being drawn by the drawing thread. */
+    private int frontIndex = 2;
+    /** The structure version of the snapshot that was last drawn. */
+    private int drawnStructureVersion = -1;
+    /** The row versions of the snapshot that was last drawn. */
+    private int[][] drawnRowVersions = new int[0][];
+
+    /** Whether or not the entire front snapshot must be redrawn. */
+    private final AtomicBoolean redrawAll = new AtomicBoolean(false);
+
+    /**
+     * Constructs a new ScreenBuffer.
+     *
+     * @param screen
+     *         The screen.
+     *
+     * @throws NullPointerException
+     *         If the screen is null.
+     */
+    public ScreenBuffer(final Screen screen) {
+        Objects.requireNonNull(screen);
+        this.screen = screen;
+    }
+
+    /**
+     * Publishes the current contents of the screen, and of its components, to
+     * the drawing thread.
+     *
+     * Must be called by the thread which writes to the screen. If several
+     * threads write to the screen, then their publishes are serialized, but
+     * they must coordinate their writes with each other.
+     */
+    public synchronized void publish() {
+        final List<Component> drawOrder = new ArrayList<>();
+        screen.prepareToPublish(drawOrder);
+
+        if (isStructureEqual(drawOrder) == false) {
+            components = drawOrder.toArray(new Component[drawOrder.size()]);
+            columnOffsets = new int[components.length];
+            rowOffsets = new int[components.length];
+            rowVersions = new int[components.length][];
+            structureVersion++;
+
+            for (int i = 0 ; i < components.length ; i++) {
+                columnOffsets[i] = columnOffsetOf(components[i]);
+                rowOffsets[i] = rowOffsetOf(components[i]);
+                rowVersions[i] = new int[components[i].getGrid().getHeight()];
+            }
+        }
+
+        publishCount++;
+
+        for (int i = 0 ; i < components.length ; i++) {
+            final DirtyRegionTracker dirtyRegions = components[i].getGrid().getDirtyRegions();
+
+            for (int row = dirtyRegions.nextDirtyRow(0) ; row != -1 ; row = dirtyRegions.nextDirtyRow(row + 1)) {
+                rowVersions[i][row] = publishCount;
+            }
+
+            dirtyRegions.clear();
+        }
+
+        final Snapshot snapshot = snapshots[backIndex];
+
+        if (snapshot.structureVersion != structureVersion) {
+            snapshot.resize(components, columnOffsets, rowOffsets, structureVersion);
+        }
+
+        // Only the rows that have changed since this snapshot was last filled are copied:
+        for (int i = 0 ; i < components.length ; i++) {
+            final AsciiGrid source = components[i].getGrid();
+
+            for (int row = 0 ; row < source.getHeight() ; row++) {
+                if (snapshot.rowVersions[i][row] != rowVersions[i][row]) {
+                    snapshot.grids[i].copyCells(source, 0, row, 0, row, source.getWidth());
+                    snapshot.rowVersions[i][row] = rowVersions[i][row];
+                }
+            }
+        }
+
+        backIndex = published.getAndSet(backIndex | NEW_SNAPSHOT) & INDEX_MASK;
+    }
+
+    /**
+     * Determines whether the components to snapshot, and their positions, are
+     * the same as those of the last publish.
+     *
+     * @param drawOrder
+     *         The components to snapshot, in the order that they're drawn.
+     *
+     * @return
+     *         Whether or not the components are the same.
+     */
+    private boolean isStructureEqual(final List<Component> drawOrder) {
+        if (drawOrder.size() != components.length) {
+            return false;
+        }
+
+        for (int i = 0 ; i < components.length ; i++) {
+            final Component component = drawOrder.get(i);
+
+            boolean isEqual = component == components[i];
+            isEqual &= columnOffsets[i] == columnOffsetOf(component);
+            isEqual &= rowOffsets[i] == rowOffsetOf(component);
+
+            if (isEqual == false) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Determines whether or not a snapshot has been published since the
+     * drawing thread last drew, or whether the front snapshot must be
+     * redrawn.
+     *
+     * @return
+     *         Whether or not there is anything to draw.
+     */
+    public boolean hasNewSnapshot() {
+        return (published.get() & NEW_SNAPSHOT) != 0 || redrawAll.get();
+    }
+
+    /**
+     * Marks the entire front snapshot to be redrawn by the next draw call.
+     *
+     * Can be called from any thread.
+     */
+    public void invalidate() {
+        redrawAll.set(true);
+    }
+
+    /**
+     * Draws every row, that differs from what was last drawn, of the latest
+     * published snapshot onto the specified context.
+     *
+     * Must be called by the drawing thread.
+     *
+     * @param gc
+     *         The graphics context to draw with.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @throws NullPointerException
+     *         If the gc or image cache is null.
+     */
+    public void draw(final Graphics2D gc, final ColoredImageCache imageCache) {
+        Objects.requireNonNull(gc);
+        Objects.requireNonNull(imageCache);
+
+        final Snapshot snapshot = takeSnapshot();
+        final boolean[] dirtyRows = findDirtyRows(snapshot);
+
+        for (int row = 0 ; row < dirtyRows.length ; row++) {
+            if (dirtyRows[row]) {
+                snapshot.drawRow(gc, imageCache, row);
+            }
+        }
+    }
+
+    /**
+     * Draws every row, that differs from what was last drawn, of the latest
+     * published snapshot into the specified framebuffer.
+     *
+     * Must be called by the drawing thread.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @throws NullPointerException
+     *         If the framebuffer or image cache is null.
+     */
+    public void draw(final Framebuffer framebuffer, final ColoredImageCache imageCache) {
+        Objects.requireNonNull(framebuffer);
+        Objects.requireNonNull(imageCache);
+
+        final Snapshot snapshot = takeSnapshot();
+        final boolean[] dirtyRows = findDirtyRows(snapshot);
+
+        for (int row = 0 ; row < dirtyRows.length ; row++) {
+            if (dirtyRows[row]) {
+                snapshot.drawRow(framebuffer, imageCache, row);
+            }
+        }
+    }
+
+    /**
+     * Draws every row, that differs from what was last drawn, of the latest
+     * published snapshot into the specified framebuffer, splitting the rows
+     * into horizontal bands which are drawn in parallel.
+     *
+     * Must be called by the drawing thread.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @param pool
+     *         The pool to draw the bands on.
+     *
+     * @param minimumBandHeight
+     *         The minimum number of rows in a band.
+     *
+     * @throws NullPointerException
+     *         If the framebuffer, image cache, or pool is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the minimum band height is less than one.
+     */
+    public void draw(final Framebuffer framebuffer, final ColoredImageCache imageCache,
+                     final ForkJoinPool pool, final int minimumBandHeight) {
+        Objects.requireNonNull(framebuffer);
+        Objects.requireNonNull(imageCache);
+        Objects.requireNonNull(pool);
+
+        if (minimumBandHeight < 1) {
+            throw new IllegalArgumentException("The minimum band height must be at least one.");
+        }
+
+        final Snapshot snapshot = takeSnapshot();
+        final boolean[] dirtyRows = findDirtyRows(snapshot);
+        final int totalBands = Math.min(pool.getParallelism(), dirtyRows.length / minimumBandHeight);
+
+        if (totalBands < 2) {
+            for (int row = 0 ; row < dirtyRows.length ; row++) {
+                if (dirtyRows[row]) {
+                    snapshot.drawRow(framebuffer, imageCache, row);
+                }
+            }
+
+            return;
+        }
+
+        final int fontHeight = imageCache.getFont().getHeight();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(totalBands);
+
+        for (int band = 0 ; band < totalBands ; band++) {
+            final int beginRow = band * dirtyRows.length / totalBands;
+            final int endRow = (band + 1) * dirtyRows.length / totalBands;
+
+            tasks.add(pool.submit(() -> {
+                final Framebuffer bandFramebuffer = framebuffer.createBand(beginRow * fontHeight, (endRow - beginRow) * fontHeight);
+
+                try {
+                    for (int row = beginRow ; row < endRow ; row++) {
+                        if (dirtyRows[row]) {
+                            snapshot.drawRow(bandFramebuffer, imageCache, row);
+                        }
+                    }
+                } finally {
+                    bandFramebuffer.dispose();
+                }
+            }));
+        }
+
+        tasks.forEach(ForkJoinTask::join);
+    }
+
+    /**
+     * Exchanges the front snapshot with the published snapshot, if the
+     * published snapshot is new.
+     *
+     * @return
+     *         The front snapshot.
+     */
+    private Snapshot takeSnapshot() {
+        if ((published.get() & NEW_SNAPSHOT) != 0) {
+            frontIndex = published.getAndSet(frontIndex) & INDEX_MASK;
+        }
+
+        return snapshots[frontIndex];
+    }
+
+    /**
+     * Determines which rows of the screen must be redrawn to display a
+     * snapshot, then records the snapshot as drawn.
+     *
+     * A row must be redrawn if any component, which covers it, has changed
+     * that row since it was last drawn.
+     *
+     * @param snapshot
+     *         The snapshot.
+     *
+     * @return
+     *         Whether or not each row of the screen must be redrawn.
+     */
+    private boolean[] findDirtyRows(final Snapshot snapshot) {
+        final int screenHeight = (snapshot.grids.length == 0 ? 0 : snapshot.grids[0].getHeight());
+        final boolean[] dirtyRows = new boolean[screenHeight];
+
+        boolean redrawAll = this.redrawAll.getAndSet(false);
+
+        if (snapshot.structureVersion != drawnStructureVersion) {
+            drawnStructureVersion = snapshot.structureVersion;
+            drawnRowVersions = new int[snapshot.grids.length][];
+
+            for (int i = 0 ; i < snapshot.grids.length ; i++) {
+                drawnRowVersions[i] = new int[snapshot.rowVersions[i].length];
+            }
+
+            redrawAll = true;
+        }
+
+        if (redrawAll) {
+            Arrays.fill(dirtyRows, true);
+        }
+
+        for (int i = 0 ; i < snapshot.grids.length ; i++) {
+            final int[] versions = snapshot.rowVersions[i];
+
+            if (redrawAll == false) {
+                for (int row = 0 ; row < versions.length ; row++) {
+                    final int screenRow = snapshot.rowOffsets[i] + row;
+
+                    if (versions[row] != drawnRowVersions[i][row] && screenRow >= 0 && screenRow < screenHeight) {
+                        dirtyRows[screenRow] = true;
+                    }
+                }
+            }
+
+            System.arraycopy(versions, 0, drawnRowVersions[i], 0, versions.length);
+        }
+
+        return dirtyRows;
+    }
+
+    /**
+     * Determines the x-axis (column) coordinate, on the screen, where a
+     * component's top-left character is drawn.
+     *
+     * @param component
+     *         The component.
+     *
+     * @return
+     *         The coordinate.
+     */
+    private static int columnOffsetOf(final Component component) {
+        // Screens, and sub-screens, are drawn with their top-left character at the top-left of the screen.
+        return (component instanceof Screen ? 0 : component.getColumnIndex());
+    }
+
+    /**
+     * Determines the y-axis (row) coordinate, on the screen, where a
+     * component's top-left character is drawn.
+     *
+     * @param component
+     *         The component.
+     *
+     * @return
+     *         The coordinate.
+     */
+    private static int rowOffsetOf(final Component component) {
+        return (component instanceof Screen ? 0 : component.getRowIndex());
+    }
+
+    /** A copy of the grids of a screen, and of its components. */
+    private static final class Snapshot {
+        /** The structure version of the components that were copied. */
+        private int structureVersion = -1;
+
+        /** The copy of each component's grid, in the order that they're drawn. */
+        private AsciiGrid[] grids = new AsciiGrid[0];
+        /** The x-axis (column) coordinate, on the screen, of each grid's top-left cell. */
+        private int[] columnOffsets = new int[0];
+        /** The y-axis (row) coordinate, on the screen, of each grid's top-left cell. */
+        private int[] rowOffsets = new int[0];
+        /** The publish count at which each row, of each grid, last changed. */
+        private int[][] rowVersions = new int[0][];
+
+        /**
+         * Replaces the grids of the snapshot with blank grids, sized to fit
+         * a set of components.
+         *
+         * @param components
+         *         The components.
+         *
+         * @param columnOffsets
+         *         The x-axis (column) coordinate, on the screen, of each
+         *         component's top-left character.
+         *
+         * @param rowOffsets
+         *         The y-axis (row) coordinate, on the screen, of each
+         *         component's top-left character.
+         *
+         * @param structureVersion
+         *         The structure version of the components.
+         */
+        private void resize(final Component[] components, final int[] columnOffsets, final int[] rowOffsets,
+                            final int structureVersion) {
+            this.structureVersion = structureVersion;
+            this.columnOffsets = columnOffsets;
+            this.rowOffsets = rowOffsets;
+
+            grids = new AsciiGrid[components.length];
+            rowVersions = new int[components.length][];
+
+            for (int i = 0 ; i < components.length ; i++) {
+                final AsciiGrid grid = components[i].getGrid();
+                grids[i] = new AsciiGrid(grid.getWidth(), grid.getHeight());
+
+                // No row has been copied yet.
+                rowVersions[i] = new int[grid.getHeight()];
+                Arrays.fill(rowVersions[i], -1);
+            }
+        }
+
+        /**
+         * Draws every cell, of every grid, which covers a row of the screen.
+         *
+         * @param gc
+         *         The graphics context to draw with.
+         *
+         * @param imageCache
+         *         The image cache to retrieve character images from.
+         *
+         * @param screenRow
+         *         The y-axis (row) coordinate of the row on the screen.
+         */
+        private void drawRow(final Graphics2D gc, final ColoredImageCache imageCache, final int screenRow) {
+            for (int i = 0 ; i < grids.length ; i++) {
+                final int row = screenRow - rowOffsets[i];
+
+                if (row >= 0 && row < grids[i].getHeight()) {
+                    for (int column = 0 ; column < grids[i].getWidth() ; column++) {
+                        grids[i].draw(gc, imageCache, column, row, columnOffsets[i] + column, screenRow);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Draws every cell, of every grid, which covers a row of the screen.
+         *
+         * @param framebuffer
+         *         The framebuffer to draw into.
+         *
+         * @param imageCache
+         *         The image cache to retrieve character images from.
+         *
+         * @param screenRow
+         *         The y-axis (row) coordinate of the row on the screen.
+         */
+        private void drawRow(final Framebuffer framebuffer, final ColoredImageCache imageCache, final int screenRow) {
+            for (int i = 0 ; i < grids.length ; i++) {
+                final int row = screenRow - rowOffsets[i];
+
+                if (row >= 0 && row < grids[i].getHeight()) {
+                    for (int column = 0 ; column < grids[i].getWidth() ; column++) {
+                        grids[i].draw(framebuffer, imageCache, column, row, columnOffsets[i] + column, screenRow);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -11,7 +11,6 @@ import lombok.Setter;
 
 import java.awt.Color;
 import java.awt.event.KeyEvent;
-import java.awt.event.KeyListener;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -168,183 +167,173 @@ public class TextArea extends Component {
         Objects.requireNonNull(panel);
 
         super.registerEventHandlers(panel);
+        panel.getFocusManager().register(this);
+    }
+
+    @Override
+    public void onKeyTyped(final KeyEvent event) {
+        final char character = event.getKeyChar();
+        final Matcher matcher = allowedCharacterPattern.matcher(character + "");
+
+        if (matcher.matches()) {
+            changeVisualCharacter(x_index_caret_visual, y_index_caret_visual, character);
+            changeActualCharacter(x_index_caret_actual, y_index_caret_actual, character);
+
+            final boolean caretAtEndOfLine = x_index_caret_actual == maxHorizontalCharacters - 1;
+
+            if (caretAtEndOfLine) {
+                if (y_index_caret_actual < maxVerticalCharacters - 1) {
+                    moveCaretDown();
+                    moveCaretToStartOfLine();
+                }
+            } else {
+                moveCaretRight();
+            }
+
+            updateDisplayedCharacters();
+            transmitDraw();
+        }
+    }
 
-        panel.addKeyListener(new KeyListener() {
-            @Override
-            public void keyTyped(final KeyEvent e) {
-                if (isFocused()) {
-                    final char character = e.getKeyChar();
-                    final Matcher matcher = allowedCharacterPattern.matcher(character + "");
-
-                    if (matcher.matches()) {
-                        changeVisualCharacter(x_index_caret_visual, y_index_caret_visual, character);
-                        changeActualCharacter(x_index_caret_actual, y_index_caret_actual, character);
-
-                        final boolean caretAtEndOfLine = x_index_caret_actual == maxHorizontalCharacters - 1;
-
-                        if (caretAtEndOfLine) {
-                            if (y_index_caret_actual < maxVerticalCharacters - 1) {
-                                moveCaretDown();
-                                moveCaretToStartOfLine();
-                            }
-                        } else {
-                            moveCaretRight();
-                        }
-
-                        updateDisplayedCharacters();
-                        transmitDraw();
+    @Override
+    public void onKeyReleased(final KeyEvent event) {
+        int keyCode = event.getKeyCode();
+
+        switch (keyCode) {
+            // Move the caret to the first position on the left:
+            case KeyEvent.VK_HOME: {
+                if (homeKeyEnabled) {
+                    moveCaretToStartOfLine();
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
+                break;
+            }
+
+            // Move the caret to the last position on the right:
+            case KeyEvent.VK_END: {
+                if (endKeyEnabled) {
+                    moveCaretToEndOfLine();
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
+                break;
+            }
+
+            // Erase the current character:
+            case KeyEvent.VK_DELETE: {
+                if (deleteKeyEnabled) {
+                    clearCurrentCell();
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
+                break;
+            }
+
+            // Move the caret one position to the left:
+            case KeyEvent.VK_LEFT: {
+                if (leftArrowKeyEnabled) {
+                    boolean moveToPreviousLine = x_index_caret_actual == 0;
+                    moveToPreviousLine &= y_index_caret_actual > 0;
+
+                    if (moveToPreviousLine) {
+                        moveCaretUp();
+                        moveCaretToEndOfLine();
+                    } else {
+                        moveCaretLeft();
                     }
+
+                    updateDisplayedCharacters();
+                    transmitDraw();
                 }
+
+                break;
             }
 
-            @Override
-            public void keyPressed(final KeyEvent e) {
+            // Move the caret one position to the right:
+            case KeyEvent.VK_RIGHT: {
+                if (isRightArrowKeyEnabled()) {
+                    boolean moveToNextLine = x_index_caret_actual == maxHorizontalCharacters - 1;
+                    moveToNextLine &= y_index_caret_actual < maxVerticalCharacters - 1;
+
+                    if (moveToNextLine) {
+                        moveCaretDown();
+                        moveCaretToStartOfLine();
+                    } else {
+                        moveCaretRight();
+                    }
+
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
 
+                break;
             }
 
-            @Override
-            public void keyReleased(final KeyEvent e) {
-                if (isFocused()) {
-                    int keyCode = e.getKeyCode();
-
-                    switch (keyCode) {
-                        // Move the caret to the first position on the left:
-                        case KeyEvent.VK_HOME: {
-                            if (homeKeyEnabled) {
-                                moveCaretToStartOfLine();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Move the caret to the last position on the right:
-                        case KeyEvent.VK_END: {
-                            if (endKeyEnabled) {
-                                moveCaretToEndOfLine();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Erase the current character:
-                        case KeyEvent.VK_DELETE: {
-                            if (deleteKeyEnabled) {
-                                clearCurrentCell();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Move the caret one position to the left:
-                        case KeyEvent.VK_LEFT: {
-                            if (leftArrowKeyEnabled) {
-                                boolean moveToPreviousLine = x_index_caret_actual == 0;
-                                moveToPreviousLine &= y_index_caret_actual > 0;
-
-                                if (moveToPreviousLine) {
-                                    moveCaretUp();
-                                    moveCaretToEndOfLine();
-                                } else {
-                                    moveCaretLeft();
-                                }
-
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-
-                            break;
-                        }
-
-                        // Move the caret one position to the right:
-                        case KeyEvent.VK_RIGHT: {
-                            if (isRightArrowKeyEnabled()) {
-                                boolean moveToNextLine = x_index_caret_actual == maxHorizontalCharacters - 1;
-                                moveToNextLine &= y_index_caret_actual < maxVerticalCharacters - 1;
-
-                                if (moveToNextLine) {
-                                    moveCaretDown();
-                                    moveCaretToStartOfLine();
-                                } else {
-                                    moveCaretRight();
-                                }
-
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-
-                            break;
-                        }
-
-                        // Move the caret one position up:
-                        case KeyEvent.VK_UP: {
-                            if (upArrowKeyEnabled) {
-                                moveCaretUp();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Move the caret one position down:
-                        case KeyEvent.VK_DOWN: {
-                            if (downArrowKeyEnabled) {
-                                moveCaretDown();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Move the caret to the first position of the next row:
-                        case KeyEvent.VK_ENTER: {
-                            boolean canWork = enterKeyEnabled;
-                            canWork &= y_index_caret_actual < maxVerticalCharacters - 1;
-
-                            if (canWork) {
-                                moveCaretDown();
-                                moveCaretToStartOfLine();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Delete the character to the left of the caret, then move the caret one position left:
-                        case KeyEvent.VK_BACK_SPACE: {
-                            if (! backSpaceKeyEnabled) {
-                                break;
-                            }
-
-                            final boolean caretAtStartOfLine = x_index_caret_actual == 0;
-                            final boolean caretAtEndOfLine = x_index_caret_actual == maxHorizontalCharacters - 1;
-
-                            if (caretAtStartOfLine) {
-                                if (y_index_caret_actual > 0) {
-                                    moveCaretUp();
-                                    moveCaretToEndOfLine();
-                                }
-                            } else if (caretAtEndOfLine) {
-                                final AsciiCharacter currentChar = TextArea.super.getStrings()[y_index_caret_visual].getCharacters()[x_index_caret_visual];
-
-                                if (currentChar.getCharacter() == ' ') {
-                                    moveCaretLeft();
-                                }
-                            } else {
-                                moveCaretLeft();
-                            }
-
-                            clearCurrentCell();
-                            updateDisplayedCharacters();
-                            transmitDraw();
-                            break;
-                        }
+            // Move the caret one position up:
+            case KeyEvent.VK_UP: {
+                if (upArrowKeyEnabled) {
+                    moveCaretUp();
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
+                break;
+            }
+
+            // Move the caret one position down:
+            case KeyEvent.VK_DOWN: {
+                if (downArrowKeyEnabled) {
+                    moveCaretDown();
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
+                break;
+            }
+
+            // Move the caret to the first position of the next row:
+            case KeyEvent.VK_ENTER: {
+                boolean canWork = enterKeyEnabled;
+                canWork &= y_index_caret_actual < maxVerticalCharacters - 1;
+
+                if (canWork) {
+                    moveCaretDown();
+                    moveCaretToStartOfLine();
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
+                break;
+            }
+
+            // Delete the character to the left of the caret, then move the caret one position left:
+            case KeyEvent.VK_BACK_SPACE: {
+                if (! backSpaceKeyEnabled) {
+                    break;
+                }
+
+                final boolean caretAtStartOfLine = x_index_caret_actual == 0;
+                final boolean caretAtEndOfLine = x_index_caret_actual == maxHorizontalCharacters - 1;
+
+                if (caretAtStartOfLine) {
+                    if (y_index_caret_actual > 0) {
+                        moveCaretUp();
+                        moveCaretToEndOfLine();
+                    }
+                } else if (caretAtEndOfLine) {
+                    final AsciiCharacter currentChar = super.getStrings()[y_index_caret_visual].getCharacters()[x_index_caret_visual];
+
+                    if (currentChar.getCharacter() == ' ') {
+                        moveCaretLeft();
                     }
+                } else {
+                    moveCaretLeft();
                 }
+
+                clearCurrentCell();
+                updateDisplayedCharacters();
+                transmitDraw();
+                break;
             }
-        });
+        }
     }
 
     /** Moves the caret one cell up. */
@@ -11,7 +11,6 @@ import lombok.Setter;
 
 import java.awt.Color;
 import java.awt.event.KeyEvent;
-import java.awt.event.KeyListener;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -145,117 +144,107 @@ public class TextField extends Component {
         Objects.requireNonNull(panel);
 
         super.registerEventHandlers(panel);
+        panel.getFocusManager().register(this);
+    }
 
-        panel.addKeyListener(new KeyListener() {
-            @Override
-            public void keyTyped(final KeyEvent e) {
-                if (isFocused()) {
-                    final char character = e.getKeyChar();
-                    final Matcher matcher = allowedCharacterPattern.matcher(character + "");
+    @Override
+    public void onKeyTyped(final KeyEvent event) {
+        final char character = event.getKeyChar();
+        final Matcher matcher = allowedCharacterPattern.matcher(character + "");
 
-                    if (matcher.matches()) {
-                        changeVisualCharacter(index_caret_visual, character);
-                        changeActualCharacter(index_caret_actual, character);
+        if (matcher.matches()) {
+            changeVisualCharacter(index_caret_visual, character);
+            changeActualCharacter(index_caret_actual, character);
 
-                        moveCaretRight();
+            moveCaretRight();
 
-                        updateDisplayedCharacters();
-                        transmitDraw();
-                    }
+            updateDisplayedCharacters();
+            transmitDraw();
+        }
+    }
+
+    @Override
+    public void onKeyReleased(final KeyEvent event) {
+        int keyCode = event.getKeyCode();
+
+        switch (keyCode) {
+            // Move the caret to the first position on the left:
+            case KeyEvent.VK_HOME: {
+                if (homeKeyEnabled) {
+                    moveCaretToStartOfLine();
+                    updateDisplayedCharacters();
+                    transmitDraw();
                 }
+                break;
             }
 
-            @Override
-            public void keyPressed(final KeyEvent e) {
+            // Move the caret to the last position on the right:
+            case KeyEvent.VK_END: {
+                if (endKeyEnabled) {
+                    moveCaretToEndOfLine();
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
+                break;
+            }
 
+            // Erase the current character:
+            case KeyEvent.VK_DELETE: {
+                if (deleteKeyEnabled) {
+                    clearCurrentCell();
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
+                break;
             }
 
-            @Override
-            public void keyReleased(final KeyEvent e) {
-                if (isFocused()) {
-                    int keyCode = e.getKeyCode();
-
-                    switch (keyCode) {
-                        // Move the caret to the first position on the left:
-                        case KeyEvent.VK_HOME: {
-                            if (homeKeyEnabled) {
-                                moveCaretToStartOfLine();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Move the caret to the last position on the right:
-                        case KeyEvent.VK_END: {
-                            if (endKeyEnabled) {
-                                moveCaretToEndOfLine();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Erase the current character:
-                        case KeyEvent.VK_DELETE: {
-                            if (deleteKeyEnabled) {
-                                clearCurrentCell();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Move the caret one position to the left:
-                        case KeyEvent.VK_LEFT: {
-                            if (leftArrowKeyEnabled) {
-                                moveCaretLeft();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Move the caret one position to the right:
-                        case KeyEvent.VK_RIGHT: {
-                            if (rightArrowKeyEnabled) {
-                                moveCaretRight();
-                                updateDisplayedCharacters();
-                                transmitDraw();
-                            }
-                            break;
-                        }
-
-                        // Delete the character to the left of the caret, then move the caret one position left:
-                        case KeyEvent.VK_BACK_SPACE: {
-                            if (! backSpaceKeyEnabled) {
-                                break;
-                            }
-
-                            final boolean caretAtEndOfLine = index_caret_actual == maxCharacters - 1;
-
-                            if (caretAtEndOfLine) {
-                                final AsciiCharacter currentChar = TextField.super.getString(0).getCharacters()[index_caret_visual];
-
-                                if (currentChar.getCharacter() != ' ') {
-                                    clearCurrentCell();
-                                    updateDisplayedCharacters();
-                                    transmitDraw();
-                                    break;
-                                }
-                            }
-
-                            moveCaretLeft();
-                            clearCurrentCell();
-
-                            updateDisplayedCharacters();
-                            transmitDraw();
-                            break;
-                        }
+            // Move the caret one position to the left:
+            case KeyEvent.VK_LEFT: {
+                if (leftArrowKeyEnabled) {
+                    moveCaretLeft();
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
+                break;
+            }
+
+            // Move the caret one position to the right:
+            case KeyEvent.VK_RIGHT: {
+                if (rightArrowKeyEnabled) {
+                    moveCaretRight();
+                    updateDisplayedCharacters();
+                    transmitDraw();
+                }
+                break;
+            }
+
+            // Delete the character to the left of the caret, then move the caret one position left:
+            case KeyEvent.VK_BACK_SPACE: {
+                if (! backSpaceKeyEnabled) {
+                    break;
+                }
+
+                final boolean caretAtEndOfLine = index_caret_actual == maxCharacters - 1;
+
+                if (caretAtEndOfLine) {
+                    final AsciiCharacter currentChar = super.getString(0).getCharacters()[index_caret_visual];
+
+                    if (currentChar.getCharacter() != ' ') {
+                        clearCurrentCell();
+                        updateDisplayedCharacters();
+                        transmitDraw();
+                        break;
                     }
                 }
+
+                moveCaretLeft();
+                clearCurrentCell();
+
+                updateDisplayedCharacters();
+                transmitDraw();
+                break;
             }
-        });
+        }
     }
 
     /** Moves the caret one cell left. */
@@ -1,36 +1,168 @@
 package com.valkryst.VTerminal.font;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.Getter;
 
 import java.awt.geom.AffineTransform;
 import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
 
 public class Font {
+    /** The character whose image is used in place of unsupported characters. */
+    public static final char FALLBACK_CHARACTER = '?';
+
+    /** The number of characters, from zero, whose images can be looked up in the dense table. */
+    private static final int MAX_DENSE_CHARACTERS = 0x3000;
+
     /** The sprite-images of every character provided by the Font with a completely transparent background. */
     private final HashMap<Character, BufferedImage> characterImages;
 
+    /**
+     * The images of every character below the length of the table, indexed
+     * by character, where unsupported characters use the fallback image.
+     */
+    private final BufferedImage[] denseCharacterImages;
+    /** The image of the fallback character, or null if the font doesn't support it. */
+    private final BufferedImage fallbackImage;
+
+    /**
+     * The scaled images of the characters, keyed by character, if the images
+     * are scaled the first time that they're retrieved.
+     *
+     * Null if the images were scaled when the font was constructed.
+     */
+    private final Cache<Character, BufferedImage> scaledImages;
+
+    /** The number of times that the image of an unsupported character has been retrieved. */
+    private final AtomicLong missingGlyphCount = new AtomicLong();
+
     /** The width of the font. */
     @Getter private final int width;
     /** The height of the font. */
     @Getter private final int height;
 
+    /** The amount that the character images were scaled by. */
+    @Getter private final int scale;
+
+    /** The checksum of every character image, or zero if it hasn't been computed yet. */
+    private volatile long fingerprint;
+
     public Font(final HashMap<Character, BufferedImage> characterImages, int scale) throws IOException {
+        this(characterImages, scale, false);
+    }
+
+    /**
+     * Constructs a new Font.
+     *
+     * @param characterImages
+     *         The images of every character supported by the font.
+     *
+     * @param scale
+     *         The amount that the character images are, or are to be, scaled by.
+     *
+     * @param isScaled
+     *         Whether or not the character images have already been scaled.
+     *
+     * @throws NullPointerException
+     *         If the character images are null.
+     */
+    Font(final HashMap<Character, BufferedImage> characterImages, final int scale, final boolean isScaled) {
+        this(characterImages, scale, isScaled, null);
+    }
+
+    /**
+     * Constructs a new Font, which scales the image of each character the
+     * first time that it's retrieved.
+     *
+     * The source images are never modified, so they can be shared by the
+     * fonts of every scale.
+     *
+     * @param sourceImages
+     *         The unscaled images of every character supported by the font.
+     *
+     * @param scale
+     *         The amount to scale the character images by.
+     *
+     * @param scaledImages
+     *         The cache to hold the scaled images in.
+     *
+     * @throws NullPointerException
+     *         If the source images or cache are null.
+     */
+    Font(final HashMap<Character, BufferedImage> sourceImages, final int scale, final Cache<Character, BufferedImage> scaledImages) {
+        this(sourceImages, scale, false, Objects.requireNonNull(scaledImages));
+    }
+
+    /**
+     * Constructs a new Font.
+     *
+     * @param characterImages
+     *         The images of every character supported by the font.
+     *
+     * @param scale
+     *         The amount that the character images are, or are to be, scaled by.
+     *
+     * @param isScaled
+     *         Whether or not the character images have already been scaled.
+     *
+     * @param scaledImages
+     *         The cache to hold the scaled images in, or null if the images
+     *         are to be scaled now.
+     *
+     * @throws NullPointerException
+     *         If the character images are null.
+     */
+    private Font(final HashMap<Character, BufferedImage> characterImages, final int scale, final boolean isScaled,
+                 final Cache<Character, BufferedImage> scaledImages) {
         Objects.requireNonNull(characterImages);
 
         this.characterImages = characterImages;
+        this.scale = scale;
+        this.scaledImages = scaledImages;
+
+        if (isScaled) {
+            width = characterImages.get('X').getWidth();
+            height = characterImages.get('X').getHeight();
+        } else {
+            width = characterImages.get('X').getWidth() * scale;
+            height = characterImages.get('X').getHeight() * scale;
+
+            if (scale > 0 && scaledImages == null) {
+                for (final Map.Entry<Character, BufferedImage> entry : characterImages.entrySet()) {
+                    final BufferedImage scaledImage = scaleImage(entry.getValue(), scale);
+                    characterImages.put(entry.getKey(), scaledImage);
+                }
+            }
+        }
+
+        // Unsupported characters are resolved to the fallback image once, so that lookups never miss the table.
+        fallbackImage = characterImages.get(FALLBACK_CHARACTER);
 
-        width = characterImages.get('X').getWidth() * scale;
-        height = characterImages.get('X').getHeight() * scale;
+        int tableLength = 0;
 
-        if (scale > 0) {
-            for (final Map.Entry<Character, BufferedImage> entry : characterImages.entrySet()) {
-                final BufferedImage scaledImage = scaleImage(entry.getValue(), scale);
-                characterImages.put(entry.getKey(), scaledImage);
+        for (final char character : characterImages.keySet()) {
+            if (character < MAX_DENSE_CHARACTERS) {
+                tableLength = Math.max(tableLength, character + 1);
+            }
+        }
+
+        denseCharacterImages = new BufferedImage[tableLength];
+        Arrays.fill(denseCharacterImages, fallbackImage);
+
+        for (final Map.Entry<Character, BufferedImage> entry : characterImages.entrySet()) {
+            if (entry.getKey() < tableLength) {
+                denseCharacterImages[entry.getKey()] = entry.getValue();
             }
         }
     }
@@ -50,7 +182,7 @@ public class Font {
      * @throws NullPointerException
      *         If the image is null.
      */
-    private BufferedImage scaleImage(final BufferedImage image, final int scale) {
+    static BufferedImage scaleImage(final BufferedImage image, final int scale) {
         Objects.requireNonNull(image);
 
         final AffineTransform tx = AffineTransform.getScaleInstance(scale, scale);
@@ -58,6 +190,58 @@ public class Font {
         return op.filter(image, null);
     }
 
+    /**
+     * Retrieves a checksum of the font's characters and their images.
+     *
+     * Two fonts with the same fingerprint draw every character identically,
+     * so the fingerprint can identify the font in files which outlive it.
+     *
+     * @return
+     *         The fingerprint.
+     */
+    public long getFingerprint() {
+        if (fingerprint == 0) {
+            final CRC32 crc = new CRC32();
+            final List<Character> characters = new ArrayList<>(characterImages.keySet());
+            Collections.sort(characters);
+
+            for (final char character : characters) {
+                final BufferedImage image = scaleOnDemand(character, characterImages.get(character));
+                final int imageWidth = image.getWidth();
+                final int imageHeight = image.getHeight();
+
+                updateChecksum(crc, character);
+                updateChecksum(crc, imageWidth);
+                updateChecksum(crc, imageHeight);
+
+                for (final int pixel : image.getRGB(0, 0, imageWidth, imageHeight, null, 0, imageWidth)) {
+                    updateChecksum(crc, pixel);
+                }
+            }
+
+            // The number of characters fills the upper half, so that no fingerprint is zero.
+            fingerprint = ((long) (characters.size() + 1) << 32) | crc.getValue();
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Adds the bytes of an int to a checksum.
+     *
+     * @param crc
+     *         The checksum.
+     *
+     * @param value
+     *         The int.
+     */
+    private static void updateChecksum(final CRC32 crc, final int value) {
+        crc.update(value >>> 24);
+        crc.update(value >>> 16);
+        crc.update(value >>> 8);
+        crc.update(value);
+    }
+
     /**
      * Determines if a character is supported by the font.
      *
@@ -74,16 +258,84 @@ public class Font {
         return characterImages.containsKey(character);
     }
 
+    /**
+     * Retrieves every character supported by the font.
+     *
+     * @return
+     *         The characters.
+     */
+    public Set<Character> getSupportedCharacters() {
+        return Collections.unmodifiableSet(characterImages.keySet());
+    }
+
     /**
      * Retrieves the image associated with a character.
      *
+     * Unsupported characters use the image of the fallback character, and
+     * are counted as missing glyphs.
+     *
      * @param character
      *         The character.
      *
      * @return
-     *         The image.
+     *         The image, or null if neither the character nor the fallback
+     *         character is supported.
      */
     public BufferedImage getCharacterImage(final char character) {
-        return characterImages.get(character);
+        BufferedImage image;
+
+        if (character < denseCharacterImages.length) {
+            image = denseCharacterImages[character];
+        } else {
+            image = characterImages.get(character);
+
+            if (image == null) {
+                image = fallbackImage;
+            }
+        }
+
+        if (image == fallbackImage && character != FALLBACK_CHARACTER) {
+            recordMissingGlyph();
+            return scaleOnDemand(FALLBACK_CHARACTER, image);
+        }
+
+        return scaleOnDemand(character, image);
+    }
+
+    /**
+     * Retrieves the scaled image of a character, scaling and caching it if
+     * the font scales its images on demand and it hasn't yet been scaled.
+     *
+     * @param character
+     *         The character.
+     *
+     * @param image
+     *         The image of the character, as held by the font.
+     *
+     * @return
+     *         The scaled image.
+     */
+    private BufferedImage scaleOnDemand(final char character, final BufferedImage image) {
+        if (scaledImages == null || image == null || scale == 1) {
+            return image;
+        }
+
+        return scaledImages.get(character, key -> scaleImage(image, scale));
+    }
+
+    /**
+     * Retrieves the number of times that an unsupported character has been
+     * looked up, and drawn using the fallback character instead.
+     *
+     * @return
+     *         The number of missing-glyph hits.
+     */
+    public long getMissingGlyphCount() {
+        return missingGlyphCount.get();
+    }
+
+    /** Records that an unsupported character was drawn using the fallback character. */
+    void recordMissingGlyph() {
+        missingGlyphCount.incrementAndGet();
     }
 }
@@ -0,0 +1,148 @@
+package com.valkryst.VTerminal.font;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiles a font into a single binary file, which can be loaded with
+ * {@link FontLoader#loadCompiledFont(String)} without parsing the character
+ * data, decoding the sprite sheet, or scaling the character images.
+ *
+ * The file is big-endian and consists of:
+ *
+ *     A header of six ints: the magic number, the version, the scale, the
+ *     width and height of the font, and the number of characters.
+ *
+ *     An index entry for each character, sorted by character, of a char, the
+ *     width and height of its image as shorts, two bytes of padding, and
+ *     the offset of its pixels as an int.
+ *
+ *     The ARGB pixels of every character image, already scaled, in
+ *     row-major order.
+ *
+ * Every section begins on a four byte boundary, so the pixels can be read
+ * straight out of a memory-mapped file.
+ */
+public class FontCompiler {
+    /** The magic number at the start of every compiled font, "VTFC". */
+    static final int FILE_MAGIC = 0x56544643;
+    /** The version of the compiled font format. */
+    static final int FILE_VERSION = 1;
+
+    /** The size of the header, in bytes. */
+    static final int HEADER_SIZE = 24;
+    /** The size of each index entry, in bytes. */
+    static final int INDEX_ENTRY_SIZE = 12;
+
+    // Prevent users from creating an instance.
+    private FontCompiler() {}
+
+    /**
+     * Compiles a font from the file system.
+     *
+     * @param spriteSheetPath
+     *         The path to the sprite sheet.
+     *
+     * @param characterDataPath
+     *         The path to the character data.
+     *
+     * @param scale
+     *         The amount to scale the font by.
+     *
+     * @param outputPath
+     *         The path to write the compiled font to.
+     *
+     * @throws NullPointerException
+     *         If any of the paths are null.
+     *
+     * @throws IllegalArgumentException
+     *         If any of the paths are empty.
+     *
+     * @throws IOException
+     *         If an IOException occurs while loading or writing the font.
+     */
+    public static void compile(final String spriteSheetPath, final String characterDataPath, final int scale, final String outputPath) throws IOException {
+        Objects.requireNonNull(outputPath);
+
+        if (outputPath.isEmpty()) {
+            throw new IllegalArgumentException("The output path cannot be null or empty.");
+        }
+
+        final Font font = FontLoader.loadFont(spriteSheetPath, characterDataPath, scale);
+
+        try (final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(outputPath))) {
+            compile(font, outputStream);
+        }
+    }
+
+    /**
+     * Compiles a font.
+     *
+     * The output stream is not closed.
+     *
+     * @param font
+     *         The font.
+     *
+     * @param outputStream
+     *         The output stream to write the compiled font to.
+     *
+     * @throws NullPointerException
+     *         If the font or output stream are null.
+     *
+     * @throws IOException
+     *         If an IOException occurs while writing the font.
+     */
+    public static void compile(final Font font, final OutputStream outputStream) throws IOException {
+        Objects.requireNonNull(font);
+        Objects.requireNonNull(outputStream);
+
+        final List<Character> characters = new ArrayList<>(font.getSupportedCharacters());
+        Collections.sort(characters);
+
+        final DataOutputStream dos = new DataOutputStream(outputStream);
+        dos.writeInt(FILE_MAGIC);
+        dos.writeInt(FILE_VERSION);
+        dos.writeInt(font.getScale());
+        dos.writeInt(font.getWidth());
+        dos.writeInt(font.getHeight());
+        dos.writeInt(characters.size());
+
+        int pixelOffset = 0;
+
+        for (final char character : characters) {
+            final BufferedImage image = font.getCharacterImage(character);
+
+            if (image.getWidth() > Short.MAX_VALUE || image.getHeight() > Short.MAX_VALUE) {
+                throw new IOException("The image of '" + character + "' is too large to be compiled.");
+            }
+
+            dos.writeChar(character);
+            dos.writeShort(image.getWidth());
+            dos.writeShort(image.getHeight());
+            dos.writeShort(0);
+            dos.writeInt(pixelOffset);
+
+            pixelOffset += image.getWidth() * image.getHeight();
+        }
+
+        for (final char character : characters) {
+            final BufferedImage image = font.getCharacterImage(character);
+            final int imageWidth = image.getWidth();
+            final int imageHeight = image.getHeight();
+
+            for (final int pixel : image.getRGB(0, 0, imageWidth, imageHeight, null, 0, imageWidth)) {
+                dos.writeInt(pixel);
+            }
+        }
+
+        dos.flush();
+    }
+}
@@ -0,0 +1,114 @@
+package com.valkryst.VTerminal.font;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * Holds the unscaled character images of a font, as decoded from its sprite
+ * sheet, and creates views of the font at any scale.
+ *
+ * The views scale the image of each character the first time that it's
+ * retrieved, and hold a limited number of scaled images, so changing the
+ * scale neither reloads the font nor keeps every scale in memory.
+ */
+public class FontFamily {
+    /** The default maximum number of scaled images held by each view. */
+    public static final int DEFAULT_MAXIMUM_SCALED_IMAGES = 1024;
+
+    /** The maximum number of views held by the family. */
+    private static final int MAXIMUM_FONTS = 4;
+
+    /** The unscaled images of every character supported by the font. */
+    private final HashMap<Character, BufferedImage> sourceImages;
+
+    /** The maximum number of scaled images held by each view. */
+    @Getter private final int maximumScaledImages;
+
+    /** The views of the font, keyed by scale. */
+    private final Cache<Integer, Font> fonts;
+
+    /**
+     * Constructs a new FontFamily.
+     *
+     * @param sourceImages
+     *         The unscaled images of every character supported by the font.
+     *
+     * @throws NullPointerException
+     *         If the source images are null.
+     *
+     * @throws IllegalArgumentException
+     *         If the font doesn't support the 'X' character.
+     */
+    public FontFamily(final HashMap<Character, BufferedImage> sourceImages) {
+        this(sourceImages, DEFAULT_MAXIMUM_SCALED_IMAGES);
+    }
+
+    /**
+     * Constructs a new FontFamily.
+     *
+     * @param sourceImages
+     *         The unscaled images of every character supported by the font.
+     *
+     * @param maximumScaledImages
+     *         The maximum number of scaled images held by each view.
+     *
+     * @throws NullPointerException
+     *         If the source images are null.
+     *
+     * @throws IllegalArgumentException
+     *         If the font doesn't support the 'X' character, or if the
+     *         maximum number of scaled images is less than one.
+     */
+    public FontFamily(final HashMap<Character, BufferedImage> sourceImages, final int maximumScaledImages) {
+        Objects.requireNonNull(sourceImages);
+
+        if (sourceImages.containsKey('X') == false) {
+            throw new IllegalArgumentException("The font must support the 'X' character.");
+        }
+
+        if (maximumScaledImages < 1) {
+            throw new IllegalArgumentException("The maximum number of scaled images must be at least one.");
+        }
+
+        this.sourceImages = sourceImages;
+        this.maximumScaledImages = maximumScaledImages;
+
+        fonts = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_FONTS)
+                .build();
+    }
+
+    /**
+     * Retrieves a view of the font at a scale.
+     *
+     * The same view is returned for each call with the same scale, unless
+     * the view has been evicted in favour of views of other scales.
+     *
+     * @param scale
+     *         The scale.
+     *
+     * @return
+     *         The view.
+     *
+     * @throws IllegalArgumentException
+     *         If the scale is less than one.
+     */
+    public Font getFont(final int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("The scale must be at least one.");
+        }
+
+        return fonts.get(scale, key -> {
+            final Cache<Character, BufferedImage> scaledImages = Caffeine.newBuilder()
+                    .maximumSize(maximumScaledImages)
+                    .build();
+
+            return new Font(sourceImages, scale, scaledImages);
+        });
+    }
+}
@@ -1,19 +1,29 @@
 package com.valkryst.VTerminal.font;
 
 import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.*;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
-import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class FontLoader {
+    /** The pattern which separates the values of each line of character data. */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     /**
      * Loads a font from the file system.
      *
@@ -81,8 +91,41 @@ public class FontLoader {
      *         If a URISyntaxException occurs while loading the font.
      */
     public static Font loadFont(final InputStream spriteSheet, final InputStream characterData, int scale) throws IOException {
+        return loadFont(spriteSheet, characterData, scale, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads a font, slicing and scaling its character images in parallel.
+     *
+     * Each character image is copied out of the sprite sheet into its own
+     * image, so the images are identical regardless of the pool's
+     * parallelism.
+     *
+     * @param spriteSheet
+     *         The input stream to the sprite sheet.
+     *
+     * @param characterData
+     *         The input stream to the character data.
+     *
+     * @param scale
+     *         The amount to scale the font by.
+     *
+     * @param pool
+     *         The pool to slice and scale the character images on.
+     *
+     * @return
+     *         The font.
+     *
+     * @throws NullPointerException
+     *         If the sprite sheet, character data streams, or pool are null.
+     *
+     * @throws IOException
+     *         If an IOException occurs while loading the font.
+     */
+    public static Font loadFont(final InputStream spriteSheet, final InputStream characterData, int scale, final ForkJoinPool pool) throws IOException {
         Objects.requireNonNull(spriteSheet);
         Objects.requireNonNull(characterData);
+        Objects.requireNonNull(pool);
 
         if (scale < 1) {
             scale = 1;
@@ -91,7 +134,7 @@ public class FontLoader {
         final BufferedImage image = loadSpriteSheet(spriteSheet);
         final List<String> data = loadCharacterData(characterData);
 
-        return new Font(processFontData(image, data), scale);
+        return new Font(processFontData(image, data, scale, pool), scale, true);
     }
 
     /**
@@ -141,45 +184,285 @@ public class FontLoader {
         return loadFont(spriteSheetStream, characterDataStream, scale);
     }
 
+    /**
+     * Loads a font family from the file system.
+     *
+     * The sprite sheet and character data are decoded once, and the family
+     * creates fonts of any scale from them.
+     *
+     * @param spriteSheetPath
+     *         The path to the sprite sheet.
+     *
+     * @param characterDataPath
+     *         The path to the character data.
+     *
+     * @return
+     *         The font family.
+     *
+     * @throws NullPointerException
+     *         If the sprite sheet or character data paths are null.
+     *
+     * @throws IllegalArgumentException
+     *         If the sprite sheet or character data paths are empty.
+     *
+     * @throws IOException
+     *         If an IOException occurs while loading the font.
+     */
+    public static FontFamily loadFontFamily(final String spriteSheetPath, final String characterDataPath) throws IOException {
+        Objects.requireNonNull(spriteSheetPath);
+        Objects.requireNonNull(characterDataPath);
+
+        if (spriteSheetPath.isEmpty()) {
+            throw new IllegalArgumentException("The sprite sheet path cannot be null or empty.");
+        }
+
+        if (characterDataPath.isEmpty()) {
+            throw new IllegalArgumentException("The character data path cannot be null or empty.");
+        }
+
+        return loadFontFamily(new FileInputStream(spriteSheetPath), new FileInputStream(characterDataPath));
+    }
+
+    /**
+     * Loads a font family.
+     *
+     * @param spriteSheet
+     *         The input stream to the sprite sheet.
+     *
+     * @param characterData
+     *         The input stream to the character data.
+     *
+     * @return
+     *         The font family.
+     *
+     * @throws NullPointerException
+     *         If the sprite sheet or character data streams are null.
+     *
+     * @throws IOException
+     *         If an IOException occurs while loading the font.
+     */
+    public static FontFamily loadFontFamily(final InputStream spriteSheet, final InputStream characterData) throws IOException {
+        Objects.requireNonNull(spriteSheet);
+        Objects.requireNonNull(characterData);
+
+        final BufferedImage image = loadSpriteSheet(spriteSheet);
+        final List<String> data = loadCharacterData(characterData);
+
+        return new FontFamily(processFontData(image, data, 1, ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Loads a font family from within the Jar.
+     *
+     * @param spriteSheetPath
+     *         The path to the sprite sheet.
+     *
+     * @param characterDataPath
+     *         The path to the character data.
+     *
+     * @return
+     *         The font family.
+     *
+     * @throws NullPointerException
+     *         If the sprite sheet or character data paths are null.
+     *
+     * @throws IllegalArgumentException
+     *         If the sprite sheet or character data paths are empty.
+     *
+     * @throws IOException
+     *         If an IOException occurs while loading the font.
+     */
+    public static FontFamily loadFontFamilyFromJar(final String spriteSheetPath, final String characterDataPath) throws IOException {
+        Objects.requireNonNull(spriteSheetPath);
+        Objects.requireNonNull(characterDataPath);
+
+        if (spriteSheetPath.isEmpty()) {
+            throw new IllegalArgumentException("The sprite sheet path cannot be null or empty.");
+        }
+
+        if (characterDataPath.isEmpty()) {
+            throw new IllegalArgumentException("The character data path cannot be null or empty.");
+        }
+
+        final ClassLoader classLoader = FontLoader.class.getClassLoader();
+
+        final InputStream spriteSheetStream = classLoader.getResourceAsStream(spriteSheetPath);
+        final InputStream characterDataStream = classLoader.getResourceAsStream(characterDataPath);
+
+        return loadFontFamily(spriteSheetStream, characterDataStream);
+    }
+
+    /**
+     * Loads a font which was compiled by {@link FontCompiler}.
+     *
+     * The file is memory-mapped, and the pixels of each character image are
+     * copied out of it, so neither the sprite sheet nor the character data
+     * need to be parsed and no image needs to be scaled.
+     *
+     * @param compiledFontPath
+     *         The path to the compiled font.
+     *
+     * @return
+     *         The font.
+     *
+     * @throws NullPointerException
+     *         If the compiled font path is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the compiled font path is empty.
+     *
+     * @throws IOException
+     *         If an IOException occurs while loading the font, or if the file
+     *         isn't a valid compiled font.
+     */
+    public static Font loadCompiledFont(final String compiledFontPath) throws IOException {
+        Objects.requireNonNull(compiledFontPath);
+
+        if (compiledFontPath.isEmpty()) {
+            throw new IllegalArgumentException("The compiled font path cannot be null or empty.");
+        }
+
+        final ByteBuffer buffer;
+
+        try (final FileChannel channel = FileChannel.open(Paths.get(compiledFontPath), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        buffer.order(ByteOrder.BIG_ENDIAN);
+
+        if (buffer.remaining() < FontCompiler.HEADER_SIZE) {
+            throw new IOException("The file is not a compiled font.");
+        }
+
+        if (buffer.getInt() != FontCompiler.FILE_MAGIC) {
+            throw new IOException("The file is not a compiled font.");
+        }
+
+        if (buffer.getInt() != FontCompiler.FILE_VERSION) {
+            throw new IOException("The compiled font's version is not supported.");
+        }
+
+        final int scale = buffer.getInt();
+        buffer.getInt(); // The width of the font, which is taken from its images.
+        buffer.getInt(); // The height of the font, which is taken from its images.
+        final int characterCount = buffer.getInt();
+
+        final long pixelsPosition = FontCompiler.HEADER_SIZE + (long) characterCount * FontCompiler.INDEX_ENTRY_SIZE;
+
+        if (characterCount < 0 || pixelsPosition > buffer.limit()) {
+            throw new IOException("The compiled font is truncated.");
+        }
+
+        buffer.position((int) pixelsPosition);
+        final IntBuffer pixels = buffer.slice().asIntBuffer();
+        buffer.position(FontCompiler.HEADER_SIZE);
+
+        final HashMap<Character, BufferedImage> characterImages = new HashMap<>(characterCount * 2);
+
+        for (int i = 0 ; i < characterCount ; i++) {
+            final char character = buffer.getChar();
+            final int width = buffer.getShort();
+            final int height = buffer.getShort();
+            buffer.getShort();
+            final int offset = buffer.getInt();
+
+            if (width < 1 || height < 1 || offset < 0 || (long) offset + width * height > pixels.limit()) {
+                throw new IOException("The compiled font is truncated.");
+            }
+
+            final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            pixels.position(offset);
+            pixels.get(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), 0, width * height);
+
+            characterImages.put(character, image);
+        }
+
+        if (characterImages.containsKey('X') == false) {
+            throw new IOException("The compiled font has no image for 'X'.");
+        }
+
+        return new Font(characterImages, scale, true);
+    }
+
     /**
      * Processes a font sprite sheet and character data into a usable HashMap of character sprites.
      *
+     * The character images are sliced, and scaled, in parallel. Each image
+     * is copied into its own raster, rather than sharing the raster of the
+     * sprite sheet.
+     *
      * @param spriteSheet
      *         The sprite sheet.
      *
      * @param characterData
      *         The character data.
      *
+     * @param scale
+     *         The amount to scale the character images by.
+     *
+     * @param pool
+     *         The pool to slice and scale the character images on.
+     *
      * @return
      *         The HashMap of character sprites.
      *
      * @throws NullPointerException
-     *         If the sprite sheet or character data is null.
+     *         If the sprite sheet, character data, or pool is null.
      */
-    private static HashMap<Character, BufferedImage> processFontData(final BufferedImage spriteSheet, final List<String> characterData) {
+    private static HashMap<Character, BufferedImage> processFontData(final BufferedImage spriteSheet, final List<String> characterData,
+                                                                     final int scale, final ForkJoinPool pool) {
         Objects.requireNonNull(spriteSheet);
         Objects.requireNonNull(characterData);
+        Objects.requireNonNull(pool);
 
-        final HashMap<Character, BufferedImage> hashMap = new HashMap<>(characterData.size());
+        final char[] characters = new char[characterData.size()];
+        final BufferedImage[] images = new BufferedImage[characterData.size()];
 
-        for (final String string : characterData) {
-            if (string.isEmpty() == false) {
-                final Scanner scanner = new Scanner(string);
-                final char character = (char) scanner.nextInt();
+        pool.invoke(new SliceTask(spriteSheet, characterData, scale, characters, images, 0, characterData.size()));
 
-                final int x = scanner.nextInt();
-                final int y = scanner.nextInt();
-                final int width = scanner.nextInt();
-                final int height = scanner.nextInt();
-                final BufferedImage image = spriteSheet.getSubimage(x, y, width, height);
+        // The images are added in the order of the character data, so that the result doesn't depend on the pool.
+        final HashMap<Character, BufferedImage> hashMap = new HashMap<>(characterData.size());
 
-                hashMap.put(character, image);
+        for (int i = 0 ; i < images.length ; i++) {
+            if (images[i] != null) {
+                hashMap.put(characters[i], images[i]);
             }
         }
 
         return hashMap;
     }
 
+    /**
+     * Copies the image of a character out of a sprite sheet, into an image
+     * of its own.
+     *
+     * @param spriteSheet
+     *         The sprite sheet.
+     *
+     * @param x
+     *         The x-axis coordinate of the character's image.
+     *
+     * @param y
+     *         The y-axis coordinate of the character's image.
+     *
+     * @param width
+     *         The width of the character's image.
+     *
+     * @param height
+     *         The height of the character's image.
+     *
+     * @return
+     *         The image.
+     */
+    private static BufferedImage sliceImage(final BufferedImage spriteSheet, final int x, final int y, final int width, final int height) {
+        final int[] pixels = spriteSheet.getRGB(x, y, width, height, null, 0, width);
+
+        // The pixels are set through the raster, so that the image can still be accelerated.
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.getRaster().setDataElements(0, 0, width, height, pixels);
+        return image;
+    }
+
     /**
      * Loads sprite sheet from an input stream.
      *
@@ -198,25 +481,11 @@ public class FontLoader {
     private static BufferedImage loadSpriteSheet(final InputStream inputStream) throws IOException {
         Objects.requireNonNull(inputStream);
 
+        // The sheet isn't converted, as every character image is copied out of it into an image of its own.
         final BufferedImage loadedImage = ImageIO.read(inputStream);
         inputStream.close();
 
-        try {
-            final GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            final GraphicsDevice gd = ge.getDefaultScreenDevice();
-            final GraphicsConfiguration gc = gd.getDefaultConfiguration();
-
-            final BufferedImage converedImage = gc.createCompatibleImage(loadedImage.getWidth(), loadedImage.getHeight(), loadedImage.getTransparency());
-
-            final Graphics2D g2d = converedImage.createGraphics();
-            g2d.drawImage(loadedImage, 0, 0, null);
-            g2d.dispose();
-            return converedImage;
-        } catch(final HeadlessException e) {
-            // Occurs when running FontLoader unit tests on Travis CI.
-            // Probably because there's no screen/graphics device.
-            return loadedImage;
-        }
+        return loadedImage;
     }
 
     /**
@@ -249,4 +518,95 @@ public class FontLoader {
 
         return lines;
     }
+
+    /** Slices, and scales, a range of the character images of a sprite sheet. */
+    private static class SliceTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        /** The number of character images below which a task isn't split. */
+        private static final int THRESHOLD = 128;
+
+        /** The sprite sheet. */
+        private final BufferedImage spriteSheet;
+        /** The character data. */
+        private final List<String> characterData;
+        /** The amount to scale the character images by. */
+        private final int scale;
+
+        /** The character of each line of character data. */
+        private final char[] characters;
+        /** The image of each line of character data, or null if the line is empty. */
+        private final BufferedImage[] images;
+
+        /** The index of the first line to process. */
+        private final int begin;
+        /** The index following the last line to process. */
+        private final int end;
+
+        /**
+         * Constructs a new SliceTask.
+         *
+         * @param spriteSheet
+         *         The sprite sheet.
+         *
+         * @param characterData
+         *         The character data.
+         *
+         * @param scale
+         *         The amount to scale the character images by.
+         *
+         * @param characters
+         *         The array to store the character of each line in.
+         *
+         * @param images
+         *         The array to store the image of each line in.
+         *
+         * @param begin
+         *         The index of the first line to process.
+         *
+         * @param end
+         *         The index following the last line to process.
+         */
+        private SliceTask(final BufferedImage spriteSheet, final List<String> characterData, final int scale,
+                          final char[] characters, final BufferedImage[] images, final int begin, final int end) {
+            this.spriteSheet = spriteSheet;
+            this.characterData = characterData;
+            this.scale = scale;
+            this.characters = characters;
+            this.images = images;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - begin > THRESHOLD) {
+                final int middle = (begin + end) >>> 1;
+
+                invokeAll(new SliceTask(spriteSheet, characterData, scale, characters, images, begin, middle),
+                          new SliceTask(spriteSheet, characterData, scale, characters, images, middle, end));
+                return;
+            }
+
+            for (int i = begin ; i < end ; i++) {
+                final String string = characterData.get(i).trim();
+
+                if (string.isEmpty()) {
+                    continue;
+                }
+
+                // Each line holds the character, then the x, y, width, and height of its image.
+                final String[] values = WHITESPACE.split(string);
+                final int x = Integer.parseInt(values[1]);
+                final int y = Integer.parseInt(values[2]);
+                final int width = Integer.parseInt(values[3]);
+                final int height = Integer.parseInt(values[4]);
+
+                final BufferedImage image = sliceImage(spriteSheet, x, y, width, height);
+
+                characters[i] = (char) Integer.parseInt(values[0]);
+                images[i] = (scale > 1 ? Font.scaleImage(image, scale) : image);
+            }
+        }
+    }
 }
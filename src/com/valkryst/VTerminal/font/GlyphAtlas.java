@@ -0,0 +1,504 @@
+package com.valkryst.VTerminal.font;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import lombok.Getter;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class GlyphAtlas {
+    /** The mask value of a pixel which is drawn using the background color. */
+    private static final byte BACKGROUND = 0;
+    /** The mask value of a pixel which is drawn using the foreground color. */
+    private static final byte FOREGROUND = 1;
+
+    /** The font that the atlas was built from. */
+    @Getter private final Font font;
+
+    /** The slot of every character, where unsupported characters use the fallback slot. */
+    private final int[] slots;
+    /** The slot of the character used in place of unsupported characters. */
+    private final int fallbackSlot;
+
+    /** The x-axis coordinate, within the atlas, of every slot. */
+    private final int[] slotX;
+    /** The y-axis coordinate, within the atlas, of every slot. */
+    private final int[] slotY;
+    /** The width of the glyph in every slot. */
+    private final int[] slotWidth;
+    /** The height of the glyph in every slot. */
+    private final int[] slotHeight;
+
+    /** The width of the atlas, in pixels. */
+    @Getter private final int width;
+    /** The height of the atlas, in pixels. */
+    @Getter private final int height;
+
+    /** The alpha-mask of every glyph, with one byte per pixel. */
+    private final WritableRaster mask;
+    /** The data of the alpha-mask. */
+    private final byte[] maskData;
+
+    /** The views of the alpha-mask, keyed by the foreground color that they are colorized with. */
+    private final Cache<Integer, BufferedImage> colorizedMasks;
+
+    /**
+     * Constructs a new GlyphAtlas.
+     *
+     * @param font
+     *         The font.
+     *
+     * @throws NullPointerException
+     *         If the font is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the font doesn't support the '?' character.
+     */
+    public GlyphAtlas(final Font font) {
+        Objects.requireNonNull(font);
+
+        if (font.isCharacterSupported(Font.FALLBACK_CHARACTER) == false) {
+            throw new IllegalArgumentException("The font must support the '?' character.");
+        }
+
+        this.font = font;
+
+        final Set<Character> characters = font.getSupportedCharacters();
+        int maxCharacter = 0;
+        int maxGlyphWidth = 1;
+        int maxGlyphHeight = 1;
+
+        for (final char character : characters) {
+            final BufferedImage image = font.getCharacterImage(character);
+            maxCharacter = Math.max(maxCharacter, character);
+            maxGlyphWidth = Math.max(maxGlyphWidth, image.getWidth());
+            maxGlyphHeight = Math.max(maxGlyphHeight, image.getHeight());
+        }
+
+        // Lay the glyphs out in a roughly square grid of equally sized slots:
+        final int totalSlots = characters.size();
+        final int slotsPerRow = Math.max(1, (int) Math.ceil(Math.sqrt(totalSlots)));
+
+        width = slotsPerRow * maxGlyphWidth;
+        height = ((totalSlots + slotsPerRow - 1) / slotsPerRow) * maxGlyphHeight;
+
+        slots = new int[maxCharacter + 1];
+        Arrays.fill(slots, -1);
+
+        slotX = new int[totalSlots];
+        slotY = new int[totalSlots];
+        slotWidth = new int[totalSlots];
+        slotHeight = new int[totalSlots];
+
+        mask = Raster.createInterleavedRaster(DataBuffer.TYPE_BYTE, width, height, 1, null);
+        maskData = ((DataBufferByte) mask.getDataBuffer()).getData();
+
+        int slot = 0;
+
+        for (final char character : characters) {
+            final BufferedImage image = font.getCharacterImage(character);
+
+            slots[character] = slot;
+            slotX[slot] = (slot % slotsPerRow) * maxGlyphWidth;
+            slotY[slot] = (slot / slotsPerRow) * maxGlyphHeight;
+            slotWidth[slot] = image.getWidth();
+            slotHeight[slot] = image.getHeight();
+
+            writeMask(image, slotX[slot], slotY[slot]);
+            slot++;
+        }
+
+        // Unsupported characters are resolved to the fallback slot once, so that drawing never has to.
+        fallbackSlot = slots[Font.FALLBACK_CHARACTER];
+
+        for (int i = 0 ; i < slots.length ; i++) {
+            if (slots[i] == -1) {
+                slots[i] = fallbackSlot;
+            }
+        }
+
+        colorizedMasks = Caffeine.newBuilder()
+                .initialCapacity(100)
+                .maximumSize(10_000)
+                .expireAfterAccess(5, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Writes the alpha-mask of a glyph into the atlas.
+     *
+     * A pixel belongs to the background, when colorized, if it's both
+     * transparent and black. Every other pixel belongs to the foreground.
+     *
+     * The glyph is first drawn onto a blank image, as is done when creating
+     * colored images, so that both methods agree on which pixels are
+     * transparent.
+     *
+     * @param glyph
+     *         The glyph.
+     *
+     * @param x
+     *         The x-axis coordinate, within the atlas, to write to.
+     *
+     * @param y
+     *         The y-axis coordinate, within the atlas, to write to.
+     */
+    private void writeMask(final BufferedImage glyph, final int x, final int y) {
+        final BufferedImage image = new BufferedImage(glyph.getWidth(), glyph.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D gc = image.createGraphics();
+        gc.drawImage(glyph, 0, 0, null);
+        gc.dispose();
+
+        for (int imageY = 0 ; imageY < image.getHeight() ; imageY++) {
+            final int offset = (y + imageY) * width + x;
+
+            for (int imageX = 0 ; imageX < image.getWidth() ; imageX++) {
+                final int pixel = image.getRGB(imageX, imageY);
+                final int alpha = (pixel >> 24) & 0xff;
+
+                boolean isTransparent = alpha != 255;
+                isTransparent &= (pixel & 0xFFFFFF) == 0;
+
+                maskData[offset + imageX] = (isTransparent ? BACKGROUND : FOREGROUND);
+            }
+        }
+    }
+
+    /**
+     * Determines if a character has a glyph within the atlas.
+     *
+     * @param character
+     *         The character.
+     *
+     * @return
+     *         Whether or not the character is supported.
+     */
+    public boolean isCharacterSupported(final char character) {
+        return font.isCharacterSupported(character);
+    }
+
+    /**
+     * Draws a character onto the specified context.
+     *
+     * The background color is filled in, then the alpha-mask of the
+     * character is drawn over it using the foreground color.
+     *
+     * Unsupported characters are drawn using the '?' glyph.
+     *
+     * @param gc
+     *         The graphics context to draw with.
+     *
+     * @param character
+     *         The character.
+     *
+     * @param x
+     *         The x-axis coordinate to draw at.
+     *
+     * @param y
+     *         The y-axis coordinate to draw at.
+     *
+     * @param backgroundRGB
+     *         The ARGB value of the background color.
+     *
+     * @param foregroundRGB
+     *         The ARGB value of the foreground color.
+     *
+     * @param flipHorizontally
+     *         Whether or not to flip the character horizontally.
+     *
+     * @param flipVertically
+     *         Whether or not to flip the character vertically.
+     *
+     * @throws NullPointerException
+     *         If the gc is null.
+     */
+    public void draw(final Graphics2D gc, final char character, final int x, final int y,
+                     final int backgroundRGB, final int foregroundRGB,
+                     final boolean flipHorizontally, final boolean flipVertically) {
+        Objects.requireNonNull(gc);
+
+        final int slot = slotToDraw(character);
+        final int glyphWidth = slotWidth[slot];
+        final int glyphHeight = slotHeight[slot];
+
+        gc.setColor(new Color(backgroundRGB, true));
+        gc.fillRect(x, y, glyphWidth, glyphHeight);
+
+        if (backgroundRGB == foregroundRGB) {
+            return;
+        }
+
+        final BufferedImage image = colorizedMasks.get(foregroundRGB, this::createColorizedMask);
+
+        int sourceX1 = slotX[slot];
+        int sourceX2 = sourceX1 + glyphWidth;
+        int sourceY1 = slotY[slot];
+        int sourceY2 = sourceY1 + glyphHeight;
+
+        // Swapping the source coordinates mirrors the glyph.
+        if (flipHorizontally) {
+            final int temp = sourceX1;
+            sourceX1 = sourceX2;
+            sourceX2 = temp;
+        }
+
+        if (flipVertically) {
+            final int temp = sourceY1;
+            sourceY1 = sourceY2;
+            sourceY2 = temp;
+        }
+
+        gc.drawImage(image, x, y, x + glyphWidth, y + glyphHeight, sourceX1, sourceY1, sourceX2, sourceY2, null);
+    }
+
+    /**
+     * Draws a character directly into a framebuffer.
+     *
+     * The colors are written as-is, without being blended with the existing
+     * content of the framebuffer. Any part of the character which falls
+     * outside of the framebuffer is not drawn.
+     *
+     * Unsupported characters are drawn using the '?' glyph.
+     *
+     * @param pixels
+     *         The pixels of the framebuffer.
+     *
+     * @param framebufferWidth
+     *         The width of the framebuffer, in pixels.
+     *
+     * @param framebufferHeight
+     *         The height of the framebuffer, in pixels.
+     *
+     * @param character
+     *         The character.
+     *
+     * @param x
+     *         The x-axis coordinate to draw at.
+     *
+     * @param y
+     *         The y-axis coordinate to draw at.
+     *
+     * @param backgroundRGB
+     *         The ARGB value of the background color.
+     *
+     * @param foregroundRGB
+     *         The ARGB value of the foreground color.
+     *
+     * @param flipHorizontally
+     *         Whether or not to flip the character horizontally.
+     *
+     * @param flipVertically
+     *         Whether or not to flip the character vertically.
+     *
+     * @throws NullPointerException
+     *         If the pixels are null.
+     */
+    public void draw(final int[] pixels, final int framebufferWidth, final int framebufferHeight,
+                     final char character, final int x, final int y,
+                     final int backgroundRGB, final int foregroundRGB,
+                     final boolean flipHorizontally, final boolean flipVertically) {
+        Objects.requireNonNull(pixels);
+
+        draw(pixels, framebufferWidth, 0, framebufferHeight, character, x, y, backgroundRGB, foregroundRGB,
+             flipHorizontally, flipVertically);
+    }
+
+    /**
+     * Draws a character directly into a framebuffer.
+     *
+     * The colors are written as-is, without being blended with the existing
+     * content of the framebuffer. Any part of the character which falls
+     * outside of the framebuffer, or of its band, is not drawn.
+     *
+     * Unsupported characters are drawn using the '?' glyph.
+     *
+     * @param framebuffer
+     *         The framebuffer.
+     *
+     * @param character
+     *         The character.
+     *
+     * @param x
+     *         The x-axis coordinate to draw at.
+     *
+     * @param y
+     *         The y-axis coordinate to draw at.
+     *
+     * @param backgroundRGB
+     *         The ARGB value of the background color.
+     *
+     * @param foregroundRGB
+     *         The ARGB value of the foreground color.
+     *
+     * @param flipHorizontally
+     *         Whether or not to flip the character horizontally.
+     *
+     * @param flipVertically
+     *         Whether or not to flip the character vertically.
+     *
+     * @throws NullPointerException
+     *         If the framebuffer is null.
+     */
+    public void draw(final Framebuffer framebuffer, final char character, final int x, final int y,
+                     final int backgroundRGB, final int foregroundRGB,
+                     final boolean flipHorizontally, final boolean flipVertically) {
+        Objects.requireNonNull(framebuffer);
+
+        draw(framebuffer.getPixels(), framebuffer.getWidth(), framebuffer.getClipTop(), framebuffer.getClipBottom(),
+             character, x, y, backgroundRGB, foregroundRGB, flipHorizontally, flipVertically);
+    }
+
+    /**
+     * Draws a character directly into the rows, between the top and bottom
+     * clip, of a framebuffer.
+     *
+     * @param pixels
+     *         The pixels of the framebuffer.
+     *
+     * @param framebufferWidth
+     *         The width of the framebuffer, in pixels.
+     *
+     * @param clipTop
+     *         The y-axis coordinate of the first row that can be drawn to.
+     *
+     * @param clipBottom
+     *         The y-axis coordinate following the last row that can be drawn to.
+     *
+     * @param character
+     *         The character.
+     *
+     * @param x
+     *         The x-axis coordinate to draw at.
+     *
+     * @param y
+     *         The y-axis coordinate to draw at.
+     *
+     * @param backgroundRGB
+     *         The ARGB value of the background color.
+     *
+     * @param foregroundRGB
+     *         The ARGB value of the foreground color.
+     *
+     * @param flipHorizontally
+     *         Whether or not to flip the character horizontally.
+     *
+     * @param flipVertically
+     *         Whether or not to flip the character vertically.
+     */
+    private void draw(final int[] pixels, final int framebufferWidth, final int clipTop, final int clipBottom,
+                      final char character, final int x, final int y,
+                      final int backgroundRGB, final int foregroundRGB,
+                      final boolean flipHorizontally, final boolean flipVertically) {
+        final int slot = slotToDraw(character);
+        final int glyphWidth = slotWidth[slot];
+        final int glyphHeight = slotHeight[slot];
+
+        final int beginX = Math.max(0, -x);
+        final int endX = Math.min(glyphWidth, framebufferWidth - x);
+        final int beginY = Math.max(0, clipTop - y);
+        final int endY = Math.min(glyphHeight, clipBottom - y);
+
+        for (int glyphY = beginY ; glyphY < endY ; glyphY++) {
+            final int maskY = slotY[slot] + (flipVertically ? glyphHeight - 1 - glyphY : glyphY);
+            final int maskOffset = maskY * width + slotX[slot];
+            final int pixelOffset = (y + glyphY) * framebufferWidth + x;
+
+            for (int glyphX = beginX ; glyphX < endX ; glyphX++) {
+                final int maskX = (flipHorizontally ? glyphWidth - 1 - glyphX : glyphX);
+                final boolean isForeground = maskData[maskOffset + maskX] == FOREGROUND;
+
+                pixels[pixelOffset + glyphX] = (isForeground ? foregroundRGB : backgroundRGB);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the width of the glyph used to draw a character.
+     *
+     * @param character
+     *         The character.
+     *
+     * @return
+     *         The width.
+     */
+    public int getGlyphWidth(final char character) {
+        return slotWidth[slotOf(character)];
+    }
+
+    /**
+     * Retrieves the height of the glyph used to draw a character.
+     *
+     * @param character
+     *         The character.
+     *
+     * @return
+     *         The height.
+     */
+    public int getGlyphHeight(final char character) {
+        return slotHeight[slotOf(character)];
+    }
+
+    /**
+     * Determines the slot of the glyph used to draw a character.
+     *
+     * @param character
+     *         The character.
+     *
+     * @return
+     *         The slot.
+     */
+    private int slotOf(final char character) {
+        return (character < slots.length ? slots[character] : fallbackSlot);
+    }
+
+    /**
+     * Determines the slot of the glyph used to draw a character, and counts
+     * the draw as a missing-glyph hit if the character is unsupported.
+     *
+     * @param character
+     *         The character.
+     *
+     * @return
+     *         The slot.
+     */
+    private int slotToDraw(final char character) {
+        final int slot = slotOf(character);
+
+        if (slot == fallbackSlot && character != Font.FALLBACK_CHARACTER) {
+            font.recordMissingGlyph();
+        }
+
+        return slot;
+    }
+
+    /**
+     * Creates a view of the alpha-mask, where the foreground pixels are the
+     * specified color and the background pixels are transparent.
+     *
+     * The view shares the pixel data of the atlas, so only its palette
+     * is allocated.
+     *
+     * @param foregroundRGB
+     *         The ARGB value of the foreground color.
+     *
+     * @return
+     *         The view.
+     */
+    private BufferedImage createColorizedMask(final int foregroundRGB) {
+        final int[] palette = { 0, foregroundRGB };
+        final IndexColorModel colorModel = new IndexColorModel(8, 2, palette, 0, true, BACKGROUND, DataBuffer.TYPE_BYTE);
+        return new BufferedImage(colorModel, mask, false, null);
+    }
+}
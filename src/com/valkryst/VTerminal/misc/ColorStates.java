@@ -0,0 +1,136 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.AsciiGrid;
+import lombok.Getter;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Holds the packed back/foreground colors of every cell of a grid, for each
+ * state of a component, so that a state can be applied to the grid with one
+ * array copy per color rather than by setting the colors cell by cell.
+ *
+ * The colors of a state are packed when they're set, not when the state is
+ * applied, so applying a state never allocates.
+ */
+public class ColorStates {
+    /** The grid that the states are applied to. */
+    private final AsciiGrid grid;
+
+    /** The number of states. */
+    @Getter private final int totalStates;
+
+    /** The packed background colors of every cell, for each state. */
+    private final int[][] backgroundColors;
+    /** The packed foreground colors of every cell, for each state. */
+    private final int[][] foregroundColors;
+
+    /**
+     * Constructs a new ColorStates, where the cells of every state are
+     * transparent.
+     *
+     * @param grid
+     *         The grid that the states are applied to.
+     *
+     * @param totalStates
+     *         The number of states.
+     *
+     * @throws NullPointerException
+     *         If the grid is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the number of states is less than one.
+     */
+    public ColorStates(final AsciiGrid grid, final int totalStates) {
+        Objects.requireNonNull(grid);
+
+        if (totalStates < 1) {
+            throw new IllegalArgumentException("You must specify a totalStates of 1 or greater.");
+        }
+
+        this.grid = grid;
+        this.totalStates = totalStates;
+
+        final int totalCells = grid.getWidth() * grid.getHeight();
+        backgroundColors = new int[totalStates][totalCells];
+        foregroundColors = new int[totalStates][totalCells];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("ColorStates:");
+        sb.append("\n\tStates:\t").append(totalStates);
+        sb.append("\n\tCells:\t").append(grid.getWidth() * grid.getHeight());
+
+        return sb.toString();
+    }
+
+    /**
+     * Sets the back/foreground colors of every cell of a state.
+     *
+     * The grid is left unchanged until the state is applied.
+     *
+     * @param state
+     *         The state.
+     *
+     * @param backgroundColor
+     *         The new background color.
+     *
+     * @param foregroundColor
+     *         The new foreground color.
+     *
+     * @throws NullPointerException
+     *         If the background or foreground color is null.
+     *
+     * @throws IndexOutOfBoundsException
+     *         If the state is less than zero, or not less than the number of states.
+     */
+    public void setColors(final int state, final Color backgroundColor, final Color foregroundColor) {
+        Objects.requireNonNull(backgroundColor);
+        Objects.requireNonNull(foregroundColor);
+        checkState(state);
+
+        Arrays.fill(backgroundColors[state], backgroundColor.getRGB());
+        Arrays.fill(foregroundColors[state], foregroundColor.getRGB());
+    }
+
+    /**
+     * Copies the back/foreground colors of a state into the grid, and marks
+     * every cell of the grid as dirty.
+     *
+     * @param state
+     *         The state.
+     *
+     * @throws IndexOutOfBoundsException
+     *         If the state is less than zero, or not less than the number of states.
+     */
+    public void apply(final int state) {
+        checkState(state);
+
+        final int[] background = backgroundColors[state];
+        final int[] foreground = foregroundColors[state];
+
+        System.arraycopy(background, 0, grid.getBackgroundColors(), 0, background.length);
+        System.arraycopy(foreground, 0, grid.getForegroundColors(), 0, foreground.length);
+
+        grid.getDirtyRegions().markAllDirty();
+    }
+
+    /**
+     * Ensures that a state exists.
+     *
+     * @param state
+     *         The state.
+     *
+     * @throws IndexOutOfBoundsException
+     *         If the state is less than zero, or not less than the number of states.
+     */
+    private void checkState(final int state) {
+        if (state < 0 || state >= totalStates) {
+            throw new IndexOutOfBoundsException("The state " + state + " must be from 0 to " + (totalStates - 1) + ".");
+        }
+    }
+}
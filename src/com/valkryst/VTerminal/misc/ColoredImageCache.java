@@ -5,20 +5,71 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.valkryst.VTerminal.AsciiCharacter;
 import com.valkryst.VTerminal.AsciiTile;
 import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.GlyphAtlas;
 import lombok.Getter;
 
+import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 public class ColoredImageCache {
+    /** The first four bytes of a cache file, "VTGC". */
+    private static final int FILE_MAGIC = 0x56544743;
+    /** The version of the cache file format. */
+    private static final int FILE_VERSION = 1;
+
+    /** The flag, of a cache file entry, set when the character is a tile. */
+    private static final int FLAG_TILE = 1;
+    /** The flag, of a cache file entry, set when the image is flipped horizontally. */
+    private static final int FLAG_FLIPPED_HORIZONTALLY = 1 << 1;
+    /** The flag, of a cache file entry, set when the image is flipped vertically. */
+    private static final int FLAG_FLIPPED_VERTICALLY = 1 << 2;
+
+    /** Runs each prewarm on its own low-priority daemon thread. */
+    private static final Executor PREWARM_EXECUTOR = runnable -> {
+        final Thread thread = new Thread(runnable, "VTerminal Image Cache Prewarm");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    };
+
+    /**
+     * The key used by each thread to look up images, so that cache hits
+     * don't allocate a new key.
+     */
+    private static final ThreadLocal<CacheKey> LOOKUP_KEYS = ThreadLocal.withInitial(CacheKey::new);
+
     /** The cache. */
-    private final Cache<Integer, BufferedImage> cachedImages;
+    private final Cache<CacheKey, BufferedImage> cachedImages;
 
     /** The font of the character images. */
     @Getter private final Font font;
 
+    /**
+     * The alpha-mask atlas of the font's characters.
+     *
+     * Null, unless drawing with the atlas has been enabled.
+     */
+    @Getter private GlyphAtlas glyphAtlas;
+
     /**
      * Constructs a new ColoredImageCache.
      *
@@ -67,6 +118,270 @@ public class ColoredImageCache {
         return Objects.hash(cachedImages);
     }
 
+    /** @return The approximate number of images in the cache. */
+    public long size() {
+        return cachedImages.estimatedSize();
+    }
+
+    /**
+     * Saves the key of every image in the cache, and optionally the images
+     * themselves, to a file.
+     *
+     * The file is only ever loaded into caches whose font has the same
+     * fingerprint and scale. Without the images, the file is much smaller,
+     * but each image must be recreated when the file is loaded.
+     *
+     * @param file
+     *         The file.
+     *
+     * @param includeImages
+     *         Whether or not to save the images.
+     *
+     * @throws NullPointerException
+     *         If the file is null.
+     *
+     * @throws IOException
+     *         If an I/O error occurs.
+     */
+    public void save(final File file, final boolean includeImages) throws IOException {
+        Objects.requireNonNull(file);
+
+        final Map<CacheKey, BufferedImage> images = new HashMap<>(cachedImages.asMap());
+        final int imageWidth = font.getWidth();
+        final int imageHeight = font.getHeight();
+        final int[] pixels = new int[imageWidth * imageHeight];
+
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))))) {
+            output.writeInt(FILE_MAGIC);
+            output.writeInt(FILE_VERSION);
+            output.writeLong(font.getFingerprint());
+            output.writeInt(font.getScale());
+            output.writeInt(imageWidth);
+            output.writeInt(imageHeight);
+            output.writeBoolean(includeImages);
+            output.writeInt(images.size());
+
+            for (final Map.Entry<CacheKey, BufferedImage> entry : images.entrySet()) {
+                final CacheKey key = entry.getKey();
+
+                int flags = (key.isTile ? FLAG_TILE : 0);
+                flags |= (key.isFlippedHorizontally ? FLAG_FLIPPED_HORIZONTALLY : 0);
+                flags |= (key.isFlippedVertically ? FLAG_FLIPPED_VERTICALLY : 0);
+
+                output.writeChar(key.character);
+                output.writeInt(key.backgroundRGB);
+                output.writeInt(key.foregroundRGB);
+                output.writeByte(flags);
+
+                if (includeImages) {
+                    entry.getValue().getRGB(0, 0, imageWidth, imageHeight, pixels, 0, imageWidth);
+
+                    for (final int pixel : pixels) {
+                        output.writeInt(pixel);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads every image, from a file saved by
+     * {@link #save(File, boolean)}, into the cache.
+     *
+     * Images which are already in the cache are kept. If the file was saved
+     * without its images, then each image is recreated.
+     *
+     * Nothing is loaded if the file was saved from a cache whose font had a
+     * different fingerprint or scale.
+     *
+     * @param file
+     *         The file.
+     *
+     * @return
+     *         The number of images loaded, or zero if the file was saved for a different font.
+     *
+     * @throws NullPointerException
+     *         If the file is null.
+     *
+     * @throws IOException
+     *         If an I/O error occurs, or if the file isn't a cache file.
+     */
+    public int load(final File file) throws IOException {
+        Objects.requireNonNull(file);
+
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (input.readInt() != FILE_MAGIC) {
+                throw new IOException("The file '" + file + "' isn't a cache file.");
+            }
+
+            final int version = input.readInt();
+
+            if (version != FILE_VERSION) {
+                throw new IOException("The cache file version " + version + " isn't supported.");
+            }
+
+            boolean isSameFont = input.readLong() == font.getFingerprint();
+            isSameFont &= input.readInt() == font.getScale();
+
+            final int imageWidth = input.readInt();
+            final int imageHeight = input.readInt();
+            isSameFont &= imageWidth == font.getWidth();
+            isSameFont &= imageHeight == font.getHeight();
+
+            if (isSameFont == false) {
+                return 0;
+            }
+
+            final boolean hasImages = input.readBoolean();
+            final int totalImages = input.readInt();
+            final int[] pixels = new int[imageWidth * imageHeight];
+
+            for (int i = 0 ; i < totalImages ; i++) {
+                final CacheKey key = new CacheKey();
+                final char character = input.readChar();
+                final int backgroundRGB = input.readInt();
+                final int foregroundRGB = input.readInt();
+                final int flags = input.readByte();
+
+                key.set(character, backgroundRGB, foregroundRGB, (flags & FLAG_TILE) != 0,
+                        (flags & FLAG_FLIPPED_HORIZONTALLY) != 0, (flags & FLAG_FLIPPED_VERTICALLY) != 0);
+
+                if (hasImages) {
+                    for (int j = 0 ; j < pixels.length ; j++) {
+                        pixels[j] = input.readInt();
+                    }
+
+                    final BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
+                    image.setRGB(0, 0, imageWidth, imageHeight, pixels, 0, imageWidth);
+                    cachedImages.asMap().putIfAbsent(key, image);
+                } else {
+                    retrieveFromCache(key.character, key.backgroundRGB, key.foregroundRGB, key.isTile,
+                                      key.isFlippedHorizontally, key.isFlippedVertically);
+                }
+            }
+
+            return totalImages;
+        }
+    }
+
+    /**
+     * Creates the image of every combination of the specified characters and
+     * colors, unless it's already in the cache.
+     *
+     * @param characters
+     *         The characters.
+     *
+     * @param backgroundColors
+     *         The background colors.
+     *
+     * @param foregroundColors
+     *         The foreground colors.
+     *
+     * @return
+     *         The number of combinations.
+     *
+     * @throws NullPointerException
+     *         If any of the collections are null.
+     */
+    public int prewarm(final Collection<Character> characters, final Collection<Color> backgroundColors,
+                       final Collection<Color> foregroundColors) {
+        Objects.requireNonNull(characters);
+        Objects.requireNonNull(backgroundColors);
+        Objects.requireNonNull(foregroundColors);
+
+        for (final Character character : characters) {
+            for (final Color backgroundColor : backgroundColors) {
+                for (final Color foregroundColor : foregroundColors) {
+                    retrieveFromCache(character, backgroundColor.getRGB(), foregroundColor.getRGB(), false);
+                }
+            }
+        }
+
+        return characters.size() * backgroundColors.size() * foregroundColors.size();
+    }
+
+    /**
+     * Loads a cache file, as with {@link #load(File)}, on a background thread.
+     *
+     * The cache can be used while the file is loading.
+     *
+     * @param file
+     *         The file.
+     *
+     * @return
+     *         A future which completes with the number of images loaded, or
+     *         exceptionally with an UncheckedIOException if the file couldn't
+     *         be loaded.
+     *
+     * @throws NullPointerException
+     *         If the file is null.
+     */
+    public CompletableFuture<Integer> prewarmAsync(final File file) {
+        Objects.requireNonNull(file);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return load(file);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, PREWARM_EXECUTOR);
+    }
+
+    /**
+     * Creates the images of a palette, as with
+     * {@link #prewarm(Collection, Collection, Collection)}, on a background
+     * thread.
+     *
+     * The cache can be used while the images are created.
+     *
+     * @param characters
+     *         The characters.
+     *
+     * @param backgroundColors
+     *         The background colors.
+     *
+     * @param foregroundColors
+     *         The foreground colors.
+     *
+     * @return
+     *         A future which completes with the number of combinations.
+     *
+     * @throws NullPointerException
+     *         If any of the collections are null.
+     */
+    public CompletableFuture<Integer> prewarmAsync(final Collection<Character> characters,
+                                                   final Collection<Color> backgroundColors,
+                                                   final Collection<Color> foregroundColors) {
+        Objects.requireNonNull(characters);
+        Objects.requireNonNull(backgroundColors);
+        Objects.requireNonNull(foregroundColors);
+
+        return CompletableFuture.supplyAsync(() -> prewarm(characters, backgroundColors, foregroundColors), PREWARM_EXECUTOR);
+    }
+
+    /**
+     * Sets whether or not characters are to be drawn using an alpha-mask
+     * atlas of the font, rather than using a colored image per combination
+     * of character, background color, and foreground color.
+     *
+     * The atlas is used for every character that isn't a tile and that has
+     * an opaque background color. All other characters are drawn using the
+     * colored images of this cache.
+     *
+     * @param enabled
+     *        Whether or not to draw using the atlas.
+     */
+    public void setGlyphAtlasEnabled(final boolean enabled) {
+        if (enabled) {
+            if (glyphAtlas == null) {
+                glyphAtlas = new GlyphAtlas(font);
+            }
+        } else {
+            glyphAtlas = null;
+        }
+    }
+
     /**
      * Retrieves a character image from the cache.
      *
@@ -85,15 +400,90 @@ public class ColoredImageCache {
     public BufferedImage retrieveFromCache(final AsciiCharacter character) {
         Objects.requireNonNull(character);
 
-        final int hashCode = Objects.hash(character.getCharacter(),
-                                          character.getBackgroundColor(),
-                                          character.getForegroundColor());
+        return retrieveFromCache(character.getCharacter(),
+                                 character.getBackgroundColor().getRGB(),
+                                 character.getForegroundColor().getRGB(),
+                                 character instanceof AsciiTile,
+                                 character.isFlippedHorizontally(),
+                                 character.isFlippedVertically());
+    }
+
+    /**
+     * Retrieves a character image from the cache.
+     *
+     * If no image could be found, then one is created, inserted into
+     * the cache, and then returned.
+     *
+     * @param character
+     *        The character.
+     *
+     * @param backgroundRGB
+     *        The ARGB value of the background color.
+     *
+     * @param foregroundRGB
+     *        The ARGB value of the foreground color.
+     *
+     * @param isTile
+     *        Whether or not the character is a tile, in which case the
+     *        foreground color isn't applied.
+     *
+     * @return
+     *        The character image.
+     */
+    public BufferedImage retrieveFromCache(final char character, final int backgroundRGB, final int foregroundRGB,
+                                           final boolean isTile) {
+        return retrieveFromCache(character, backgroundRGB, foregroundRGB, isTile, false, false);
+    }
+
+    /**
+     * Retrieves a character image from the cache.
+     *
+     * If no image could be found, then one is created, inserted into
+     * the cache, and then returned. Flipped images are created by mirroring
+     * the unflipped image, pixel for pixel.
+     *
+     * @param character
+     *        The character.
+     *
+     * @param backgroundRGB
+     *        The ARGB value of the background color.
+     *
+     * @param foregroundRGB
+     *        The ARGB value of the foreground color.
+     *
+     * @param isTile
+     *        Whether or not the character is a tile, in which case the
+     *        foreground color isn't applied.
+     *
+     * @param flipHorizontally
+     *        Whether or not the image is flipped horizontally.
+     *
+     * @param flipVertically
+     *        Whether or not the image is flipped vertically.
+     *
+     * @return
+     *        The character image.
+     */
+    public BufferedImage retrieveFromCache(final char character, final int backgroundRGB, final int foregroundRGB,
+                                           final boolean isTile, final boolean flipHorizontally,
+                                           final boolean flipVertically) {
+        final CacheKey lookupKey = LOOKUP_KEYS.get();
+        lookupKey.set(character, backgroundRGB, foregroundRGB, isTile, flipHorizontally, flipVertically);
 
-        BufferedImage image = cachedImages.getIfPresent(hashCode);
+        BufferedImage image = cachedImages.getIfPresent(lookupKey);
 
         if (image == null) {
-            image = applyColorSwap(character, font);
-            cachedImages.put(hashCode, image);
+            final CacheKey key = lookupKey.copy();
+
+            if (flipHorizontally || flipVertically) {
+                // The lookup of the unflipped image reuses the lookup key.
+                image = retrieveFromCache(character, backgroundRGB, foregroundRGB, isTile, false, false);
+                image = mirrorImage(image, flipHorizontally, flipVertically);
+            } else {
+                image = applyColorSwap(character, backgroundRGB, foregroundRGB, isTile, font);
+            }
+
+            cachedImages.put(key, image);
         }
 
         return image;
@@ -103,38 +493,28 @@ public class ColoredImageCache {
      * Gets a character image for a character  and applies the back/foreground
      * colors to it.
      *
+     * @param character
+     *        The character.
+     *
+     * @param backgroundRGB
+     *        The ARGB value of the background color.
+     *
+     * @param foregroundRGB
+     *        The ARGB value of the foreground color.
+     *
+     * @param isTile
+     *        Whether or not the character is a tile.
+     *
      * @param font
      *        The font to retrieve the base character image from.
      *
      * @return
      *        The character image.
-     *
-     * @throws NullPointerException
-     *         If the character is null.
      */
-    private static BufferedImage applyColorSwap(final AsciiCharacter character, final Font font) {
-        Objects.requireNonNull(character);
-
-        BufferedImage image;
-
-        try {
-            image = cloneImage(font.getCharacterImage(character.getCharacter()));
-        } catch (final NullPointerException e) {
-            System.err.println("Couldn't display '" + character.getCharacter() + "', represented by the decimal #"
-                               + (int) character.getCharacter() +".");
-
-            System.err.println("When this error occurs, it means that the font being used does not contain a sprite"
-                               + " for the character being used.");
-
-            System.err.println("Defaulting to the '?' sprite.\n");
-
-            image = cloneImage(font.getCharacterImage('?'));
-        }
-
-
-        final int backgroundRGB = character.getBackgroundColor().getRGB();
-        final int foregroundRGB = character.getForegroundColor().getRGB();
-        final boolean isTile = character instanceof AsciiTile;
+    private static BufferedImage applyColorSwap(final char character, final int backgroundRGB,
+                                                final int foregroundRGB, final boolean isTile, final Font font) {
+        // Unsupported characters are drawn with the font's fallback image, and counted by the font.
+        final BufferedImage image = cloneImage(font.getCharacterImage(character));
 
         for (int y = 0; y < image.getHeight(); y++) {
             for (int x = 0; x < image.getWidth(); x++) {
@@ -160,6 +540,43 @@ public class ColoredImageCache {
         return image;
     }
 
+    /**
+     * Makes a mirrored copy of an image.
+     *
+     * @param image
+     *        The image.
+     *
+     * @param flipHorizontally
+     *        Whether or not to mirror the image horizontally.
+     *
+     * @param flipVertically
+     *        Whether or not to mirror the image vertically.
+     *
+     * @return
+     *        The mirrored image.
+     */
+    private static BufferedImage mirrorImage(final BufferedImage image, final boolean flipHorizontally,
+                                             final boolean flipVertically) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+
+        final int[] source = image.getRGB(0, 0, width, height, null, 0, width);
+        final int[] mirrored = new int[source.length];
+
+        for (int y = 0 ; y < height ; y++) {
+            final int sourceOffset = (flipVertically ? height - 1 - y : y) * width;
+            final int offset = y * width;
+
+            for (int x = 0 ; x < width ; x++) {
+                mirrored[offset + x] = source[sourceOffset + (flipHorizontally ? width - 1 - x : x)];
+            }
+        }
+
+        final BufferedImage newImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        newImage.setRGB(0, 0, width, height, mirrored, 0, width);
+        return newImage;
+    }
+
     /**
      * Makes a clone of an image.
      *
@@ -175,10 +592,98 @@ public class ColoredImageCache {
     private static BufferedImage cloneImage(final BufferedImage image) {
         Objects.requireNonNull(image);
 
-        final BufferedImage newImage = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+        final BufferedImage newImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
         final Graphics g = newImage.getGraphics();
         g.drawImage(image, 0, 0, null);
         g.dispose();
         return newImage;
     }
+
+    /**
+     * The key of a character image within the cache.
+     *
+     * Every property that affects the image is part of the key, so two
+     * different images can never share a key.
+     */
+    private static final class CacheKey {
+        /** The character. */
+        private char character;
+        /** The ARGB value of the background color. */
+        private int backgroundRGB;
+        /** The ARGB value of the foreground color. */
+        private int foregroundRGB;
+        /** Whether or not the character is a tile. */
+        private boolean isTile;
+        /** Whether or not the image is flipped horizontally. */
+        private boolean isFlippedHorizontally;
+        /** Whether or not the image is flipped vertically. */
+        private boolean isFlippedVertically;
+
+        /**
+         * Sets the properties of the key.
+         *
+         * Only used on the lookup keys, as keys within the cache must
+         * never change.
+         *
+         * @param character
+         *        The character.
+         *
+         * @param backgroundRGB
+         *        The ARGB value of the background color.
+         *
+         * @param foregroundRGB
+         *        The ARGB value of the foreground color.
+         *
+         * @param isTile
+         *        Whether or not the character is a tile.
+         *
+         * @param isFlippedHorizontally
+         *        Whether or not the image is flipped horizontally.
+         *
+         * @param isFlippedVertically
+         *        Whether or not the image is flipped vertically.
+         */
+        private void set(final char character, final int backgroundRGB, final int foregroundRGB, final boolean isTile,
+                         final boolean isFlippedHorizontally, final boolean isFlippedVertically) {
+            this.character = character;
+            this.backgroundRGB = backgroundRGB;
+            this.foregroundRGB = foregroundRGB;
+            this.isTile = isTile;
+            this.isFlippedHorizontally = isFlippedHorizontally;
+            this.isFlippedVertically = isFlippedVertically;
+        }
+
+        /** @return A copy of the key. */
+        private CacheKey copy() {
+            final CacheKey key = new CacheKey();
+            key.set(character, backgroundRGB, foregroundRGB, isTile, isFlippedHorizontally, isFlippedVertically);
+            return key;
+        }
+
+        @Override
+        public boolean equals(final Object otherObj) {
+            if (otherObj instanceof CacheKey == false) {
+                return false;
+            }
+
+            final CacheKey otherKey = (CacheKey) otherObj;
+            boolean isEqual = character == otherKey.character;
+            isEqual &= backgroundRGB == otherKey.backgroundRGB;
+            isEqual &= foregroundRGB == otherKey.foregroundRGB;
+            isEqual &= isTile == otherKey.isTile;
+            isEqual &= isFlippedHorizontally == otherKey.isFlippedHorizontally;
+            isEqual &= isFlippedVertically == otherKey.isFlippedVertically;
+            return isEqual;
+        }
+
+        @Override
+        public int hashCode() {
+            // Computed by hand, as Objects.hash boxes its arguments.
+            int hash = character | (isTile ? 1 << 16 : 0);
+            hash |= (isFlippedHorizontally ? 1 << 17 : 0) | (isFlippedVertically ? 1 << 18 : 0);
+            hash = (hash * 31) + backgroundRGB;
+            hash = (hash * 31) + foregroundRGB;
+            return hash;
+        }
+    }
 }
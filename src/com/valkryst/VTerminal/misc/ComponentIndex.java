@@ -0,0 +1,205 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.component.Component;
+import lombok.Getter;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maps each cell of an area to the topmost component covering it, so the
+ * component under a point can be found without checking every component.
+ *
+ * Components are stacked in the order that they're added, so the most
+ * recently added component is the topmost. Adding a component only touches
+ * the cells that it covers, and removing or moving a component only
+ * restacks the cells that it covered.
+ */
+public class ComponentIndex {
+    /** The width, in cells, of the indexed area. */
+    @Getter private final int width;
+    /** The height, in cells, of the indexed area. */
+    @Getter private final int height;
+
+    /** The topmost component of each cell, stored one row after another. */
+    private final Component[] cells;
+
+    /** The indexed components, from bottom to top. */
+    private final List<Component> components = new ArrayList<>();
+
+    /**
+     * Constructs a new ComponentIndex.
+     *
+     * @param width
+     *         The width, in cells, of the indexed area.
+     *
+     * @param height
+     *         The height, in cells, of the indexed area.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is less than zero.
+     */
+    public ComponentIndex(final int width, final int height) {
+        if (width < 0) {
+            throw new IllegalArgumentException("You must specify a width of 0 or greater.");
+        }
+
+        if (height < 0) {
+            throw new IllegalArgumentException("You must specify a height of 0 or greater.");
+        }
+
+        this.width = width;
+        this.height = height;
+
+        cells = new Component[width * height];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("ComponentIndex:");
+        sb.append("\n\tWidth:\t").append(width);
+        sb.append("\n\tHeight:\t").append(height);
+        sb.append("\n\tComponents:\t").append(components.size());
+
+        return sb.toString();
+    }
+
+    /**
+     * Adds a component on top of every indexed component.
+     *
+     * The component must not already be indexed.
+     *
+     * @param component
+     *         The component.
+     *
+     * @throws NullPointerException
+     *         If the component is null.
+     */
+    public void add(final Component component) {
+        Objects.requireNonNull(component);
+
+        components.add(component);
+        fill(component.getBoundingBox(), component);
+    }
+
+    /**
+     * Removes a component, uncovering whichever components lie beneath it.
+     *
+     * Does nothing if the component isn't indexed.
+     *
+     * @param component
+     *         The component.
+     *
+     * @throws NullPointerException
+     *         If the component is null.
+     */
+    public void remove(final Component component) {
+        Objects.requireNonNull(component);
+
+        if (components.remove(component)) {
+            restack(component.getBoundingBox());
+        }
+    }
+
+    /**
+     * Updates the cells covered by a component which has been moved or
+     * resized.
+     *
+     * Does nothing if the component isn't indexed.
+     *
+     * @param component
+     *         The component.
+     *
+     * @param previousBounds
+     *         The bounding box of the component before it was moved or
+     *         resized.
+     *
+     * @throws NullPointerException
+     *         If the component or previous bounds are null.
+     */
+    public void update(final Component component, final Rectangle previousBounds) {
+        Objects.requireNonNull(component);
+        Objects.requireNonNull(previousBounds);
+
+        if (components.contains(component)) {
+            restack(previousBounds);
+            restack(component.getBoundingBox());
+        }
+    }
+
+    /** Removes every component. */
+    public void clear() {
+        components.clear();
+        Arrays.fill(cells, null);
+    }
+
+    /**
+     * Retrieves the topmost component covering a cell.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     *
+     * @return
+     *         The component, or null if no component covers the cell or if
+     *         the cell is outside of the indexed area.
+     */
+    public Component getComponentAt(final int column, final int row) {
+        if (column < 0 || column >= width || row < 0 || row >= height) {
+            return null;
+        }
+
+        return cells[row * width + column];
+    }
+
+    /**
+     * Recomputes the topmost component of every cell in an area, by
+     * restacking every component that overlaps the area from bottom to top.
+     *
+     * @param area
+     *         The area.
+     */
+    private void restack(final Rectangle area) {
+        fill(area, null);
+
+        for (final Component component : components) {
+            final Rectangle boundingBox = component.getBoundingBox();
+
+            if (boundingBox.intersects(area)) {
+                fill(boundingBox.intersection(area), component);
+            }
+        }
+    }
+
+    /**
+     * Sets the topmost component of every cell in an area.
+     *
+     * Any part of the area outside of the indexed area is ignored.
+     *
+     * @param area
+     *         The area.
+     *
+     * @param component
+     *         The component, or null to uncover the cells.
+     */
+    private void fill(final Rectangle area, final Component component) {
+        final int beginColumn = Math.max(0, area.x);
+        final int beginRow = Math.max(0, area.y);
+        final int endColumn = (int) Math.min(width, (long) area.x + area.width);
+        final int endRow = (int) Math.min(height, (long) area.y + area.height);
+
+        for (int row = beginRow ; row < endRow ; row++) {
+            final int offset = row * width;
+
+            if (beginColumn < endColumn) {
+                Arrays.fill(cells, offset + beginColumn, offset + endColumn, component);
+            }
+        }
+    }
+}
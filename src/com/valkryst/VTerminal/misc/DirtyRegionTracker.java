@@ -0,0 +1,586 @@
+package com.valkryst.VTerminal.misc;
+
+import lombok.Getter;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class DirtyRegionTracker {
+    /** The number of bits in a word of a bitset. */
+    private static final int BITS_PER_WORD = 64;
+
+    /** The width, in cells, of the tracked area. */
+    @Getter private final int width;
+    /** The height, in cells, of the tracked area. */
+    @Getter private final int height;
+
+    /** The number of words used to represent a single row. */
+    private final int wordsPerRow;
+
+    /** The per-row bitsets of dirty cells, stored one row after another. */
+    private final long[] dirtyCells;
+    /** The bitset of rows containing at least one dirty cell. */
+    private final long[] dirtyRows;
+
+    /**
+     * Constructs a new DirtyRegionTracker with every cell marked as dirty.
+     *
+     * @param width
+     *         The width, in cells, of the tracked area.
+     *
+     * @param height
+     *         The height, in cells, of the tracked area.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is less than zero.
+     */
+    public DirtyRegionTracker(final int width, final int height) {
+        if (width < 0) {
+            throw new IllegalArgumentException("You must specify a width of 0 or greater.");
+        }
+
+        if (height < 0) {
+            throw new IllegalArgumentException("You must specify a height of 0 or greater.");
+        }
+
+        this.width = width;
+        this.height = height;
+
+        wordsPerRow = (width + BITS_PER_WORD - 1) / BITS_PER_WORD;
+        dirtyCells = new long[wordsPerRow * height];
+        dirtyRows = new long[(height + BITS_PER_WORD - 1) / BITS_PER_WORD];
+
+        markAllDirty();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("DirtyRegionTracker:");
+        sb.append("\n\tWidth:\t").append(width);
+        sb.append("\n\tHeight:\t").append(height);
+        sb.append("\n\tDirty Regions:\t").append(getDirtyRectangles());
+
+        return sb.toString();
+    }
+
+    /** Marks every cell as dirty. */
+    public void markAllDirty() {
+        markDirty(0, 0, width, height);
+    }
+
+    /**
+     * Marks a cell as dirty.
+     *
+     * Does nothing if the cell is outside of the tracked area.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     */
+    public void markDirty(final int column, final int row) {
+        if (column < 0 || column >= width || row < 0 || row >= height) {
+            return;
+        }
+
+        dirtyCells[row * wordsPerRow + column / BITS_PER_WORD] |= 1L << column;
+        dirtyRows[row / BITS_PER_WORD] |= 1L << row;
+    }
+
+    /**
+     * Marks a run of cells, within a row, as dirty.
+     *
+     * The run is clipped to the tracked area.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cells.
+     *
+     * @param beginColumn
+     *         The x-axis (column) coordinate of the first cell.
+     *
+     * @param endColumn
+     *         The x-axis (column) coordinate after the last cell.
+     */
+    public void markDirty(final int row, int beginColumn, int endColumn) {
+        if (row < 0 || row >= height) {
+            return;
+        }
+
+        beginColumn = Math.max(beginColumn, 0);
+        endColumn = Math.min(endColumn, width);
+
+        if (beginColumn >= endColumn) {
+            return;
+        }
+
+        final int rowOffset = row * wordsPerRow;
+        final int beginWord = beginColumn / BITS_PER_WORD;
+        final int endWord = (endColumn - 1) / BITS_PER_WORD;
+
+        final long beginMask = -1L << beginColumn;
+        final long endMask = -1L >>> -endColumn;
+
+        if (beginWord == endWord) {
+            dirtyCells[rowOffset + beginWord] |= beginMask & endMask;
+        } else {
+            dirtyCells[rowOffset + beginWord] |= beginMask;
+            Arrays.fill(dirtyCells, rowOffset + beginWord + 1, rowOffset + endWord, -1L);
+            dirtyCells[rowOffset + endWord] |= endMask;
+        }
+
+        dirtyRows[row / BITS_PER_WORD] |= 1L << row;
+    }
+
+    /**
+     * Marks a rectangle of cells as dirty.
+     *
+     * The rectangle is clipped to the tracked area.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the top-left cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the top-left cell.
+     *
+     * @param width
+     *         The width, in cells, of the rectangle.
+     *
+     * @param height
+     *         The height, in cells, of the rectangle.
+     */
+    public void markDirty(final int column, final int row, final int width, final int height) {
+        final int endRow = Math.min(row + height, this.height);
+
+        for (int y = Math.max(row, 0) ; y < endRow ; y++) {
+            markDirty(y, column, column + width);
+        }
+    }
+
+    /**
+     * Marks every cell, that is dirty within another tracker, as dirty.
+     *
+     * @param other
+     *         The other tracker.
+     *
+     * @param columnOffset
+     *         The x-axis (column) coordinate, within this tracker, of the other
+     *         tracker's top-left cell.
+     *
+     * @param rowOffset
+     *         The y-axis (row) coordinate, within this tracker, of the other
+     *         tracker's top-left cell.
+     */
+    public void markDirty(final DirtyRegionTracker other, final int columnOffset, final int rowOffset) {
+        for (int row = other.nextDirtyRow(0) ; row != -1 ; row = other.nextDirtyRow(row + 1)) {
+            int beginColumn = other.nextDirtyColumn(row, 0);
+
+            while (beginColumn != -1) {
+                final int endColumn = other.nextCleanColumn(row, beginColumn);
+                markDirty(row + rowOffset, beginColumn + columnOffset, endColumn + columnOffset);
+                beginColumn = other.nextDirtyColumn(row, endColumn);
+            }
+        }
+    }
+
+    /**
+     * Marks every cell, that is dirty within a rectangle of another tracker,
+     * as dirty within this tracker.
+     *
+     * Used to carry damage from a parent area into a child area which
+     * overlaps it.
+     *
+     * @param other
+     *         The other tracker.
+     *
+     * @param column
+     *         The x-axis (column) coordinate, within the other tracker, of this
+     *         tracker's top-left cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate, within the other tracker, of this
+     *         tracker's top-left cell.
+     */
+    public void markDirtyFrom(final DirtyRegionTracker other, final int column, final int row) {
+        final int endRow = Math.min(row + height, other.height);
+
+        for (int y = other.nextDirtyRow(Math.max(row, 0)) ; y != -1 && y < endRow ; y = other.nextDirtyRow(y + 1)) {
+            int beginColumn = other.nextDirtyColumn(y, Math.max(column, 0));
+
+            while (beginColumn != -1 && beginColumn < column + width) {
+                final int endColumn = other.nextCleanColumn(y, beginColumn);
+                markDirty(y - row, beginColumn - column, endColumn - column);
+                beginColumn = other.nextDirtyColumn(y, endColumn);
+            }
+        }
+    }
+
+    /**
+     * Copies whether or not each cell, of a rectangle, is dirty to another
+     * rectangle of the same size.
+     *
+     * Used when the cells themselves, and whatever was last drawn for them,
+     * are copied rather than redrawn. Both rectangles must lie within the
+     * tracked area, but may overlap.
+     *
+     * @param sourceColumn
+     *         The x-axis (column) coordinate of the top-left cell to copy.
+     *
+     * @param sourceRow
+     *         The y-axis (row) coordinate of the top-left cell to copy.
+     *
+     * @param width
+     *         The width, in cells, of the rectangle.
+     *
+     * @param height
+     *         The height, in cells, of the rectangle.
+     *
+     * @param column
+     *         The x-axis (column) coordinate to copy the top-left cell to.
+     *
+     * @param row
+     *         The y-axis (row) coordinate to copy the top-left cell to.
+     */
+    public void copyRegion(final int sourceColumn, final int sourceRow, final int width, final int height,
+                           final int column, final int row) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        // When copying downwards, copy the bottom row first so that no row is overwritten before it's copied.
+        final boolean isBottomUp = row > sourceRow;
+
+        for (int i = 0 ; i < height ; i++) {
+            final int offset = (isBottomUp ? height - 1 - i : i);
+            final int fromRow = sourceRow + offset;
+            final int toRow = row + offset;
+
+            if (sourceColumn == column) {
+                copyRun(fromRow, toRow, column, column + width);
+            } else {
+                // When copying rightwards, copy the last cell first so that no cell is overwritten before it's copied.
+                final boolean isRightToLeft = column > sourceColumn;
+
+                for (int j = 0 ; j < width ; j++) {
+                    final int x = (isRightToLeft ? width - 1 - j : j);
+                    setDirty(column + x, toRow, isDirty(sourceColumn + x, fromRow));
+                }
+            }
+
+            updateRow(toRow);
+        }
+    }
+
+    /**
+     * Copies whether or not each cell, of a run of columns, is dirty from one
+     * row to another.
+     *
+     * @param fromRow
+     *         The y-axis (row) coordinate of the row to copy from.
+     *
+     * @param toRow
+     *         The y-axis (row) coordinate of the row to copy to.
+     *
+     * @param beginColumn
+     *         The x-axis (column) coordinate of the first cell.
+     *
+     * @param endColumn
+     *         The x-axis (column) coordinate after the last cell.
+     */
+    private void copyRun(final int fromRow, final int toRow, final int beginColumn, final int endColumn) {
+        final int fromOffset = fromRow * wordsPerRow;
+        final int toOffset = toRow * wordsPerRow;
+
+        for (int word = beginColumn / BITS_PER_WORD ; word <= (endColumn - 1) / BITS_PER_WORD ; word++) {
+            final int wordBegin = word * BITS_PER_WORD;
+
+            long mask = -1L;
+
+            if (beginColumn > wordBegin) {
+                mask &= -1L << beginColumn;
+            }
+
+            if (endColumn < wordBegin + BITS_PER_WORD) {
+                mask &= -1L >>> -endColumn;
+            }
+
+            dirtyCells[toOffset + word] = (dirtyCells[toOffset + word] & ~mask) | (dirtyCells[fromOffset + word] & mask);
+        }
+    }
+
+    /**
+     * Sets whether or not a cell is dirty, without updating the bitset of
+     * dirty rows.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     *
+     * @param isDirty
+     *         Whether or not the cell is dirty.
+     */
+    private void setDirty(final int column, final int row, final boolean isDirty) {
+        final int index = row * wordsPerRow + column / BITS_PER_WORD;
+
+        if (isDirty) {
+            dirtyCells[index] |= 1L << column;
+        } else {
+            dirtyCells[index] &= ~(1L << column);
+        }
+    }
+
+    /**
+     * Updates the bit, of the bitset of dirty rows, for a row.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the row.
+     */
+    private void updateRow(final int row) {
+        final int rowOffset = row * wordsPerRow;
+        boolean isDirty = false;
+
+        for (int word = 0 ; word < wordsPerRow && isDirty == false ; word++) {
+            isDirty = dirtyCells[rowOffset + word] != 0;
+        }
+
+        if (isDirty) {
+            dirtyRows[row / BITS_PER_WORD] |= 1L << row;
+        } else {
+            dirtyRows[row / BITS_PER_WORD] &= ~(1L << row);
+        }
+    }
+
+    /** Marks every cell as clean. */
+    public void clear() {
+        Arrays.fill(dirtyCells, 0);
+        Arrays.fill(dirtyRows, 0);
+    }
+
+    /**
+     * Determines whether or not a cell is dirty.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     *
+     * @return
+     *         Whether or not the cell is dirty.
+     *         False if the cell is outside of the tracked area.
+     */
+    public boolean isDirty(final int column, final int row) {
+        if (column < 0 || column >= width || row < 0 || row >= height) {
+            return false;
+        }
+
+        return (dirtyCells[row * wordsPerRow + column / BITS_PER_WORD] & (1L << column)) != 0;
+    }
+
+    /**
+     * Determines whether or not a row contains any dirty cells.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the row.
+     *
+     * @return
+     *         Whether or not the row contains any dirty cells.
+     *         False if the row is outside of the tracked area.
+     */
+    public boolean isRowDirty(final int row) {
+        if (row < 0 || row >= height) {
+            return false;
+        }
+
+        return (dirtyRows[row / BITS_PER_WORD] & (1L << row)) != 0;
+    }
+
+    /**
+     * Determines whether or not any cell is dirty.
+     *
+     * @return
+     *         Whether or not any cell is dirty.
+     */
+    public boolean hasDirtyRegions() {
+        for (final long word : dirtyRows) {
+            if (word != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds the first row, at or after the specified row, which contains any
+     * dirty cells.
+     *
+     * @param fromRow
+     *         The y-axis (row) coordinate to begin searching from.
+     *
+     * @return
+     *         The y-axis (row) coordinate of the dirty row, or -1 if there is none.
+     */
+    public int nextDirtyRow(final int fromRow) {
+        return nextSetBit(dirtyRows, 0, dirtyRows.length, fromRow, height);
+    }
+
+    /**
+     * Finds the first dirty cell, at or after the specified column, within a row.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the row.
+     *
+     * @param fromColumn
+     *         The x-axis (column) coordinate to begin searching from.
+     *
+     * @return
+     *         The x-axis (column) coordinate of the dirty cell, or -1 if there is none.
+     */
+    public int nextDirtyColumn(final int row, final int fromColumn) {
+        if (row < 0 || row >= height) {
+            return -1;
+        }
+
+        return nextSetBit(dirtyCells, row * wordsPerRow, wordsPerRow, fromColumn, width);
+    }
+
+    /**
+     * Finds the first clean cell, at or after the specified column, within a row.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the row.
+     *
+     * @param fromColumn
+     *         The x-axis (column) coordinate to begin searching from.
+     *
+     * @return
+     *         The x-axis (column) coordinate of the clean cell, or the width if
+     *         every remaining cell is dirty.
+     */
+    public int nextCleanColumn(final int row, int fromColumn) {
+        if (row < 0 || row >= height) {
+            return width;
+        }
+
+        fromColumn = Math.max(fromColumn, 0);
+
+        if (fromColumn >= width) {
+            return width;
+        }
+
+        final int rowOffset = row * wordsPerRow;
+        int wordIndex = fromColumn / BITS_PER_WORD;
+        long word = ~dirtyCells[rowOffset + wordIndex] & (-1L << fromColumn);
+
+        while (true) {
+            if (word != 0) {
+                return Math.min(wordIndex * BITS_PER_WORD + Long.numberOfTrailingZeros(word), width);
+            }
+
+            if (++wordIndex == wordsPerRow) {
+                return width;
+            }
+
+            word = ~dirtyCells[rowOffset + wordIndex];
+        }
+    }
+
+    /**
+     * Determines the set of rectangles which cover every dirty cell.
+     *
+     * Runs of dirty cells within a row are merged with identical runs on the
+     * rows directly above them.
+     *
+     * @return
+     *         The rectangles.
+     */
+    public List<Rectangle> getDirtyRectangles() {
+        final List<Rectangle> rectangles = new ArrayList<>();
+        List<Rectangle> previousRow = new ArrayList<>();
+
+        for (int row = nextDirtyRow(0) ; row != -1 ; row = nextDirtyRow(row + 1)) {
+            final List<Rectangle> currentRow = new ArrayList<>();
+            int beginColumn = nextDirtyColumn(row, 0);
+
+            while (beginColumn != -1) {
+                final int endColumn = nextCleanColumn(row, beginColumn);
+                Rectangle rectangle = null;
+
+                for (final Rectangle previous : previousRow) {
+                    boolean canMerge = previous.x == beginColumn;
+                    canMerge &= previous.width == endColumn - beginColumn;
+                    canMerge &= previous.y + previous.height == row;
+
+                    if (canMerge) {
+                        rectangle = previous;
+                        rectangle.height++;
+                        break;
+                    }
+                }
+
+                if (rectangle == null) {
+                    rectangle = new Rectangle(beginColumn, row, endColumn - beginColumn, 1);
+                    rectangles.add(rectangle);
+                }
+
+                currentRow.add(rectangle);
+                beginColumn = nextDirtyColumn(row, endColumn);
+            }
+
+            previousRow = currentRow;
+        }
+
+        return rectangles;
+    }
+
+    /**
+     * Finds the first set bit, at or after the specified index, within a bitset.
+     *
+     * @param words
+     *         The array containing the bitset.
+     *
+     * @param offset
+     *         The index of the bitset's first word within the array.
+     *
+     * @param length
+     *         The number of words in the bitset.
+     *
+     * @param fromIndex
+     *         The bit index to begin searching from.
+     *
+     * @param limit
+     *         The number of valid bits in the bitset.
+     *
+     * @return
+     *         The index of the set bit, or -1 if there is none.
+     */
+    private static int nextSetBit(final long[] words, final int offset, final int length, int fromIndex, final int limit) {
+        fromIndex = Math.max(fromIndex, 0);
+
+        if (fromIndex >= limit) {
+            return -1;
+        }
+
+        int wordIndex = fromIndex / BITS_PER_WORD;
+        long word = words[offset + wordIndex] & (-1L << fromIndex);
+
+        while (true) {
+            if (word != 0) {
+                final int index = wordIndex * BITS_PER_WORD + Long.numberOfTrailingZeros(word);
+                return (index < limit ? index : -1);
+            }
+
+            if (++wordIndex == length) {
+                return -1;
+            }
+
+            word = words[offset + wordIndex];
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.valkryst.VTerminal.misc;
+
+import lombok.Getter;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Objects;
+
+public class Framebuffer {
+    /** The image that the framebuffer draws into. */
+    @Getter private final BufferedImage image;
+    /** The pixels of the image, in row-major order. */
+    @Getter private final int[] pixels;
+
+    /** The width of the framebuffer, in pixels. */
+    @Getter private final int width;
+    /** The height of the framebuffer, in pixels. */
+    @Getter private final int height;
+
+    /**
+     * The graphics context of the image.
+     *
+     * Used to draw anything which can't be copied directly into the pixels,
+     * such as translucent images.
+     */
+    @Getter private final Graphics2D graphics;
+
+    /** The y-axis coordinate of the first row of pixels that can be drawn to. */
+    @Getter private final int clipTop;
+    /** The y-axis coordinate following the last row of pixels that can be drawn to. */
+    @Getter private final int clipBottom;
+
+    /**
+     * Constructs a new Framebuffer.
+     *
+     * @param width
+     *         The width, in pixels.
+     *
+     * @param height
+     *         The height, in pixels.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is less than one.
+     */
+    public Framebuffer(final int width, final int height) {
+        this(createPixels(width, height), width, height);
+    }
+
+    /**
+     * Constructs a new Framebuffer, which draws into an existing array of
+     * pixels.
+     *
+     * The pixels are stored in row-major order, as RGB values. The highest
+     * byte of each pixel is unused.
+     *
+     * @param pixels
+     *         The pixels.
+     *
+     * @param width
+     *         The width, in pixels.
+     *
+     * @param height
+     *         The height, in pixels.
+     *
+     * @throws NullPointerException
+     *         If the pixels are null.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is less than one, or if there are fewer
+     *         than width * height pixels.
+     */
+    public Framebuffer(final int[] pixels, final int width, final int height) {
+        Objects.requireNonNull(pixels);
+        checkDimensions(width, height);
+
+        if (pixels.length < width * height) {
+            throw new IllegalArgumentException("There must be at least width * height pixels.");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+
+        final DirectColorModel colorModel = new DirectColorModel(24, 0xFF0000, 0xFF00, 0xFF);
+        final DataBufferInt dataBuffer = new DataBufferInt(pixels, width * height);
+        final WritableRaster raster = Raster.createPackedRaster(dataBuffer, width, height, width, colorModel.getMasks(), null);
+
+        image = new BufferedImage(colorModel, raster, false, null);
+        graphics = image.createGraphics();
+
+        clipTop = 0;
+        clipBottom = height;
+    }
+
+    /**
+     * Constructs a new view of a band of rows within a framebuffer.
+     *
+     * @param parent
+     *         The framebuffer.
+     *
+     * @param y
+     *         The y-axis coordinate of the first row of the band.
+     *
+     * @param bandHeight
+     *         The height of the band.
+     */
+    private Framebuffer(final Framebuffer parent, final int y, final int bandHeight) {
+        width = parent.width;
+        height = parent.height;
+
+        image = parent.image;
+        pixels = parent.pixels;
+        graphics = image.createGraphics();
+
+        clipTop = Math.max(parent.clipTop, y);
+        clipBottom = Math.min(parent.clipBottom, y + bandHeight);
+        graphics.clipRect(0, clipTop, width, Math.max(0, clipBottom - clipTop));
+    }
+
+    /**
+     * Creates a view of a horizontal band of the framebuffer.
+     *
+     * The view shares the pixels of the framebuffer, but has its own graphics
+     * context and doesn't draw outside of the band. Views of non-overlapping
+     * bands can be drawn to concurrently.
+     *
+     * The view must be disposed of once it's no longer needed.
+     *
+     * @param y
+     *         The y-axis coordinate of the first row of the band.
+     *
+     * @param bandHeight
+     *         The height of the band.
+     *
+     * @return
+     *         The view.
+     *
+     * @throws IllegalArgumentException
+     *         If the band height is less than one.
+     */
+    public Framebuffer createBand(final int y, final int bandHeight) {
+        if (bandHeight < 1) {
+            throw new IllegalArgumentException("The band height must be at least one.");
+        }
+
+        return new Framebuffer(this, y, bandHeight);
+    }
+
+    /**
+     * Copies an opaque image into the framebuffer, one row at a time.
+     *
+     * Images which aren't stored as TYPE_INT_ARGB are drawn using the
+     * graphics context instead. Any part of the image which falls outside
+     * of the framebuffer, or of its band, is not drawn.
+     *
+     * @param image
+     *         The image.
+     *
+     * @param x
+     *         The x-axis coordinate to draw at.
+     *
+     * @param y
+     *         The y-axis coordinate to draw at.
+     *
+     * @throws NullPointerException
+     *         If the image is null.
+     */
+    public void copyImage(final BufferedImage image, final int x, final int y) {
+        Objects.requireNonNull(image);
+
+        if (image.getType() != BufferedImage.TYPE_INT_ARGB) {
+            graphics.drawImage(image, x, y, null);
+            return;
+        }
+
+        final int[] source = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        final int sourceWidth = image.getWidth();
+
+        final int beginX = Math.max(0, -x);
+        final int endX = Math.min(sourceWidth, width - x);
+        final int beginY = Math.max(clipTop - y, 0);
+        final int endY = Math.min(image.getHeight(), clipBottom - y);
+
+        if (beginX >= endX) {
+            return;
+        }
+
+        for (int sourceY = beginY ; sourceY < endY ; sourceY++) {
+            final int sourceOffset = sourceY * sourceWidth + beginX;
+            final int destinationOffset = (y + sourceY) * width + x + beginX;
+            System.arraycopy(source, sourceOffset, pixels, destinationOffset, endX - beginX);
+        }
+    }
+
+    /**
+     * Fills a rectangle of the framebuffer with an opaque color.
+     *
+     * Any part of the rectangle which falls outside of the framebuffer, or of
+     * its band, is not filled.
+     *
+     * @param x
+     *         The x-axis coordinate of the top-left pixel.
+     *
+     * @param y
+     *         The y-axis coordinate of the top-left pixel.
+     *
+     * @param rectangleWidth
+     *         The width of the rectangle.
+     *
+     * @param rectangleHeight
+     *         The height of the rectangle.
+     *
+     * @param rgb
+     *         The ARGB value of the color.
+     */
+    public void fillRect(final int x, final int y, final int rectangleWidth, final int rectangleHeight, final int rgb) {
+        if ((rgb >>> 24) != 0xFF) {
+            graphics.setColor(new Color(rgb, true));
+            graphics.fillRect(x, y, rectangleWidth, rectangleHeight);
+            return;
+        }
+
+        final int beginX = Math.max(0, x);
+        final int endX = Math.min(width, x + rectangleWidth);
+        final int beginY = Math.max(clipTop, y);
+        final int endY = Math.min(clipBottom, y + rectangleHeight);
+
+        for (int pixelY = beginY ; pixelY < endY ; pixelY++) {
+            final int offset = pixelY * width;
+
+            for (int pixelX = beginX ; pixelX < endX ; pixelX++) {
+                pixels[offset + pixelX] = rgb;
+            }
+        }
+    }
+
+    /**
+     * Copies a rectangle of the framebuffer by a distance, as with
+     * {@link Graphics2D#copyArea(int, int, int, int, int, int)}.
+     *
+     * Any part of either rectangle which falls outside of the framebuffer, or
+     * of its band, is not copied. The rectangles may overlap.
+     *
+     * @param x
+     *         The x-axis coordinate of the top-left pixel to copy.
+     *
+     * @param y
+     *         The y-axis coordinate of the top-left pixel to copy.
+     *
+     * @param rectangleWidth
+     *         The width of the rectangle.
+     *
+     * @param rectangleHeight
+     *         The height of the rectangle.
+     *
+     * @param dx
+     *         The horizontal distance to copy the pixels by.
+     *
+     * @param dy
+     *         The vertical distance to copy the pixels by.
+     */
+    public void copyArea(final int x, final int y, final int rectangleWidth, final int rectangleHeight, final int dx, final int dy) {
+        final int beginX = Math.max(Math.max(0, x), -dx);
+        final int endX = Math.min(Math.min(width, x + rectangleWidth), width - dx);
+        final int beginY = Math.max(Math.max(clipTop, y), clipTop - dy);
+        final int endY = Math.min(Math.min(clipBottom, y + rectangleHeight), clipBottom - dy);
+
+        if (beginX >= endX || beginY >= endY) {
+            return;
+        }
+
+        // When copying downwards, copy the bottom row first so that no row is overwritten before it's copied.
+        final boolean isBottomUp = dy > 0;
+
+        for (int i = 0 ; i < endY - beginY ; i++) {
+            final int pixelY = (isBottomUp ? endY - 1 - i : beginY + i);
+            final int sourceOffset = pixelY * width + beginX;
+            final int destinationOffset = (pixelY + dy) * width + beginX + dx;
+
+            System.arraycopy(pixels, sourceOffset, pixels, destinationOffset, endX - beginX);
+        }
+    }
+
+    /**
+     * Creates the pixels of a new framebuffer.
+     *
+     * @param width
+     *         The width, in pixels.
+     *
+     * @param height
+     *         The height, in pixels.
+     *
+     * @return
+     *         The pixels.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is less than one.
+     */
+    private static int[] createPixels(final int width, final int height) {
+        checkDimensions(width, height);
+        return new int[width * height];
+    }
+
+    /**
+     * Checks the dimensions of a framebuffer.
+     *
+     * @param width
+     *         The width, in pixels.
+     *
+     * @param height
+     *         The height, in pixels.
+     *
+     * @throws IllegalArgumentException
+     *         If the width or height is less than one.
+     */
+    private static void checkDimensions(final int width, final int height) {
+        if (width < 1) {
+            throw new IllegalArgumentException("The width must be at least one.");
+        }
+
+        if (height < 1) {
+            throw new IllegalArgumentException("The height must be at least one.");
+        }
+    }
+
+    /** Releases the graphics context of the framebuffer. */
+    public void dispose() {
+        graphics.dispose();
+    }
+}
@@ -1,20 +1,72 @@
 package com.valkryst.VTerminal.misc;
 
-import com.valkryst.VTerminal.AsciiCharacter;
-import com.valkryst.VTerminal.AsciiString;
+import com.valkryst.VTerminal.AsciiGrid;
 import com.valkryst.VTerminal.component.Layer;
 
-import java.awt.Color;
+import java.awt.Rectangle;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.zip.GZIPInputStream;
 
 public class REXPaintLoader {
+    /** The size, in bytes, of each cell of a layer. */
+    private static final int CELL_SIZE = 10;
+
+    /** The size, in bytes, of the buffer that the file is decompressed into. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The RGB value that REXPaint uses to denote a fully transparent background. */
+    private static final int TRANSPARENT_RGB = 0xFF00FF;
+
+    /** Decides which layers of a REXPaint file are loaded, and the grids that they're loaded into. */
+    public interface LayerHandler {
+        /**
+         * Retrieves the grid to load a layer into.
+         *
+         * @param layer
+         *         The index of the layer.
+         *
+         * @param width
+         *         The width of the layer.
+         *
+         * @param height
+         *         The height of the layer.
+         *
+         * @return
+         *         The grid, or null if the layer is to be skipped.
+         */
+        AsciiGrid getGrid(final int layer, final int width, final int height);
+
+        /**
+         * Retrieves the rectangle of a layer to load.
+         *
+         * The top-left cell of the rectangle is loaded into the top-left cell
+         * of the grid. Any part of the rectangle which falls outside of the
+         * layer, or which doesn't fit within the grid, is not loaded.
+         *
+         * Defaults to the whole layer.
+         *
+         * @param layer
+         *         The index of the layer.
+         *
+         * @param width
+         *         The width of the layer.
+         *
+         * @param height
+         *         The height of the layer.
+         *
+         * @return
+         *         The rectangle.
+         */
+        default Rectangle getRegion(final int layer, final int width, final int height) {
+            return new Rectangle(0, 0, width, height);
+        }
+    }
+
     /**
      * Loads a REXPaint file into a set of layers.
      *
@@ -28,135 +80,262 @@ public class REXPaintLoader {
      *         If an I/O error has occurred.
      */
     public static List<Layer> load(final File file) throws IOException {
+        final List<Layer> layers = new ArrayList<>();
+
+        load(file, (index, width, height) -> {
+            final Layer layer = new Layer(0, 0, width, height);
+            layers.add(layer);
+            return layer.getGrid();
+        });
+
+        return layers;
+    }
+
+    /**
+     * Loads the layers of a REXPaint file, which are chosen by a handler,
+     * into the grids provided by the handler.
+     *
+     * @param file
+     *         The file.
+     *
+     * @param handler
+     *         The handler.
+     *
+     * @throws NullPointerException
+     *         If the file or handler is null.
+     *
+     * @throws IOException
+     *         If an I/O error has occurred.
+     */
+    public static void load(final File file, final LayerHandler handler) throws IOException {
         Objects.requireNonNull(file);
+        Objects.requireNonNull(handler);
 
         if (file.exists() == false) {
             throw new FileNotFoundException("The file \"" + file.getAbsolutePath() + "\" does not exist.");
         }
 
-        final byte[] fileBytes_compressed = Files.readAllBytes(file.toPath());
-        final byte[] fileBytes_decompressed = decompress(fileBytes_compressed);
+        load(new FileInputStream(file), handler);
+    }
+
+    /**
+     * Loads the layers of a REXPaint file, which are chosen by a handler,
+     * into the grids provided by the handler.
+     *
+     * The file is decompressed as it's read, and each cell is written
+     * directly into its grid, so neither the whole file nor an object per
+     * cell is ever held in memory. The loaded cells of each grid are marked
+     * as dirty.
+     *
+     * The stream is closed once the file has been loaded.
+     *
+     * @param inputStream
+     *         The input stream to the file.
+     *
+     * @param handler
+     *         The handler.
+     *
+     * @throws NullPointerException
+     *         If the input stream or handler is null.
+     *
+     * @throws IOException
+     *         If an I/O error has occurred, or if the file is truncated or
+     *         invalid.
+     */
+    public static void load(final InputStream inputStream, final LayerHandler handler) throws IOException {
+        Objects.requireNonNull(inputStream);
+        Objects.requireNonNull(handler);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+
+        try (final InputStream gzipInputStream = new GZIPInputStream(inputStream, BUFFER_SIZE)) {
+            require(gzipInputStream, buffer, 8);
+
+            buffer.getInt(); // The file version. Ignore this. It's only used by REXPaint itself.
+            final int totalLayers = buffer.getInt();
+
+            if (totalLayers < 0) {
+                throw new IOException("The REXPaint file has an invalid number of layers.");
+            }
+
+            for (int i = 0 ; i < totalLayers ; i++) {
+                require(gzipInputStream, buffer, 8);
+
+                final int width = buffer.getInt();
+                final int height = buffer.getInt();
+
+                if (width < 0 || height < 0) {
+                    throw new IOException("The REXPaint file has a layer with invalid dimensions.");
+                }
+
+                final AsciiGrid grid = handler.getGrid(i, width, height);
 
-        return loadAsLayers(fileBytes_decompressed);
+                if (grid == null) {
+                    skip(gzipInputStream, buffer, (long) width * height * CELL_SIZE);
+                    continue;
+                }
+
+                final Rectangle region = Objects.requireNonNull(handler.getRegion(i, width, height));
+                loadLayer(gzipInputStream, buffer, width, height, grid, region);
+            }
+        }
     }
 
     /**
-     * Decompresses a GZip'd byte array.
+     * Loads a rectangle of a layer into a grid, and skips the rest of the
+     * layer.
      *
-     * @param compressedBytes
-     *         The compressed byte array.
+     * REXPaint stores the cells of a layer in column-major order.
      *
-     * @return
-     *         The decompressed byte array.
+     * @param inputStream
+     *         The decompressed input stream.
+     *
+     * @param buffer
+     *         The buffer of decompressed bytes.
+     *
+     * @param width
+     *         The width of the layer.
+     *
+     * @param height
+     *         The height of the layer.
+     *
+     * @param grid
+     *         The grid.
+     *
+     * @param region
+     *         The rectangle of the layer to load.
      *
      * @throws IOException
-     *         If an I/O error has occurred.
+     *         If an I/O error has occurred, or if the file is truncated.
      */
-    private static byte[] decompress(final byte[] compressedBytes) throws IOException {
-        final ByteArrayInputStream byteInputStream = new ByteArrayInputStream(compressedBytes);
-        final ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream(compressedBytes.length);
-        final GZIPInputStream gzipInputStream = new GZIPInputStream(byteInputStream);
+    private static void loadLayer(final InputStream inputStream, final ByteBuffer buffer, final int width, final int height,
+                                  final AsciiGrid grid, final Rectangle region) throws IOException {
+        final int beginColumn = Math.max(0, region.x);
+        final int beginRow = Math.max(0, region.y);
+        final int endColumn = Math.min(Math.min(width, region.x + region.width), region.x + grid.getWidth());
+        final int endRow = Math.min(Math.min(height, region.y + region.height), region.y + grid.getHeight());
 
-        byte[] buffer = new byte[1024];
+        if (beginColumn >= endColumn || beginRow >= endRow) {
+            skip(inputStream, buffer, (long) width * height * CELL_SIZE);
+            return;
+        }
 
-        while (gzipInputStream.available() > 0) {
-            final int count = gzipInputStream.read(buffer, 0, 1024);
+        final char[] characters = grid.getCharacters();
+        final int[] backgroundColors = grid.getBackgroundColors();
+        final int[] foregroundColors = grid.getForegroundColors();
 
-            if (count > 0) {
-                byteOutputStream.write(buffer, 0, count);
+        skip(inputStream, buffer, (long) beginColumn * height * CELL_SIZE);
+
+        for (int column = beginColumn ; column < endColumn ; column++) {
+            skip(inputStream, buffer, (long) beginRow * CELL_SIZE);
+
+            for (int row = beginRow ; row < endRow ; row++) {
+                require(inputStream, buffer, CELL_SIZE);
+
+                final int index = grid.indexOf(column - region.x, row - region.y);
+                characters[index] = (char) buffer.getInt();
+                foregroundColors[index] = 0xFF000000 | getRGB(buffer);
+
+                final int backgroundRGB = getRGB(buffer);
+                backgroundColors[index] = (backgroundRGB == TRANSPARENT_RGB ? 0 : 0xFF000000 | backgroundRGB);
             }
+
+            skip(inputStream, buffer, (long) (height - endRow) * CELL_SIZE);
         }
 
-        gzipInputStream.close();
-        byteOutputStream.close();
-        byteInputStream.close();
+        skip(inputStream, buffer, (long) (width - endColumn) * height * CELL_SIZE);
 
-        return byteOutputStream.toByteArray();
+        grid.getDirtyRegions().markDirty(beginColumn - region.x, beginRow - region.y, endColumn - beginColumn, endRow - beginRow);
     }
 
     /**
-     * Loads a REXPaint *.xp file into a set of layers.
+     * Ensures that a buffer holds at least a number of bytes, by moving its
+     * remaining bytes to its start and then filling it from a stream.
+     *
+     * @param inputStream
+     *         The stream.
+     *
+     * @param buffer
+     *         The buffer.
      *
      * @param bytes
-     *         The decompressed *.xp file.
+     *         The number of bytes.
      *
-     * @return
-     *         The layers.
+     * @throws IOException
+     *         If an I/O error has occurred, or if the stream ends first.
      */
-    private static List<Layer> loadAsLayers(final byte[] bytes) {
-        final ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
-        byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
-
-        final int fileVersion = byteBuffer.getInt(); // Ignore this. It's only used by REXPaint itself.
-        final int totalLayers = byteBuffer.getInt();
+    private static void require(final InputStream inputStream, final ByteBuffer buffer, final int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
 
-        final List<Layer> layers = new ArrayList<>();
+        buffer.compact();
 
-        for (int i = 0 ; i < totalLayers ; i++) {
-            final int width = byteBuffer.getInt();
-            final int height = byteBuffer.getInt();
+        while (buffer.position() < bytes) {
+            final int count = inputStream.read(buffer.array(), buffer.position(), buffer.remaining());
 
-            final Layer layer = new Layer(0, 0, width, height);
-            final AsciiString[] strings = layer.getStrings();
-
-            for (int column = 0 ; column < layer.getWidth() ; column++) {
-                for (int row = 0 ; row < layer.getHeight() ; row++) {
-                    final char character = (char) byteBuffer.getInt();
-
-                    final byte foregroundR = byteBuffer.get();
-                    final byte foregroundG = byteBuffer.get();
-                    final byte foregroundB = byteBuffer.get();
-
-                    final byte backgroundR = byteBuffer.get();
-                    final byte backgroundG = byteBuffer.get();
-                    final byte backgroundB = byteBuffer.get();
-
-                    final Color foregroundColor = new Color(pack(foregroundR, foregroundG, foregroundB));
-                    final Color backgroundColor;
-                    final int packedBackgroundColor = pack(backgroundR, backgroundG, backgroundB);
-
-                    // REXPaint uses (255r, 0g, 255b) as a color denoting full-transparency.
-                    // After packing the color, it's represented by 0xAARRGGBB, so we check
-                    // for (255r, 0g, 255b) by checking for 0x00FF00FF.
-                    if (packedBackgroundColor == 0x00FF00FF) {
-                        backgroundColor = new Color(packedBackgroundColor & 0xFF000000, true);
-                    } else {
-                        backgroundColor = new Color(packedBackgroundColor);
-                    }
-
-                    final AsciiCharacter asciiCharacter = strings[row].getCharacters()[column];
-                    asciiCharacter.setForegroundColor(foregroundColor);
-                    asciiCharacter.setBackgroundColor(backgroundColor);
-                    asciiCharacter.setCharacter(character);
-                }
+            if (count == -1) {
+                throw new EOFException("The REXPaint file is truncated.");
             }
 
-            layers.add(layer);
+            buffer.position(buffer.position() + count);
         }
 
-        return layers;
+        buffer.flip();
     }
 
     /**
-     * Packs a set of rgb byte values into a single integer.
+     * Skips a number of bytes, first from a buffer and then from the stream
+     * that fills it.
      *
-     * The Alpha value is set to 0.
+     * @param inputStream
+     *         The stream.
+     *
+     * @param buffer
+     *         The buffer.
      *
-     * @param r
-     *         The red value.
+     * @param bytes
+     *         The number of bytes.
      *
-     * @param g
-     *         The green value.
+     * @throws IOException
+     *         If an I/O error has occurred, or if the stream ends first.
+     */
+    private static void skip(final InputStream inputStream, final ByteBuffer buffer, final long bytes) throws IOException {
+        final int bufferedBytes = (int) Math.min(bytes, buffer.remaining());
+        buffer.position(buffer.position() + bufferedBytes);
+
+        long remainingBytes = bytes - bufferedBytes;
+
+        while (remainingBytes > 0) {
+            final long count = inputStream.skip(remainingBytes);
+
+            if (count > 0) {
+                remainingBytes -= count;
+            } else if (inputStream.read() == -1) {
+                throw new EOFException("The REXPaint file is truncated.");
+            } else {
+                remainingBytes--;
+            }
+        }
+    }
+
+    /**
+     * Reads a set of rgb byte values from a buffer, and packs them into a
+     * single integer.
+     *
+     * The Alpha value is set to 0.
      *
-     * @param b
-     *         The blue value.
+     * @param buffer
+     *         The buffer.
      *
      * @return
      *         The packed integer.
      */
-    private static int pack(final byte r, final byte g, final byte b) {
-        return ((r & 0xFF) << 16) |
-               ((g & 0xFF) << 8) |
-               ((b & 0xFF));
+    private static int getRGB(final ByteBuffer buffer) {
+        return ((buffer.get() & 0xFF) << 16) |
+               ((buffer.get() & 0xFF) << 8) |
+               ((buffer.get() & 0xFF));
     }
 }
@@ -0,0 +1,196 @@
+package com.valkryst.VTerminal.render;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import lombok.Getter;
+
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferStrategy;
+import java.util.Objects;
+
+public class CanvasRenderTarget implements RenderTarget {
+    /** The canvas to draw onto. */
+    @Getter private final Canvas canvas;
+
+    /**
+     * The target that the screen is drawn into before being drawn onto the
+     * canvas, or null if the screen is drawn directly onto the canvas.
+     */
+    @Getter private final PixelRenderTarget framebufferTarget;
+
+    /**
+     * Constructs a new CanvasRenderTarget.
+     *
+     * @param canvas
+     *         The canvas to draw onto.
+     *
+     * @param framebufferTarget
+     *         The target to draw the screen into before drawing it onto the
+     *         canvas, or null to draw the screen directly onto the canvas.
+     *
+     * @throws NullPointerException
+     *         If the canvas is null.
+     */
+    public CanvasRenderTarget(final Canvas canvas, final PixelRenderTarget framebufferTarget) {
+        Objects.requireNonNull(canvas);
+
+        this.canvas = canvas;
+        this.framebufferTarget = framebufferTarget;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The canvas isn't ready to be drawn onto until it has a BufferStrategy.
+     */
+    @Override
+    public boolean draw(final Screen screen, final ColoredImageCache imageCache) {
+        Objects.requireNonNull(screen);
+        Objects.requireNonNull(imageCache);
+
+        final BufferStrategy bs = canvas.getBufferStrategy();
+
+        if (bs == null) {
+            return false;
+        }
+
+        if (framebufferTarget != null) {
+            framebufferTarget.draw(screen, imageCache);
+
+            if (showFramebuffer(bs) == false) {
+                // The framebuffer still contains the screen, but the next
+                // draw call must know that it has to be shown.
+                screen.setAllCharactersToBeRedrawn();
+                return false;
+            }
+
+            return true;
+        }
+
+        // Flipped buffers may not contain the previous frame, so they can't
+        // be partially redrawn.
+        final BufferCapabilities capabilities = bs.getCapabilities();
+
+        if (capabilities.isPageFlipping()) {
+            if (capabilities.getFlipContents() != BufferCapabilities.FlipContents.COPIED) {
+                screen.setAllCharactersToBeRedrawn();
+            }
+        }
+
+        boolean contentsLost;
+
+        do {
+            boolean contentsRestored;
+
+            do {
+                final Graphics2D gc;
+
+                try {
+                    gc = (Graphics2D) bs.getDrawGraphics();
+                } catch (final IllegalStateException e) {
+                    // The BufferStrategy has been disposed of, so nothing
+                    // has been drawn since the screen was last marked to be
+                    // redrawn.
+                    return false;
+                }
+
+                setRenderingHints(gc);
+                screen.draw(gc, imageCache);
+                gc.dispose();
+
+                // If the buffer was restored, then it's blank and everything
+                // must be redrawn.
+                contentsRestored = bs.contentsRestored();
+
+                if (contentsRestored) {
+                    screen.setAllCharactersToBeRedrawn();
+                }
+            } while (contentsRestored);
+
+            bs.show();
+
+            contentsLost = bs.contentsLost();
+
+            if (contentsLost) {
+                screen.setAllCharactersToBeRedrawn();
+            }
+        } while (contentsLost);
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If the screen is drawn into a framebuffer, then the framebuffer still
+     * contains the screen, so it's only drawn onto the canvas again.
+     */
+    @Override
+    public boolean redraw(final Screen screen, final ColoredImageCache imageCache) {
+        if (framebufferTarget == null) {
+            return RenderTarget.super.redraw(screen, imageCache);
+        }
+
+        Objects.requireNonNull(screen);
+        Objects.requireNonNull(imageCache);
+
+        final BufferStrategy bs = canvas.getBufferStrategy();
+        return bs != null && showFramebuffer(bs);
+    }
+
+    /**
+     * Draws the framebuffer onto the canvas.
+     *
+     * @param bs
+     *         The BufferStrategy of the canvas.
+     *
+     * @return
+     *         Whether or not the framebuffer was drawn.
+     */
+    private boolean showFramebuffer(final BufferStrategy bs) {
+        do {
+            do {
+                final Graphics2D gc;
+
+                try {
+                    gc = (Graphics2D) bs.getDrawGraphics();
+                } catch (final IllegalStateException e) {
+                    return false;
+                }
+
+                gc.drawImage(framebufferTarget.getFramebuffer().getImage(), 0, 0, null);
+                gc.dispose();
+            } while (bs.contentsRestored());
+
+            bs.show();
+        } while (bs.contentsLost());
+
+        return true;
+    }
+
+    /**
+     * Sets the rendering hints used when drawing the screen.
+     *
+     * @param gc
+     *         The graphics context.
+     */
+    static void setRenderingHints(final Graphics2D gc) {
+        gc.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+        gc.setRenderingHint(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_ENABLE);
+        gc.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+        gc.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+
+        // Font characters are pre-rendered images, so no need for AA.
+        gc.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+
+        // No-need for text rendering related options.
+        gc.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+        gc.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+
+        // If alpha is used in the character images, we want computations related to drawing them to be fast.
+        gc.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED);
+    }
+}
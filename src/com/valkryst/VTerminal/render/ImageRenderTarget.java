@@ -0,0 +1,45 @@
+package com.valkryst.VTerminal.render;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import lombok.Getter;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+
+public class ImageRenderTarget implements RenderTarget {
+    /** The image to draw onto. */
+    @Getter private final BufferedImage image;
+
+    /**
+     * Constructs a new ImageRenderTarget.
+     *
+     * @param image
+     *         The image to draw onto.
+     *
+     * @throws NullPointerException
+     *         If the image is null.
+     */
+    public ImageRenderTarget(final BufferedImage image) {
+        Objects.requireNonNull(image);
+        this.image = image;
+    }
+
+    @Override
+    public boolean draw(final Screen screen, final ColoredImageCache imageCache) {
+        Objects.requireNonNull(screen);
+        Objects.requireNonNull(imageCache);
+
+        final Graphics2D gc = image.createGraphics();
+
+        try {
+            CanvasRenderTarget.setRenderingHints(gc);
+            screen.draw(gc, imageCache);
+        } finally {
+            gc.dispose();
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,90 @@
+package com.valkryst.VTerminal.render;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+public class PixelRenderTarget implements RenderTarget {
+    /** The framebuffer to draw into. */
+    @Getter private final Framebuffer framebuffer;
+
+    /**
+     * The pool that the bands of the screen are drawn on, or null if the
+     * screen is drawn on the calling thread.
+     *
+     * If the pool has been shut down, the screen is drawn on the calling
+     * thread.
+     */
+    @Getter @Setter private volatile ForkJoinPool pool;
+    /** The minimum number of rows in each band of the screen. */
+    private final int minimumBandHeight;
+
+    /**
+     * Constructs a new PixelRenderTarget, which draws on the calling thread.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @throws NullPointerException
+     *         If the framebuffer is null.
+     */
+    public PixelRenderTarget(final Framebuffer framebuffer) {
+        this(framebuffer, null, 1);
+    }
+
+    /**
+     * Constructs a new PixelRenderTarget.
+     *
+     * @param framebuffer
+     *         The framebuffer to draw into.
+     *
+     * @param pool
+     *         The pool to draw the bands of the screen on, or null to draw on
+     *         the calling thread.
+     *
+     * @param minimumBandHeight
+     *         The minimum number of rows in each band of the screen.
+     *
+     * @throws NullPointerException
+     *         If the framebuffer is null.
+     *
+     * @throws IllegalArgumentException
+     *         If the minimum band height is less than one.
+     */
+    public PixelRenderTarget(final Framebuffer framebuffer, final ForkJoinPool pool, final int minimumBandHeight) {
+        Objects.requireNonNull(framebuffer);
+
+        if (minimumBandHeight < 1) {
+            throw new IllegalArgumentException("The minimum band height must be at least one.");
+        }
+
+        this.framebuffer = framebuffer;
+        this.pool = pool;
+        this.minimumBandHeight = minimumBandHeight;
+    }
+
+    @Override
+    public boolean draw(final Screen screen, final ColoredImageCache imageCache) {
+        Objects.requireNonNull(screen);
+
+        final ForkJoinPool pool = this.pool;
+
+        if (pool == null || pool.isShutdown()) {
+            screen.draw(framebuffer, imageCache);
+        } else {
+            screen.draw(framebuffer, imageCache, pool, minimumBandHeight);
+        }
+
+        return true;
+    }
+
+    /** @return The pixels of the framebuffer, in row-major order, as RGB values. */
+    public int[] getPixels() {
+        return framebuffer.getPixels();
+    }
+}
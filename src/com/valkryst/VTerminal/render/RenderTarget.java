@@ -0,0 +1,49 @@
+package com.valkryst.VTerminal.render;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+
+public interface RenderTarget {
+    /**
+     * Draws every character of a screen, that has changed since the last draw
+     * call, onto the target.
+     *
+     * If the target isn't ready to be drawn onto, then nothing is drawn and
+     * the changes of the screen are kept, so that they're drawn by the next
+     * call.
+     *
+     * @param screen
+     *         The screen.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @return
+     *         Whether or not the screen was drawn.
+     *
+     * @throws NullPointerException
+     *         If the screen or image cache is null.
+     */
+    boolean draw(final Screen screen, final ColoredImageCache imageCache);
+
+    /**
+     * Redraws an entire screen onto the target, after the contents of the
+     * target have been damaged.
+     *
+     * @param screen
+     *         The screen.
+     *
+     * @param imageCache
+     *         The image cache to retrieve character images from.
+     *
+     * @return
+     *         Whether or not the screen was drawn.
+     *
+     * @throws NullPointerException
+     *         If the screen or image cache is null.
+     */
+    default boolean redraw(final Screen screen, final ColoredImageCache imageCache) {
+        screen.setAllCharactersToBeRedrawn();
+        return draw(screen, imageCache);
+    }
+}
@@ -0,0 +1,10 @@
+package com.valkryst.VTerminal.render;
+
+public enum RenderTargetType {
+    /** Draws onto the panel, using its BufferStrategy. The panel is displayed in a frame. */
+    CANVAS,
+    /** Draws onto a BufferedImage. The panel is never displayed. */
+    IMAGE,
+    /** Draws into an array of pixels. The panel is never displayed. */
+    PIXELS
+}
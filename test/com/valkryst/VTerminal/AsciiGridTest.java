@@ -0,0 +1,257 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.misc.IntRange;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+
+public class AsciiGridTest {
+    private AsciiGrid grid;
+
+    @Before
+    public void initializeGrid() {
+        grid = new AsciiGrid(8, 2);
+
+        for (int row = 0 ; row < grid.getHeight() ; row++) {
+            for (int column = 0 ; column < grid.getWidth() ; column++) {
+                final int index = grid.indexOf(column, row);
+                grid.getCharacters()[index] = (char) ('A' + index);
+                grid.getBackgroundColors()[index] = index;
+                grid.getForegroundColors()[index] = -index;
+            }
+        }
+
+        grid.getDirtyRegions().clear();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withNegativeWidth() {
+        new AsciiGrid(-1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withNegativeHeight() {
+        new AsciiGrid(1, -1);
+    }
+
+    @Test
+    public void testCopyCells_withOverlapToTheRight() {
+        grid.copyCells(grid, 0, 0, 2, 0, 5);
+
+        Assert.assertEquals("ABABCDEH", rowToString(0));
+        Assert.assertEquals(0, grid.getBackgroundColors()[grid.indexOf(2, 0)]);
+        Assert.assertEquals(-4, grid.getForegroundColors()[grid.indexOf(6, 0)]);
+        Assert.assertEquals("IJKLMNOP", rowToString(1));
+
+        Assert.assertEquals(2, grid.getDirtyRegions().nextDirtyColumn(0, 0));
+        Assert.assertEquals(7, grid.getDirtyRegions().nextCleanColumn(0, 2));
+    }
+
+    @Test
+    public void testCopyCells_withOverlapToTheLeft() {
+        grid.copyCells(grid, 2, 0, 0, 0, 5);
+
+        Assert.assertEquals("CDEFGFGH", rowToString(0));
+        Assert.assertEquals(2, grid.getBackgroundColors()[grid.indexOf(0, 0)]);
+        Assert.assertEquals(-6, grid.getForegroundColors()[grid.indexOf(4, 0)]);
+        Assert.assertEquals("IJKLMNOP", rowToString(1));
+    }
+
+    @Test
+    public void testCopyCells_copiesAttributes() {
+        grid.setAttribute(0, 0, AsciiGrid.ATTRIBUTE_UNDERLINED, true);
+        grid.setUnderlineThickness(0, 0, 5);
+
+        grid.copyCells(grid, 0, 0, 1, 0, 1);
+
+        Assert.assertTrue(grid.isAttributeSet(1, 0, AsciiGrid.ATTRIBUTE_UNDERLINED));
+        Assert.assertEquals(5, grid.getUnderlineThickness(1, 0));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testCopyCells_withNullSource() {
+        grid.copyCells(null, 0, 0, 0, 0, 1);
+    }
+
+    @Test
+    public void testSetAttribute_withRange() {
+        grid.setAttribute(2, 5, 1, AsciiGrid.ATTRIBUTE_HIDDEN, true);
+
+        for (int column = 0 ; column < grid.getWidth() ; column++) {
+            final boolean isInRange = column >= 2 && column < 5;
+            Assert.assertEquals(isInRange, grid.isAttributeSet(column, 1, AsciiGrid.ATTRIBUTE_HIDDEN));
+            Assert.assertFalse(grid.isAttributeSet(column, 0, AsciiGrid.ATTRIBUTE_HIDDEN));
+        }
+
+        Assert.assertEquals(2, grid.getDirtyRegions().nextDirtyColumn(1, 0));
+        Assert.assertEquals(5, grid.getDirtyRegions().nextCleanColumn(1, 2));
+
+        grid.setAttribute(0, grid.getWidth(), 1, AsciiGrid.ATTRIBUTE_HIDDEN, false);
+
+        for (int column = 0 ; column < grid.getWidth() ; column++) {
+            Assert.assertFalse(grid.isAttributeSet(column, 1, AsciiGrid.ATTRIBUTE_HIDDEN));
+        }
+    }
+
+    @Test
+    public void testSetAttribute_withEmptyRange() {
+        grid.setAttribute(3, 3, 0, AsciiGrid.ATTRIBUTE_HIDDEN, true);
+
+        for (int column = 0 ; column < grid.getWidth() ; column++) {
+            Assert.assertFalse(grid.isAttributeSet(column, 0, AsciiGrid.ATTRIBUTE_HIDDEN));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetAttribute_withNegativeBeginColumn() {
+        grid.setAttribute(-1, 2, 1, AsciiGrid.ATTRIBUTE_HIDDEN, true);
+    }
+
+    @Test
+    public void testSetAttribute_withEndColumnPastWidth() {
+        try {
+            grid.setAttribute(6, 9, 0, AsciiGrid.ATTRIBUTE_HIDDEN, true);
+            Assert.fail("The range should have been rejected.");
+        } catch (final IndexOutOfBoundsException e) {
+            // The run mustn't have spilled into the next row.
+            Assert.assertFalse(grid.isAttributeSet(0, 1, AsciiGrid.ATTRIBUTE_HIDDEN));
+            Assert.assertFalse(grid.isAttributeSet(6, 0, AsciiGrid.ATTRIBUTE_HIDDEN));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetAttribute_withBeginColumnAfterEndColumn() {
+        grid.setAttribute(5, 2, 0, AsciiGrid.ATTRIBUTE_HIDDEN, true);
+    }
+
+    @Test
+    public void testGetUnderlineThickness_defaultsToTwo() {
+        Assert.assertEquals(2, grid.getUnderlineThickness(0, 0));
+        Assert.assertEquals(2, new AsciiCharacter('A').getUnderlineThickness());
+    }
+
+    @Test
+    public void testSetUnderlineThickness_packsAboveFlags() {
+        final short flags = AsciiGrid.ATTRIBUTE_HIDDEN | AsciiGrid.ATTRIBUTE_TILE;
+        grid.setAttribute(3, 0, flags, true);
+        grid.setUnderlineThickness(3, 0, 7);
+
+        final short attributes = grid.getAttributes()[grid.indexOf(3, 0)];
+        Assert.assertEquals(7, (attributes >> 8) & 0xFF);
+        Assert.assertEquals(flags, attributes & 0xFF);
+
+        // Changing the flags leaves the thickness unchanged, and the reverse.
+        grid.setAttribute(3, 0, AsciiGrid.ATTRIBUTE_HIDDEN, false);
+        Assert.assertEquals(7, grid.getUnderlineThickness(3, 0));
+        Assert.assertTrue(grid.isAttributeSet(3, 0, AsciiGrid.ATTRIBUTE_TILE));
+
+        grid.setUnderlineThickness(3, 0, 1);
+        Assert.assertTrue(grid.isAttributeSet(3, 0, AsciiGrid.ATTRIBUTE_TILE));
+        Assert.assertFalse(grid.isAttributeSet(3, 0, AsciiGrid.ATTRIBUTE_HIDDEN));
+    }
+
+    @Test
+    public void testSetUnderlineThickness_withMaximumThickness() {
+        // The thickness occupies the sign bit of the attribute bitfield.
+        grid.setUnderlineThickness(0, 0, 255);
+        Assert.assertEquals(255, grid.getUnderlineThickness(0, 0));
+        Assert.assertFalse(grid.isAttributeSet(0, 0, AsciiGrid.ATTRIBUTE_HIDDEN));
+    }
+
+    @Test
+    public void testSetUnderlineThickness_withThicknessOutOfRange() {
+        grid.setUnderlineThickness(0, 0, 300);
+        Assert.assertEquals(255, grid.getUnderlineThickness(0, 0));
+
+        grid.setUnderlineThickness(0, 0, -1);
+        Assert.assertEquals(0, grid.getUnderlineThickness(0, 0));
+    }
+
+    @Test
+    public void testAttributes_roundTripThroughCharacter() {
+        final AsciiString string = new AsciiString(grid, 1);
+        final AsciiCharacter character = string.getCharacter(3);
+
+        character.setHidden(true);
+        character.setFlippedHorizontally(true);
+        character.setFlippedVertically(true);
+
+        Assert.assertTrue(grid.isAttributeSet(3, 1, AsciiGrid.ATTRIBUTE_HIDDEN));
+        Assert.assertTrue(grid.isAttributeSet(3, 1, AsciiGrid.ATTRIBUTE_FLIPPED_HORIZONTALLY));
+        Assert.assertTrue(grid.isAttributeSet(3, 1, AsciiGrid.ATTRIBUTE_FLIPPED_VERTICALLY));
+        Assert.assertFalse(grid.isAttributeSet(3, 0, AsciiGrid.ATTRIBUTE_HIDDEN));
+        Assert.assertFalse(grid.isAttributeSet(2, 1, AsciiGrid.ATTRIBUTE_HIDDEN));
+
+        grid.setAttribute(3, 1, AsciiGrid.ATTRIBUTE_FLIPPED_VERTICALLY, false);
+        Assert.assertTrue(character.isHidden());
+        Assert.assertTrue(character.isFlippedHorizontally());
+        Assert.assertFalse(character.isFlippedVertically());
+    }
+
+    @Test
+    public void testAttributes_roundTripThroughString() {
+        final AsciiString string = new AsciiString(grid, 0);
+
+        string.setHidden(true);
+        string.setFlippedHorizontally(new IntRange(1, 3), true);
+        string.setFlippedVertically(new IntRange(2, 4), true);
+
+        for (int column = 0 ; column < grid.getWidth() ; column++) {
+            final AsciiCharacter character = string.getCharacter(column);
+
+            Assert.assertTrue(character.isHidden());
+            Assert.assertEquals(column >= 1 && column < 3, character.isFlippedHorizontally());
+            Assert.assertEquals(column >= 2 && column < 4, character.isFlippedVertically());
+
+            // The other row is unaffected.
+            Assert.assertFalse(grid.isAttributeSet(column, 1, AsciiGrid.ATTRIBUTE_HIDDEN));
+        }
+
+        string.setHidden(false);
+
+        for (int column = 0 ; column < grid.getWidth() ; column++) {
+            Assert.assertFalse(grid.isAttributeSet(column, 0, AsciiGrid.ATTRIBUTE_HIDDEN));
+        }
+    }
+
+    @Test
+    public void testTileAttribute_roundTripsThroughString() {
+        final AsciiTile tile = new AsciiTile('T');
+        tile.setForegroundColor(Color.RED);
+        tile.setFlippedHorizontally(true);
+
+        final AsciiString string = new AsciiString(grid, 0);
+        string.setCharacter(4, tile);
+
+        Assert.assertTrue(grid.isAttributeSet(4, 0, AsciiGrid.ATTRIBUTE_TILE));
+        Assert.assertTrue(grid.isAttributeSet(4, 0, AsciiGrid.ATTRIBUTE_FLIPPED_HORIZONTALLY));
+        Assert.assertEquals('T', grid.getCharacters()[grid.indexOf(4, 0)]);
+        Assert.assertEquals(Color.RED.getRGB(), grid.getForegroundColors()[grid.indexOf(4, 0)]);
+
+        // A new view of the grid recognizes the cell as a tile.
+        final AsciiString view = new AsciiString(grid, 0);
+        Assert.assertTrue(view.getCharacter(4) instanceof AsciiTile);
+        Assert.assertFalse(view.getCharacter(3) instanceof AsciiTile);
+        Assert.assertTrue(view.getCharacter(4).isFlippedHorizontally());
+
+        // Copying a tile into a plain character clears the attribute.
+        final AsciiCharacter character = new AsciiCharacter((AsciiTile) view.getCharacter(4));
+        Assert.assertFalse(character.grid.isAttributeSet(0, 0, AsciiGrid.ATTRIBUTE_TILE));
+        Assert.assertEquals('T', character.getCharacter());
+    }
+
+    /**
+     * Retrieves the characters of a row of the grid.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the row.
+     *
+     * @return
+     *         The characters.
+     */
+    private String rowToString(final int row) {
+        return new String(grid.getCharacters(), grid.indexOf(0, row), grid.getWidth());
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.awt.Color;
+import java.util.Arrays;
 
 public class SetCharactersTest {
     private final String testString = "ABCDEFGHJIKLMNOP";
@@ -38,4 +39,42 @@ public class SetCharactersTest {
             }
         }
     }
+
+    @Test
+    public void withArrays() {
+        Arrays.fill(string.getCharactersToBeRedrawn(), false);
+
+        final char[] characters = {'x', 'y', 'z', 'w'};
+        final int[] backgroundColors = {1, 2, 3, 4};
+
+        string.setCharacters(2, characters, backgroundColors, null, 1, 3);
+
+        for (int i = 0 ; i < string.length() ; i++) {
+            final boolean isWritten = i >= 2 && i < 5;
+            Assert.assertEquals(isWritten, string.getCharactersToBeRedrawn()[i]);
+
+            if (isWritten) {
+                Assert.assertEquals(characters[i - 1], string.getCharacter(i).getCharacter());
+                Assert.assertEquals(backgroundColors[i - 1], string.getCharacter(i).getBackgroundColor().getRGB());
+                Assert.assertEquals(Color.WHITE, string.getCharacter(i).getForegroundColor());
+            } else {
+                Assert.assertEquals(testString.charAt(i), string.getCharacter(i).getCharacter());
+            }
+        }
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void withArrays_withNullCharacters() {
+        string.setCharacters(0, null, null, null, 0, 1);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void withArrays_withTooLongRun() {
+        string.setCharacters(testString.length() - 1, new char[4], null, null, 0, 2);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void withArrays_withShortColorArray() {
+        string.setCharacters(0, new char[4], new int[2], null, 0, 4);
+    }
 }
@@ -0,0 +1,223 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VRadio.Radio;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BlinkSchedulerTest {
+    private BlinkScheduler.Group group;
+    private Radio<String> radio;
+    private final AtomicInteger drawEvents = new AtomicInteger();
+
+    @Before
+    public void initializeGroup() {
+        // A distinct period, so that no other test shares the group.
+        group = BlinkScheduler.getInstance().getGroup((short) 30_001, (short) 7);
+
+        // Pausing shows every character, so each test begins with the characters shown.
+        group.pause();
+        group.resume();
+
+        radio = new Radio<>();
+        radio.addReceiver("DRAW", (event, data) -> drawEvents.incrementAndGet());
+        drawEvents.set(0);
+    }
+
+    @Test
+    public void testGetGroup_returnsSameGroupForSamePeriodAndPhase() {
+        final BlinkScheduler scheduler = BlinkScheduler.getInstance();
+        Assert.assertSame(scheduler.getGroup((short) 500), scheduler.getGroup((short) 500, (short) 0));
+        Assert.assertNotSame(scheduler.getGroup((short) 500), scheduler.getGroup((short) 500, (short) 250));
+        Assert.assertNotSame(scheduler.getGroup((short) 500), scheduler.getGroup((short) 501));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetGroup_withZeroPeriod() {
+        BlinkScheduler.getInstance().getGroup((short) 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetGroup_withNegativePhase() {
+        BlinkScheduler.getInstance().getGroup((short) 500, (short) -1);
+    }
+
+    @Test
+    public void testTick_hidesEveryCharacterWithOneDrawPerRadio() {
+        final AsciiString string = new AsciiString("Hello");
+
+        for (final AsciiCharacter character : string.getCharacters()) {
+            character.enableBlinkEffect(group, radio);
+        }
+
+        Assert.assertEquals(5, group.size());
+
+        group.tick();
+        Assert.assertEquals(1, drawEvents.get());
+
+        for (final AsciiCharacter character : string.getCharacters()) {
+            Assert.assertTrue(character.isHidden());
+        }
+
+        group.tick();
+        Assert.assertEquals(2, drawEvents.get());
+        Assert.assertFalse(string.getCharacter(0).isHidden());
+
+        string.disableBlinkEffect();
+        Assert.assertEquals(0, group.size());
+    }
+
+    @Test
+    public void testRegister_matchesHiddenStateOfGroup() {
+        final AsciiCharacter first = new AsciiCharacter('A');
+        first.enableBlinkEffect(group, radio);
+        group.tick();
+
+        final AsciiCharacter second = new AsciiCharacter('B');
+        second.enableBlinkEffect(group, radio);
+        Assert.assertTrue(second.isHidden());
+
+        first.disableBlinkEffect();
+        second.disableBlinkEffect();
+    }
+
+    @Test
+    public void testPauseAndResume() {
+        final AsciiCharacter character = new AsciiCharacter('A');
+        character.enableBlinkEffect(group, radio);
+        group.tick();
+
+        group.pause();
+        Assert.assertTrue(group.isPaused());
+        Assert.assertFalse(character.isHidden());
+
+        group.tick();
+        Assert.assertFalse(character.isHidden());
+
+        group.resume();
+        Assert.assertFalse(group.isPaused());
+
+        group.tick();
+        Assert.assertTrue(character.isHidden());
+
+        character.disableBlinkEffect();
+    }
+
+    @Test
+    public void testPauseBlinkEffect_removesOnlyThatCharacter() {
+        final AsciiCharacter first = new AsciiCharacter('A');
+        final AsciiCharacter second = new AsciiCharacter('B');
+        first.enableBlinkEffect(group, radio);
+        second.enableBlinkEffect(group, radio);
+
+        first.pauseBlinkEffect();
+        Assert.assertFalse(group.isRegistered(first));
+        Assert.assertTrue(group.isRegistered(second));
+
+        first.resumeBlinkEffect();
+        Assert.assertTrue(group.isRegistered(first));
+
+        first.disableBlinkEffect();
+        second.disableBlinkEffect();
+    }
+
+    @Test
+    public void testGetNanosUntilNextBlink_isAlignedAcrossGroups() {
+        final BlinkScheduler scheduler = BlinkScheduler.getInstance();
+        final BlinkScheduler.Group first = scheduler.getGroup((short) 30_002, (short) 0);
+        final BlinkScheduler.Group second = scheduler.getGroup((short) 30_002, (short) 250);
+
+        final long period = TimeUnit.MILLISECONDS.toNanos(30_002);
+        final long phase = TimeUnit.MILLISECONDS.toNanos(250);
+
+        // Regardless of when the groups are asked, the second group blinks 250ms after the first.
+        for (final long now : new long[] { System.nanoTime(), System.nanoTime() + period / 3, System.nanoTime() + period * 7 }) {
+            final long firstBlink = now + first.getNanosUntilNextBlink(now);
+            final long secondBlink = now + second.getNanosUntilNextBlink(now);
+
+            Assert.assertEquals(phase, Math.floorMod(secondBlink - firstBlink, period));
+        }
+    }
+
+    @Test
+    public void testGetNanosUntilNextBlink_isWithinOnePeriod() {
+        final long period = TimeUnit.MILLISECONDS.toNanos(group.getMillsBetweenBlinks());
+        final long now = System.nanoTime();
+        final long delay = group.getNanosUntilNextBlink(now);
+
+        Assert.assertTrue(delay > 0);
+        Assert.assertTrue(delay <= period);
+
+        // Asking again at the next blink gives a whole period.
+        Assert.assertEquals(period, group.getNanosUntilNextBlink(now + delay));
+    }
+
+    @Test
+    public void testRegister_doesNotKeepCharacterAlive() throws InterruptedException {
+        registerUnreferencedCharacter();
+        Assert.assertEquals(1, group.size());
+
+        for (int i = 0 ; i < 100 && group.size() > 0 ; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assert.assertEquals(0, group.size());
+
+        // With every character collected, a tick transmits nothing.
+        group.tick();
+        Assert.assertEquals(0, drawEvents.get());
+    }
+
+    @Test
+    public void testDiscardedView_movesBlinkEffectToNewView() {
+        final AsciiString string = new AsciiString("Hello");
+        final AsciiCharacter view = string.getCharacter(2);
+        view.enableBlinkEffect(group, radio);
+        group.tick();
+        Assert.assertTrue(view.isHidden());
+
+        // Copying a tile into the cell discards the view, as it's not a tile.
+        string.copyCharacter(2, new AsciiTile('T'));
+
+        final AsciiCharacter tile = string.getCharacter(2);
+        Assert.assertTrue(tile instanceof AsciiTile);
+        Assert.assertFalse(group.isRegistered(view));
+        Assert.assertTrue(group.isRegistered(tile));
+        Assert.assertEquals(1, group.size());
+        Assert.assertTrue(tile.isHidden());
+
+        // The cell keeps blinking, rather than being left hidden.
+        group.tick();
+        Assert.assertFalse(tile.isHidden());
+
+        string.disableBlinkEffect();
+    }
+
+    @Test
+    public void testDiscardedView_keepsBlinkEffectPaused() {
+        final AsciiString string = new AsciiString("Hello");
+        final AsciiCharacter view = string.getCharacter(2);
+        view.enableBlinkEffect(group, radio);
+        view.pauseBlinkEffect();
+
+        string.copyCharacter(2, new AsciiTile('T'));
+
+        final AsciiCharacter tile = string.getCharacter(2);
+        Assert.assertFalse(group.isRegistered(tile));
+        Assert.assertFalse(tile.isHidden());
+
+        tile.resumeBlinkEffect();
+        Assert.assertTrue(group.isRegistered(tile));
+
+        string.disableBlinkEffect();
+    }
+
+    /** Registers a character to the group, without keeping a reference to it. */
+    private void registerUnreferencedCharacter() {
+        new AsciiCharacter('A').enableBlinkEffect(group, radio);
+    }
+}
@@ -0,0 +1,231 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.builder.PanelBuilder;
+import com.valkryst.VTerminal.builder.component.TextFieldBuilder;
+import com.valkryst.VTerminal.component.Component;
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.component.TextField;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.render.RenderTargetType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+public class FocusManagerTest {
+    private static Font font;
+
+    private Panel panel;
+    private FocusManager focusManager;
+
+    private TextField first;
+    private TextField second;
+    private TextField third;
+
+    @Before
+    public void initializePanel() throws IOException, URISyntaxException {
+        if (font == null) {
+            font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        }
+
+        panel = new PanelBuilder().setFont(font)
+                                  .setWidthInCharacters(40)
+                                  .setHeightInCharacters(20)
+                                  .setRenderTargetType(RenderTargetType.IMAGE)
+                                  .setTargetFPS(0)
+                                  .build();
+
+        focusManager = panel.getFocusManager();
+
+        first = createTextField(0);
+        second = createTextField(1);
+        third = createTextField(2);
+    }
+
+    @Test
+    public void testConstructor_receivesEventsOfPanel() {
+        Assert.assertFalse(panel.getFocusTraversalKeysEnabled());
+
+        // Without a render loop, the panel's input queue dispatches each event as it arrives.
+        panel.getInputQueue().keyPressed(createEvent(KeyEvent.KEY_PRESSED, KeyEvent.VK_TAB, '\t', 0));
+        Assert.assertSame(first, focusManager.getFocusOwner());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullPanel() {
+        new FocusManager(null);
+    }
+
+    @Test
+    public void testRegister_byBuilder() {
+        Assert.assertEquals(3, focusManager.getTraversalOrder().size());
+        Assert.assertSame(first, focusManager.getTraversalOrder().get(0));
+        Assert.assertSame(second, focusManager.getTraversalOrder().get(1));
+        Assert.assertSame(third, focusManager.getTraversalOrder().get(2));
+    }
+
+    @Test
+    public void testRegister_twice() {
+        focusManager.register(first);
+        Assert.assertEquals(3, focusManager.getTraversalOrder().size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testRegister_withNullComponent() {
+        focusManager.register(null);
+    }
+
+    @Test
+    public void testRequestFocus() {
+        Assert.assertTrue(focusManager.requestFocus(second));
+        Assert.assertSame(second, focusManager.getFocusOwner());
+        Assert.assertTrue(second.isFocused());
+
+        Assert.assertTrue(focusManager.requestFocus(first));
+        Assert.assertFalse(second.isFocused());
+        Assert.assertTrue(first.isFocused());
+    }
+
+    @Test
+    public void testRequestFocus_withUnregisteredComponent() {
+        final Component component = new Component(0, 10, 5, 1);
+        panel.addComponent(component);
+
+        Assert.assertFalse(focusManager.requestFocus(component));
+        Assert.assertNull(focusManager.getFocusOwner());
+    }
+
+    @Test
+    public void testRequestFocus_withComponentOffScreen() {
+        final TextField field = new TextFieldBuilder().setPanel(panel).build();
+        panel.swapScreen(new Screen(0, 0, 40, 20));
+
+        Assert.assertFalse(focusManager.requestFocus(field));
+    }
+
+    @Test
+    public void testKeyTyped_isOnlyDeliveredToFocusOwner() {
+        focusManager.requestFocus(second);
+        focusManager.keyTyped(createEvent(KeyEvent.KEY_TYPED, KeyEvent.VK_UNDEFINED, 'a', 0));
+
+        Assert.assertTrue(first.getText().trim().isEmpty());
+        Assert.assertEquals("a", second.getText().trim());
+        Assert.assertTrue(third.getText().trim().isEmpty());
+    }
+
+    @Test
+    public void testKeyTyped_withoutFocusOwner() {
+        focusManager.keyTyped(createEvent(KeyEvent.KEY_TYPED, KeyEvent.VK_UNDEFINED, 'a', 0));
+
+        Assert.assertTrue(first.getText().trim().isEmpty());
+        Assert.assertTrue(second.getText().trim().isEmpty());
+        Assert.assertTrue(third.getText().trim().isEmpty());
+    }
+
+    @Test
+    public void testKeyPressed_withTab() {
+        final KeyEvent tab = createEvent(KeyEvent.KEY_PRESSED, KeyEvent.VK_TAB, '\t', 0);
+
+        focusManager.keyPressed(tab);
+        Assert.assertSame(first, focusManager.getFocusOwner());
+        Assert.assertTrue(tab.isConsumed());
+
+        focusManager.keyPressed(createEvent(KeyEvent.KEY_PRESSED, KeyEvent.VK_TAB, '\t', 0));
+        Assert.assertSame(second, focusManager.getFocusOwner());
+
+        focusManager.keyPressed(createEvent(KeyEvent.KEY_PRESSED, KeyEvent.VK_TAB, '\t', 0));
+        focusManager.keyPressed(createEvent(KeyEvent.KEY_PRESSED, KeyEvent.VK_TAB, '\t', 0));
+        Assert.assertSame(first, focusManager.getFocusOwner());
+    }
+
+    @Test
+    public void testKeyPressed_withShiftTab() {
+        focusManager.keyPressed(createEvent(KeyEvent.KEY_PRESSED, KeyEvent.VK_TAB, '\t', InputEvent.SHIFT_DOWN_MASK));
+        Assert.assertSame(third, focusManager.getFocusOwner());
+
+        focusManager.keyPressed(createEvent(KeyEvent.KEY_PRESSED, KeyEvent.VK_TAB, '\t', InputEvent.SHIFT_DOWN_MASK));
+        Assert.assertSame(second, focusManager.getFocusOwner());
+    }
+
+    @Test
+    public void testKeyTyped_withTab() {
+        focusManager.requestFocus(first);
+
+        final KeyEvent tab = createEvent(KeyEvent.KEY_TYPED, KeyEvent.VK_UNDEFINED, '\t', 0);
+        focusManager.keyTyped(tab);
+
+        Assert.assertTrue(tab.isConsumed());
+        Assert.assertTrue(first.getText().trim().isEmpty());
+    }
+
+    @Test
+    public void testFocusNext_skipsRemovedComponents() {
+        panel.getScreen().removeComponent(second);
+
+        focusManager.requestFocus(first);
+        focusManager.focusNext();
+
+        Assert.assertSame(third, focusManager.getFocusOwner());
+    }
+
+    @Test
+    public void testFocusNext_withoutComponents() {
+        panel.removeComponents(first, second, third);
+        focusManager.focusNext();
+
+        Assert.assertNull(focusManager.getFocusOwner());
+    }
+
+    @Test
+    public void testUnregister() {
+        focusManager.requestFocus(second);
+        focusManager.unregister(second);
+
+        Assert.assertNull(focusManager.getFocusOwner());
+        Assert.assertFalse(second.isFocused());
+        Assert.assertFalse(focusManager.isRegistered(second));
+    }
+
+    @Test
+    public void testRemoveComponent_unregistersComponent() {
+        focusManager.requestFocus(second);
+        panel.removeComponent(second);
+
+        Assert.assertNull(focusManager.getFocusOwner());
+        Assert.assertFalse(focusManager.isRegistered(second));
+        Assert.assertEquals(2, focusManager.getTraversalOrder().size());
+    }
+
+    @Test
+    public void testGetFocusOwner_afterOwnerIsRemovedFromScreen() {
+        focusManager.requestFocus(second);
+        panel.getScreen().removeComponent(second);
+
+        Assert.assertNull(focusManager.getFocusOwner());
+        Assert.assertFalse(second.isFocused());
+    }
+
+    @Test
+    public void testClearFocus() {
+        focusManager.requestFocus(second);
+        focusManager.clearFocus();
+
+        Assert.assertNull(focusManager.getFocusOwner());
+        Assert.assertFalse(second.isFocused());
+    }
+
+    private TextField createTextField(final int row) {
+        return new TextFieldBuilder().setColumnAndRowIndices(0, row)
+                                     .setPanel(panel)
+                                     .build();
+    }
+
+    private KeyEvent createEvent(final int id, final int keyCode, final char keyChar, final int modifiers) {
+        return new KeyEvent(panel, id, 0, modifiers, keyCode, keyChar);
+    }
+}
@@ -0,0 +1,252 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.builder.PanelBuilder;
+import com.valkryst.VTerminal.builder.component.TextFieldBuilder;
+import com.valkryst.VTerminal.component.Component;
+import com.valkryst.VTerminal.component.TextField;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.render.RenderTargetType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.EventQueue;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InputQueueTest {
+    private static Font font;
+
+    private Panel panel;
+    private InputQueue queue;
+
+    /** The number of times that a dispatch has been requested. */
+    private int dispatchRequests;
+
+    /** The hover transitions of every recording component, in order. */
+    private final List<String> transitions = new ArrayList<>();
+
+    @Before
+    public void initializeQueue() throws IOException, URISyntaxException {
+        if (font == null) {
+            font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        }
+
+        panel = new PanelBuilder().setFont(font)
+                                  .setWidthInCharacters(40)
+                                  .setHeightInCharacters(20)
+                                  .setRenderTargetType(RenderTargetType.IMAGE)
+                                  .setTargetFPS(0)
+                                  .build();
+
+        dispatchRequests = 0;
+        transitions.clear();
+        queue = new InputQueue(panel.getMouseDispatcher(), panel.getFocusManager(), () -> dispatchRequests++);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullMouseDispatcher() {
+        new InputQueue(null, panel.getFocusManager(), () -> {});
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullFocusManager() {
+        new InputQueue(panel.getMouseDispatcher(), null, () -> {});
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullDispatchRequester() {
+        new InputQueue(panel.getMouseDispatcher(), panel.getFocusManager(), null);
+    }
+
+    @Test
+    public void testQueue_requestsDispatch() {
+        queue.mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 0, 0, 0));
+        queue.keyTyped(createKeyEvent(KeyEvent.KEY_TYPED, KeyEvent.VK_UNDEFINED, 'a'));
+
+        Assert.assertEquals(2, dispatchRequests);
+        Assert.assertEquals(2, queue.getQueuedEvents());
+        Assert.assertEquals(0, queue.getEventsDispatched());
+    }
+
+    @Test
+    public void testQueue_coalescesMouseMoves() {
+        final Component first = new RecordingComponent("first", 0, 0, 5, 1);
+        final Component second = new RecordingComponent("second", 10, 0, 5, 1);
+        final Component third = new RecordingComponent("third", 20, 0, 5, 1);
+        panel.addComponents(first, second, third);
+
+        // A sweep across all three components, within a single frame.
+        for (int column = 0 ; column < 25 ; column++) {
+            queue.mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, column, 0, 0));
+        }
+
+        Assert.assertEquals(1, queue.getQueuedEvents());
+        Assert.assertEquals(1, queue.dispatch());
+
+        Assert.assertEquals(25, queue.getEventsReceived());
+        Assert.assertEquals(24, queue.getEventsCoalesced());
+        Assert.assertEquals(1, queue.getEventsDispatched());
+
+        // Only the component under the latest position is notified.
+        Assert.assertEquals(1, transitions.size());
+        Assert.assertEquals("third entered", transitions.get(0));
+    }
+
+    @Test
+    public void testQueue_doesNotCoalesceAcrossOtherEvents() {
+        queue.mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 0, 0, 0));
+        queue.mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 1, 0, 0));
+        queue.mousePressed(createMouseEvent(MouseEvent.MOUSE_PRESSED, 1, 0, InputEvent.BUTTON1_DOWN_MASK));
+        queue.mouseDragged(createMouseEvent(MouseEvent.MOUSE_DRAGGED, 2, 0, InputEvent.BUTTON1_DOWN_MASK));
+        queue.mouseDragged(createMouseEvent(MouseEvent.MOUSE_DRAGGED, 3, 0, InputEvent.BUTTON1_DOWN_MASK));
+        queue.mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 4, 0, 0));
+
+        Assert.assertEquals(4, queue.getQueuedEvents());
+        Assert.assertEquals(2, queue.getEventsCoalesced());
+    }
+
+    @Test
+    public void testQueue_doesNotCoalesceMovesWithDifferentModifiers() {
+        queue.mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 0, 0, 0));
+        queue.mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 1, 0, InputEvent.SHIFT_DOWN_MASK));
+
+        Assert.assertEquals(2, queue.getQueuedEvents());
+        Assert.assertEquals(0, queue.getEventsCoalesced());
+    }
+
+    @Test
+    public void testQueue_batchesKeyRepeats() {
+        final TextField field = new TextFieldBuilder().setWidth(10)
+                                                      .setMaxCharacters(10)
+                                                      .setPanel(panel)
+                                                      .build();
+        panel.getFocusManager().requestFocus(field);
+
+        // A held key repeats, and every repeat must still type a character.
+        for (int i = 0 ; i < 5 ; i++) {
+            queue.keyPressed(createKeyEvent(KeyEvent.KEY_PRESSED, KeyEvent.VK_A, 'a'));
+            queue.keyTyped(createKeyEvent(KeyEvent.KEY_TYPED, KeyEvent.VK_UNDEFINED, 'a'));
+        }
+
+        Assert.assertTrue(field.getText().trim().isEmpty());
+
+        Assert.assertEquals(10, queue.dispatch());
+        Assert.assertEquals(0, queue.getEventsCoalesced());
+        Assert.assertEquals("aaaaa", field.getText().trim());
+    }
+
+    @Test
+    public void testDispatch_withoutEvents() {
+        Assert.assertEquals(0, queue.dispatch());
+        Assert.assertEquals(0, queue.getEventsDispatched());
+    }
+
+    @Test
+    public void testDispatch_preservesOrder() {
+        final Component component = new RecordingComponent("component", 0, 0, 5, 1);
+        panel.addComponent(component);
+
+        queue.mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 1, 0, 0));
+        queue.mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 2, 0, 0));
+        queue.mouseExited(createMouseEvent(MouseEvent.MOUSE_EXITED, -1, 0, 0));
+        queue.dispatch();
+
+        Assert.assertEquals(2, transitions.size());
+        Assert.assertEquals("component entered", transitions.get(0));
+        Assert.assertEquals("component exited", transitions.get(1));
+        Assert.assertEquals(0, queue.getQueuedEvents());
+    }
+
+    @Test
+    public void testPanel_withDoubleBufferingDispatchesOnPublish() {
+        final Panel bufferedPanel = new PanelBuilder().setFont(font)
+                                                      .setWidthInCharacters(40)
+                                                      .setHeightInCharacters(20)
+                                                      .setRenderTargetType(RenderTargetType.IMAGE)
+                                                      .setDoubleBuffered(true)
+                                                      .build();
+        bufferedPanel.addComponent(new RecordingComponent("component", 0, 0, 5, 1));
+
+        // The handlers write to the screen, so only the writing thread may dispatch the events.
+        bufferedPanel.getInputQueue().mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 1, 0, 0));
+        Assert.assertEquals(1, bufferedPanel.getInputQueue().getQueuedEvents());
+        Assert.assertTrue(transitions.isEmpty());
+
+        bufferedPanel.publish();
+        Assert.assertEquals(0, bufferedPanel.getInputQueue().getQueuedEvents());
+        Assert.assertEquals(1, transitions.size());
+        Assert.assertEquals("component entered", transitions.get(0));
+    }
+
+    @Test
+    public void testPanel_withRenderLoopDispatchesOnEventDispatchThread() throws Exception {
+        final Panel loopPanel = new PanelBuilder().setFont(font)
+                                                  .setWidthInCharacters(40)
+                                                  .setHeightInCharacters(20)
+                                                  .setRenderTargetType(RenderTargetType.IMAGE)
+                                                  .setTargetFPS(60)
+                                                  .build();
+
+        try {
+            final List<Boolean> onDispatchThread = new ArrayList<>();
+
+            loopPanel.addComponent(new Component(0, 0, 5, 1) {
+                @Override
+                public void onMouseEntered() {
+                    onDispatchThread.add(EventQueue.isDispatchThread());
+                }
+            });
+
+            loopPanel.getInputQueue().mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 1, 0, 0));
+            loopPanel.getInputQueue().mouseMoved(createMouseEvent(MouseEvent.MOUSE_MOVED, 2, 0, 0));
+
+            // Waits for the posted dispatch, which runs before this.
+            EventQueue.invokeAndWait(() -> {});
+
+            Assert.assertEquals(0, loopPanel.getInputQueue().getQueuedEvents());
+            Assert.assertEquals(1, loopPanel.getInputQueue().getEventsDispatched());
+            Assert.assertEquals(1, onDispatchThread.size());
+            Assert.assertTrue(onDispatchThread.get(0));
+        } finally {
+            loopPanel.getRenderLoop().stop();
+        }
+    }
+
+    private MouseEvent createMouseEvent(final int id, final int column, final int row, final int modifiers) {
+        final int x = column * font.getWidth() + font.getWidth() / 2;
+        final int y = row * font.getHeight() + font.getHeight() / 2;
+        final int button = (id == MouseEvent.MOUSE_PRESSED ? MouseEvent.BUTTON1 : MouseEvent.NOBUTTON);
+        return new MouseEvent(panel, id, 0, modifiers, x, y, 1, false, button);
+    }
+
+    private KeyEvent createKeyEvent(final int id, final int keyCode, final char keyChar) {
+        return new KeyEvent(panel, id, 0, 0, keyCode, keyChar);
+    }
+
+    /** A component which records its hover transitions. */
+    private class RecordingComponent extends Component {
+        private final String name;
+
+        private RecordingComponent(final String name, final int columnIndex, final int rowIndex, final int width, final int height) {
+            super(columnIndex, rowIndex, width, height);
+            this.name = name;
+        }
+
+        @Override
+        public void onMouseEntered() {
+            transitions.add(name + " entered");
+        }
+
+        @Override
+        public void onMouseExited() {
+            transitions.add(name + " exited");
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.builder.PanelBuilder;
+import com.valkryst.VTerminal.builder.component.ButtonBuilder;
+import com.valkryst.VTerminal.component.Button;
+import com.valkryst.VTerminal.component.Component;
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.render.RenderTargetType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MouseDispatcherTest {
+    private static Font font;
+
+    private Panel panel;
+    private MouseDispatcher dispatcher;
+
+    /** The hooks called on every recording component, in order. */
+    private final List<String> calls = new ArrayList<>();
+
+    @Before
+    public void initializePanel() throws IOException, URISyntaxException {
+        if (font == null) {
+            font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        }
+
+        panel = new PanelBuilder().setFont(font)
+                                  .setWidthInCharacters(40)
+                                  .setHeightInCharacters(20)
+                                  .setRenderTargetType(RenderTargetType.IMAGE)
+                                  .setTargetFPS(0)
+                                  .build();
+
+        dispatcher = panel.getMouseDispatcher();
+        calls.clear();
+    }
+
+    @Test
+    public void testConstructor_receivesEventsOfPanel() {
+        final Component component = new RecordingComponent("component", 0, 0, 5, 1);
+        panel.addComponent(component);
+
+        // Without a render loop, the panel's input queue dispatches each event as it arrives.
+        panel.dispatchEvent(createEvent(MouseEvent.MOUSE_MOVED, 1, 0, MouseEvent.NOBUTTON));
+        Assert.assertSame(component, dispatcher.getHoveredComponent());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullPanel() {
+        new MouseDispatcher(null, 1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withZeroCellWidth() {
+        new MouseDispatcher(panel, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withZeroCellHeight() {
+        new MouseDispatcher(panel, 1, 0);
+    }
+
+    @Test
+    public void testMouseMoved_onlyNotifiesComponentsInvolved() {
+        final Component first = new RecordingComponent("first", 0, 0, 5, 1);
+        final Component second = new RecordingComponent("second", 10, 0, 5, 1);
+        final Component third = new RecordingComponent("third", 20, 0, 5, 1);
+        panel.addComponents(first, second, third);
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 1, 0, MouseEvent.NOBUTTON));
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 2, 0, MouseEvent.NOBUTTON));
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 11, 0, MouseEvent.NOBUTTON));
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 30, 0, MouseEvent.NOBUTTON));
+
+        // The third component is never notified, and moving within a component notifies nothing.
+        Assert.assertEquals(4, calls.size());
+        Assert.assertEquals("first entered", calls.get(0));
+        Assert.assertEquals("first exited", calls.get(1));
+        Assert.assertEquals("second entered", calls.get(2));
+        Assert.assertEquals("second exited", calls.get(3));
+        Assert.assertNull(dispatcher.getHoveredComponent());
+    }
+
+    @Test
+    public void testMouseMoved_routesToTopmostComponent() {
+        final Component bottom = new RecordingComponent("bottom", 0, 0, 10, 5);
+        final Component top = new RecordingComponent("top", 2, 2, 2, 2);
+        panel.addComponents(bottom, top);
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 3, 3, MouseEvent.NOBUTTON));
+        Assert.assertSame(top, dispatcher.getHoveredComponent());
+
+        panel.removeComponent(top);
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 3, 3, MouseEvent.NOBUTTON));
+        Assert.assertSame(bottom, dispatcher.getHoveredComponent());
+    }
+
+    @Test
+    public void testMouseMoved_afterComponentIsMoved() {
+        final Component component = new RecordingComponent("component", 0, 0, 2, 2);
+        panel.addComponent(component);
+
+        component.setColumnIndex(10);
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 0, 0, MouseEvent.NOBUTTON));
+        Assert.assertNull(dispatcher.getHoveredComponent());
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 11, 1, MouseEvent.NOBUTTON));
+        Assert.assertSame(component, dispatcher.getHoveredComponent());
+    }
+
+    @Test
+    public void testMouseMoved_onSubScreen() {
+        final Screen subScreen = new Screen(0, 0, 40, 20);
+        final Component bottom = new RecordingComponent("bottom", 0, 0, 10, 5);
+        final Component component = new RecordingComponent("component", 0, 0, 2, 2);
+        panel.addComponent(bottom);
+        panel.addComponent(subScreen);
+        subScreen.addComponent(component);
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 1, 1, MouseEvent.NOBUTTON));
+        Assert.assertSame(component, dispatcher.getHoveredComponent());
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 5, 1, MouseEvent.NOBUTTON));
+        Assert.assertSame(bottom, dispatcher.getHoveredComponent());
+    }
+
+    @Test
+    public void testMouseExited() {
+        final Component component = new RecordingComponent("component", 0, 0, 2, 2);
+        panel.addComponent(component);
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 0, 0, MouseEvent.NOBUTTON));
+        dispatcher.mouseExited(createEvent(MouseEvent.MOUSE_EXITED, -1, 0, MouseEvent.NOBUTTON));
+
+        Assert.assertNull(dispatcher.getHoveredComponent());
+        Assert.assertEquals("component exited", calls.get(calls.size() - 1));
+    }
+
+    @Test
+    public void testMouseReleased_isDeliveredToPressedComponent() {
+        final Component first = new RecordingComponent("first", 0, 0, 5, 1);
+        final Component second = new RecordingComponent("second", 10, 0, 5, 1);
+        panel.addComponents(first, second);
+
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 1, 0, MouseEvent.BUTTON1));
+        dispatcher.mouseReleased(createEvent(MouseEvent.MOUSE_RELEASED, 11, 0, MouseEvent.BUTTON1));
+
+        Assert.assertEquals("first pressed", calls.get(0));
+        Assert.assertEquals("first released false", calls.get(1));
+        Assert.assertEquals("second entered", calls.get(2));
+        Assert.assertNull(dispatcher.getPressedComponent());
+    }
+
+    @Test
+    public void testRemoveComponent_forgetsHoveredComponent() {
+        final Component component = new RecordingComponent("component", 0, 0, 5, 1);
+        panel.addComponent(component);
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 1, 0, MouseEvent.NOBUTTON));
+        panel.removeComponent(component);
+        Assert.assertNull(dispatcher.getHoveredComponent());
+
+        // The removed component is never notified again.
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 20, 0, MouseEvent.NOBUTTON));
+        Assert.assertEquals(1, calls.size());
+        Assert.assertEquals("component entered", calls.get(0));
+    }
+
+    @Test
+    public void testRemoveComponent_forgetsPressedComponent() {
+        final int[] clicks = new int[1];
+
+        final Button button = new ButtonBuilder().setText("Click")
+                                                 .setColumnAndRowIndices(5, 5)
+                                                 .setPanel(panel)
+                                                 .setOnClickFunction(() -> clicks[0]++)
+                                                 .build();
+
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 6, 5, MouseEvent.BUTTON1));
+        panel.removeComponent(button);
+        Assert.assertNull(dispatcher.getPressedComponent());
+
+        dispatcher.mouseReleased(createEvent(MouseEvent.MOUSE_RELEASED, 6, 5, MouseEvent.BUTTON1));
+        Assert.assertEquals(0, clicks[0]);
+    }
+
+    @Test
+    public void testRemoveComponent_forgetsComponentsOfSubScreen() {
+        final Screen subScreen = new Screen(0, 0, 40, 20);
+        final Component component = new RecordingComponent("component", 0, 0, 2, 2);
+        panel.addComponent(subScreen);
+        subScreen.addComponent(component);
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 1, 1, MouseEvent.NOBUTTON));
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 1, 1, MouseEvent.BUTTON1));
+
+        panel.removeComponent(subScreen);
+        Assert.assertNull(dispatcher.getHoveredComponent());
+        Assert.assertNull(dispatcher.getPressedComponent());
+    }
+
+    @Test
+    public void testSwapScreen_forgetsComponents() {
+        final Component component = new RecordingComponent("component", 0, 0, 5, 1);
+        panel.addComponent(component);
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 1, 0, MouseEvent.NOBUTTON));
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 1, 0, MouseEvent.BUTTON1));
+
+        panel.swapScreen(new Screen(0, 0, 40, 20));
+        Assert.assertNull(dispatcher.getHoveredComponent());
+        Assert.assertNull(dispatcher.getPressedComponent());
+
+        dispatcher.mouseReleased(createEvent(MouseEvent.MOUSE_RELEASED, 1, 0, MouseEvent.BUTTON1));
+        Assert.assertEquals(2, calls.size());
+    }
+
+    @Test
+    public void testMouseClicked_movesFocus() {
+        final Component first = new RecordingComponent("first", 0, 0, 5, 1);
+        final Component second = new RecordingComponent("second", 10, 0, 5, 1);
+        panel.addComponents(first, second);
+        panel.getFocusManager().register(first);
+        panel.getFocusManager().register(second);
+
+        dispatcher.mouseClicked(createEvent(MouseEvent.MOUSE_CLICKED, 1, 0, MouseEvent.BUTTON1));
+        Assert.assertTrue(first.isFocused());
+
+        dispatcher.mouseClicked(createEvent(MouseEvent.MOUSE_CLICKED, 11, 0, MouseEvent.BUTTON1));
+        Assert.assertFalse(first.isFocused());
+        Assert.assertTrue(second.isFocused());
+
+        dispatcher.mouseClicked(createEvent(MouseEvent.MOUSE_CLICKED, 30, 10, MouseEvent.BUTTON1));
+        Assert.assertFalse(second.isFocused());
+        Assert.assertNull(panel.getFocusManager().getFocusOwner());
+    }
+
+    @Test
+    public void testMouseClicked_withUnregisteredComponent() {
+        final Component registered = new RecordingComponent("registered", 0, 0, 5, 1);
+        final Component unregistered = new RecordingComponent("unregistered", 10, 0, 5, 1);
+        panel.addComponents(registered, unregistered);
+        panel.getFocusManager().register(registered);
+
+        dispatcher.mouseClicked(createEvent(MouseEvent.MOUSE_CLICKED, 1, 0, MouseEvent.BUTTON1));
+        dispatcher.mouseClicked(createEvent(MouseEvent.MOUSE_CLICKED, 11, 0, MouseEvent.BUTTON1));
+
+        Assert.assertFalse(registered.isFocused());
+        Assert.assertFalse(unregistered.isFocused());
+        Assert.assertNull(panel.getFocusManager().getFocusOwner());
+    }
+
+    @Test
+    public void testMouseClicked_withOtherButton() {
+        final Component component = new RecordingComponent("component", 0, 0, 5, 1);
+        panel.addComponent(component);
+        panel.getFocusManager().register(component);
+
+        dispatcher.mouseClicked(createEvent(MouseEvent.MOUSE_CLICKED, 1, 0, MouseEvent.BUTTON3));
+        Assert.assertFalse(component.isFocused());
+    }
+
+    @Test
+    public void testButton_runsOnClickFunction() {
+        final int[] clicks = new int[1];
+
+        final Button button = new ButtonBuilder().setText("Click")
+                                                 .setColumnAndRowIndices(5, 5)
+                                                 .setPanel(panel)
+                                                 .setOnClickFunction(() -> clicks[0]++)
+                                                 .build();
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 6, 5, MouseEvent.NOBUTTON));
+        Assert.assertEquals(button.getBackgroundColor_hover(), button.getString(0).getCharacter(0).getBackgroundColor());
+
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 6, 5, MouseEvent.BUTTON1));
+        Assert.assertEquals(button.getBackgroundColor_pressed(), button.getString(0).getCharacter(0).getBackgroundColor());
+
+        dispatcher.mouseReleased(createEvent(MouseEvent.MOUSE_RELEASED, 6, 5, MouseEvent.BUTTON1));
+        Assert.assertEquals(1, clicks[0]);
+        Assert.assertEquals(button.getBackgroundColor_hover(), button.getString(0).getCharacter(0).getBackgroundColor());
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 0, 0, MouseEvent.NOBUTTON));
+        Assert.assertEquals(button.getBackgroundColor_normal(), button.getString(0).getCharacter(0).getBackgroundColor());
+    }
+
+    /**
+     * Creates a mouse event at the center of a cell.
+     *
+     * @param id
+     *         The type of event.
+     *
+     * @param column
+     *         The x-axis (column) coordinate of the cell.
+     *
+     * @param row
+     *         The y-axis (row) coordinate of the cell.
+     *
+     * @param button
+     *         The button.
+     *
+     * @return
+     *         The event.
+     */
+    private MouseEvent createEvent(final int id, final int column, final int row, final int button) {
+        final int x = column * font.getWidth() + font.getWidth() / 2;
+        final int y = row * font.getHeight() + font.getHeight() / 2;
+        return new MouseEvent(panel, id, 0, 0, x, y, 1, false, button);
+    }
+
+    /** A component which records every mouse hook that's called on it. */
+    private class RecordingComponent extends Component {
+        private final String name;
+
+        private RecordingComponent(final String name, final int columnIndex, final int rowIndex, final int width, final int height) {
+            super(columnIndex, rowIndex, width, height);
+            this.name = name;
+        }
+
+        @Override
+        public void onMouseEntered() {
+            calls.add(name + " entered");
+        }
+
+        @Override
+        public void onMouseExited() {
+            calls.add(name + " exited");
+        }
+
+        @Override
+        public void onMousePressed(final MouseEvent event) {
+            calls.add(name + " pressed");
+        }
+
+        @Override
+        public void onMouseReleased(final MouseEvent event, final boolean isOverComponent) {
+            calls.add(name + " released " + isOverComponent);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.valkryst.VTerminal;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RenderLoopTest {
+    private RenderLoop loop;
+
+    @After
+    public void stopLoop() {
+        if (loop != null) {
+            loop.stop();
+        }
+    }
+
+    @Test
+    public void testConstructor() {
+        loop = new RenderLoop(() -> {}, 30);
+        Assert.assertEquals(30, loop.getTargetFPS());
+        Assert.assertFalse(loop.isRunning());
+        Assert.assertEquals(0, loop.getAverageFrameTime());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullRenderer() {
+        new RenderLoop(null, 30);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withZeroFPS() {
+        new RenderLoop(() -> {}, 0);
+    }
+
+    @Test
+    public void testStartAndStop() {
+        loop = new RenderLoop(() -> {}, 30);
+
+        loop.start();
+        Assert.assertTrue(loop.isRunning());
+
+        loop.stop();
+        Assert.assertFalse(loop.isRunning());
+    }
+
+    @Test
+    public void testRequestFrame_coalescesRequests() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger frames = new AtomicInteger();
+
+        loop = new RenderLoop(() -> {
+            frames.incrementAndGet();
+            latch.countDown();
+        }, 10);
+
+        for (int i = 0 ; i < 1000 ; i++) {
+            loop.requestFrame();
+        }
+
+        loop.start();
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(250);
+        loop.stop();
+
+        Assert.assertEquals(1, frames.get());
+        Assert.assertEquals(1, loop.getFramesRendered());
+        Assert.assertEquals(1000, loop.getFramesRequested());
+    }
+
+    @Test
+    public void testFrameStatistics() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        // Each frame takes longer than a tick, so ticks must be dropped.
+        loop = new RenderLoop(() -> {
+            try {
+                Thread.sleep(30);
+            } catch (final InterruptedException ignored) {}
+
+            latch.countDown();
+        }, 100);
+
+        loop.requestFrame();
+        loop.start();
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        loop.stop();
+
+        Assert.assertTrue(loop.getFramesDropped() > 0);
+        Assert.assertTrue(loop.getLastFrameTime() >= TimeUnit.MILLISECONDS.toNanos(30));
+        Assert.assertTrue(loop.getMaximumFrameTime() >= loop.getLastFrameTime());
+        Assert.assertTrue(loop.getAverageFrameTime() > 0);
+    }
+
+    @Test
+    public void testRenderer_withException() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<Throwable> thrown = new AtomicReference<>();
+
+        loop = new RenderLoop(() -> {
+            throw new IllegalStateException("Test");
+        }, 100);
+
+        loop.setUncaughtExceptionHandler((thread, e) -> {
+            thrown.set(e);
+            latch.countDown();
+        });
+
+        loop.requestFrame();
+        loop.start();
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(thrown.get() instanceof IllegalStateException);
+
+        // The loop stops, rather than rendering frames that keep failing.
+        Thread.sleep(50);
+        Assert.assertFalse(loop.isRunning());
+    }
+}
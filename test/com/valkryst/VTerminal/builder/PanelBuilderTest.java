@@ -1,14 +1,21 @@
 package com.valkryst.VTerminal.builder;
 
+import com.valkryst.VTerminal.Panel;
 import com.valkryst.VTerminal.component.Screen;
 import com.valkryst.VTerminal.font.Font;
 import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.render.ImageRenderTarget;
+import com.valkryst.VTerminal.render.PixelRenderTarget;
+import com.valkryst.VTerminal.render.RenderTargetType;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.concurrent.ForkJoinPool;
 
 public class PanelBuilderTest {
     private final Font font;
@@ -147,4 +154,306 @@ public class PanelBuilderTest {
 
         Assert.assertEquals(null, builder.getScreen());
     }
+
+    @Test
+    public void testSetGlyphAtlasEnabled() {
+        Assert.assertFalse(builder.isGlyphAtlasEnabled());
+
+        builder.setGlyphAtlasEnabled(true);
+        Assert.assertTrue(builder.isGlyphAtlasEnabled());
+
+        builder.reset();
+        Assert.assertFalse(builder.isGlyphAtlasEnabled());
+    }
+
+    @Test
+    public void testSetGlyphAtlasEnabled_returnValue() {
+        Assert.assertTrue(builder == builder.setGlyphAtlasEnabled(true));
+    }
+
+    @Test
+    public void testSetImageCacheFile() {
+        Assert.assertNull(builder.getImageCacheFile());
+
+        final File file = new File("image.cache");
+        Assert.assertTrue(builder == builder.setImageCacheFile(file));
+        Assert.assertEquals(file, builder.getImageCacheFile());
+
+        builder.reset();
+        Assert.assertNull(builder.getImageCacheFile());
+    }
+
+    @Test
+    public void testSetFramebufferEnabled() {
+        Assert.assertFalse(builder.isFramebufferEnabled());
+
+        builder.setFramebufferEnabled(true);
+        Assert.assertTrue(builder.isFramebufferEnabled());
+
+        builder.reset();
+        Assert.assertFalse(builder.isFramebufferEnabled());
+    }
+
+    @Test
+    public void testSetFramebufferEnabled_returnValue() {
+        Assert.assertTrue(builder == builder.setFramebufferEnabled(true));
+    }
+
+    @Test
+    public void testSetRenderThreads() {
+        Assert.assertEquals(1, builder.getRenderThreads());
+
+        builder.setRenderThreads(4);
+        Assert.assertEquals(4, builder.getRenderThreads());
+
+        builder.reset();
+        Assert.assertEquals(1, builder.getRenderThreads());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetRenderThreads_withZeroThreads() {
+        builder.setRenderThreads(0);
+    }
+
+    @Test
+    public void testSetRenderPool() {
+        Assert.assertNull(builder.getRenderPool());
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        builder.setRenderPool(pool);
+        Assert.assertSame(pool, builder.getRenderPool());
+
+        builder.reset();
+        Assert.assertNull(builder.getRenderPool());
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void testDispose_shutsDownOwnedRenderPool() {
+        final Panel panel = builder.setFont(font)
+                                   .setWidthInCharacters(4)
+                                   .setHeightInCharacters(3)
+                                   .setRenderTargetType(RenderTargetType.PIXELS)
+                                   .setRenderThreads(2)
+                                   .build();
+
+        final PixelRenderTarget target = (PixelRenderTarget) panel.getRenderTarget();
+        final ForkJoinPool pool = target.getPool();
+        Assert.assertNotNull(pool);
+
+        panel.dispose();
+        Assert.assertTrue(pool.isShutdown());
+
+        // The panel is still drawn, on the calling thread.
+        panel.draw();
+        Assert.assertFalse(panel.getScreen().hasDirtyRegions());
+        assertImageEquals(panel.screenshot(), target.getFramebuffer().getImage());
+    }
+
+    @Test
+    public void testDispose_leavesCallerRenderPoolRunning() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            final Panel panel = builder.setFont(font)
+                                       .setWidthInCharacters(4)
+                                       .setHeightInCharacters(3)
+                                       .setRenderTargetType(RenderTargetType.PIXELS)
+                                       .setRenderPool(pool)
+                                       .build();
+
+            Assert.assertSame(pool, ((PixelRenderTarget) panel.getRenderTarget()).getPool());
+
+            panel.dispose();
+            Assert.assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSetMinimumBandHeight() {
+        Assert.assertEquals(8, builder.getMinimumBandHeight());
+
+        builder.setMinimumBandHeight(2);
+        Assert.assertEquals(2, builder.getMinimumBandHeight());
+
+        builder.reset();
+        Assert.assertEquals(8, builder.getMinimumBandHeight());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetMinimumBandHeight_withZeroHeight() {
+        builder.setMinimumBandHeight(0);
+    }
+
+    @Test
+    public void testSetTargetFPS() {
+        Assert.assertEquals(0, builder.getTargetFPS());
+
+        builder.setTargetFPS(60);
+        Assert.assertEquals(60, builder.getTargetFPS());
+
+        builder.reset();
+        Assert.assertEquals(0, builder.getTargetFPS());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetTargetFPS_withNegativeFPS() {
+        builder.setTargetFPS(-1);
+    }
+
+    @Test
+    public void testSetRenderTargetType() {
+        Assert.assertEquals(RenderTargetType.CANVAS, builder.getRenderTargetType());
+
+        builder.setRenderTargetType(RenderTargetType.PIXELS);
+        Assert.assertEquals(RenderTargetType.PIXELS, builder.getRenderTargetType());
+
+        builder.reset();
+        Assert.assertEquals(RenderTargetType.CANVAS, builder.getRenderTargetType());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSetRenderTargetType_withNullType() {
+        builder.setRenderTargetType(null);
+    }
+
+    @Test
+    public void testBuild_withImageTarget() {
+        final Panel panel = builder.setFont(font)
+                                   .setWidthInCharacters(4)
+                                   .setHeightInCharacters(3)
+                                   .setTargetFPS(0)
+                                   .setRenderTargetType(RenderTargetType.IMAGE)
+                                   .build();
+
+        Assert.assertNull(builder.getFrame());
+        Assert.assertTrue(panel.getRenderTarget() instanceof ImageRenderTarget);
+
+        panel.getScreen().write("Test", 0, 1);
+        panel.getRadio().transmit("DRAW");
+        Assert.assertFalse(panel.getScreen().hasDirtyRegions());
+
+        final BufferedImage image = ((ImageRenderTarget) panel.getRenderTarget()).getImage();
+        assertImageEquals(panel.screenshot(), image);
+    }
+
+    @Test
+    public void testBuild_withPixelTarget() {
+        final Panel panel = builder.setFont(font)
+                                   .setWidthInCharacters(4)
+                                   .setHeightInCharacters(3)
+                                   .setTargetFPS(0)
+                                   .setRenderThreads(2)
+                                   .setMinimumBandHeight(1)
+                                   .setRenderTargetType(RenderTargetType.PIXELS)
+                                   .build();
+
+        Assert.assertNull(builder.getFrame());
+        Assert.assertTrue(panel.getRenderTarget() instanceof PixelRenderTarget);
+
+        panel.getScreen().write("Test", 0, 1);
+        panel.draw();
+        Assert.assertFalse(panel.getScreen().hasDirtyRegions());
+
+        final BufferedImage image = ((PixelRenderTarget) panel.getRenderTarget()).getFramebuffer().getImage();
+        assertImageEquals(panel.screenshot(), image);
+    }
+
+    @Test
+    public void testBuild_withoutTargetFPSHasNoRenderLoop() {
+        final Panel panel = builder.setFont(font)
+                                   .setRenderTargetType(RenderTargetType.PIXELS)
+                                   .build();
+
+        Assert.assertNull(panel.getRenderLoop());
+    }
+
+    @Test
+    public void testBuild_withPixelTargetStartsRenderLoop() {
+        final Panel panel = builder.setFont(font)
+                                   .setRenderTargetType(RenderTargetType.PIXELS)
+                                   .setTargetFPS(60)
+                                   .build();
+
+        Assert.assertTrue(panel.getRenderLoop().isRunning());
+        panel.getRenderLoop().stop();
+    }
+
+    @Test
+    public void testDraw_withRunningRenderLoopRequestsFrame() {
+        final Panel panel = builder.setFont(font)
+                                   .setRenderTargetType(RenderTargetType.PIXELS)
+                                   .setTargetFPS(60)
+                                   .build();
+
+        try {
+            final long framesRequested = panel.getRenderLoop().getFramesRequested();
+
+            // Only the render loop may draw while it's running.
+            panel.draw();
+            Assert.assertEquals(framesRequested + 1, panel.getRenderLoop().getFramesRequested());
+        } finally {
+            panel.getRenderLoop().stop();
+        }
+    }
+
+    @Test
+    public void testSetDoubleBuffered() {
+        Assert.assertFalse(builder.isDoubleBuffered());
+
+        builder.setDoubleBuffered(true);
+        Assert.assertTrue(builder.isDoubleBuffered());
+
+        builder.reset();
+        Assert.assertFalse(builder.isDoubleBuffered());
+    }
+
+    @Test
+    public void testBuild_withDoubleBuffering() {
+        final Panel panel = builder.setFont(font)
+                                   .setWidthInCharacters(4)
+                                   .setHeightInCharacters(3)
+                                   .setTargetFPS(0)
+                                   .setDoubleBuffered(true)
+                                   .setRenderTargetType(RenderTargetType.PIXELS)
+                                   .build();
+
+        Assert.assertTrue(panel.getScreen().isDoubleBuffered());
+
+        final BufferedImage image = ((PixelRenderTarget) panel.getRenderTarget()).getFramebuffer().getImage();
+        final int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+
+        // A draw event may come from any thread, so it doesn't publish the write.
+        panel.getScreen().write("Test", 0, 1);
+        panel.getRadio().transmit("DRAW");
+        Assert.assertArrayEquals(pixels, image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth()));
+
+        // Only the writing thread publishes the write.
+        panel.publish();
+        Assert.assertFalse(panel.getScreen().hasDirtyRegions());
+        assertImageEquals(panel.screenshot(), image);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuild_publishWithoutDoubleBuffering() {
+        final Panel panel = builder.setFont(font)
+                                   .setWidthInCharacters(4)
+                                   .setHeightInCharacters(3)
+                                   .setTargetFPS(0)
+                                   .setRenderTargetType(RenderTargetType.PIXELS)
+                                   .build();
+
+        panel.publish();
+    }
+
+    private static void assertImageEquals(final BufferedImage expected, final BufferedImage image) {
+        for (int y = 0 ; y < image.getHeight() ; y++) {
+            for (int x = 0 ; x < image.getWidth() ; x++) {
+                Assert.assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+            }
+        }
+    }
 }
@@ -38,6 +38,8 @@ public class LoadingBarBuilderTest {
         builder.setBackgroundColor_complete(Color.ORANGE);
         builder.setForegroundColor_complete(Color.ORANGE);
 
+        builder.setPartialCellsEnabled(true);
+
         builder.reset();
 
         Assert.assertEquals(10, builder.getWidth());
@@ -53,6 +55,8 @@ public class LoadingBarBuilderTest {
 
         Assert.assertEquals(new Color(0x366C9F), builder.getBackgroundColor_complete());
         Assert.assertEquals(Color.GREEN, builder.getForegroundColor_complete());
+
+        Assert.assertFalse(builder.isPartialCellsEnabled());
     }
 
     @Test
@@ -142,4 +146,13 @@ public class LoadingBarBuilderTest {
         builder.setForegroundColor_complete(null);
         Assert.assertEquals(Color.ORANGE, builder.getForegroundColor_complete());
     }
+
+    @Test
+    public void testSetPartialCellsEnabled() {
+        builder.setPartialCellsEnabled(true);
+        Assert.assertTrue(builder.isPartialCellsEnabled());
+
+        builder.setPartialCellsEnabled(false);
+        Assert.assertFalse(builder.isPartialCellsEnabled());
+    }
 }
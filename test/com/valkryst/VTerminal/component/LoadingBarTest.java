@@ -0,0 +1,190 @@
+package com.valkryst.VTerminal.component;
+
+import com.valkryst.VRadio.Radio;
+import com.valkryst.VTerminal.AsciiGrid;
+import com.valkryst.VTerminal.builder.component.LoadingBarBuilder;
+import com.valkryst.VTerminal.misc.DirtyRegionTracker;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LoadingBarTest {
+    private Radio<String> radio;
+
+    /** The number of draw events transmitted to the radio. */
+    private int drawEvents;
+
+    @Before
+    public void initializeRadio() {
+        radio = new Radio<>();
+        drawEvents = 0;
+        radio.addReceiver("DRAW", (event, data) -> drawEvents++);
+    }
+
+    @Test
+    public void testConstructor_isIncomplete() {
+        final LoadingBar bar = createBar(false);
+        assertCells(bar, "----------");
+        Assert.assertEquals(0, bar.getPercentComplete());
+    }
+
+    @Test
+    public void testSetPercentComplete() {
+        final LoadingBar bar = createBar(false);
+
+        bar.setPercentComplete(30);
+        assertCells(bar, "###-------");
+        Assert.assertEquals(30, bar.getPercentComplete());
+
+        final AsciiGrid grid = bar.getGrid();
+        Assert.assertEquals(Color.GREEN.getRGB(), grid.getForegroundColors()[grid.indexOf(2, 1)]);
+        Assert.assertEquals(Color.RED.getRGB(), grid.getForegroundColors()[grid.indexOf(3, 1)]);
+
+        bar.setPercentComplete(100);
+        assertCells(bar, "##########");
+
+        bar.setPercentComplete(10);
+        assertCells(bar, "#---------");
+    }
+
+    @Test
+    public void testSetPercentComplete_withPercentOutOfRange() {
+        final LoadingBar bar = createBar(false);
+
+        bar.setPercentComplete(150);
+        Assert.assertEquals(100, bar.getPercentComplete());
+        assertCells(bar, "##########");
+
+        bar.setPercentComplete(-50);
+        Assert.assertEquals(0, bar.getPercentComplete());
+        assertCells(bar, "----------");
+    }
+
+    @Test
+    public void testSetPercentComplete_onlyRewritesChangedCells() {
+        final LoadingBar bar = createBar(false);
+        bar.setPercentComplete(50);
+        bar.getGrid().getDirtyRegions().clear();
+
+        bar.setPercentComplete(70);
+
+        final DirtyRegionTracker dirtyRegions = bar.getGrid().getDirtyRegions();
+
+        for (int row = 0 ; row < 2 ; row++) {
+            Assert.assertEquals(5, dirtyRegions.nextDirtyColumn(row, 0));
+            Assert.assertEquals(7, dirtyRegions.nextCleanColumn(row, 5));
+            Assert.assertEquals(-1, dirtyRegions.nextDirtyColumn(row, 7));
+        }
+    }
+
+    @Test
+    public void testSetPercentComplete_withoutMovingEnd() {
+        final LoadingBar bar = createBar(false);
+        bar.setPercentComplete(50);
+        bar.getGrid().getDirtyRegions().clear();
+        drawEvents = 0;
+
+        // Both percents fill five cells.
+        bar.setPercentComplete(50);
+        bar.setPercentComplete(55);
+
+        Assert.assertEquals(55, bar.getPercentComplete());
+        Assert.assertEquals(0, drawEvents);
+        Assert.assertFalse(bar.getGrid().getDirtyRegions().hasDirtyRegions());
+    }
+
+    @Test
+    public void testSetPercentComplete_withPartialCells() {
+        final LoadingBar bar = createBar(true);
+
+        // 10 cells of 8 steps, so 33% is 26 steps: three complete cells and two eighths of another.
+        bar.setPercentComplete(33);
+        assertCells(bar, "###▎------");
+
+        final AsciiGrid grid = bar.getGrid();
+        final int index = grid.indexOf(3, 0);
+        Assert.assertEquals(Color.BLUE.getRGB(), grid.getBackgroundColors()[index]);
+        Assert.assertEquals(Color.GREEN.getRGB(), grid.getForegroundColors()[index]);
+
+        bar.setPercentComplete(39);
+        assertCells(bar, "###▉------");
+
+        bar.setPercentComplete(40);
+        assertCells(bar, "####------");
+
+        bar.setPercentComplete(6);
+        assertCells(bar, "▌---------");
+    }
+
+    @Test
+    public void testSetPercentComplete_fromManyThreads() throws InterruptedException {
+        final LoadingBar bar = createBar(true);
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0 ; i < 4 ; i++) {
+            final Thread thread = new Thread(() -> {
+                for (int percent = 0 ; percent <= 100 ; percent++) {
+                    bar.setPercentComplete(percent);
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // The last update of every thread is to 100%, so the cells must show a complete bar.
+        Assert.assertEquals(100, bar.getPercentComplete());
+        assertCells(bar, "##########");
+
+        bar.setPercentComplete(0);
+        assertCells(bar, "----------");
+    }
+
+    /**
+     * Constructs a new loading bar, ten cells wide and two cells tall.
+     *
+     * @param partialCellsEnabled
+     *         Whether or not partial cells are enabled.
+     *
+     * @return
+     *         The loading bar.
+     */
+    private LoadingBar createBar(final boolean partialCellsEnabled) {
+        return new LoadingBar(new LoadingBarBuilder().setWidth(10)
+                                                     .setHeight(2)
+                                                     .setIncompleteCharacter('-')
+                                                     .setCompleteCharacter('#')
+                                                     .setBackgroundColor_incomplete(Color.BLUE)
+                                                     .setForegroundColor_incomplete(Color.RED)
+                                                     .setBackgroundColor_complete(Color.BLUE)
+                                                     .setForegroundColor_complete(Color.GREEN)
+                                                     .setPartialCellsEnabled(partialCellsEnabled)
+                                                     .setRadio(radio));
+    }
+
+    /**
+     * Asserts that every row of a loading bar displays the specified characters.
+     *
+     * @param bar
+     *         The loading bar.
+     *
+     * @param expected
+     *         The characters.
+     */
+    private static void assertCells(final LoadingBar bar, final String expected) {
+        final AsciiGrid grid = bar.getGrid();
+
+        for (int row = 0 ; row < grid.getHeight() ; row++) {
+            final int offset = grid.indexOf(0, row);
+            Assert.assertEquals(expected, new String(grid.getCharacters(), offset, grid.getWidth()));
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.valkryst.VTerminal.component;
+
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ScreenBufferTest {
+    private ColoredImageCache imageCache;
+    private Screen screen;
+    private Framebuffer framebuffer;
+
+    @Before
+    public void initialize() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        imageCache = new ColoredImageCache(font);
+
+        screen = new Screen(0, 0, 6, 4);
+        screen.setDoubleBuffered(true);
+        framebuffer = new Framebuffer(6 * font.getWidth(), 4 * font.getHeight());
+    }
+
+    @Test
+    public void testSetDoubleBuffered() {
+        Assert.assertTrue(screen.isDoubleBuffered());
+
+        screen.setDoubleBuffered(false);
+        Assert.assertFalse(screen.isDoubleBuffered());
+        Assert.assertTrue(screen.hasDirtyRegions());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPublish_withoutDoubleBuffering() {
+        screen.setDoubleBuffered(false);
+        screen.publish();
+    }
+
+    @Test
+    public void testDraw_withoutPublishDrawsNothing() {
+        screen.write("Hello", 0, 0);
+        Assert.assertFalse(screen.hasDirtyRegions());
+
+        screen.draw(framebuffer, imageCache);
+
+        for (final int pixel : framebuffer.getPixels()) {
+            Assert.assertEquals(0, pixel);
+        }
+    }
+
+    @Test
+    public void testDraw_matchesScreenshot() {
+        decorateScreen();
+        screen.publish();
+        Assert.assertTrue(screen.hasDirtyRegions());
+
+        screen.draw(framebuffer, imageCache);
+        Assert.assertFalse(screen.hasDirtyRegions());
+        assertFramebufferEquals(screen.screenshot(imageCache));
+    }
+
+    @Test
+    public void testDraw_ignoresUnpublishedWrites() {
+        decorateScreen();
+        screen.publish();
+        final BufferedImage published = screen.screenshot(imageCache);
+
+        screen.write("Unpublished", 0, 1);
+        screen.getString(3).setBackgroundColor(Color.RED);
+
+        screen.draw(framebuffer, imageCache);
+        assertFramebufferEquals(published);
+    }
+
+    @Test
+    public void testDraw_withSkippedPublishes() {
+        decorateScreen();
+        screen.publish();
+        screen.draw(framebuffer, imageCache);
+
+        // The drawing thread only sees the last of these publishes, but must draw the changes of all of them.
+        screen.write('A', 0, 0);
+        screen.publish();
+        screen.write('B', 5, 3);
+        screen.publish();
+        screen.getString(1).setBackgroundColor(Color.MAGENTA);
+        screen.publish();
+
+        screen.draw(framebuffer, imageCache);
+        assertFramebufferEquals(screen.screenshot(imageCache));
+
+        // The spare snapshots were each filled before some of the changes, and must catch up on them.
+        screen.write('C', 2, 2);
+        screen.publish();
+        screen.draw(framebuffer, imageCache);
+        screen.write('D', 3, 2);
+        screen.publish();
+        screen.draw(framebuffer, imageCache);
+
+        assertFramebufferEquals(screen.screenshot(imageCache));
+    }
+
+    @Test
+    public void testDraw_withScroll() {
+        decorateScreen();
+        screen.publish();
+        screen.draw(framebuffer, imageCache);
+
+        screen.scroll(0, 0, 6, 4, -1);
+        screen.write("tail", 0, 3);
+        screen.publish();
+        screen.draw(framebuffer, imageCache);
+
+        assertFramebufferEquals(screen.screenshot(imageCache));
+    }
+
+    @Test
+    public void testDraw_withMovedLayer() {
+        final Layer layer = new Layer(1, 1, 2, 2);
+        layer.getString(0).setBackgroundColor(Color.BLUE);
+        screen.addComponent(layer);
+        screen.publish();
+        screen.draw(framebuffer, imageCache);
+
+        screen.removeComponent(layer);
+        screen.publish();
+        screen.draw(framebuffer, imageCache);
+
+        assertFramebufferEquals(screen.screenshot(imageCache));
+    }
+
+    @Test
+    public void testDraw_withBandsMatchesScreenshot() {
+        decorateScreen();
+        screen.publish();
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        screen.draw(framebuffer, imageCache, pool, 1);
+        assertFramebufferEquals(screen.screenshot(imageCache));
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSetAllCharactersToBeRedrawn() {
+        decorateScreen();
+        screen.publish();
+        screen.draw(framebuffer, imageCache);
+        Assert.assertFalse(screen.hasDirtyRegions());
+
+        screen.setAllCharactersToBeRedrawn();
+        Assert.assertTrue(screen.hasDirtyRegions());
+
+        framebuffer.fillRect(0, 0, framebuffer.getWidth(), framebuffer.getHeight(), 0xFF00FF00);
+        screen.draw(framebuffer, imageCache);
+        assertFramebufferEquals(screen.screenshot(imageCache));
+    }
+
+    @Test
+    public void testConcurrentWritesAndDraws() throws Exception {
+        final int totalFrames = 2000;
+        final int fontWidth = imageCache.getFont().getWidth();
+        final int fontHeight = imageCache.getFont().getHeight();
+
+        final AtomicBoolean isWriting = new AtomicBoolean(true);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        // Every cell of each frame has the same background color, so a frame with more than one color is torn.
+        final Thread writer = new Thread(() -> {
+            try {
+                final Layer layer = new Layer(2, 1, 3, 2);
+
+                for (int frame = 1 ; frame <= totalFrames ; frame++) {
+                    final Color color = new Color(frame);
+                    screen.setBackgroundColor(color);
+                    layer.getString(0).setBackgroundColor(color);
+                    layer.getString(1).setBackgroundColor(color);
+
+                    if (frame % 7 == 0) {
+                        screen.addComponent(layer);
+                    } else if (frame % 7 == 3) {
+                        screen.removeComponent(layer);
+                    }
+
+                    screen.publish();
+                }
+            } catch (final Throwable t) {
+                error.compareAndSet(null, t);
+            } finally {
+                isWriting.set(false);
+            }
+        });
+
+        final Thread renderer = new Thread(() -> {
+            try {
+                int lastFrame = 0;
+
+                while (isWriting.get() || screen.hasDirtyRegions()) {
+                    if (screen.hasDirtyRegions() == false) {
+                        Thread.yield();
+                        continue;
+                    }
+
+                    screen.draw(framebuffer, imageCache);
+
+                    final int frame = framebuffer.getPixels()[0] & 0xFFFFFF;
+
+                    for (int row = 0 ; row < screen.getHeight() ; row++) {
+                        for (int column = 0 ; column < screen.getWidth() ; column++) {
+                            final int pixel = framebuffer.getPixels()[row * fontHeight * framebuffer.getWidth() + column * fontWidth];
+                            Assert.assertEquals(frame, pixel & 0xFFFFFF);
+                        }
+                    }
+
+                    Assert.assertTrue(frame >= lastFrame);
+                    lastFrame = frame;
+                }
+
+                Assert.assertEquals(totalFrames, lastFrame);
+            } catch (final Throwable t) {
+                error.compareAndSet(null, t);
+            }
+        });
+
+        renderer.start();
+        writer.start();
+        writer.join();
+        renderer.join();
+
+        if (error.get() != null) {
+            throw new AssertionError(error.get());
+        }
+    }
+
+    /** Fills the screen with opaque characters, so that a redrawn row looks the same as a fresh screenshot. */
+    private void decorateScreen() {
+        screen.clear('#');
+        screen.getString(0).applyColorGradient(Color.RED, Color.BLUE, true);
+        screen.getCharacterAt(1, 2).get().setUnderlined(true);
+        screen.getCharacterAt(2, 2).get().setFlippedHorizontally(true);
+
+        final Layer layer = new Layer(2, 1, 3, 2);
+        layer.getString(0).setCharacter(0, 'L');
+        layer.getString(1).setForegroundColor(Color.GREEN);
+        screen.addComponent(layer);
+    }
+
+    private void assertFramebufferEquals(final BufferedImage expected) {
+        final BufferedImage image = framebuffer.getImage();
+
+        for (int y = 0 ; y < image.getHeight() ; y++) {
+            for (int x = 0 ; x < image.getWidth() ; x++) {
+                Assert.assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+            }
+        }
+    }
+}
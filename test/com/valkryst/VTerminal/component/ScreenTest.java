@@ -2,12 +2,21 @@ package com.valkryst.VTerminal.component;
 
 import com.valkryst.VTerminal.AsciiCharacter;
 import com.valkryst.VTerminal.AsciiString;
+import com.valkryst.VTerminal.AsciiTile;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 public class ScreenTest {
     private Screen screen;
@@ -53,6 +62,63 @@ public class ScreenTest {
         screen.draw(screen);
     }
 
+    @Test
+    public void testDraw_withNoChanges() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        final BufferedImage image = createImage(imageCache);
+
+        draw(image, imageCache);
+        Assert.assertFalse(screen.hasDirtyRegions());
+
+        screen.write('?', 1, 1);
+        Assert.assertTrue(screen.hasDirtyRegions());
+        Assert.assertTrue(screen.getGrid().getDirtyRegions().isDirty(1, 1));
+        Assert.assertFalse(screen.getGrid().getDirtyRegions().isDirty(2, 1));
+    }
+
+    @Test
+    public void testDraw_withChangedComponent() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        final BufferedImage image = createImage(imageCache);
+
+        final Component component = new Component(1, 1, 2, 2);
+        screen.addComponent(component);
+        draw(image, imageCache);
+        Assert.assertFalse(screen.hasDirtyRegions());
+
+        component.getString(1).setCharacter(1, 'X');
+        Assert.assertTrue(screen.hasDirtyRegions());
+
+        draw(image, imageCache);
+        Assert.assertEquals('X', screen.getCharacterAt(2, 2).get().getCharacter());
+        Assert.assertFalse(screen.hasDirtyRegions());
+    }
+
+    @Test
+    public void testDraw_withPartialRedrawMatchesFullRedraw() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        final BufferedImage image = createImage(imageCache);
+
+        final Layer layer = new Layer(2, 2, 2, 2);
+        layer.getString(0).setCharacter(0, 'L');
+        screen.addComponent(layer);
+        draw(image, imageCache);
+
+        screen.write('A', 0, 0);
+        screen.write('B', 2, 2);
+        screen.getString(4).setBackgroundColor(Color.RED);
+        layer.getString(1).setForegroundColor(Color.GREEN);
+        draw(image, imageCache);
+
+        final BufferedImage screenshot = screen.screenshot(imageCache);
+
+        for (int y = 0 ; y < image.getHeight() ; y++) {
+            for (int x = 0 ; x < image.getWidth() ; x++) {
+                Assert.assertEquals(screenshot.getRGB(x, y), image.getRGB(x, y));
+            }
+        }
+    }
+
     @Test
     public void testClear_oneParam() {
         screen.clear('?');
@@ -138,6 +204,233 @@ public class ScreenTest {
         }
     }
 
+    @Test
+    public void testFill() {
+        screen.fill('#', Color.RED, null, 3, -1, 4, 3);
+
+        for (int y = 0 ; y < 5 ; y++) {
+            for (int x = 0 ; x < 5 ; x++) {
+                final AsciiCharacter character = screen.getCharacterAt(x, y).get();
+                final boolean isFilled = x >= 3 && y < 2;
+
+                Assert.assertEquals(isFilled, character.getCharacter() == '#');
+                Assert.assertEquals(isFilled, character.getBackgroundColor().equals(Color.RED));
+                Assert.assertEquals(Color.WHITE, character.getForegroundColor());
+            }
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testFill_withNegativeWidth() {
+        screen.fill('#', null, null, 0, 0, -1, 1);
+    }
+
+    @Test
+    public void testWrite_block() {
+        final char[] characters = "ABCDEFGHI".toCharArray();
+        final int[] foregroundColors = new int[9];
+        Arrays.fill(foregroundColors, Color.GREEN.getRGB());
+
+        // Only the top-right 2x2 of the block lies within the screen.
+        screen.write(characters, null, foregroundColors, -1, 3, 3, 3);
+
+        Assert.assertEquals('B', screen.getCharacterAt(0, 3).get().getCharacter());
+        Assert.assertEquals('C', screen.getCharacterAt(1, 3).get().getCharacter());
+        Assert.assertEquals('E', screen.getCharacterAt(0, 4).get().getCharacter());
+        Assert.assertEquals('F', screen.getCharacterAt(1, 4).get().getCharacter());
+        Assert.assertEquals(Color.GREEN, screen.getCharacterAt(1, 4).get().getForegroundColor());
+        Assert.assertNotEquals('D', screen.getCharacterAt(2, 3).get().getCharacter());
+        Assert.assertEquals(Color.WHITE, screen.getCharacterAt(2, 4).get().getForegroundColor());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testWrite_block_withShortArray() {
+        screen.write(new char[3], null, null, 0, 0, 2, 2);
+    }
+
+    @Test
+    public void testWrite_block_marksCellsDirty() {
+        screen.getGrid().getDirtyRegions().clear();
+        screen.write(new char[] {'A', 'B'}, null, null, 1, 2, 2, 1);
+
+        Assert.assertTrue(screen.getGrid().getDirtyRegions().isDirty(1, 2));
+        Assert.assertTrue(screen.getGrid().getDirtyRegions().isDirty(2, 2));
+        Assert.assertFalse(screen.getGrid().getDirtyRegions().isDirty(3, 2));
+        Assert.assertFalse(screen.getGrid().getDirtyRegions().isRowDirty(1));
+    }
+
+    @Test
+    public void testCopyRegion() {
+        final Layer layer = new Layer(0, 0, 3, 3);
+        layer.getString(1).setAllCharacters('L');
+        layer.getString(1).setBackgroundColor(Color.BLUE);
+        layer.getCharacterAt(1, 1).get().setUnderlined(true);
+
+        screen.copyRegion(layer, 0, 1, 3, 0, 3, 2);
+
+        Assert.assertEquals('L', screen.getCharacterAt(3, 0).get().getCharacter());
+        Assert.assertEquals('L', screen.getCharacterAt(4, 0).get().getCharacter());
+        Assert.assertEquals(Color.BLUE, screen.getCharacterAt(4, 0).get().getBackgroundColor());
+        Assert.assertTrue(screen.getCharacterAt(4, 0).get().isUnderlined());
+        Assert.assertNotEquals('L', screen.getCharacterAt(2, 0).get().getCharacter());
+        Assert.assertNotEquals('L', screen.getCharacterAt(3, 1).get().getCharacter());
+    }
+
+    @Test
+    public void testCopyRegion_withOverlap() {
+        for (int y = 0 ; y < 5 ; y++) {
+            screen.getString(y).setAllCharacters((char) ('0' + y));
+        }
+
+        screen.copyRegion(screen, 0, 0, 0, 1, 5, 4);
+
+        Assert.assertEquals("00000", screen.getString(0).toString());
+        Assert.assertEquals("00000", screen.getString(1).toString());
+        Assert.assertEquals("11111", screen.getString(2).toString());
+        Assert.assertEquals("33333", screen.getString(4).toString());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testCopyRegion_withNullSource() {
+        screen.copyRegion(null, 0, 0, 0, 0, 1, 1);
+    }
+
+    @Test
+    public void testScroll() {
+        for (int y = 0 ; y < 5 ; y++) {
+            screen.getString(y).setAllCharacters((char) ('0' + y));
+        }
+
+        screen.scroll(1, 1, 3, 4, -1);
+
+        Assert.assertEquals("00000", screen.getString(0).toString());
+        Assert.assertEquals("12221", screen.getString(1).toString());
+        Assert.assertEquals("23332", screen.getString(2).toString());
+        Assert.assertEquals("34443", screen.getString(3).toString());
+        Assert.assertEquals("4   4", screen.getString(4).toString());
+
+        screen.scroll(0, 0, 5, 5, 2);
+
+        Assert.assertEquals("     ", screen.getString(0).toString());
+        Assert.assertEquals("     ", screen.getString(1).toString());
+        Assert.assertEquals("00000", screen.getString(2).toString());
+        Assert.assertEquals("12221", screen.getString(3).toString());
+    }
+
+    @Test
+    public void testScroll_pastHeight() {
+        screen.clear('#');
+        screen.scroll(0, 0, 5, 5, 100);
+
+        for (final AsciiString string : screen.getStrings()) {
+            Assert.assertEquals("     ", string.toString());
+        }
+    }
+
+    @Test
+    public void testScroll_onlyExposedRowsAreDirty() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        draw(createImage(imageCache), imageCache);
+
+        screen.scroll(0, 0, 5, 5, -1);
+
+        for (int y = 0 ; y < 4 ; y++) {
+            Assert.assertFalse(screen.getGrid().getDirtyRegions().isRowDirty(y));
+        }
+
+        Assert.assertTrue(screen.getGrid().getDirtyRegions().isRowDirty(4));
+    }
+
+    @Test
+    public void testScroll_viewsFollowTheirPosition() {
+        screen.getString(2).setCharacter(0, 'A');
+        screen.getCharacterAt(0, 2).get().setUnderlined(true);
+
+        final AsciiCharacter view = screen.getCharacterAt(0, 1).get();
+        screen.scroll(0, 0, 5, 5, -1);
+
+        Assert.assertEquals('A', view.getCharacter());
+        Assert.assertTrue(view.isUnderlined());
+    }
+
+    @Test
+    public void testScroll_drawMatchesScreenshot() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        final BufferedImage image = createImage(imageCache);
+
+        decorateRows();
+        final Layer layer = new Layer(1, 2, 2, 2);
+        layer.getString(0).setAllCharacters('L');
+        screen.addComponent(layer);
+        draw(image, imageCache);
+
+        screen.scroll(0, 0, 5, 5, -1);
+        screen.write("log", 0, 4);
+        screen.scroll(0, 0, 5, 5, -2);
+        screen.scroll(0, 1, 5, 4, 1);
+        screen.scroll(2, 0, 3, 5, 1);
+        draw(image, imageCache);
+
+        assertImageEquals(screen.screenshot(imageCache), image);
+    }
+
+    @Test
+    public void testScroll_framebufferDrawMatchesScreenshot() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        final Framebuffer framebuffer = new Framebuffer(5 * imageCache.getFont().getWidth(), 5 * imageCache.getFont().getHeight());
+
+        decorateRows();
+        screen.draw(framebuffer, imageCache);
+
+        for (int i = 0 ; i < 7 ; i++) {
+            screen.scroll(0, 0, 5, 5, -1);
+            screen.write("line" + i, 0, 4);
+        }
+
+        screen.draw(framebuffer, imageCache);
+        assertImageEquals(screen.screenshot(imageCache), framebuffer.getImage());
+    }
+
+    @Test
+    public void testScroll_withComponentDrawMatchesScreenshot() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        final Framebuffer framebuffer = new Framebuffer(5 * imageCache.getFont().getWidth(), 5 * imageCache.getFont().getHeight());
+
+        decorateRows();
+        final Component component = new Component(1, 1, 2, 2);
+        component.getString(0).setAllCharacters('C');
+        component.getString(1).setAllCharacters('C');
+        screen.addComponent(component);
+        screen.draw(framebuffer, imageCache);
+
+        // The component must stay in place, rather than scrolling with the screen beneath it.
+        screen.scroll(0, 0, 5, 5, -1);
+        screen.draw(framebuffer, imageCache);
+
+        assertImageEquals(screen.screenshot(imageCache), framebuffer.getImage());
+    }
+
+    @Test
+    public void testCopyRegion_withinScreenDrawMatchesScreenshot() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        final BufferedImage image = createImage(imageCache);
+
+        decorateRows();
+        draw(image, imageCache);
+
+        screen.write('X', 1, 1);
+        screen.copyRegion(screen, 0, 0, 2, 1, 3, 3);
+        Assert.assertFalse(screen.getGrid().getDirtyRegions().isDirty(4, 3));
+
+        // More copies than can be queued are redrawn instead.
+        for (int i = 0 ; i < 40 ; i++) {
+            screen.copyRegion(screen, i % 3, 0, (i + 1) % 3, 2, 2, 2);
+        }
+
+        draw(image, imageCache);
+        assertImageEquals(screen.screenshot(imageCache), image);
+    }
+
     @Test
     public void testWrite_charObj_withValidParams() {
         screen.write(character, 3, 3);
@@ -503,4 +796,179 @@ public class ScreenTest {
             Assert.assertEquals(i, screen.totalComponents());
         }
     }
+
+    @Test
+    public void testDraw_withFramebufferMatchesScreenshot() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        decorateScreen();
+
+        final Framebuffer framebuffer = createFramebuffer(imageCache);
+        screen.draw(framebuffer, imageCache);
+        assertFramebufferEquals(screen.screenshot(imageCache), framebuffer);
+    }
+
+    @Test
+    public void testDraw_withFramebufferAndGlyphAtlasMatchesScreenshot() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        imageCache.setGlyphAtlasEnabled(true);
+        decorateScreen();
+
+        final Framebuffer framebuffer = createFramebuffer(imageCache);
+        screen.draw(framebuffer, imageCache);
+        assertFramebufferEquals(screen.screenshot(imageCache), framebuffer);
+    }
+
+    @Test
+    public void testDraw_withFramebufferAndPartialRedrawMatchesScreenshot() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        decorateScreen();
+
+        final Framebuffer framebuffer = createFramebuffer(imageCache);
+        screen.draw(framebuffer, imageCache);
+
+        screen.write('Z', 4, 4);
+        screen.getString(0).setBackgroundColor(Color.MAGENTA);
+        screen.draw(framebuffer, imageCache);
+        Assert.assertFalse(screen.hasDirtyRegions());
+
+        assertFramebufferEquals(screen.screenshot(imageCache), framebuffer);
+    }
+
+    @Test
+    public void testDraw_withBandsMatchesScreenshot() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        decorateScreen();
+
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        final Framebuffer framebuffer = createFramebuffer(imageCache);
+        screen.draw(framebuffer, imageCache, pool, 1);
+        Assert.assertFalse(screen.hasDirtyRegions());
+        assertFramebufferEquals(screen.screenshot(imageCache), framebuffer);
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void testDraw_withBandsAndPartialRedrawMatchesSequentialDraw() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        final ForkJoinPool pool = new ForkJoinPool(3);
+
+        // Translucent characters blend with the previous frame, so the result is compared to a sequential redraw:
+        final Screen sequentialScreen = new Screen(0, 0, 5, 5);
+        final Framebuffer expected = createFramebuffer(imageCache);
+        final Framebuffer framebuffer = createFramebuffer(imageCache);
+
+        for (final Screen screen : new Screen[] { this.screen, sequentialScreen }) {
+            decorateScreen(screen);
+        }
+
+        screen.draw(framebuffer, imageCache, pool, 1);
+        sequentialScreen.draw(expected, imageCache);
+
+        for (final Screen screen : new Screen[] { this.screen, sequentialScreen }) {
+            screen.write('Z', 4, 4);
+            screen.getString(2).setBackgroundColor(Color.MAGENTA);
+            screen.getString(3).setForegroundColor(Color.CYAN);
+        }
+
+        screen.draw(framebuffer, imageCache, pool, 1);
+        sequentialScreen.draw(expected, imageCache);
+        assertFramebufferEquals(expected.getImage(), framebuffer);
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void testDraw_withBandsAndGlyphAtlasMatchesScreenshot() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        imageCache.setGlyphAtlasEnabled(true);
+        decorateScreen();
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        final Framebuffer framebuffer = createFramebuffer(imageCache);
+        screen.draw(framebuffer, imageCache, pool, 2);
+        assertFramebufferEquals(screen.screenshot(imageCache), framebuffer);
+
+        pool.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDraw_withBandsAndZeroMinimumBandHeight() throws Exception {
+        final ColoredImageCache imageCache = createImageCache();
+        screen.draw(createFramebuffer(imageCache), imageCache, ForkJoinPool.commonPool(), 0);
+    }
+
+    private ColoredImageCache createImageCache() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        return new ColoredImageCache(font);
+    }
+
+    private BufferedImage createImage(final ColoredImageCache imageCache) {
+        final int width = screen.getWidth() * imageCache.getFont().getWidth();
+        final int height = screen.getHeight() * imageCache.getFont().getHeight();
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private void draw(final BufferedImage image, final ColoredImageCache imageCache) {
+        final Graphics2D gc = image.createGraphics();
+        screen.draw(gc, imageCache);
+        gc.dispose();
+    }
+
+    /** Gives each row of the screen a different character and background color. */
+    private void decorateRows() {
+        for (int y = 0 ; y < screen.getHeight() ; y++) {
+            screen.getString(y).setAllCharacters((char) ('a' + y));
+            screen.getString(y).setBackgroundColor(new Color(y * 50, 0, 255 - y * 50));
+        }
+    }
+
+    private static void assertImageEquals(final BufferedImage expected, final BufferedImage actual) {
+        for (int y = 0 ; y < expected.getHeight() ; y++) {
+            for (int x = 0 ; x < expected.getWidth() ; x++) {
+                Assert.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    /** Fills the screen with characters that exercise every way in which a character can be drawn. */
+    private void decorateScreen() {
+        decorateScreen(screen);
+    }
+
+    private void decorateScreen(final Screen screen) {
+        screen.clear('#');
+        screen.getString(0).applyColorGradient(Color.RED, Color.BLUE, true);
+        screen.getString(1).setBackgroundColor(new Color(0, 255, 0, 100));
+        screen.getString(2).setForegroundColor(new Color(255, 255, 0, 50));
+
+        screen.getCharacterAt(0, 3).get().setUnderlined(true);
+        screen.getCharacterAt(1, 3).get().setHidden(true);
+        screen.getCharacterAt(2, 3).get().setFlippedHorizontally(true);
+        screen.getCharacterAt(3, 3).get().setFlippedVertically(true);
+        screen.getCharacterAt(4, 3).get().setUnderlineThickness(5);
+        screen.getCharacterAt(4, 3).get().setUnderlined(true);
+        screen.write(new AsciiTile('@'), 0, 4);
+
+        final Layer layer = new Layer(2, 2, 2, 2);
+        layer.getString(0).setCharacter(0, 'L');
+        layer.getString(1).setForegroundColor(Color.GREEN);
+        screen.addComponent(layer);
+    }
+
+    private Framebuffer createFramebuffer(final ColoredImageCache imageCache) {
+        final int width = screen.getWidth() * imageCache.getFont().getWidth();
+        final int height = screen.getHeight() * imageCache.getFont().getHeight();
+        return new Framebuffer(width, height);
+    }
+
+    private void assertFramebufferEquals(final BufferedImage expected, final Framebuffer framebuffer) {
+        final BufferedImage image = framebuffer.getImage();
+
+        for (int y = 0 ; y < image.getHeight() ; y++) {
+            for (int x = 0 ; x < image.getWidth() ; x++) {
+                Assert.assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+            }
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package com.valkryst.VTerminal.font;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+public class FontCompilerTest {
+    private final String spriteSheetPath = "res/Fonts/DejaVu Sans Mono/20pt/bitmap.png";
+    private final String characterDataPath = "res/Fonts/DejaVu Sans Mono/20pt/data.fnt";
+
+    private final Font font;
+
+    public FontCompilerTest() throws IOException, URISyntaxException {
+        font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 2);
+    }
+
+    @Test
+    public void testCompile_stream() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        FontCompiler.compile(font, outputStream);
+
+        final DataInputStream dis = new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+        Assert.assertEquals(FontCompiler.FILE_MAGIC, dis.readInt());
+        Assert.assertEquals(FontCompiler.FILE_VERSION, dis.readInt());
+        Assert.assertEquals(2, dis.readInt());
+        Assert.assertEquals(font.getWidth(), dis.readInt());
+        Assert.assertEquals(font.getHeight(), dis.readInt());
+        Assert.assertEquals(font.getSupportedCharacters().size(), dis.readInt());
+
+        // The first character is the lowest, and its pixels begin the pixel data.
+        final char character = dis.readChar();
+        final BufferedImage image = font.getCharacterImage(character);
+
+        for (final char other : font.getSupportedCharacters()) {
+            Assert.assertTrue(character <= other);
+        }
+
+        Assert.assertEquals(image.getWidth(), dis.readShort());
+        Assert.assertEquals(image.getHeight(), dis.readShort());
+        Assert.assertEquals(0, dis.readShort());
+        Assert.assertEquals(0, dis.readInt());
+
+        int pixelCount = 0;
+
+        for (final char other : font.getSupportedCharacters()) {
+            pixelCount += font.getCharacterImage(other).getWidth() * font.getCharacterImage(other).getHeight();
+        }
+
+        final int expectedSize = FontCompiler.HEADER_SIZE
+                                 + font.getSupportedCharacters().size() * FontCompiler.INDEX_ENTRY_SIZE
+                                 + pixelCount * 4;
+        Assert.assertEquals(expectedSize, outputStream.size());
+    }
+
+    @Test
+    public void testCompile_paths() throws IOException {
+        final File file = File.createTempFile("VTerminal", ".vtf");
+        file.deleteOnExit();
+
+        FontCompiler.compile(spriteSheetPath, characterDataPath, 2, file.getPath());
+
+        final Font compiledFont = FontLoader.loadCompiledFont(file.getPath());
+        Assert.assertEquals(font.getFingerprint(), compiledFont.getFingerprint());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testCompile_withNullFont() throws IOException {
+        FontCompiler.compile(null, new ByteArrayOutputStream());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testCompile_withNullOutputStream() throws IOException {
+        FontCompiler.compile(font, null);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testCompile_withNullOutputPath() throws IOException {
+        FontCompiler.compile(spriteSheetPath, characterDataPath, 1, null);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCompile_withEmptyOutputPath() throws IOException {
+        FontCompiler.compile(spriteSheetPath, characterDataPath, 1, "");
+    }
+}
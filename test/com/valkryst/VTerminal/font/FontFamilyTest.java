@@ -0,0 +1,94 @@
+package com.valkryst.VTerminal.font;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+
+public class FontFamilyTest {
+    private final String spriteSheetPath = "Fonts/DejaVu Sans Mono/20pt/bitmap.png";
+    private final String characterDataPath = "Fonts/DejaVu Sans Mono/20pt/data.fnt";
+
+    private final FontFamily family;
+
+    public FontFamilyTest() throws IOException {
+        family = FontLoader.loadFontFamilyFromJar(spriteSheetPath, characterDataPath);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_withNullSourceImages() {
+        new FontFamily(null);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testConstructor_withoutX() {
+        new FontFamily(new HashMap<>());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testConstructor_withMaximumScaledImagesBelowOne() {
+        final HashMap<Character, BufferedImage> sourceImages = new HashMap<>();
+        sourceImages.put('X', new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB));
+
+        new FontFamily(sourceImages, 0);
+    }
+
+    @Test
+    public void testGetFont() {
+        final Font font = family.getFont(2);
+
+        Assert.assertEquals(2, font.getScale());
+        Assert.assertEquals(24, font.getWidth());
+        Assert.assertEquals(48, font.getHeight());
+        Assert.assertSame(font, family.getFont(2));
+        Assert.assertNotSame(font, family.getFont(3));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testGetFont_withScaleBelowOne() {
+        family.getFont(0);
+    }
+
+    @Test
+    public void testGetFont_matchesLoadedFont() throws IOException, URISyntaxException {
+        for (int scale = 1 ; scale <= 3 ; scale++) {
+            final Font expected = FontLoader.loadFontFromJar(spriteSheetPath, characterDataPath, scale);
+            final Font actual = family.getFont(scale);
+
+            Assert.assertEquals(expected.getWidth(), actual.getWidth());
+            Assert.assertEquals(expected.getHeight(), actual.getHeight());
+            Assert.assertEquals(expected.getSupportedCharacters(), actual.getSupportedCharacters());
+            Assert.assertEquals(expected.getFingerprint(), actual.getFingerprint());
+        }
+    }
+
+    @Test
+    public void testGetCharacterImage_scalesOnDemand() {
+        final Font font = family.getFont(2);
+        final BufferedImage image = font.getCharacterImage('A');
+
+        Assert.assertEquals(font.getWidth(), image.getWidth());
+        Assert.assertEquals(font.getHeight(), image.getHeight());
+        Assert.assertSame(image, font.getCharacterImage('A'));
+    }
+
+    @Test
+    public void testGetCharacterImage_withUnsupportedCharacter() {
+        final Font font = family.getFont(2);
+
+        Assert.assertSame(font.getCharacterImage(Font.FALLBACK_CHARACTER), font.getCharacterImage('\u0001'));
+        Assert.assertEquals(1, font.getMissingGlyphCount());
+    }
+
+    @Test
+    public void testGetFont_doesNotModifyOtherScales() {
+        final BufferedImage image = family.getFont(1).getCharacterImage('A');
+        family.getFont(3).getCharacterImage('A');
+
+        Assert.assertSame(image, family.getFont(1).getCharacterImage('A'));
+        Assert.assertEquals(12, image.getWidth());
+    }
+}
@@ -1,11 +1,19 @@
 package com.valkryst.VTerminal.font;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 public class FontLoaderTest {
     private final String spriteSheetPath = "Fonts/DejaVu Sans Mono/20pt/bitmap.png";
@@ -80,6 +88,50 @@ public class FontLoaderTest {
         FontLoader.loadFont(spriteSheetStream, null, 1);
     }
 
+    @Test
+    public void loadFont_streams_withPools() throws IOException {
+        final ClassLoader classLoader = FontLoader.class.getClassLoader();
+        final ForkJoinPool sequentialPool = new ForkJoinPool(1);
+        final ForkJoinPool parallelPool = new ForkJoinPool(4);
+
+        try {
+            final Font sequentialFont = FontLoader.loadFont(classLoader.getResourceAsStream(spriteSheetPath),
+                                                            classLoader.getResourceAsStream(characterDataPath),
+                                                            2, sequentialPool);
+            final Font parallelFont = FontLoader.loadFont(classLoader.getResourceAsStream(spriteSheetPath),
+                                                          classLoader.getResourceAsStream(characterDataPath),
+                                                          2, parallelPool);
+
+            Assert.assertEquals(sequentialFont.getSupportedCharacters(), parallelFont.getSupportedCharacters());
+            Assert.assertEquals(sequentialFont.getFingerprint(), parallelFont.getFingerprint());
+        } finally {
+            sequentialPool.shutdown();
+            parallelPool.shutdown();
+        }
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void loadFont_streams_withNullPool() throws IOException {
+        final ClassLoader classLoader = FontLoader.class.getClassLoader();
+
+        final InputStream spriteSheetStream = classLoader.getResourceAsStream(spriteSheetPath);
+        final InputStream characterDataStream = classLoader.getResourceAsStream(characterDataPath);
+
+        FontLoader.loadFont(spriteSheetStream, characterDataStream, 1, null);
+    }
+
+    @Test
+    public void loadFont_streams_imagesHaveIndependentRasters() throws IOException, URISyntaxException {
+        final Font font = FontLoader.loadFontFromJar(spriteSheetPath, characterDataPath, 1);
+
+        for (final char character : font.getSupportedCharacters()) {
+            final BufferedImage image = font.getCharacterImage(character);
+
+            Assert.assertNull(image.getRaster().getParent());
+            Assert.assertEquals(image.getWidth() * image.getHeight(), image.getRaster().getDataBuffer().getSize());
+        }
+    }
+
     @Test
     public void loadFontFromJar() throws IOException, URISyntaxException {
         FontLoader.loadFontFromJar(spriteSheetPath, characterDataPath, 1);
@@ -104,4 +156,119 @@ public class FontLoaderTest {
     public void loadFontFromJar_withEmptyCharacterDataPath() throws IOException, URISyntaxException {
         FontLoader.loadFontFromJar(spriteSheetPath, "", 1);
     }
+
+    @Test
+    public void loadFontFamily_streams() throws IOException {
+        final ClassLoader classLoader = FontLoader.class.getClassLoader();
+
+        final InputStream spriteSheetStream = classLoader.getResourceAsStream(spriteSheetPath);
+        final InputStream characterDataStream = classLoader.getResourceAsStream(characterDataPath);
+
+        Assert.assertEquals(12, FontLoader.loadFontFamily(spriteSheetStream, characterDataStream).getFont(1).getWidth());
+    }
+
+    @Test(expected=FileNotFoundException.class)
+    public void loadFontFamily_strings() throws IOException {
+        FontLoader.loadFontFamily(spriteSheetPath, characterDataPath);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void loadFontFamily_strings_withNullSpriteSheetPath() throws IOException {
+        FontLoader.loadFontFamily(null, characterDataPath);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void loadFontFamily_strings_withEmptyCharacterDataPath() throws IOException {
+        FontLoader.loadFontFamily(spriteSheetPath, "");
+    }
+
+    @Test
+    public void loadFontFamilyFromJar() throws IOException {
+        FontLoader.loadFontFamilyFromJar(spriteSheetPath, characterDataPath);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void loadFontFamilyFromJar_withNullCharacterDataPath() throws IOException {
+        FontLoader.loadFontFamilyFromJar(spriteSheetPath, null);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void loadFontFamilyFromJar_withEmptySpriteSheetPath() throws IOException {
+        FontLoader.loadFontFamilyFromJar("", characterDataPath);
+    }
+
+    @Test
+    public void loadCompiledFont() throws IOException, URISyntaxException {
+        final Font font = FontLoader.loadFontFromJar(spriteSheetPath, characterDataPath, 2);
+        final File file = compile(font);
+
+        final Font compiledFont = FontLoader.loadCompiledFont(file.getPath());
+        Assert.assertEquals(font.getWidth(), compiledFont.getWidth());
+        Assert.assertEquals(font.getHeight(), compiledFont.getHeight());
+        Assert.assertEquals(font.getScale(), compiledFont.getScale());
+        Assert.assertEquals(font.getSupportedCharacters(), compiledFont.getSupportedCharacters());
+        Assert.assertEquals(font.getFingerprint(), compiledFont.getFingerprint());
+
+        final BufferedImage image = font.getCharacterImage('A');
+        final BufferedImage compiledImage = compiledFont.getCharacterImage('A');
+        Assert.assertEquals(image.getWidth(), compiledImage.getWidth());
+        Assert.assertEquals(image.getHeight(), compiledImage.getHeight());
+
+        for (int y = 0 ; y < image.getHeight() ; y++) {
+            for (int x = 0 ; x < image.getWidth() ; x++) {
+                Assert.assertEquals(image.getRGB(x, y), compiledImage.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void loadCompiledFont_withNullPath() throws IOException {
+        FontLoader.loadCompiledFont(null);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void loadCompiledFont_withEmptyPath() throws IOException {
+        FontLoader.loadCompiledFont("");
+    }
+
+    @Test(expected=IOException.class)
+    public void loadCompiledFont_withInvalidFile() throws IOException {
+        final File file = File.createTempFile("VTerminal", ".vtf");
+        file.deleteOnExit();
+
+        Files.write(file.toPath(), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24});
+        FontLoader.loadCompiledFont(file.getPath());
+    }
+
+    @Test(expected=IOException.class)
+    public void loadCompiledFont_withTruncatedFile() throws IOException, URISyntaxException {
+        final File file = compile(FontLoader.loadFontFromJar(spriteSheetPath, characterDataPath, 1));
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 1));
+        FontLoader.loadCompiledFont(file.getPath());
+    }
+
+    /**
+     * Compiles a font into a temporary file.
+     *
+     * @param font
+     *         The font.
+     *
+     * @return
+     *         The file.
+     *
+     * @throws IOException
+     *         If an IOException occurs while compiling the font.
+     */
+    private static File compile(final Font font) throws IOException {
+        final File file = File.createTempFile("VTerminal", ".vtf");
+        file.deleteOnExit();
+
+        try (final OutputStream outputStream = new FileOutputStream(file)) {
+            FontCompiler.compile(font, outputStream);
+        }
+
+        return file;
+    }
 }
@@ -3,6 +3,7 @@ package com.valkryst.VTerminal.font;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.URISyntaxException;
 
@@ -26,6 +27,30 @@ public class FontTest {
         }
     }
 
+    @Test
+    public void testGetCharacterImage_withUnsupportedCharacter() {
+        final BufferedImage fallbackImage = font.getCharacterImage(Font.FALLBACK_CHARACTER);
+        Assert.assertEquals(0, font.getMissingGlyphCount());
+
+        Assert.assertSame(fallbackImage, font.getCharacterImage('\u0001'));
+        Assert.assertSame(fallbackImage, font.getCharacterImage(findUnsupportedCharacter()));
+        Assert.assertEquals(2, font.getMissingGlyphCount());
+    }
+
+    @Test
+    public void testGetCharacterImage_withCharacterOutsideOfDenseTable() {
+        char highestCharacter = 0;
+
+        for (final char character : font.getSupportedCharacters()) {
+            highestCharacter = (char) Math.max(highestCharacter, character);
+        }
+
+        Assert.assertTrue(highestCharacter >= 0x3000);
+        Assert.assertNotNull(font.getCharacterImage(highestCharacter));
+        Assert.assertNotSame(font.getCharacterImage(Font.FALLBACK_CHARACTER), font.getCharacterImage(highestCharacter));
+        Assert.assertEquals(0, font.getMissingGlyphCount());
+    }
+
     @Test
     public void testGetWidth() {
         Assert.assertEquals(12, font.getWidth());
@@ -35,4 +60,38 @@ public class FontTest {
     public void testGetHeight() {
         Assert.assertEquals(24, font.getHeight());
     }
+
+    @Test
+    public void testGetScale() throws IOException, URISyntaxException {
+        Assert.assertEquals(1, font.getScale());
+        Assert.assertEquals(2, FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 2).getScale());
+    }
+
+    @Test
+    public void testGetFingerprint() throws IOException, URISyntaxException {
+        final Font sameFont = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        final Font scaledFont = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 2);
+        final Font otherFont = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+
+        Assert.assertNotEquals(0, font.getFingerprint());
+        Assert.assertEquals(font.getFingerprint(), sameFont.getFingerprint());
+        Assert.assertNotEquals(font.getFingerprint(), scaledFont.getFingerprint());
+        Assert.assertNotEquals(font.getFingerprint(), otherFont.getFingerprint());
+    }
+
+    /**
+     * Finds the highest character which isn't supported by the font.
+     *
+     * @return
+     *         The character.
+     */
+    private char findUnsupportedCharacter() {
+        char character = Character.MAX_VALUE;
+
+        while (font.isCharacterSupported(character)) {
+            character--;
+        }
+
+        return character;
+    }
 }
@@ -0,0 +1,136 @@
+package com.valkryst.VTerminal.font;
+
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+public class GlyphAtlasTest {
+    private final Font font;
+    private final GlyphAtlas atlas;
+
+    private final int backgroundRGB = new Color(20, 40, 60).getRGB();
+    private final int foregroundRGB = new Color(200, 100, 50).getRGB();
+
+    public GlyphAtlasTest() throws IOException, URISyntaxException {
+        font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        atlas = new GlyphAtlas(font);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_withNullFont() {
+        new GlyphAtlas(null);
+    }
+
+    @Test
+    public void testIsCharacterSupported() {
+        Assert.assertTrue(atlas.isCharacterSupported('A'));
+        Assert.assertFalse(atlas.isCharacterSupported('\u0001'));
+    }
+
+    @Test
+    public void testDraw_matchesColoredImages() {
+        final ColoredImageCache cache = new ColoredImageCache(font);
+
+        for (char character = 33 ; character < 127 ; character++) {
+            final BufferedImage expected = cache.retrieveFromCache(character, backgroundRGB, foregroundRGB, false);
+            final BufferedImage actual = drawWithGraphics(character, false, false);
+
+            assertImagesEqual(expected, actual, expected.getWidth(), expected.getHeight());
+        }
+    }
+
+    @Test
+    public void testDraw_framebufferMatchesGraphics() {
+        for (char character = 33 ; character < 127 ; character++) {
+            final BufferedImage expected = drawWithGraphics(character, true, true);
+            final BufferedImage actual = drawWithFramebuffer(character, true, true);
+
+            assertImagesEqual(expected, actual, expected.getWidth(), expected.getHeight());
+        }
+    }
+
+    @Test
+    public void testDraw_withHorizontalFlip() {
+        final BufferedImage normal = drawWithFramebuffer('F', false, false);
+        final BufferedImage flipped = drawWithFramebuffer('F', true, false);
+        final int glyphWidth = atlas.getGlyphWidth('F');
+
+        for (int y = 0 ; y < atlas.getGlyphHeight('F') ; y++) {
+            for (int x = 0 ; x < glyphWidth ; x++) {
+                Assert.assertEquals(normal.getRGB(x, y), flipped.getRGB(glyphWidth - 1 - x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testDraw_withUnsupportedCharacter() {
+        final BufferedImage expected = drawWithFramebuffer('?', false, false);
+        final BufferedImage actual = drawWithFramebuffer('\u0001', false, false);
+
+        assertImagesEqual(expected, actual, expected.getWidth(), expected.getHeight());
+    }
+
+    @Test
+    public void testDraw_countsMissingGlyphs() {
+        drawWithFramebuffer('?', false, false);
+        drawWithGraphics('A', false, false);
+        Assert.assertEquals(0, font.getMissingGlyphCount());
+
+        drawWithFramebuffer('\u0001', false, false);
+        drawWithGraphics(findUnsupportedCharacter(), false, false);
+        Assert.assertEquals(2, font.getMissingGlyphCount());
+    }
+
+    @Test
+    public void testDraw_framebufferClipsToBounds() {
+        final int[] pixels = new int[4];
+        atlas.draw(pixels, 2, 2, 'A', -5, -5, backgroundRGB, foregroundRGB, false, false);
+        atlas.draw(pixels, 2, 2, 'A', 1, 1, backgroundRGB, foregroundRGB, false, false);
+    }
+
+    private BufferedImage drawWithGraphics(final char character, final boolean flipHorizontally, final boolean flipVertically) {
+        final BufferedImage image = new BufferedImage(font.getWidth() * 2, font.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D gc = image.createGraphics();
+        atlas.draw(gc, character, 0, 0, backgroundRGB, foregroundRGB, flipHorizontally, flipVertically);
+        gc.dispose();
+        return image;
+    }
+
+    private BufferedImage drawWithFramebuffer(final char character, final boolean flipHorizontally, final boolean flipVertically) {
+        final BufferedImage image = new BufferedImage(font.getWidth() * 2, font.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        atlas.draw(pixels, image.getWidth(), image.getHeight(), character, 0, 0, backgroundRGB, foregroundRGB, flipHorizontally, flipVertically);
+        return image;
+    }
+
+    private static void assertImagesEqual(final BufferedImage expected, final BufferedImage actual, final int width, final int height) {
+        for (int y = 0 ; y < height ; y++) {
+            for (int x = 0 ; x < width ; x++) {
+                Assert.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * Finds the highest character which isn't supported by the font.
+     *
+     * @return
+     *         The character.
+     */
+    private char findUnsupportedCharacter() {
+        char character = Character.MAX_VALUE;
+
+        while (font.isCharacterSupported(character)) {
+            character--;
+        }
+
+        return character;
+    }
+}
@@ -0,0 +1,120 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VRadio.Radio;
+import com.valkryst.VTerminal.AsciiGrid;
+import com.valkryst.VTerminal.builder.component.ButtonBuilder;
+import com.valkryst.VTerminal.component.Button;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.event.MouseEvent;
+
+public class ColorStatesTest {
+    private AsciiGrid grid;
+    private ColorStates states;
+
+    @Before
+    public void initializeStates() {
+        grid = new AsciiGrid(4, 2);
+        grid.getDirtyRegions().clear();
+
+        states = new ColorStates(grid, 2);
+        states.setColors(0, Color.RED, Color.GREEN);
+        states.setColors(1, Color.BLUE, Color.YELLOW);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullGrid() {
+        new ColorStates(null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withZeroStates() {
+        new ColorStates(grid, 0);
+    }
+
+    @Test
+    public void testSetColors_doesNotChangeGrid() {
+        for (final int color : grid.getBackgroundColors()) {
+            Assert.assertNotEquals(Color.RED.getRGB(), color);
+        }
+
+        Assert.assertFalse(grid.getDirtyRegions().hasDirtyRegions());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSetColors_withNullBackgroundColor() {
+        states.setColors(0, null, Color.GREEN);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSetColors_withNullForegroundColor() {
+        states.setColors(0, Color.RED, null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetColors_withInvalidState() {
+        states.setColors(2, Color.RED, Color.GREEN);
+    }
+
+    @Test
+    public void testApply() {
+        states.apply(1);
+
+        for (int i = 0 ; i < grid.getWidth() * grid.getHeight() ; i++) {
+            Assert.assertEquals(Color.BLUE.getRGB(), grid.getBackgroundColors()[i]);
+            Assert.assertEquals(Color.YELLOW.getRGB(), grid.getForegroundColors()[i]);
+        }
+
+        states.apply(0);
+
+        for (int i = 0 ; i < grid.getWidth() * grid.getHeight() ; i++) {
+            Assert.assertEquals(Color.RED.getRGB(), grid.getBackgroundColors()[i]);
+            Assert.assertEquals(Color.GREEN.getRGB(), grid.getForegroundColors()[i]);
+        }
+    }
+
+    @Test
+    public void testApply_marksGridDirty() {
+        states.apply(0);
+
+        final DirtyRegionTracker dirtyRegions = grid.getDirtyRegions();
+
+        for (int row = 0 ; row < grid.getHeight() ; row++) {
+            Assert.assertEquals(0, dirtyRegions.nextDirtyColumn(row, 0));
+            Assert.assertEquals(grid.getWidth(), dirtyRegions.nextCleanColumn(row, 0));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testApply_withInvalidState() {
+        states.apply(-1);
+    }
+
+    @Test
+    public void testButton_appliesStateColors() {
+        final Button button = new Button(new ButtonBuilder().setText("Test")
+                                                            .setOnClickFunction(() -> {})
+                                                            .setRadio(new Radio<>()));
+        final AsciiGrid buttonGrid = button.getGrid();
+
+        Assert.assertEquals(button.getBackgroundColor_normal().getRGB(), buttonGrid.getBackgroundColors()[0]);
+
+        button.onMouseEntered();
+        Assert.assertEquals(button.getBackgroundColor_hover().getRGB(), buttonGrid.getBackgroundColors()[0]);
+        Assert.assertEquals(button.getForegroundColor_hover().getRGB(), buttonGrid.getForegroundColors()[0]);
+
+        // Changing the colors of the current state applies them immediately.
+        button.setBackgroundColor_hover(Color.MAGENTA);
+        Assert.assertEquals(Color.MAGENTA.getRGB(), buttonGrid.getBackgroundColors()[0]);
+
+        button.onMousePressed(new MouseEvent(new Canvas(), MouseEvent.MOUSE_PRESSED, 0, 0, 0, 0, 1, false, MouseEvent.BUTTON1));
+        Assert.assertEquals(button.getBackgroundColor_pressed().getRGB(), buttonGrid.getBackgroundColors()[0]);
+
+        button.onMouseExited();
+        Assert.assertEquals(button.getBackgroundColor_normal().getRGB(), buttonGrid.getBackgroundColors()[0]);
+    }
+}
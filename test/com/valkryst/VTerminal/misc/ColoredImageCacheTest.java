@@ -6,9 +6,19 @@ import com.valkryst.VTerminal.font.FontLoader;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 public class ColoredImageCacheTest {
     private final Font font;
@@ -53,4 +63,190 @@ public class ColoredImageCacheTest {
         final ColoredImageCache cache = new ColoredImageCache(font, 100);
         cache.retrieveFromCache(null);
     }
+
+    @Test
+    public void testRetrieveFromCache_withCollidingHashes() {
+        final int backgroundA = new Color(10, 20, 30).getRGB();
+        final int foregroundA = new Color(200, 210, 220).getRGB();
+        final int backgroundB = backgroundA + 1;
+        final int foregroundB = foregroundA - 31;
+
+        // The old cache key, Objects.hash(character, background, foreground), collides for these colors.
+        Assert.assertEquals(Objects.hash('A', backgroundA, foregroundA), Objects.hash('A', backgroundB, foregroundB));
+
+        final ColoredImageCache cache = new ColoredImageCache(font, 100);
+        final BufferedImage imageA = cache.retrieveFromCache('A', backgroundA, foregroundA, false);
+        final BufferedImage imageB = cache.retrieveFromCache('A', backgroundB, foregroundB, false);
+
+        Assert.assertNotSame(imageA, imageB);
+        Assert.assertEquals(backgroundA, imageA.getRGB(0, 0));
+        Assert.assertEquals(backgroundB, imageB.getRGB(0, 0));
+    }
+
+    @Test
+    public void testRetrieveFromCache_withTileAndCharacterOfSameColors() {
+        final ColoredImageCache cache = new ColoredImageCache(font, 100);
+        final BufferedImage character = cache.retrieveFromCache('A', Color.BLACK.getRGB(), Color.RED.getRGB(), false);
+        final BufferedImage tile = cache.retrieveFromCache('A', Color.BLACK.getRGB(), Color.RED.getRGB(), true);
+
+        Assert.assertNotSame(character, tile);
+    }
+
+    @Test
+    public void testRetrieveFromCache_withUnsupportedCharacter() {
+        final ColoredImageCache cache = new ColoredImageCache(font, 100);
+        final BufferedImage expected = cache.retrieveFromCache('?', Color.BLACK.getRGB(), Color.RED.getRGB(), false);
+        final BufferedImage actual = cache.retrieveFromCache('\u0001', Color.BLACK.getRGB(), Color.RED.getRGB(), false);
+
+        Assert.assertEquals(1, font.getMissingGlyphCount());
+
+        for (int y = 0 ; y < expected.getHeight() ; y++) {
+            for (int x = 0 ; x < expected.getWidth() ; x++) {
+                Assert.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testRetrieveFromCache_returnsCachedImage() {
+        final ColoredImageCache cache = new ColoredImageCache(font, 100);
+        final BufferedImage imageA = cache.retrieveFromCache('A', Color.BLACK.getRGB(), Color.RED.getRGB(), false);
+        final BufferedImage imageB = cache.retrieveFromCache('A', Color.BLACK.getRGB(), Color.RED.getRGB(), false);
+
+        Assert.assertSame(imageA, imageB);
+    }
+
+    @Test
+    public void testRetrieveFromCache_withFlips() {
+        final ColoredImageCache cache = new ColoredImageCache(font);
+        final int background = Color.BLACK.getRGB();
+        final int foreground = Color.WHITE.getRGB();
+
+        final BufferedImage image = cache.retrieveFromCache('F', background, foreground, false);
+        final BufferedImage horizontal = cache.retrieveFromCache('F', background, foreground, false, true, false);
+        final BufferedImage vertical = cache.retrieveFromCache('F', background, foreground, false, false, true);
+        final BufferedImage both = cache.retrieveFromCache('F', background, foreground, false, true, true);
+
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+
+        for (int y = 0 ; y < height ; y++) {
+            for (int x = 0 ; x < width ; x++) {
+                final int pixel = image.getRGB(x, y);
+                Assert.assertEquals(pixel, horizontal.getRGB(width - 1 - x, y));
+                Assert.assertEquals(pixel, vertical.getRGB(x, height - 1 - y));
+                Assert.assertEquals(pixel, both.getRGB(width - 1 - x, height - 1 - y));
+            }
+        }
+    }
+
+    @Test
+    public void testRetrieveFromCache_returnsCachedFlippedImage() {
+        final ColoredImageCache cache = new ColoredImageCache(font);
+        final BufferedImage image = cache.retrieveFromCache('F', 0xFF000000, 0xFFFFFFFF, true, true, false);
+
+        Assert.assertSame(image, cache.retrieveFromCache('F', 0xFF000000, 0xFFFFFFFF, true, true, false));
+        Assert.assertNotSame(image, cache.retrieveFromCache('F', 0xFF000000, 0xFFFFFFFF, true, false, true));
+        Assert.assertNotSame(image, cache.retrieveFromCache('F', 0xFF000000, 0xFFFFFFFF, true));
+    }
+
+    @Test
+    public void testSaveAndLoad_withImages() throws IOException {
+        final File file = File.createTempFile("VTerminal", ".cache");
+        file.deleteOnExit();
+
+        final ColoredImageCache cache = new ColoredImageCache(font);
+        final BufferedImage image = cache.retrieveFromCache('A', Color.RED.getRGB(), Color.BLUE.getRGB(), false);
+        cache.retrieveFromCache('B', Color.BLACK.getRGB(), Color.WHITE.getRGB(), true, true, false);
+        cache.save(file, true);
+
+        final ColoredImageCache loadedCache = new ColoredImageCache(font);
+        Assert.assertEquals(3, loadedCache.load(file));
+        Assert.assertEquals(3, loadedCache.size());
+
+        final BufferedImage loadedImage = loadedCache.retrieveFromCache('A', Color.RED.getRGB(), Color.BLUE.getRGB(), false);
+        Assert.assertEquals(3, loadedCache.size());
+
+        for (int y = 0 ; y < image.getHeight() ; y++) {
+            for (int x = 0 ; x < image.getWidth() ; x++) {
+                Assert.assertEquals(image.getRGB(x, y), loadedImage.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testSaveAndLoad_withoutImages() throws IOException {
+        final File file = File.createTempFile("VTerminal", ".cache");
+        file.deleteOnExit();
+
+        final ColoredImageCache cache = new ColoredImageCache(font);
+        cache.retrieveFromCache('A', Color.RED.getRGB(), Color.BLUE.getRGB(), false, false, true);
+        cache.save(file, false);
+
+        final ColoredImageCache loadedCache = new ColoredImageCache(font);
+        Assert.assertEquals(2, loadedCache.load(file));
+        Assert.assertEquals(2, loadedCache.size());
+        Assert.assertTrue(file.length() < font.getWidth() * font.getHeight());
+    }
+
+    @Test
+    public void testLoad_withDifferentFont() throws IOException {
+        final File file = File.createTempFile("VTerminal", ".cache");
+        file.deleteOnExit();
+
+        final ColoredImageCache cache = new ColoredImageCache(font);
+        cache.retrieveFromCache('A', Color.RED.getRGB(), Color.BLUE.getRGB(), false);
+        cache.save(file, true);
+
+        final ColoredImageCache otherCache = new ColoredImageCache(otherFont);
+        Assert.assertEquals(0, otherCache.load(file));
+        Assert.assertEquals(0, otherCache.size());
+    }
+
+    @Test(expected=IOException.class)
+    public void testLoad_withInvalidFile() throws IOException {
+        final File file = File.createTempFile("VTerminal", ".cache");
+        file.deleteOnExit();
+
+        try (final OutputStream output = new GZIPOutputStream(new FileOutputStream(file))) {
+            output.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        }
+
+        new ColoredImageCache(font).load(file);
+    }
+
+    @Test
+    public void testPrewarm() {
+        final ColoredImageCache cache = new ColoredImageCache(font);
+        final int totalImages = cache.prewarm(Arrays.asList('A', 'B', 'C'), Arrays.asList(Color.BLACK, Color.RED),
+                                              Collections.singletonList(Color.WHITE));
+
+        Assert.assertEquals(6, totalImages);
+        Assert.assertEquals(6, cache.size());
+    }
+
+    @Test
+    public void testPrewarmAsync() throws Exception {
+        final File file = File.createTempFile("VTerminal", ".cache");
+        file.deleteOnExit();
+
+        final ColoredImageCache cache = new ColoredImageCache(font);
+        cache.prewarm(Arrays.asList('A', 'B'), Collections.singletonList(Color.BLACK), Collections.singletonList(Color.WHITE));
+        cache.save(file, false);
+
+        final ColoredImageCache loadedCache = new ColoredImageCache(font);
+        Assert.assertEquals(2, (int) loadedCache.prewarmAsync(file).get(10, TimeUnit.SECONDS));
+        Assert.assertEquals(2, loadedCache.size());
+
+        final int totalImages = loadedCache.prewarmAsync(Collections.singletonList('C'), Collections.singletonList(Color.RED),
+                                                         Collections.singletonList(Color.WHITE))
+                                           .get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(1, totalImages);
+        Assert.assertEquals(3, loadedCache.size());
+    }
+
+    @Test(expected=ExecutionException.class)
+    public void testPrewarmAsync_withMissingFile() throws Exception {
+        new ColoredImageCache(font).prewarmAsync(new File("missing.cache")).get(10, TimeUnit.SECONDS);
+    }
 }
@@ -0,0 +1,135 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.component.Component;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Rectangle;
+
+public class ComponentIndexTest {
+    private ComponentIndex index;
+
+    @Before
+    public void initializeIndex() {
+        index = new ComponentIndex(20, 10);
+    }
+
+    @Test
+    public void testConstructor() {
+        Assert.assertEquals(20, index.getWidth());
+        Assert.assertEquals(10, index.getHeight());
+        Assert.assertNull(index.getComponentAt(0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withNegativeWidth() {
+        new ComponentIndex(-1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withNegativeHeight() {
+        new ComponentIndex(2, -1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAdd_withNullComponent() {
+        index.add(null);
+    }
+
+    @Test
+    public void testAdd() {
+        final Component component = new Component(2, 3, 4, 2);
+        index.add(component);
+
+        for (int row = 0 ; row < index.getHeight() ; row++) {
+            for (int column = 0 ; column < index.getWidth() ; column++) {
+                final Component expected = component.intersects(column, row) ? component : null;
+                Assert.assertSame(expected, index.getComponentAt(column, row));
+            }
+        }
+    }
+
+    @Test
+    public void testAdd_withComponentOutsideOfArea() {
+        final Component component = new Component(18, 8, 5, 5);
+        index.add(component);
+
+        Assert.assertSame(component, index.getComponentAt(19, 9));
+        Assert.assertNull(index.getComponentAt(20, 9));
+        Assert.assertNull(index.getComponentAt(19, 10));
+    }
+
+    @Test
+    public void testAdd_isTopmost() {
+        final Component bottom = new Component(0, 0, 5, 5);
+        final Component top = new Component(3, 3, 5, 5);
+        index.add(bottom);
+        index.add(top);
+
+        Assert.assertSame(bottom, index.getComponentAt(2, 2));
+        Assert.assertSame(top, index.getComponentAt(3, 3));
+        Assert.assertSame(top, index.getComponentAt(4, 4));
+        Assert.assertSame(top, index.getComponentAt(7, 7));
+    }
+
+    @Test
+    public void testRemove_uncoversComponentsBeneath() {
+        final Component bottom = new Component(0, 0, 5, 5);
+        final Component middle = new Component(2, 2, 5, 5);
+        final Component top = new Component(4, 4, 5, 5);
+        index.add(bottom);
+        index.add(middle);
+        index.add(top);
+
+        index.remove(middle);
+
+        Assert.assertSame(bottom, index.getComponentAt(3, 3));
+        Assert.assertSame(top, index.getComponentAt(4, 4));
+        Assert.assertNull(index.getComponentAt(6, 2));
+    }
+
+    @Test
+    public void testRemove_withUnindexedComponent() {
+        final Component component = new Component(0, 0, 5, 5);
+        index.add(component);
+        index.remove(new Component(0, 0, 2, 2));
+
+        Assert.assertSame(component, index.getComponentAt(0, 0));
+    }
+
+    @Test
+    public void testUpdate() {
+        final Component bottom = new Component(0, 0, 5, 5);
+        final Component top = new Component(0, 0, 2, 2);
+        index.add(bottom);
+        index.add(top);
+
+        final Rectangle previousBounds = new Rectangle(top.getBoundingBox());
+        top.getBoundingBox().setLocation(10, 5);
+        index.update(top, previousBounds);
+
+        Assert.assertSame(bottom, index.getComponentAt(0, 0));
+        Assert.assertSame(top, index.getComponentAt(10, 5));
+        Assert.assertSame(top, index.getComponentAt(11, 6));
+        Assert.assertNull(index.getComponentAt(12, 7));
+    }
+
+    @Test
+    public void testClear() {
+        index.add(new Component(0, 0, 5, 5));
+        index.clear();
+
+        Assert.assertNull(index.getComponentAt(0, 0));
+    }
+
+    @Test
+    public void testGetComponentAt_withPositionOutsideOfArea() {
+        index.add(new Component(0, 0, 20, 10));
+
+        Assert.assertNull(index.getComponentAt(-1, 0));
+        Assert.assertNull(index.getComponentAt(0, -1));
+        Assert.assertNull(index.getComponentAt(20, 0));
+        Assert.assertNull(index.getComponentAt(0, 10));
+    }
+}
@@ -0,0 +1,175 @@
+package com.valkryst.VTerminal.misc;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Rectangle;
+import java.util.List;
+
+public class DirtyRegionTrackerTest {
+    private DirtyRegionTracker tracker;
+
+    @Before
+    public void initializeTracker() {
+        tracker = new DirtyRegionTracker(130, 10);
+        tracker.clear();
+    }
+
+    @Test
+    public void testConstructor() {
+        final DirtyRegionTracker tracker = new DirtyRegionTracker(3, 2);
+        Assert.assertEquals(3, tracker.getWidth());
+        Assert.assertEquals(2, tracker.getHeight());
+        Assert.assertTrue(tracker.hasDirtyRegions());
+        Assert.assertEquals(new Rectangle(0, 0, 3, 2), tracker.getDirtyRectangles().get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withNegativeWidth() {
+        new DirtyRegionTracker(-1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withNegativeHeight() {
+        new DirtyRegionTracker(2, -1);
+    }
+
+    @Test
+    public void testClear() {
+        tracker.markAllDirty();
+        tracker.clear();
+        Assert.assertFalse(tracker.hasDirtyRegions());
+        Assert.assertTrue(tracker.getDirtyRectangles().isEmpty());
+    }
+
+    @Test
+    public void testMarkDirty_withCell() {
+        tracker.markDirty(70, 3);
+        Assert.assertTrue(tracker.isDirty(70, 3));
+        Assert.assertTrue(tracker.isRowDirty(3));
+        Assert.assertFalse(tracker.isDirty(6, 3));
+        Assert.assertFalse(tracker.isRowDirty(2));
+    }
+
+    @Test
+    public void testMarkDirty_withCellOutsideOfArea() {
+        tracker.markDirty(-1, 0);
+        tracker.markDirty(0, -1);
+        tracker.markDirty(130, 0);
+        tracker.markDirty(0, 10);
+        Assert.assertFalse(tracker.hasDirtyRegions());
+    }
+
+    @Test
+    public void testMarkDirty_withRunSpanningWords() {
+        tracker.markDirty(4, 60, 129);
+
+        Assert.assertFalse(tracker.isDirty(59, 4));
+        for (int column = 60 ; column < 129 ; column++) {
+            Assert.assertTrue(tracker.isDirty(column, 4));
+        }
+        Assert.assertFalse(tracker.isDirty(129, 4));
+    }
+
+    @Test
+    public void testMarkDirty_withRunClippedToArea() {
+        tracker.markDirty(0, -5, 200);
+        Assert.assertEquals(0, tracker.nextDirtyColumn(0, 0));
+        Assert.assertEquals(130, tracker.nextCleanColumn(0, 0));
+    }
+
+    @Test
+    public void testMarkDirty_withOtherTracker() {
+        final DirtyRegionTracker other = new DirtyRegionTracker(4, 4);
+        other.clear();
+        other.markDirty(1, 1);
+
+        tracker.markDirty(other, 100, 5);
+        Assert.assertTrue(tracker.isDirty(101, 6));
+        Assert.assertEquals(1, tracker.getDirtyRectangles().size());
+    }
+
+    @Test
+    public void testMarkDirtyFrom() {
+        final DirtyRegionTracker child = new DirtyRegionTracker(4, 4);
+        child.clear();
+
+        tracker.markDirty(0, 0, 130, 1);
+        tracker.markDirty(2, 3);
+        child.markDirtyFrom(tracker, 1, 2);
+
+        Assert.assertTrue(child.isDirty(1, 1));
+        Assert.assertFalse(child.isRowDirty(0));
+        Assert.assertEquals(1, child.getDirtyRectangles().size());
+    }
+
+    @Test
+    public void testNextDirtyRow() {
+        tracker.markDirty(0, 2);
+        tracker.markDirty(5, 7);
+
+        Assert.assertEquals(2, tracker.nextDirtyRow(0));
+        Assert.assertEquals(7, tracker.nextDirtyRow(3));
+        Assert.assertEquals(-1, tracker.nextDirtyRow(8));
+    }
+
+    @Test
+    public void testGetDirtyRectangles_coalescesRows() {
+        tracker.markDirty(2, 1, 5, 3);
+        tracker.markDirty(100, 1, 2, 1);
+
+        final List<Rectangle> rectangles = tracker.getDirtyRectangles();
+        Assert.assertEquals(2, rectangles.size());
+        Assert.assertTrue(rectangles.contains(new Rectangle(2, 1, 5, 3)));
+        Assert.assertTrue(rectangles.contains(new Rectangle(100, 1, 2, 1)));
+    }
+
+    @Test
+    public void testCopyRegion_vertically() {
+        tracker.markDirty(3, 2, 100, 1);
+        tracker.markDirty(0, 5, 130, 1);
+
+        // Rows 2 to 4 are copied down to rows 4 to 6, within columns 60 to 69.
+        tracker.copyRegion(60, 2, 10, 3, 60, 4);
+
+        Assert.assertTrue(tracker.isDirty(60, 4));
+        Assert.assertTrue(tracker.isDirty(69, 4));
+        Assert.assertFalse(tracker.isDirty(70, 4));
+        Assert.assertFalse(tracker.isDirty(60, 5));
+        Assert.assertFalse(tracker.isDirty(69, 5));
+        Assert.assertTrue(tracker.isDirty(59, 5));
+        Assert.assertTrue(tracker.isDirty(70, 5));
+        Assert.assertFalse(tracker.isRowDirty(6));
+
+        // The source row is left as it was.
+        Assert.assertTrue(tracker.isDirty(60, 2));
+    }
+
+    @Test
+    public void testCopyRegion_cleansRows() {
+        tracker.markDirty(0, 1, 130, 1);
+        tracker.copyRegion(0, 0, 130, 1, 0, 1);
+
+        Assert.assertFalse(tracker.isRowDirty(1));
+        Assert.assertFalse(tracker.hasDirtyRegions());
+    }
+
+    @Test
+    public void testCopyRegion_horizontallyWithOverlap() {
+        tracker.markDirty(0, 0);
+        tracker.markDirty(2, 0);
+
+        tracker.copyRegion(0, 0, 3, 1, 1, 0);
+
+        Assert.assertTrue(tracker.isDirty(0, 0));
+        Assert.assertTrue(tracker.isDirty(1, 0));
+        Assert.assertFalse(tracker.isDirty(2, 0));
+        Assert.assertTrue(tracker.isDirty(3, 0));
+    }
+
+    @Test
+    public void testToString() {
+        Assert.assertFalse(tracker.toString().isEmpty());
+    }
+}
@@ -0,0 +1,189 @@
+package com.valkryst.VTerminal.misc;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+public class FramebufferTest {
+    private Framebuffer framebuffer;
+
+    @Before
+    public void initializeFramebuffer() {
+        framebuffer = new Framebuffer(4, 3);
+    }
+
+    @Test
+    public void testConstructor() {
+        Assert.assertEquals(4, framebuffer.getWidth());
+        Assert.assertEquals(3, framebuffer.getHeight());
+        Assert.assertEquals(BufferedImage.TYPE_INT_RGB, framebuffer.getImage().getType());
+        Assert.assertEquals(12, framebuffer.getPixels().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withZeroWidth() {
+        new Framebuffer(0, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withZeroHeight() {
+        new Framebuffer(4, 0);
+    }
+
+    @Test
+    public void testConstructor_withPixels() {
+        final int[] pixels = new int[12];
+        final Framebuffer framebuffer = new Framebuffer(pixels, 4, 3);
+        Assert.assertSame(pixels, framebuffer.getPixels());
+        Assert.assertEquals(BufferedImage.TYPE_INT_RGB, framebuffer.getImage().getType());
+
+        framebuffer.fillRect(1, 2, 1, 1, 0xFF123456);
+        Assert.assertEquals(0x123456, pixels[9] & 0xFFFFFF);
+        Assert.assertEquals(0xFF123456, framebuffer.getImage().getRGB(1, 2));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullPixels() {
+        new Framebuffer(null, 4, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withTooFewPixels() {
+        new Framebuffer(new int[11], 4, 3);
+    }
+
+    @Test
+    public void testCopyImage() {
+        final BufferedImage image = createImage(2, 2, 0xFFFF0000);
+        framebuffer.copyImage(image, 1, 1);
+
+        Assert.assertEquals(0xFF000000, framebuffer.getImage().getRGB(0, 0));
+        Assert.assertEquals(0xFFFF0000, framebuffer.getImage().getRGB(1, 1));
+        Assert.assertEquals(0xFFFF0000, framebuffer.getImage().getRGB(2, 2));
+        Assert.assertEquals(0xFF000000, framebuffer.getImage().getRGB(3, 2));
+    }
+
+    @Test
+    public void testCopyImage_withImagePartiallyOutsideOfFramebuffer() {
+        final BufferedImage image = createImage(3, 3, 0xFF00FF00);
+        framebuffer.copyImage(image, -1, 2);
+        framebuffer.copyImage(image, 3, -2);
+
+        Assert.assertEquals(0xFF00FF00, framebuffer.getImage().getRGB(0, 2));
+        Assert.assertEquals(0xFF00FF00, framebuffer.getImage().getRGB(1, 2));
+        Assert.assertEquals(0xFF000000, framebuffer.getImage().getRGB(2, 2));
+        Assert.assertEquals(0xFF00FF00, framebuffer.getImage().getRGB(3, 0));
+        Assert.assertEquals(0xFF000000, framebuffer.getImage().getRGB(3, 1));
+    }
+
+    @Test
+    public void testCopyImage_withImageOutsideOfFramebuffer() {
+        framebuffer.copyImage(createImage(2, 2, 0xFF00FF00), 10, 10);
+        framebuffer.copyImage(createImage(2, 2, 0xFF00FF00), -2, 0);
+
+        for (final int pixel : framebuffer.getPixels()) {
+            Assert.assertEquals(0, pixel);
+        }
+    }
+
+    @Test
+    public void testCopyArea_down() {
+        final int[] pixels = framebuffer.getPixels();
+
+        for (int i = 0 ; i < pixels.length ; i++) {
+            pixels[i] = i;
+        }
+
+        framebuffer.copyArea(0, 0, 4, 2, 0, 1);
+
+        Assert.assertArrayEquals(new int[] {0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 6, 7}, pixels);
+    }
+
+    @Test
+    public void testCopyArea_upAndLeft() {
+        final int[] pixels = framebuffer.getPixels();
+
+        for (int i = 0 ; i < pixels.length ; i++) {
+            pixels[i] = i;
+        }
+
+        framebuffer.copyArea(1, 1, 3, 2, -1, -1);
+
+        Assert.assertArrayEquals(new int[] {5, 6, 7, 3, 9, 10, 11, 7, 8, 9, 10, 11}, pixels);
+    }
+
+    @Test
+    public void testCopyArea_withAreaPartiallyOutsideOfFramebuffer() {
+        final int[] pixels = framebuffer.getPixels();
+
+        for (int i = 0 ; i < pixels.length ; i++) {
+            pixels[i] = i;
+        }
+
+        framebuffer.copyArea(-2, 0, 4, 2, 3, 2);
+
+        Assert.assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 0}, pixels);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testCopyImage_withNullImage() {
+        framebuffer.copyImage(null, 0, 0);
+    }
+
+    @Test
+    public void testFillRect() {
+        framebuffer.fillRect(-1, 1, 3, 5, 0xFF0000FF);
+
+        Assert.assertEquals(0xFF000000, framebuffer.getImage().getRGB(0, 0));
+        Assert.assertEquals(0xFF0000FF, framebuffer.getImage().getRGB(0, 1));
+        Assert.assertEquals(0xFF0000FF, framebuffer.getImage().getRGB(1, 2));
+        Assert.assertEquals(0xFF000000, framebuffer.getImage().getRGB(2, 2));
+    }
+
+    @Test
+    public void testFillRect_withTranslucentColor() {
+        framebuffer.fillRect(0, 0, 4, 3, 0xFFFFFFFF);
+        framebuffer.fillRect(0, 0, 1, 1, 0x80000000);
+
+        final int blue = framebuffer.getImage().getRGB(0, 0) & 0xFF;
+        Assert.assertTrue(blue > 0 && blue < 255);
+    }
+
+    @Test
+    public void testCreateBand() {
+        final Framebuffer band = framebuffer.createBand(1, 1);
+        Assert.assertSame(framebuffer.getPixels(), band.getPixels());
+        Assert.assertEquals(1, band.getClipTop());
+        Assert.assertEquals(2, band.getClipBottom());
+
+        band.copyImage(createImage(4, 3, 0xFFFF0000), 0, 0);
+        band.fillRect(0, 0, 4, 3, 0xFF0000FF);
+        band.getGraphics().setColor(Color.GREEN);
+        band.getGraphics().fillRect(0, 0, 4, 3);
+        band.dispose();
+
+        Assert.assertEquals(0, framebuffer.getPixels()[0]);
+        Assert.assertEquals(0xFF00, framebuffer.getPixels()[4] & 0xFFFFFF);
+        Assert.assertEquals(0, framebuffer.getPixels()[8]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateBand_withZeroHeight() {
+        framebuffer.createBand(0, 0);
+    }
+
+    private static BufferedImage createImage(final int width, final int height, final int rgb) {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        for (int y = 0 ; y < height ; y++) {
+            for (int x = 0 ; x < width ; x++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+
+        return image;
+    }
+}
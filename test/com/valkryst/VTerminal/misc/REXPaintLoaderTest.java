@@ -0,0 +1,275 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.AsciiGrid;
+import com.valkryst.VTerminal.component.Layer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+public class REXPaintLoaderTest {
+    /** The width of each layer of the test file. */
+    private static final int WIDTH = 5;
+    /** The height of each layer of the test file. */
+    private static final int HEIGHT = 4;
+
+    @Test
+    public void testLoad_file() throws IOException {
+        final File file = File.createTempFile("VTerminal", ".xp");
+        file.deleteOnExit();
+        Files.write(file.toPath(), createFile(2));
+
+        final List<Layer> layers = REXPaintLoader.load(file);
+        Assert.assertEquals(2, layers.size());
+
+        for (int layer = 0 ; layer < 2 ; layer++) {
+            Assert.assertEquals(WIDTH, layers.get(layer).getWidth());
+            Assert.assertEquals(HEIGHT, layers.get(layer).getHeight());
+
+            for (int column = 0 ; column < WIDTH ; column++) {
+                for (int row = 0 ; row < HEIGHT ; row++) {
+                    assertCell(layers.get(layer).getGrid(), column, row, layer, column, row);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLoad_file_withTransparentBackground() throws IOException {
+        final File file = File.createTempFile("VTerminal", ".xp");
+        file.deleteOnExit();
+        Files.write(file.toPath(), createFile(1));
+
+        // The first cell of every column has the transparent background.
+        final Layer layer = REXPaintLoader.load(file).get(0);
+        Assert.assertEquals(new Color(0, 0, 0, 0), layer.getString(0).getCharacter(2).getBackgroundColor());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testLoad_file_withNullFile() throws IOException {
+        REXPaintLoader.load((File) null);
+    }
+
+    @Test(expected=FileNotFoundException.class)
+    public void testLoad_file_withMissingFile() throws IOException {
+        REXPaintLoader.load(new File("missing.xp"));
+    }
+
+    @Test
+    public void testLoad_stream_withSkippedLayer() throws IOException {
+        final AsciiGrid grid = new AsciiGrid(WIDTH, HEIGHT);
+
+        REXPaintLoader.load(new ByteArrayInputStream(createFile(3)), (layer, width, height) -> (layer == 1 ? grid : null));
+
+        for (int column = 0 ; column < WIDTH ; column++) {
+            for (int row = 0 ; row < HEIGHT ; row++) {
+                assertCell(grid, column, row, 1, column, row);
+            }
+        }
+    }
+
+    @Test
+    public void testLoad_stream_withRegion() throws IOException {
+        final AsciiGrid grid = new AsciiGrid(WIDTH, HEIGHT);
+        grid.getDirtyRegions().clear();
+
+        REXPaintLoader.load(new ByteArrayInputStream(createFile(2)), new REXPaintLoader.LayerHandler() {
+            @Override
+            public AsciiGrid getGrid(final int layer, final int width, final int height) {
+                return (layer == 1 ? grid : null);
+            }
+
+            @Override
+            public Rectangle getRegion(final int layer, final int width, final int height) {
+                return new Rectangle(2, 1, 2, 3);
+            }
+        });
+
+        for (int column = 0 ; column < WIDTH ; column++) {
+            for (int row = 0 ; row < HEIGHT ; row++) {
+                final boolean isLoaded = column < 2 && row < 3;
+
+                if (isLoaded) {
+                    assertCell(grid, column, row, 1, column + 2, row + 1);
+                } else {
+                    Assert.assertEquals(' ', grid.getCharacters()[grid.indexOf(column, row)]);
+                }
+
+                Assert.assertEquals(isLoaded, grid.getDirtyRegions().isDirty(column, row));
+            }
+        }
+    }
+
+    @Test
+    public void testLoad_stream_withRegionLargerThanGridAndLayer() throws IOException {
+        final AsciiGrid grid = new AsciiGrid(2, 2);
+
+        REXPaintLoader.load(new ByteArrayInputStream(createFile(1)), new REXPaintLoader.LayerHandler() {
+            @Override
+            public AsciiGrid getGrid(final int layer, final int width, final int height) {
+                return grid;
+            }
+
+            @Override
+            public Rectangle getRegion(final int layer, final int width, final int height) {
+                return new Rectangle(4, 3, 10, 10);
+            }
+        });
+
+        assertCell(grid, 0, 0, 0, 4, 3);
+        Assert.assertEquals(' ', grid.getCharacters()[grid.indexOf(1, 0)]);
+        Assert.assertEquals(' ', grid.getCharacters()[grid.indexOf(0, 1)]);
+    }
+
+    @Test(expected=EOFException.class)
+    public void testLoad_stream_withTruncatedFile() throws IOException {
+        final byte[] file = createFile(1, 8 + 8 + WIDTH * HEIGHT * 10 - 1);
+        REXPaintLoader.load(new ByteArrayInputStream(file), (layer, width, height) -> new AsciiGrid(width, height));
+    }
+
+    @Test(expected=EOFException.class)
+    public void testLoad_stream_withTruncatedSkippedLayer() throws IOException {
+        final byte[] file = createFile(1, 8 + 8 + WIDTH * HEIGHT * 10 - 1);
+        REXPaintLoader.load(new ByteArrayInputStream(file), (layer, width, height) -> null);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testLoad_stream_withNullHandler() throws IOException {
+        REXPaintLoader.load(new ByteArrayInputStream(createFile(1)), null);
+    }
+
+    /**
+     * Asserts that a cell of a grid holds the contents of a cell of a layer
+     * of the test file.
+     *
+     * @param grid
+     *         The grid.
+     *
+     * @param column
+     *         The column of the cell within the grid.
+     *
+     * @param row
+     *         The row of the cell within the grid.
+     *
+     * @param layer
+     *         The layer.
+     *
+     * @param layerColumn
+     *         The column of the cell within the layer.
+     *
+     * @param layerRow
+     *         The row of the cell within the layer.
+     */
+    private static void assertCell(final AsciiGrid grid, final int column, final int row,
+                                   final int layer, final int layerColumn, final int layerRow) {
+        final int index = grid.indexOf(column, row);
+
+        Assert.assertEquals(characterOf(layer, layerColumn, layerRow), grid.getCharacters()[index]);
+        Assert.assertEquals(0xFF000000 | (layer << 16) | (layerColumn << 8) | layerRow, grid.getForegroundColors()[index]);
+
+        if (layerRow == 0) {
+            Assert.assertEquals(0, grid.getBackgroundColors()[index]);
+        } else {
+            Assert.assertEquals(0xFF000000 | (layerRow << 16) | (layerColumn << 8) | layer, grid.getBackgroundColors()[index]);
+        }
+    }
+
+    /**
+     * Determines the character of a cell of the test file.
+     *
+     * @param layer
+     *         The layer.
+     *
+     * @param column
+     *         The column of the cell.
+     *
+     * @param row
+     *         The row of the cell.
+     *
+     * @return
+     *         The character.
+     */
+    private static char characterOf(final int layer, final int column, final int row) {
+        return (char) ('A' + layer * WIDTH * HEIGHT + column * HEIGHT + row);
+    }
+
+    /**
+     * Creates a compressed REXPaint file, where the first cell of each column
+     * has a transparent background.
+     *
+     * @param totalLayers
+     *         The number of layers.
+     *
+     * @return
+     *         The file.
+     *
+     * @throws IOException
+     *         If an I/O error occurs.
+     */
+    private static byte[] createFile(final int totalLayers) throws IOException {
+        return createFile(totalLayers, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a compressed REXPaint file, where the first cell of each column
+     * has a transparent background.
+     *
+     * @param totalLayers
+     *         The number of layers.
+     *
+     * @param length
+     *         The number of bytes to truncate the file to, before it's
+     *         compressed.
+     *
+     * @return
+     *         The file.
+     *
+     * @throws IOException
+     *         If an I/O error occurs.
+     */
+    private static byte[] createFile(final int totalLayers, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(8 + totalLayers * (8 + WIDTH * HEIGHT * 10));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(-1);
+        buffer.putInt(totalLayers);
+
+        for (int layer = 0 ; layer < totalLayers ; layer++) {
+            buffer.putInt(WIDTH);
+            buffer.putInt(HEIGHT);
+
+            for (int column = 0 ; column < WIDTH ; column++) {
+                for (int row = 0 ; row < HEIGHT ; row++) {
+                    buffer.putInt(characterOf(layer, column, row));
+                    buffer.put((byte) layer).put((byte) column).put((byte) row);
+
+                    if (row == 0) {
+                        buffer.put((byte) 255).put((byte) 0).put((byte) 255);
+                    } else {
+                        buffer.put((byte) row).put((byte) column).put((byte) layer);
+                    }
+                }
+            }
+        }
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(Arrays.copyOf(buffer.array(), Math.min(length, buffer.capacity())));
+        }
+
+        return outputStream.toByteArray();
+    }
+}
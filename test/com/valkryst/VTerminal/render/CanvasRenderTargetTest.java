@@ -0,0 +1,49 @@
+package com.valkryst.VTerminal.render;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Canvas;
+
+public class CanvasRenderTargetTest {
+    private ColoredImageCache imageCache;
+    private Screen screen;
+
+    @Before
+    public void initialize() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        imageCache = new ColoredImageCache(font);
+
+        screen = new Screen(0, 0, 4, 3);
+        screen.clear('#');
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullCanvas() {
+        new CanvasRenderTarget(null, null);
+    }
+
+    @Test
+    public void testDraw_withoutBufferStrategyKeepsChanges() {
+        final CanvasRenderTarget target = new CanvasRenderTarget(new Canvas(), null);
+
+        Assert.assertFalse(target.draw(screen, imageCache));
+        Assert.assertTrue(screen.hasDirtyRegions());
+    }
+
+    @Test
+    public void testDraw_withFramebufferAndWithoutBufferStrategyKeepsChanges() {
+        final PixelRenderTarget framebufferTarget = new PixelRenderTarget(new Framebuffer(10, 10));
+        final CanvasRenderTarget target = new CanvasRenderTarget(new Canvas(), framebufferTarget);
+
+        Assert.assertFalse(target.draw(screen, imageCache));
+        Assert.assertFalse(target.redraw(screen, imageCache));
+        Assert.assertTrue(screen.hasDirtyRegions());
+    }
+}
@@ -0,0 +1,78 @@
+package com.valkryst.VTerminal.render;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+public class ImageRenderTargetTest {
+    private ColoredImageCache imageCache;
+    private Screen screen;
+    private ImageRenderTarget target;
+
+    @Before
+    public void initialize() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        imageCache = new ColoredImageCache(font);
+
+        screen = new Screen(0, 0, 4, 3);
+        screen.clear('#');
+        screen.getString(1).applyColorGradient(Color.RED, Color.BLUE, true);
+
+        target = new ImageRenderTarget(new BufferedImage(4 * font.getWidth(), 3 * font.getHeight(), BufferedImage.TYPE_INT_RGB));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullImage() {
+        new ImageRenderTarget(null);
+    }
+
+    @Test
+    public void testDraw_matchesScreenshot() {
+        Assert.assertTrue(target.draw(screen, imageCache));
+        Assert.assertFalse(screen.hasDirtyRegions());
+        assertImageEquals(screen.screenshot(imageCache), target.getImage());
+    }
+
+    @Test
+    public void testDraw_withPartialRedrawMatchesScreenshot() {
+        target.draw(screen, imageCache);
+
+        screen.write('Z', 3, 2);
+        Assert.assertTrue(target.draw(screen, imageCache));
+        assertImageEquals(screen.screenshot(imageCache), target.getImage());
+    }
+
+    @Test
+    public void testRedraw() {
+        target.draw(screen, imageCache);
+        target.getImage().setRGB(0, 0, 0xFFFFFF);
+
+        Assert.assertTrue(target.redraw(screen, imageCache));
+        assertImageEquals(screen.screenshot(imageCache), target.getImage());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testDraw_withNullScreen() {
+        target.draw(null, imageCache);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testDraw_withNullImageCache() {
+        target.draw(screen, null);
+    }
+
+    static void assertImageEquals(final BufferedImage expected, final BufferedImage image) {
+        for (int y = 0 ; y < image.getHeight() ; y++) {
+            for (int x = 0 ; x < image.getWidth() ; x++) {
+                Assert.assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+            }
+        }
+    }
+}
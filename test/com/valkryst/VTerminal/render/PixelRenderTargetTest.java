@@ -0,0 +1,79 @@
+package com.valkryst.VTerminal.render;
+
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.util.concurrent.ForkJoinPool;
+
+public class PixelRenderTargetTest {
+    private ColoredImageCache imageCache;
+    private Screen screen;
+    private int[] pixels;
+    private Framebuffer framebuffer;
+
+    @Before
+    public void initialize() throws Exception {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        imageCache = new ColoredImageCache(font);
+
+        screen = new Screen(0, 0, 4, 3);
+        screen.clear('#');
+        screen.getString(1).applyColorGradient(Color.RED, Color.BLUE, true);
+
+        pixels = new int[4 * font.getWidth() * 3 * font.getHeight()];
+        framebuffer = new Framebuffer(pixels, 4 * font.getWidth(), 3 * font.getHeight());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullFramebuffer() {
+        new PixelRenderTarget(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withZeroMinimumBandHeight() {
+        new PixelRenderTarget(framebuffer, null, 0);
+    }
+
+    @Test
+    public void testDraw_matchesScreenshot() {
+        final PixelRenderTarget target = new PixelRenderTarget(framebuffer);
+        Assert.assertTrue(target.draw(screen, imageCache));
+        Assert.assertFalse(screen.hasDirtyRegions());
+
+        Assert.assertSame(pixels, target.getPixels());
+        ImageRenderTargetTest.assertImageEquals(screen.screenshot(imageCache), framebuffer.getImage());
+    }
+
+    @Test
+    public void testDraw_withBandsMatchesScreenshot() {
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        final PixelRenderTarget target = new PixelRenderTarget(framebuffer, pool, 1);
+
+        Assert.assertTrue(target.draw(screen, imageCache));
+        ImageRenderTargetTest.assertImageEquals(screen.screenshot(imageCache), framebuffer.getImage());
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void testDraw_withShutDownPoolMatchesScreenshot() {
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        pool.shutdown();
+
+        final PixelRenderTarget target = new PixelRenderTarget(framebuffer, pool, 1);
+        Assert.assertTrue(target.draw(screen, imageCache));
+        ImageRenderTargetTest.assertImageEquals(screen.screenshot(imageCache), framebuffer.getImage());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testDraw_withNullScreen() {
+        new PixelRenderTarget(framebuffer).draw(null, imageCache);
+    }
+}
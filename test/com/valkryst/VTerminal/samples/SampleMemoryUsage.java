@@ -0,0 +1,57 @@
+package com.valkryst.VTerminal.samples;
+
+import com.valkryst.VTerminal.AsciiString;
+import com.valkryst.VTerminal.component.Screen;
+
+public class SampleMemoryUsage {
+    private static final int WIDTH = 240;
+    private static final int HEIGHT = 80;
+    private static final int SCREEN_COUNT = 10;
+
+    public static void main(final String[] args) {
+        // Warm up, so that class loading isn't counted.
+        new Screen(0, 0, WIDTH, HEIGHT).getString(0).getCharacters();
+
+        long before = usedMemory();
+        final Screen[] packedScreens = new Screen[SCREEN_COUNT];
+
+        for (int i = 0 ; i < SCREEN_COUNT ; i++) {
+            packedScreens[i] = new Screen(0, 0, WIDTH, HEIGHT);
+        }
+
+        final long packedBytes = usedMemory() - before;
+
+        before = usedMemory();
+        final Screen[] objectScreens = new Screen[SCREEN_COUNT];
+
+        for (int i = 0 ; i < SCREEN_COUNT ; i++) {
+            objectScreens[i] = new Screen(0, 0, WIDTH, HEIGHT);
+
+            // Materializing every character view approximates the old
+            // object-per-character layout.
+            for (final AsciiString string : objectScreens[i].getStrings()) {
+                string.getCharacters();
+            }
+        }
+
+        final long objectBytes = usedMemory() - before;
+        final int totalCells = WIDTH * HEIGHT * SCREEN_COUNT;
+
+        System.out.println("Screens:\t\t\t" + SCREEN_COUNT + " of " + WIDTH + "x" + HEIGHT);
+        System.out.println("Packed Cells:\t\t" + packedBytes / 1024 + "KB\t(" + packedBytes / totalCells + " bytes/cell)");
+        System.out.println("Object Cells:\t\t" + objectBytes / 1024 + "KB\t(" + objectBytes / totalCells + " bytes/cell)");
+
+        // Keep the screens reachable until after the measurements.
+        System.out.println(packedScreens.length + objectScreens.length);
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0 ; i < 5 ; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,72 @@
+package com.valkryst.VTerminal.samples;
+
+import com.valkryst.VTerminal.AsciiString;
+import com.valkryst.VTerminal.component.Screen;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.ColoredImageCache;
+import com.valkryst.VTerminal.misc.Framebuffer;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+public class SampleRainbowGradient {
+    private static final int WIDTH = 80;
+    private static final int HEIGHT = 24;
+    private static final int FRAMES = 200;
+
+    public static void main(final String[] args) throws IOException, URISyntaxException {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/18pt/bitmap.png", "Fonts/DejaVu Sans Mono/18pt/data.fnt", 1);
+
+        final ColoredImageCache imageCache = new ColoredImageCache(font);
+        System.out.println("Colored Images:\t" + measureFrameTime(imageCache) + "ms/frame");
+
+        final ColoredImageCache atlasCache = new ColoredImageCache(font);
+        atlasCache.setGlyphAtlasEnabled(true);
+        System.out.println("Glyph Atlas:\t" + measureFrameTime(atlasCache) + "ms/frame");
+
+        System.out.println("Framebuffer:\t" + measureFrameTime(new ColoredImageCache(font), true) + "ms/frame");
+    }
+
+    private static double measureFrameTime(final ColoredImageCache imageCache) {
+        return measureFrameTime(imageCache, false);
+    }
+
+    private static double measureFrameTime(final ColoredImageCache imageCache, final boolean useFramebuffer) {
+        final Font font = imageCache.getFont();
+        final Screen screen = new Screen(0, 0, WIDTH, HEIGHT);
+        screen.clear('#');
+
+        final BufferedImage image = new BufferedImage(WIDTH * font.getWidth(), HEIGHT * font.getHeight(), BufferedImage.TYPE_INT_RGB);
+        final Graphics2D gc = image.createGraphics();
+        final Framebuffer framebuffer = new Framebuffer(image.getWidth(), image.getHeight());
+
+        long total = 0;
+
+        for (int frame = 0 ; frame < FRAMES ; frame++) {
+            // Shift the hue of every row, so that no two frames share colors.
+            for (int row = 0 ; row < HEIGHT ; row++) {
+                final float hue = (frame + row) / (float) HEIGHT;
+                final AsciiString string = screen.getString(row);
+                string.applyColorGradient(Color.getHSBColor(hue, 1f, 1f), Color.getHSBColor(hue + 0.5f, 1f, 1f), true);
+                string.applyColorGradient(Color.getHSBColor(hue + 0.5f, 1f, 0.5f), Color.getHSBColor(hue, 1f, 0.5f), false);
+            }
+
+            final long before = System.nanoTime();
+            if (useFramebuffer) {
+                screen.draw(framebuffer, imageCache);
+                gc.drawImage(framebuffer.getImage(), 0, 0, null);
+            } else {
+                screen.draw(gc, imageCache);
+            }
+            total += System.nanoTime() - before;
+        }
+
+        gc.dispose();
+        framebuffer.dispose();
+        return (total / (double) FRAMES) / 1_000_000;
+    }
+}